@@ -0,0 +1,132 @@
+package org.enso.compiler.benchmarks.module;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import org.enso.common.LanguageInfo;
+import org.enso.common.MethodNames;
+import org.enso.common.RuntimeOptions;
+import org.enso.compiler.benchmarks.Utils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the equivalent of {@code enso --run hello.enso}: a new context is created, a program
+ * printing a line is run and the context is closed. The IR caches are enabled, so the imported
+ * modules of the standard library are loaded from the caches.
+ *
+ * <p>Besides the time, the heap retained by the context after the program finished is reported as
+ * the {@code retainedHeapKb} counter of the {@link #retainedHeap} benchmark. Only the methods that
+ * are called should have their IR deserialized and kept in memory.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+  private static final String HELLO =
+      """
+from Standard.Base import all
+
+main = IO.println "Hello, World!"
+""";
+
+  private File srcFile;
+
+  @Setup
+  public void setup() {
+    srcFile = Utils.createSrcFile(HELLO, "hello.enso");
+    // Populate the caches, so that the measured runs load the standard library from them.
+    try (var context = createContext(new ByteArrayOutputStream(), new ByteArrayOutputStream())) {
+      runMain(context);
+    }
+  }
+
+  /** Counters reported by {@link #retainedHeap}. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HeapCounters {
+    public long retainedHeapKb;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      retainedHeapKb = 0;
+    }
+  }
+
+  @Benchmark
+  public void runHello(Blackhole blackhole) {
+    var out = new ByteArrayOutputStream();
+    var log = new ByteArrayOutputStream();
+    try (var context = createContext(out, log)) {
+      blackhole.consume(runMain(context));
+    }
+    checkOutput(out, log);
+  }
+
+  @Benchmark
+  public void retainedHeap(HeapCounters counters, Blackhole blackhole) {
+    var out = new ByteArrayOutputStream();
+    var log = new ByteArrayOutputStream();
+    long before = usedHeapAfterGc();
+    try (var context = createContext(out, log)) {
+      blackhole.consume(runMain(context));
+      counters.retainedHeapKb = (usedHeapAfterGc() - before) / 1024;
+    }
+    checkOutput(out, log);
+  }
+
+  /** Creates a context printing to {@code out} and logging separately to {@code log}. */
+  private static Context createContext(ByteArrayOutputStream out, ByteArrayOutputStream log) {
+    return Utils.createDefaultContextBuilder()
+        .option(RuntimeOptions.DISABLE_IR_CACHES, "false")
+        .logHandler(log)
+        .out(out)
+        .err(out)
+        .build();
+  }
+
+  private Object runMain(Context context) {
+    try {
+      var src = Source.newBuilder(LanguageInfo.ID, srcFile).build();
+      var module = context.eval(src);
+      var assocType = module.invokeMember(MethodNames.Module.GET_ASSOCIATED_TYPE);
+      var main = module.invokeMember(MethodNames.Module.GET_METHOD, assocType, "main");
+      return main.execute(assocType);
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static void checkOutput(ByteArrayOutputStream out, ByteArrayOutputStream log) {
+    var output = out.toString().strip();
+    if (!output.equals("Hello, World!")) {
+      throw new AssertionError("Unexpected output: " + output + "\nLog:\n" + log);
+    }
+  }
+
+  private static long usedHeapAfterGc() {
+    var memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
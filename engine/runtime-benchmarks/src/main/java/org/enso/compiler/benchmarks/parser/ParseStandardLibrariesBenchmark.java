@@ -0,0 +1,84 @@
+package org.enso.compiler.benchmarks.parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.enso.compiler.core.EnsoParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of parsing and translating to IR all the sources of the standard
+ * libraries in {@code distribution/lib/Standard}. The sources are parsed one after another on a
+ * single thread and in parallel with {@link EnsoParser#compileAll}, one parser instance per worker
+ * thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ParseStandardLibrariesBenchmark {
+  private List<String> sources;
+  private ExecutorService executor;
+
+  @Setup
+  public void setup() throws IOException {
+    var root = Paths.get("../../distribution/lib/Standard");
+    try (Stream<Path> files = Files.walk(root)) {
+      sources =
+          files
+              .filter(p -> p.toString().endsWith(".enso"))
+              .sorted()
+              .map(ParseStandardLibrariesBenchmark::readSource)
+              .toList();
+    }
+    if (sources.isEmpty()) {
+      throw new AssertionError("No sources found in " + root.toAbsolutePath());
+    }
+    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+    EnsoParser.freeAll();
+  }
+
+  private static String readSource(Path path) {
+    try {
+      return Files.readString(path);
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  @Benchmark
+  public void parseSequentially(Blackhole blackhole) {
+    for (var src : sources) {
+      blackhole.consume(EnsoParser.compile(src));
+    }
+  }
+
+  @Benchmark
+  public void parseInParallel(Blackhole blackhole) {
+    blackhole.consume(EnsoParser.compileAll(sources, executor));
+  }
+}
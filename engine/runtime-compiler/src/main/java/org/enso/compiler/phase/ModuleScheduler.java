@@ -0,0 +1,174 @@
+package org.enso.compiler.phase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a compilation step on a set of modules in parallel, respecting the dependencies between
+ * them.
+ *
+ * <p>The step of a module starts only after the step of every module it depends on has finished, so
+ * it observes their results. Modules that depend on each other through an import cycle are
+ * processed one after another on the same thread, in the order in which they were provided.
+ */
+public final class ModuleScheduler {
+  private ModuleScheduler() {}
+
+  /**
+   * Runs {@code action} for each of {@code modules}.
+   *
+   * <p>If some actions fail, the failure of the first such module, in the order of {@code
+   * modules}, is rethrown once all the other actions have finished. Modules whose dependencies
+   * failed are not processed.
+   *
+   * @param <M> the type of modules
+   * @param modules the modules to process
+   * @param dependencies the modules a module depends on, usually the modules it imports; modules
+   *     that are not among {@code modules} are ignored
+   * @param action the action to run for each module
+   * @param executor the executor running the actions
+   */
+  public static <M> void run(
+      List<M> modules,
+      Function<M, Collection<M>> dependencies,
+      Consumer<M> action,
+      Executor executor) {
+    var n = modules.size();
+    var indices = new HashMap<M, Integer>();
+    for (var i = 0; i < n; i++) {
+      indices.putIfAbsent(modules.get(i), i);
+    }
+    var edges = new int[n][];
+    for (var i = 0; i < n; i++) {
+      edges[i] =
+          dependencies.apply(modules.get(i)).stream()
+              .map(indices::get)
+              .filter(j -> j != null)
+              .mapToInt(Integer::intValue)
+              .distinct()
+              .toArray();
+    }
+
+    var failures = new Throwable[n];
+    var components = stronglyConnectedComponents(edges);
+    var componentOf = new int[n];
+    for (var c = 0; c < components.size(); c++) {
+      for (var i : components.get(c)) {
+        componentOf[i] = c;
+      }
+    }
+
+    // The components are ordered so that dependencies come before the components depending on them.
+    var futures = new ArrayList<CompletableFuture<Void>>(components.size());
+    for (var c = 0; c < components.size(); c++) {
+      var members = components.get(c);
+      var dependsOn = new ArrayList<CompletableFuture<Void>>();
+      for (var i : members) {
+        for (var j : edges[i]) {
+          if (componentOf[j] != c) {
+            dependsOn.add(futures.get(componentOf[j]));
+          }
+        }
+      }
+      var ready = CompletableFuture.allOf(dependsOn.toArray(CompletableFuture[]::new));
+      futures.add(
+          ready.thenRunAsync(
+              () -> {
+                for (var i : members) {
+                  try {
+                    action.accept(modules.get(i));
+                  } catch (Throwable t) {
+                    failures[i] = t;
+                    throw t;
+                  }
+                }
+              },
+              executor));
+    }
+
+    try {
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      // Reported below, in a deterministic order.
+    }
+    for (var failure : failures) {
+      if (failure instanceof RuntimeException ex) {
+        throw ex;
+      } else if (failure instanceof Error err) {
+        throw err;
+      } else if (failure != null) {
+        throw new CompletionException(failure);
+      }
+    }
+  }
+
+  /**
+   * Finds the strongly connected components of a graph with Tarjan's algorithm.
+   *
+   * @param edges the successors of each node
+   * @return the components, each sorted by node index; a component comes after all components
+   *     reachable from it
+   */
+  static List<int[]> stronglyConnectedComponents(int[][] edges) {
+    var n = edges.length;
+    var index = new int[n];
+    var lowLink = new int[n];
+    var onStack = new boolean[n];
+    Arrays.fill(index, -1);
+    var stack = new ArrayDeque<Integer>();
+    var components = new ArrayList<int[]>();
+    var nextIndex = 0;
+
+    // Explicit stack of (node, next edge to visit), so that long import chains do not overflow.
+    var work = new ArrayDeque<int[]>();
+    for (var root = 0; root < n; root++) {
+      if (index[root] != -1) {
+        continue;
+      }
+      work.push(new int[] {root, 0});
+      while (!work.isEmpty()) {
+        var frame = work.peek();
+        var v = frame[0];
+        if (frame[1] == 0 && index[v] == -1) {
+          index[v] = lowLink[v] = nextIndex++;
+          stack.push(v);
+          onStack[v] = true;
+        }
+        if (frame[1] < edges[v].length) {
+          var w = edges[v][frame[1]++];
+          if (index[w] == -1) {
+            work.push(new int[] {w, 0});
+          } else if (onStack[w]) {
+            lowLink[v] = Math.min(lowLink[v], index[w]);
+          }
+          continue;
+        }
+        work.pop();
+        if (!work.isEmpty()) {
+          var parent = work.peek()[0];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+        }
+        if (lowLink[v] == index[v]) {
+          var members = new ArrayList<Integer>();
+          int w;
+          do {
+            w = stack.pop();
+            onStack[w] = false;
+            members.add(w);
+          } while (w != v);
+          components.add(members.stream().mapToInt(Integer::intValue).sorted().toArray());
+        }
+      }
+    }
+    return components;
+  }
+}
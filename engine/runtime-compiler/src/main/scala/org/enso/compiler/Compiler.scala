@@ -22,10 +22,14 @@ import org.enso.compiler.core.ir.module.scope.Export
 import org.enso.compiler.core.ir.module.scope.Import
 import org.enso.compiler.core.ir.module.scope.imports
 import org.enso.compiler.core.EnsoParser
-import org.enso.compiler.data.CompilerConfig
+import org.enso.compiler.data.{BindingsMap, CompilerConfig}
 import org.enso.compiler.pass.PassManager
 import org.enso.compiler.pass.analyse._
-import org.enso.compiler.phase.{ImportResolver, ImportResolverAlgorithm}
+import org.enso.compiler.phase.{
+  ImportResolver,
+  ImportResolverAlgorithm,
+  ModuleScheduler
+}
 import org.enso.editions.LibraryName
 import org.enso.pkg.QualifiedName
 import org.enso.common.CompilationStage
@@ -40,13 +44,16 @@ import org.enso.syntax2.Parser
 import java.io.PrintStream
 import java.util.concurrent.{
   CompletableFuture,
+  CompletionException,
   ExecutorService,
+  Executors,
   Future,
   LinkedBlockingDeque,
   ThreadPoolExecutor,
   TimeUnit
 }
 import java.util.logging.Level
+import scala.jdk.CollectionConverters._
 
 /** This class encapsulates the static transformation processes that take place
   * on source code, including parsing, desugaring, type-checking, static
@@ -124,7 +131,8 @@ class Compiler(
     runInternal(
       List(module),
       generateCode              = true,
-      shouldCompileDependencies = true
+      shouldCompileDependencies = true,
+      passesPool                = None
     )
   }
 
@@ -175,11 +183,20 @@ class Compiler(
                 mod
             }.toList
 
-            runInternal(
-              packageModules,
-              generateCode = false,
-              shouldCompileDependencies
+            val passesPool = Executors.newFixedThreadPool(
+              Runtime.getRuntime.availableProcessors(),
+              (runnable: Runnable) => context.createThread(runnable)
             )
+            try {
+              runInternal(
+                packageModules,
+                generateCode = false,
+                shouldCompileDependencies,
+                Some(passesPool)
+              )
+            } finally {
+              passesPool.shutdown()
+            }
 
             context.serializeLibrary(
               this,
@@ -209,11 +226,15 @@ class Compiler(
     * The compilation may load the libraries defining component groups. To ensure
     * that the symbols defined by the component groups are also compiled, this
     * method is called recursively.
+    *
+    * @param passesPool the executor running the compiler passes of independent
+    *                   modules in parallel, or [[None]] to run them one by one
     */
   private def runInternal(
     modules: List[Module],
     generateCode: Boolean,
-    shouldCompileDependencies: Boolean
+    shouldCompileDependencies: Boolean,
+    passesPool: Option[ExecutorService]
   ): CompilerResult = {
     @scala.annotation.tailrec
     def go(
@@ -226,7 +247,8 @@ class Compiler(
           runCompilerPipeline(
             modulesToCompile,
             generateCode,
-            shouldCompileDependencies
+            shouldCompileDependencies,
+            passesPool
           )
         val pending =
           packageRepository.getPendingModules.toList
@@ -239,27 +261,20 @@ class Compiler(
   private def runCompilerPipeline(
     modules: List[Module],
     generateCode: Boolean,
-    shouldCompileDependencies: Boolean
+    shouldCompileDependencies: Boolean,
+    passesPool: Option[ExecutorService]
   ): List[Module] = {
     initialize()
-    modules.foreach(m =>
-      try {
-        parseModule(m, irCachingEnabled && !context.isInteractive(m))
-      } catch {
-        case e: Throwable =>
-          context.log(
-            Level.SEVERE,
-            "Encountered a critical failure while parsing module",
-            e
-          )
-          context.log(
-            Level.SEVERE,
-            "Contents of module {0}: {0}",
-            m.getPath,
-            m.getCharacters.toString
-          )
-      }
-    )
+    passesPool match {
+      case Some(executor) if modules.lengthCompare(1) > 0 =>
+        parseModulesInParallel(modules, executor)
+      case _ =>
+        modules.foreach(m =>
+          reportingParseFailure(m) {
+            parseModule(m, irCachingEnabled && !context.isInteractive(m))
+          }
+        )
+    }
 
     val requiredModules = modules.flatMap { module =>
       val isLoadedFromSource =
@@ -305,7 +320,7 @@ class Compiler(
         ensureParsed(module, !context.isInteractive(module))
       }
     }
-    requiredModules.foreach { module =>
+    forEachModule(requiredModules, passesPool) { module =>
       if (
         !context
           .getCompilationStage(module)
@@ -316,7 +331,7 @@ class Compiler(
 
         val moduleContext = ModuleContext(
           module          = module,
-          freshNameSupply = Some(freshNameSupply),
+          freshNameSupply = Some(moduleNameSupply(module, "types")),
           compilerConfig  = config
         )
         val compilerOutput =
@@ -331,7 +346,7 @@ class Compiler(
         )
       }
     }
-    requiredModules.foreach { module =>
+    forEachModule(requiredModules, passesPool) { module =>
       if (
         !context
           .getCompilationStage(module)
@@ -342,7 +357,7 @@ class Compiler(
 
         val moduleContext = ModuleContext(
           module          = module,
-          freshNameSupply = Some(freshNameSupply),
+          freshNameSupply = Some(moduleNameSupply(module, "body")),
           compilerConfig  = config,
           pkgRepo         = Some(packageRepository)
         )
@@ -513,6 +528,63 @@ class Compiler(
     }
   }
 
+  /** Runs `action` for every module, in parallel if an executor is provided.
+    *
+    * A module is processed only once all the modules it imports have been
+    * processed, as the passes rely on the results of the imported modules.
+    * Failures are reported in the order of `modules`, regardless of the order
+    * in which the modules were processed.
+    *
+    * @param modules the modules to process
+    * @param passesPool the executor to run the action on
+    * @param action the action to run
+    */
+  private def forEachModule(
+    modules: List[Module],
+    passesPool: Option[ExecutorService]
+  )(action: Module => Unit): Unit = passesPool match {
+    case Some(executor) if modules.lengthCompare(1) > 0 =>
+      ModuleScheduler.run[Module](
+        modules.asJava,
+        (module: Module) => importedModules(module).asJava,
+        (module: Module) => action(module),
+        executor
+      )
+    case _ =>
+      modules.foreach(action)
+  }
+
+  /** Creates the supply of fresh names for running a group of passes on a
+    * module.
+    *
+    * The names depend only on the module and the group of passes, so they do
+    * not change with the order in which modules are processed in parallel.
+    *
+    * @param module the module being compiled
+    * @param group the name of the group of passes
+    * @return a new supply of names unique to the module and the group
+    */
+  private def moduleNameSupply(
+    module: Module,
+    group: String
+  ): FreshNameSupply =
+    new FreshNameSupply(s"internal-${context.getModuleName(module)}-$group")
+
+  /** Lists the modules resolved by the imports of a module.
+    *
+    * @param module the module
+    * @return the imported modules, or an empty list if the imports of the
+    *         module have not been resolved
+    */
+  private def importedModules(module: Module): List[Module] = {
+    val bindings = module.getBindingsMap()
+    if (bindings == null) Nil
+    else
+      bindings.resolvedImports.flatMap(_.targets).map(_.module).collect {
+        case BindingsMap.ModuleReference.Concrete(imported) => imported
+      }
+  }
+
   private def joinAllFutures[T](
     futures: List[CompletableFuture[T]]
   ): CompletableFuture[List[T]] = {
@@ -551,6 +623,85 @@ class Compiler(
     useCaches: Boolean,
     isGenDocs: Boolean = false
   ): Unit = {
+    if (!loadModuleFromCache(module, useCaches)) {
+      uncachedParseModule(module, isGenDocs)
+    }
+  }
+
+  /** Parses the modules, translating the sources of the modules that cannot
+    * be loaded from the caches in parallel.
+    *
+    * The caches are read and the parsed modules are updated on the calling
+    * thread, in the order of `modules`; only the parser runs on the executor.
+    *
+    * @param modules the modules to parse
+    * @param executor the executor running the parser
+    */
+  private def parseModulesInParallel(
+    modules: List[Module],
+    executor: ExecutorService
+  ): Unit = {
+    val fromSource = modules.flatMap { m =>
+      var parsed: Option[CompletableFuture[IRModule]] = None
+      reportingParseFailure(m) {
+        val useCaches = irCachingEnabled && !context.isInteractive(m)
+        if (!loadModuleFromCache(m, useCaches)) {
+          val idMap = Option(context.getIdMap(m))
+          parsed = Some(
+            EnsoParser.compileAsync(
+              context.getCharacters(m),
+              idMap.map(_.values).orNull,
+              executor
+            )
+          )
+        }
+      }
+      parsed.map((m, _))
+    }
+    fromSource.foreach { case (m, parsed) =>
+      reportingParseFailure(m) {
+        val ir =
+          try { parsed.join() }
+          catch { case e: CompletionException => throw e.getCause }
+        uncachedParseModule(m, isGenDocs = false, Some(ir))
+      }
+    }
+  }
+
+  /** Runs `action`, logging any failure instead of propagating it.
+    *
+    * @param module the module being parsed by the action
+    * @param action the action parsing the module
+    */
+  private def reportingParseFailure(module: Module)(action: => Unit): Unit = {
+    try {
+      action
+    } catch {
+      case e: Throwable =>
+        context.log(
+          Level.SEVERE,
+          "Encountered a critical failure while parsing module",
+          e
+        )
+        context.log(
+          Level.SEVERE,
+          "Contents of module {0}: {0}",
+          module.getPath,
+          module.getCharacters.toString
+        )
+    }
+  }
+
+  /** Resets the scope of the module and loads its IR from the cache.
+    *
+    * @param module the module to load
+    * @param useCaches whether the caches may be used
+    * @return `true` if the module was loaded from the cache
+    */
+  private def loadModuleFromCache(
+    module: Module,
+    useCaches: Boolean
+  ): Boolean = {
     context.log(
       Compiler.defaultLogLevel,
       "Parsing module [{0}].",
@@ -558,14 +709,8 @@ class Compiler(
     )
     context.updateModule(module, _.resetScope())
 
-    if (
-      useCaches && context.getIdMap(module) == null && context
-        .deserializeModule(this, module)
-    ) {
-      return
-    }
-
-    uncachedParseModule(module, isGenDocs)
+    useCaches && context.getIdMap(module) == null && context
+      .deserializeModule(this, module)
   }
 
   /** Retrieve module bindings from cache, if available.
@@ -582,7 +727,11 @@ class Compiler(
     } else None
   }
 
-  private def uncachedParseModule(module: Module, isGenDocs: Boolean): Unit = {
+  private def uncachedParseModule(
+    module: Module,
+    isGenDocs: Boolean,
+    parsed: Option[IRModule] = None
+  ): Unit = {
     context.log(
       Compiler.defaultLogLevel,
       "Loading module [{0}] from source.",
@@ -597,9 +746,11 @@ class Compiler(
       isGeneratingDocs = isGenDocs
     )
 
-    val src   = context.getCharacters(module)
-    val idMap = Option(context.getIdMap(module))
-    val expr  = EnsoParser.compile(src, idMap.map(_.values).orNull)
+    val expr = parsed.getOrElse {
+      val src   = context.getCharacters(module)
+      val idMap = Option(context.getIdMap(module))
+      EnsoParser.compile(src, idMap.map(_.values).orNull)
+    }
 
     val exprWithModuleExports =
       if (context.isSynthetic(module))
@@ -4,17 +4,22 @@ import org.enso.compiler.core.ir.Name
 
 /** This class provides a supply of fresh names guaranteed not to exist in this
   * program.
+  *
+  * @param prefix the prefix of the generated names; supplies with distinct
+  *               prefixes never generate the same name
   */
-class FreshNameSupply {
+class FreshNameSupply(prefix: String) {
   private var counter: Long = 0
 
+  def this() = this("internal")
+
   private def mkName(
     numId: Long,
     isMethod: Boolean,
     from: Option[Name]
   ): Name.Literal = {
     Name.Literal(
-      s"<internal-${numId}>",
+      s"<$prefix-${numId}>",
       isMethod,
       null,
       from
@@ -0,0 +1,146 @@
+package org.enso.compiler.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.enso.compiler.phase.ModuleScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class ModuleSchedulerTest {
+  private ExecutorService executor;
+
+  @Before
+  public void createExecutor() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void dependenciesAreProcessedFirst() {
+    var imports =
+        Map.of(
+            "Main", List.of("A", "B"),
+            "A", List.of("C"),
+            "B", List.of("C", "Standard.Base"),
+            "C", List.<String>of());
+    var done = Collections.synchronizedList(new ArrayList<String>());
+    ModuleScheduler.run(
+        List.of("Main", "A", "B", "C"),
+        imports::get,
+        module -> {
+          for (var dependency : imports.get(module)) {
+            if (imports.containsKey(dependency)) {
+              assertTrue(module + " before " + dependency, done.contains(dependency));
+            }
+          }
+          done.add(module);
+        },
+        executor);
+    assertEquals(4, done.size());
+    assertEquals("Main", done.get(3));
+  }
+
+  @Test
+  public void importCyclesAreProcessedSequentiallyInOrder() {
+    var imports =
+        Map.of(
+            "A", List.of("B"),
+            "B", List.of("C"),
+            "C", List.of("A"),
+            "D", List.of("A"));
+    var threads = new ConcurrentHashMap<String, Thread>();
+    var done = Collections.synchronizedList(new ArrayList<String>());
+    ModuleScheduler.run(
+        List.of("D", "C", "B", "A"),
+        imports::get,
+        module -> {
+          threads.put(module, Thread.currentThread());
+          done.add(module);
+        },
+        executor);
+    assertEquals(List.of("C", "B", "A", "D"), done);
+    assertEquals(threads.get("A"), threads.get("B"));
+    assertEquals(threads.get("A"), threads.get("C"));
+  }
+
+  @Test
+  public void firstFailureInModuleOrderIsReported() {
+    var modules = new ArrayList<String>();
+    for (var i = 0; i < 100; i++) {
+      modules.add("M" + i);
+    }
+    for (var attempt = 0; attempt < 10; attempt++) {
+      var processed = new AtomicInteger();
+      try {
+        ModuleScheduler.run(
+            modules,
+            module -> List.of(),
+            module -> {
+              processed.incrementAndGet();
+              if (module.equals("M10") || module.equals("M90")) {
+                throw new IllegalStateException(module);
+              }
+            },
+            executor);
+        fail("Expected an exception");
+      } catch (IllegalStateException e) {
+        assertEquals("M10", e.getMessage());
+      }
+      assertEquals(100, processed.get());
+    }
+  }
+
+  @Test
+  public void modulesDependingOnFailedModulesAreSkipped() {
+    var imports = Map.of("A", List.of("B"), "B", List.<String>of());
+    var done = Collections.synchronizedList(new ArrayList<String>());
+    try {
+      ModuleScheduler.run(
+          List.of("A", "B"),
+          imports::get,
+          module -> {
+            if (module.equals("B")) {
+              throw new IllegalStateException(module);
+            }
+            done.add(module);
+          },
+          executor);
+      fail("Expected an exception");
+    } catch (IllegalStateException e) {
+      assertEquals("B", e.getMessage());
+    }
+    assertFalse(done.contains("A"));
+  }
+
+  @Test
+  public void longImportChainsDoNotOverflowTheStack() {
+    var size = 100_000;
+    var modules = new ArrayList<Integer>();
+    for (var i = 0; i < size; i++) {
+      modules.add(i);
+    }
+    var processed = new AtomicInteger();
+    ModuleScheduler.run(
+        modules,
+        (Integer module) -> module + 1 < size ? List.of(module + 1) : List.<Integer>of(),
+        module -> assertEquals(size - 1 - module, processed.getAndIncrement()),
+        executor);
+    assertEquals(size, processed.get());
+  }
+}
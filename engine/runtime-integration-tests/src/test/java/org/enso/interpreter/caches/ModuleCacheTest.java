@@ -64,7 +64,8 @@ public class ModuleCacheTest {
     var mc = module.getCache().asSpi(ModuleCache.class);
     byte[] arr = mc.serialize(ensoCtx, cm);
 
-    var meta = new ModuleCache.Metadata("hash", "code", CompilationStage.AFTER_CODEGEN.toString());
+    var meta =
+        new ModuleCache.Metadata("hash", "code", CompilationStage.AFTER_CODEGEN.toString(), null);
     var cachedIr = mc.deserialize(ensoCtx, ByteBuffer.wrap(arr), meta, null);
     assertNotNull("IR read", cachedIr);
     CompilerTests.assertIR(name, ir, cachedIr.moduleIR());
@@ -94,9 +95,23 @@ public class ModuleCacheTest {
     var mc = module.getCache().asSpi(ModuleCache.class);
     byte[] arr = mc.serialize(ensoCtx, cm);
 
-    var meta = new ModuleCache.Metadata("hash", "code", CompilationStage.AFTER_CODEGEN.toString());
+    var meta =
+        new ModuleCache.Metadata("hash", "code", CompilationStage.AFTER_CODEGEN.toString(), null);
     var cachedIr = mc.deserialize(ensoCtx, ByteBuffer.wrap(arr), meta, null);
     assertNotNull("IR read", cachedIr);
     CompilerTests.assertIR(name, ir, cachedIr.moduleIR());
   }
+
+  @Test
+  public void testMetadataWithFingerprint() throws Exception {
+    var fingerprint = new SourceDigests.Fingerprint(42, 1_700_000_000_000_000L, 7);
+    var meta =
+        new ModuleCache.Metadata(
+            "hash", "code", CompilationStage.AFTER_CODEGEN.toString(), fingerprint);
+    assertEquals(meta, ModuleCache.Metadata.read(meta.toBytes()));
+
+    var noFingerprint =
+        new ModuleCache.Metadata("hash", "code", CompilationStage.AFTER_CODEGEN.toString(), null);
+    assertEquals(noFingerprint, ModuleCache.Metadata.read(noFingerprint.toBytes()));
+  }
 }
@@ -0,0 +1,178 @@
+package org.enso.interpreter.caches;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.oracle.truffle.api.TruffleFile;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import org.enso.common.RuntimeOptions;
+import org.enso.interpreter.runtime.EnsoContext;
+import org.enso.pkg.QualifiedName;
+import org.enso.pkg.SourceFile;
+import org.enso.test.utils.ContextUtils;
+import org.enso.test.utils.ProjectUtils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SourceDigestsTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static Context ctx;
+  private static EnsoContext ensoCtx;
+
+  @BeforeClass
+  public static void initializeContext() {
+    ctx =
+        ContextUtils.defaultContextBuilder()
+            .option(RuntimeOptions.DISABLE_IR_CACHES, "true")
+            .build();
+    ensoCtx = ContextUtils.leakContext(ctx);
+  }
+
+  @AfterClass
+  public static void disposeContext() {
+    ctx.close();
+    ctx = null;
+    ensoCtx = null;
+  }
+
+  @Test
+  public void unchangedFileIsNotHashedAgain() throws Exception {
+    var path = writeOldFile("Main.enso", "main = 42");
+    ContextUtils.executeInContext(
+        ctx,
+        () -> {
+          var digest = SourceDigests.digestFile("Main", file(path));
+          assertNotNull("An old file has a fingerprint", digest.fingerprint());
+
+          // The recorded digest does not match the content, so it is only returned if the file is
+          // not read again.
+          var recorded = new SourceDigests.FileDigest("Main", digest.fingerprint(), "recorded");
+          assertSame(recorded, SourceDigests.revalidate(recorded, "Main", file(path)));
+          return null;
+        });
+  }
+
+  @Test
+  public void onlyModifiedLibraryFilesAreHashedAgain() throws Exception {
+    var a = writeOldFile("A.enso", "a = 1");
+    var b = writeOldFile("B.enso", "b = 2");
+    ContextUtils.executeInContext(
+        ctx,
+        () -> {
+          var sources = List.of(source("local.Lib.A", a), source("local.Lib.B", b));
+          var first = SourceDigests.digestLibrarySources(sources, List.of());
+          var recorded =
+              List.of(
+                  new SourceDigests.FileDigest(
+                      "local.Lib.A", first.files().get(0).fingerprint(), "recorded"),
+                  first.files().get(1));
+
+          Files.writeString(b, "b = 20");
+          var second = SourceDigests.digestLibrarySources(sources, recorded);
+          assertEquals("recorded", second.files().get(0).digest());
+          assertEquals(CacheUtils.computeDigestFromFile(file(b)), second.files().get(1).digest());
+          assertNotEquals(first.digest(), second.digest());
+          return null;
+        });
+  }
+
+  @Test
+  public void sameSizeEditWithinRacyIntervalInvalidatesLibraryDigest() throws Exception {
+    var path = tempFolder.newFile("Main.enso").toPath();
+    Files.writeString(path, "main = 42");
+    ContextUtils.executeInContext(
+        ctx,
+        () -> {
+          var sources = List.of(source("local.Lib.Main", path));
+          var first = SourceDigests.digestLibrarySources(sources, List.of());
+          assertNull(
+              "A file modified just now has no fingerprint",
+              first.files().get(0).fingerprint());
+          var meta = new ImportExportCache.Metadata(first.digest(), "blob", first.files());
+          var recorded = ImportExportCache.Metadata.read(meta.toBytes()).sourceFiles();
+
+          editKeepingFingerprint(path, "main = 43");
+          var second = SourceDigests.digestLibrarySources(sources, recorded);
+          assertNotEquals(first.digest(), second.digest());
+          return null;
+        });
+  }
+
+  @Test
+  public void sameSizeEditWithinRacyIntervalInvalidatesModuleCache() throws Exception {
+    var projDir = tempFolder.newFolder().toPath();
+    ProjectUtils.createProject("Cache_Test", "main = 42", projDir);
+    var main = projDir.resolve("src").resolve("Main.enso");
+
+    assertEquals(42, runWithCaches(projDir, main, new ByteArrayOutputStream()));
+
+    // The cache was written right after the file was, so it must not trust its fingerprint.
+    editKeepingFingerprint(main, "main = 43");
+    var log = new ByteArrayOutputStream();
+    assertEquals(43, runWithCaches(projDir, main, log));
+    assertFalse(
+        "Main is not loaded from the outdated cache:\n" + log,
+        log.toString().contains("Cache_Test.Main from IR file: true"));
+  }
+
+  private static int runWithCaches(Path projDir, Path main, ByteArrayOutputStream log)
+      throws Exception {
+    var out = new PrintStream(log);
+    try (var context =
+        ContextUtils.defaultContextBuilder()
+            .out(out)
+            .err(out)
+            .logHandler(out)
+            .option(RuntimeOptions.LOG_LEVEL, Level.FINE.getName())
+            .option(RuntimeOptions.DISABLE_IR_CACHES, "false")
+            .option(RuntimeOptions.PROJECT_ROOT, projDir.toAbsolutePath().toString())
+            .build()) {
+      var code = Source.newBuilder("enso", main.toFile()).build();
+      return ContextUtils.evalModule(context, code, "main").asInt();
+    }
+  }
+
+  /**
+   * Changes the content of a file to a text of the same size, restoring its modification time, as
+   * if the edit happened within the same tick of a coarse file system clock.
+   */
+  private static void editKeepingFingerprint(Path path, String content) throws Exception {
+    var modifiedTime = Files.getLastModifiedTime(path);
+    assertEquals(Files.size(path), content.length());
+    Files.writeString(path, content);
+    Files.setLastModifiedTime(path, modifiedTime);
+  }
+
+  private Path writeOldFile(String name, String content) throws Exception {
+    var path = tempFolder.newFile(name).toPath();
+    Files.writeString(path, content);
+    var hourAgo = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+    Files.setLastModifiedTime(path, FileTime.fromMillis(hourAgo));
+    return path;
+  }
+
+  private static TruffleFile file(Path path) {
+    return ensoCtx.getTruffleFile(path.toFile());
+  }
+
+  private static SourceFile<TruffleFile> source(String name, Path path) {
+    return new SourceFile<>(QualifiedName.fromString(name), file(path));
+  }
+}
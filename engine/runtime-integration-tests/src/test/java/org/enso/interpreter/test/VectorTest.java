@@ -1,6 +1,7 @@
 package org.enso.interpreter.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.net.URI;
@@ -259,4 +260,64 @@ public class VectorTest {
       assertEquals("Two queries", 2, QUERIED.cardinality());
     }
   }
+
+  @Test
+  public void vectorsOfPrimitiveValuesAreNotBoxed() throws Exception {
+    final URI uri = new URI("memory://typed_vectors.enso");
+    final Source src =
+        Source.newBuilder(
+                "enso",
+                """
+    from Standard.Base import all
+
+    booleans = Vector.new 5 i-> i % 2 == 0
+    texts = Vector.new 3 i-> "t" + i.to_text
+    longs = Vector.new 5 i-> if i % 2 == 0 then Nothing else i
+    doubles = Vector.new 4 i-> if i == 1 then Nothing else i / 2
+    nothings = Vector.new 3 _-> Nothing
+    mixed = Vector.new 4 i-> if i < 3 then i else "x"
+    """,
+                "typed_vectors.enso")
+            .uri(uri)
+            .buildLiteral();
+
+    var module = ctx.eval(src);
+
+    var booleans = module.invokeMember("eval_expression", "booleans");
+    assertStorage("Boolean", booleans);
+    assertEquals(5, booleans.getArraySize());
+    assertTrue(booleans.getArrayElement(0).asBoolean());
+    assertFalse(booleans.getArrayElement(1).asBoolean());
+
+    var texts = module.invokeMember("eval_expression", "texts");
+    assertStorage("Text", texts);
+    assertEquals("t2", texts.getArrayElement(2).asString());
+
+    var longs = module.invokeMember("eval_expression", "longs");
+    assertStorage("NullableLong", longs);
+    assertTrue(longs.getArrayElement(0).isNull());
+    assertEquals(1L, longs.getArrayElement(1).asLong());
+    assertTrue(longs.getArrayElement(2).isNull());
+    assertEquals(3L, longs.getArrayElement(3).asLong());
+    assertTrue(longs.getArrayElement(4).isNull());
+
+    var doubles = module.invokeMember("eval_expression", "doubles");
+    assertStorage("NullableDouble", doubles);
+    assertEquals(0.0, doubles.getArrayElement(0).asDouble(), 0.0);
+    assertTrue(doubles.getArrayElement(1).isNull());
+    assertEquals(1.5, doubles.getArrayElement(3).asDouble(), 0.0);
+
+    var nothings = module.invokeMember("eval_expression", "nothings");
+    assertEquals(3, nothings.getArraySize());
+    assertTrue(nothings.getArrayElement(2).isNull());
+
+    var mixed = module.invokeMember("eval_expression", "mixed");
+    assertEquals(2L, mixed.getArrayElement(2).asLong());
+    assertEquals("x", mixed.getArrayElement(3).asString());
+  }
+
+  private static void assertStorage(String expected, Value vector) {
+    var raw = ContextUtils.unwrapValue(ctx, vector);
+    assertEquals(expected, raw.getClass().getSimpleName());
+  }
 }
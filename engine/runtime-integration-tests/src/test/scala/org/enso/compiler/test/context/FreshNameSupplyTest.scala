@@ -24,5 +24,16 @@ class FreshNameSupplyTest extends CompilerTest {
         succeed
       }
     }
+
+    "generate names depending only on the prefix and the number of names" in {
+      val first  = new FreshNameSupply("internal-Main-body")
+      val second = new FreshNameSupply("internal-Main-body")
+      val other  = new FreshNameSupply("internal-Other-body")
+
+      first.newName().name shouldEqual "<internal-Main-body-0>"
+      first.newName().name shouldEqual "<internal-Main-body-1>"
+      second.newName().name shouldEqual "<internal-Main-body-0>"
+      other.newName().name shouldEqual "<internal-Other-body-0>"
+    }
   }
 }
@@ -1,7 +1,12 @@
 package org.enso.compiler.core;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import org.enso.compiler.core.ir.Expression;
 import org.enso.compiler.core.ir.Location;
 import org.enso.compiler.core.ir.Module;
@@ -24,6 +29,44 @@ public final class EnsoParser {
     return treeToIr.translate(tree);
   }
 
+  /**
+   * Parses a module and translates it to IR on the provided executor.
+   *
+   * <p>The native parser state is kept per thread, so every thread of the executor reuses its own
+   * parser instance across the sources it is given.
+   *
+   * @param src the source of the module
+   * @param idMap the external IDs of the module's expressions, or {@code null}
+   * @param executor the executor to run the parser on
+   * @return the future IR of the module
+   */
+  public static CompletableFuture<Module> compileAsync(
+      CharSequence src, Map<Location, UUID> idMap, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> compile(src, idMap), executor);
+  }
+
+  /**
+   * Parses many modules in parallel. The sources have no parse-time dependencies on each other,
+   * so they are all submitted to the executor at once.
+   *
+   * @param sources the sources of the modules
+   * @param executor the executor to run the parser on
+   * @return the IR of the modules, in the order of {@code sources}
+   * @throws CompletionException if parsing of a source failed; the failure of the first such source
+   *     is reported
+   */
+  public static List<Module> compileAll(List<? extends CharSequence> sources, Executor executor) {
+    var futures = new ArrayList<CompletableFuture<Module>>(sources.size());
+    for (var src : sources) {
+      futures.add(compileAsync(src, null, executor));
+    }
+    var modules = new ArrayList<Module>(futures.size());
+    for (var future : futures) {
+      modules.add(future.join());
+    }
+    return modules;
+  }
+
   public static Expression.Block compileBlock(CharSequence src) {
     var tree = Parser.parseBlock(src);
     return TreeToIr.MODULE.translateBlock(tree);
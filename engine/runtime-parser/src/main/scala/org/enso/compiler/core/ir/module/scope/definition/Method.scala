@@ -12,7 +12,7 @@ import java.util.UUID
 /** A trait representing method definitions in Enso. */
 sealed trait Method extends Definition {
   val methodReference: Name.MethodReference
-  val body: Expression
+  def body: Expression
   val isPrivate: Boolean
 
   /** @inheritdoc */
@@ -81,7 +81,29 @@ object Method {
       diagnostics = ir.diagnostics
     }
 
-    lazy val body: Expression = bodyReference.get(classOf[Expression])
+    private var memoizedBody: Expression = null
+
+    /** The body of the method. Once read, it is kept in this node. */
+    override def body: Expression = synchronized {
+      if (memoizedBody eq null) {
+        memoizedBody = bodyReference.get(classOf[Expression])
+      }
+      memoizedBody
+    }
+
+    /** Reads the body of the method without keeping it in this node.
+      *
+      * If the method was loaded from the IR cache and its [[body]] was not
+      * read yet, every call deserializes a new copy of the body. The runtime
+      * uses this to build a method when it is first called, so that the body
+      * can be garbage collected afterwards while the module IR is kept.
+      *
+      * @return the body of the method
+      */
+    def readBody(): Expression = synchronized {
+      if (memoizedBody ne null) memoizedBody
+      else bodyReference.get(classOf[Expression])
+    }
 
     /** Creates a copy of `this`.
       *
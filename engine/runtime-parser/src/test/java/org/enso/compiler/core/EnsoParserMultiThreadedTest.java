@@ -1,5 +1,7 @@
 package org.enso.compiler.core;
 
+import static org.junit.Assert.assertEquals;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -35,4 +37,26 @@ public class EnsoParserMultiThreadedTest {
       EnsoParserTest.assertIR("Run #" + i + " should produce identical IR", r1, r2);
     }
   }
+
+  @Test
+  public void compileAllKeepsTheOrderOfSources() throws Exception {
+    List<String> sources = new ArrayList<>();
+    for (var i = 0; i < 500; i++) {
+      sources.add(
+          """
+          from Standard.Base import all
+          main = %n
+          """
+              .replace("%n", "" + i));
+    }
+
+    var results = EnsoParser.compileAll(sources, ForkJoinPool.commonPool());
+
+    assertEquals(sources.size(), results.size());
+    for (var i = 0; i < sources.size(); i++) {
+      var expected = EnsoParser.compile(sources.get(i));
+      EnsoParserTest.assertIR(
+          "Source #" + i + " should produce the same IR", expected, results.get(i));
+    }
+  }
 }
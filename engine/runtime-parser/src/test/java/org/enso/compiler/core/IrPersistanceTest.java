@@ -14,6 +14,7 @@ import org.enso.compiler.core.ir.Location;
 import org.enso.compiler.core.ir.MetadataStorage;
 import org.enso.compiler.core.ir.Module;
 import org.enso.compiler.core.ir.Name;
+import org.enso.compiler.core.ir.module.scope.definition.Method;
 import org.enso.persist.Persistable;
 import org.enso.persist.Persistance;
 import org.junit.Before;
@@ -343,6 +344,35 @@ public class IrPersistanceTest {
     assertEquals(s1, ref.get(Object.class));
   }
 
+  @Test
+  public void methodBodyIsReadOnDemandWithoutBeingKept() throws Exception {
+    var loc = new IdentifiedLocation(new Location(5, 19), null);
+    var name = new Name.Literal("foo", true, loc, Option.empty(), new MetadataStorage());
+    var ref = new Name.MethodReference(Option.empty(), name, loc, new MetadataStorage());
+    var body = new Name.Literal("bar", false, loc, Option.empty(), new MetadataStorage());
+    var in =
+        new Method.Explicit(
+            ref,
+            Persistance.Reference.of(body, false),
+            false,
+            false,
+            false,
+            loc,
+            new MetadataStorage());
+    assertSame("A body in memory is returned as is", body, in.readBody());
+
+    var out = serde(Method.Explicit.class, in, -1);
+    var first = out.readBody();
+    var second = out.readBody();
+    assertEquals("Deserialized body", body, first);
+    assertEquals("Deserialized again", body, second);
+    assertNotSame("Each read deserializes the body again", first, second);
+
+    var kept = out.body();
+    assertSame("Once read as body, it is kept", kept, out.body());
+    assertSame("And also returned by readBody", kept, out.readBody());
+  }
+
   @Test
   public void readResolve() throws Exception {
     var in = new Service(5);
@@ -138,7 +138,7 @@ public final class Cache<T, M> {
     if (ensureRoot(cacheRoot)) {
       byte[] bytesToWrite = spi.serialize(context, entry);
 
-      String blobDigest = CacheUtils.computeDigestFromBytes(ByteBuffer.wrap(bytesToWrite));
+      String blobDigest = CacheUtils.computeChecksumFromBytes(ByteBuffer.wrap(bytesToWrite));
       String sourceDigest = spi.computeDigest(entry, logger).get();
       if (sourceDigest == null) {
         throw new IOException("unable to compute digest");
@@ -252,7 +252,7 @@ public final class Cache<T, M> {
       M meta = optMeta.get();
       boolean sourceDigestValid =
           !needsSourceDigestVerification
-              || spi.computeDigestFromSource(context, logger)
+              || spi.computeDigestFromSource(context, meta, logger)
                   .map(digest -> digest.equals(spi.sourceHash(meta)))
                   .orElseGet(() -> false);
       var file = new File(dataPath.toUri());
@@ -267,7 +267,7 @@ public final class Cache<T, M> {
       }
       boolean blobDigestValid =
           !needsDataDigestVerification
-              || CacheUtils.computeDigestFromBytes(blobBytes).equals(spi.blobHash(meta));
+              || CacheUtils.computeChecksumFromBytes(blobBytes).equals(spi.blobHash(meta));
 
       if (sourceDigestValid && blobDigestValid) {
         T cachedObject = null;
@@ -473,7 +473,7 @@ public final class Cache<T, M> {
      * Return serialized representation of data's metadata.
      *
      * @param sourceDigest digest of data's source
-     * @param blobDigest digest of serialized data
+     * @param blobDigest checksum of serialized data
      * @param entry data to serialize
      * @return raw bytes representing serialized metadata
      * @throws java.io.IOException in case of I/O error
@@ -511,6 +511,20 @@ public final class Cache<T, M> {
     public abstract Optional<String> computeDigestFromSource(
         EnsoContext context, TruffleLogger logger);
 
+    /**
+     * Compute digest of data's source, possibly reusing the digests recorded in the metadata of the
+     * cache being loaded for the sources that did not change since the cache was written.
+     *
+     * @param context the language context in which loading is taking place
+     * @param meta metadata of the cache being loaded
+     * @param logger Truffle's logger
+     * @return non-empty digest, if successful
+     */
+    public default Optional<String> computeDigestFromSource(
+        EnsoContext context, M meta, TruffleLogger logger) {
+      return computeDigestFromSource(context, logger);
+    }
+
     /**
      * Returns locations where caches can be located
      *
@@ -6,21 +6,20 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.zip.CRC32C;
 import org.enso.compiler.context.CompilerContext;
 import org.enso.compiler.core.ir.ProcessingPass;
 import org.enso.editions.LibraryName;
-import org.enso.pkg.SourceFile;
 import org.enso.polyglot.Suggestion;
 import org.enso.text.Hex;
 
 final class CacheUtils {
   private CacheUtils() {}
 
-  private static int BUFFER_SIZE = 1024;
+  private static final int BUFFER_SIZE = 64 * 1024;
 
   static Function<Object, Object> writeReplace(CompilerContext context, boolean keepUUIDs) {
     return (obj) ->
@@ -53,7 +52,7 @@ final class CacheUtils {
    *
    * @return digest used for computing hashes
    */
-  private static MessageDigest messageDigest() {
+  static MessageDigest messageDigest() {
     try {
       return MessageDigest.getInstance("SHA-1");
     } catch (NoSuchAlgorithmException ex) {
@@ -74,30 +73,36 @@ final class CacheUtils {
   }
 
   /**
-   * Computes digest from package sources using a default hashing algorithm.
+   * Computes digest of a file's content using a default hashing algorithm.
    *
-   * @param pkgSources the list of package sources
-   * @return string representation of bytes' hash
+   * @param file the file to hash
+   * @return string representation of file's hash
+   * @throws IOException if the file cannot be read
    */
-  static final String computeDigestOfLibrarySources(List<SourceFile<TruffleFile>> pkgSources) {
-    pkgSources.sort(Comparator.comparing(o -> o.qualifiedName().toString()));
-
-    try {
-      var digest = messageDigest();
-      for (var source : pkgSources) {
-        byte[] buffer = new byte[BUFFER_SIZE];
-        try (InputStream is = source.file().newInputStream()) {
-          int read = is.read(buffer, 0, BUFFER_SIZE);
-          while (read > -1) {
-            digest.update(buffer, 0, read);
-            read = is.read(buffer, 0, BUFFER_SIZE);
-          }
-        }
+  static String computeDigestFromFile(TruffleFile file) throws IOException {
+    var digest = messageDigest();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream is = file.newInputStream()) {
+      int read = is.read(buffer, 0, BUFFER_SIZE);
+      while (read > -1) {
+        digest.update(buffer, 0, read);
+        read = is.read(buffer, 0, BUFFER_SIZE);
       }
-      return Hex.toHexString(digest.digest());
-    } catch (IOException ex) {
-      throw raise(RuntimeException.class, ex);
     }
+    return Hex.toHexString(digest.digest());
+  }
+
+  /**
+   * Computes a checksum of an array of bytes. The checksum only guards against corrupted cache
+   * files, so a fast non-cryptographic algorithm is used.
+   *
+   * @param bytes bytes for which the checksum will be computed; their position is not modified
+   * @return string representation of bytes' checksum
+   */
+  static String computeChecksumFromBytes(ByteBuffer bytes) {
+    var crc = new CRC32C();
+    crc.update(bytes.duplicate());
+    return Long.toHexString(crc.getValue());
   }
 
   public static String computeDigestFromSuggestions(List<Suggestion> suggestions) {
@@ -29,6 +29,12 @@ public final class ImportExportCache
 
   private final LibraryName libraryName;
 
+  /**
+   * The digest of the library sources computed last, reused when validating or writing the cache
+   * so that only the files modified in the meantime have to be hashed again.
+   */
+  private volatile SourceDigests.LibraryDigest lastDigest;
+
   private ImportExportCache(LibraryName libraryName) {
     this.libraryName = libraryName;
   }
@@ -57,7 +63,10 @@ public final class ImportExportCache
   @Override
   public byte[] metadata(String sourceDigest, String blobDigest, CachedBindings entry)
       throws IOException {
-    return new Metadata(sourceDigest, blobDigest).toBytes();
+    var digest = lastDigest;
+    List<SourceDigests.FileDigest> files =
+        digest != null && digest.digest().equals(sourceDigest) ? digest.files() : List.of();
+    return new Metadata(sourceDigest, blobDigest, files).toBytes();
   }
 
   @Override
@@ -85,16 +94,39 @@ public final class ImportExportCache
 
   @Override
   public Optional<String> computeDigest(CachedBindings entry, TruffleLogger logger) {
-    return entry.sources().map(sources -> CacheUtils.computeDigestOfLibrarySources(sources));
+    return entry.sources().map(sources -> digestLibrarySources(sources, previousFiles()));
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Optional<String> computeDigestFromSource(EnsoContext context, TruffleLogger logger) {
+    return computeDigestOfLibrarySources(context, previousFiles());
+  }
+
+  @Override
+  public Optional<String> computeDigestFromSource(
+      EnsoContext context, Metadata meta, TruffleLogger logger) {
+    return computeDigestOfLibrarySources(context, meta.sourceFiles());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Optional<String> computeDigestOfLibrarySources(
+      EnsoContext context, List<SourceDigests.FileDigest> previous) {
     return context
         .getPackageRepository()
         .getPackageForLibraryJava(libraryName)
-        .map(pkg -> CacheUtils.computeDigestOfLibrarySources(pkg.listSourcesJava()));
+        .map(pkg -> digestLibrarySources(pkg.listSourcesJava(), previous));
+  }
+
+  private String digestLibrarySources(
+      List<SourceFile<TruffleFile>> sources, List<SourceDigests.FileDigest> previous) {
+    var digest = SourceDigests.digestLibrarySources(sources, previous);
+    lastDigest = digest;
+    return digest.digest();
+  }
+
+  private List<SourceDigests.FileDigest> previousFiles() {
+    var digest = lastDigest;
+    return digest != null ? digest.files() : List.of();
   }
 
   @Override
@@ -172,12 +204,14 @@ public final class ImportExportCache
       MapToBindings bindings,
       Optional<List<SourceFile<TruffleFile>>> sources) {}
 
-  public record Metadata(String sourceHash, String blobHash) {
+  public record Metadata(
+      String sourceHash, String blobHash, List<SourceDigests.FileDigest> sourceFiles) {
     byte[] toBytes() throws IOException {
       try (var os = new ByteArrayOutputStream();
           var dos = new DataOutputStream(os)) {
         dos.writeUTF(sourceHash());
         dos.writeUTF(blobHash());
+        SourceDigests.FileDigest.writeAll(sourceFiles(), dos);
         return os.toByteArray();
       }
     }
@@ -185,7 +219,7 @@ public final class ImportExportCache
     static Metadata read(byte[] arr) throws IOException {
       try (var is = new ByteArrayInputStream(arr);
           var dis = new DataInputStream(is)) {
-        return new Metadata(dis.readUTF(), dis.readUTF());
+        return new Metadata(dis.readUTF(), dis.readUTF(), SourceDigests.FileDigest.readAll(dis));
       }
     }
   }
@@ -53,7 +53,31 @@ public final class ModuleCache
   @Override
   public byte[] metadata(String sourceDigest, String blobDigest, CachedModule entry)
       throws IOException {
-    return new Metadata(sourceDigest, blobDigest, entry.compilationStage().toString()).toBytes();
+    return new Metadata(
+            sourceDigest,
+            blobDigest,
+            entry.compilationStage().toString(),
+            sourceFingerprint(sourceDigest, entry.source()))
+        .toBytes();
+  }
+
+  /**
+   * Finds the fingerprint of the module's source file, if the file still has the content the module
+   * was compiled from.
+   *
+   * @param sourceDigest digest of the compiled source
+   * @param source the compiled source
+   * @return the fingerprint of the file, or {@code null} if the source was not read from a file or
+   *     the file cannot be fingerprinted reliably
+   */
+  private SourceDigests.Fingerprint sourceFingerprint(String sourceDigest, Source source)
+      throws IOException {
+    var file = module.getSourceFile();
+    if (file == null || source == null || source.getPath() == null) {
+      return null;
+    }
+    var digest = SourceDigests.digestFile(module.getName().toString(), file);
+    return digest.digest().equals(sourceDigest) ? digest.fingerprint() : null;
   }
 
   @Override
@@ -109,6 +133,26 @@ public final class ModuleCache
     }
   }
 
+  @Override
+  public Optional<String> computeDigestFromSource(
+      EnsoContext context, Metadata meta, TruffleLogger logger) {
+    try {
+      var source = module.getSource();
+      var file = module.getSourceFile();
+      var fingerprint = meta.sourceFingerprint();
+      if (fingerprint != null
+          && file != null
+          && source.getPath() != null
+          && fingerprint.equals(SourceDigests.Fingerprint.of(file))) {
+        return Optional.of(meta.sourceHash());
+      }
+      return computeDigestOfModuleSources(source);
+    } catch (IOException e) {
+      logger.log(Level.FINEST, "failed to retrieve the source of " + module.getName(), e);
+      return Optional.empty();
+    }
+  }
+
   @Override
   public Optional<Cache.Roots> getCacheRoots(EnsoContext context) {
     if (module != context.getBuiltins().getModule()) {
@@ -169,13 +213,30 @@ public final class ModuleCache
 
   public record CachedModule(Module moduleIR, CompilationStage compilationStage, Source source) {}
 
-  public record Metadata(String sourceHash, String blobHash, String compilationStage) {
+  /**
+   * Metadata of a cached module.
+   *
+   * @param sourceHash digest of the module's source
+   * @param blobHash checksum of the serialized IR
+   * @param compilationStage the compilation stage of the serialized IR
+   * @param sourceFingerprint fingerprint of the source file with the content hashed to {@code
+   *     sourceHash}, or {@code null} if the source has to be hashed to validate the cache
+   */
+  public record Metadata(
+      String sourceHash,
+      String blobHash,
+      String compilationStage,
+      SourceDigests.Fingerprint sourceFingerprint) {
     byte[] toBytes() throws IOException {
       try (var os = new ByteArrayOutputStream();
           var dos = new DataOutputStream(os)) {
         dos.writeUTF(sourceHash());
         dos.writeUTF(blobHash());
         dos.writeUTF(compilationStage());
+        dos.writeBoolean(sourceFingerprint() != null);
+        if (sourceFingerprint() != null) {
+          sourceFingerprint().write(dos);
+        }
         return os.toByteArray();
       }
     }
@@ -183,7 +244,11 @@ public final class ModuleCache
     static Metadata read(byte[] arr) throws IOException {
       try (var is = new ByteArrayInputStream(arr);
           var dis = new DataInputStream(is)) {
-        return new Metadata(dis.readUTF(), dis.readUTF(), dis.readUTF());
+        var sourceHash = dis.readUTF();
+        var blobHash = dis.readUTF();
+        var compilationStage = dis.readUTF();
+        var sourceFingerprint = dis.readBoolean() ? SourceDigests.Fingerprint.read(dis) : null;
+        return new Metadata(sourceHash, blobHash, compilationStage, sourceFingerprint);
       }
     }
   }
@@ -0,0 +1,204 @@
+package org.enso.interpreter.caches;
+
+import com.oracle.truffle.api.TruffleFile;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.enso.pkg.SourceFile;
+import org.enso.text.Hex;
+
+/**
+ * Digests of source files that can be validated without reading the files.
+ *
+ * <p>Every digest is recorded together with a {@link Fingerprint} of the file it was computed from.
+ * As long as the fingerprint of a file does not change, the recorded digest is reused. Only the
+ * files that were modified since the cache was written are read and hashed again.
+ */
+public final class SourceDigests {
+  /**
+   * Files modified less than this many milliseconds before being hashed get no fingerprint. On file
+   * systems with a coarse timestamp resolution, a later modification within the same tick would not
+   * change the fingerprint.
+   */
+  private static final long RACY_INTERVAL_MILLIS = 2000;
+
+  private SourceDigests() {}
+
+  /**
+   * The size, modification time and inode of a file.
+   *
+   * @param size the size of the file in bytes
+   * @param modifiedTime the modification time in microseconds since the epoch
+   * @param inode the inode of the file, or {@code -1} if the file system does not provide it
+   */
+  public record Fingerprint(long size, long modifiedTime, long inode) {
+    /**
+     * Reads the fingerprint of a file.
+     *
+     * @param file the file
+     * @return the fingerprint, or {@code null} if the attributes of the file cannot be read
+     */
+    static Fingerprint of(TruffleFile file) {
+      try {
+        var size = file.size();
+        var modifiedTime = file.getLastModifiedTime().to(TimeUnit.MICROSECONDS);
+        long inode;
+        try {
+          inode = file.getAttribute(TruffleFile.UNIX_INODE);
+        } catch (UnsupportedOperationException e) {
+          inode = -1;
+        }
+        return new Fingerprint(size, modifiedTime, inode);
+      } catch (IOException | SecurityException e) {
+        return null;
+      }
+    }
+
+    private boolean isRacy(long nowMillis) {
+      return TimeUnit.MILLISECONDS.toMicros(nowMillis) - modifiedTime
+          < TimeUnit.MILLISECONDS.toMicros(RACY_INTERVAL_MILLIS);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      out.writeLong(size);
+      out.writeLong(modifiedTime);
+      out.writeLong(inode);
+    }
+
+    static Fingerprint read(DataInputStream in) throws IOException {
+      return new Fingerprint(in.readLong(), in.readLong(), in.readLong());
+    }
+  }
+
+  /**
+   * The digest of a single source file.
+   *
+   * @param name the name identifying the file
+   * @param fingerprint the fingerprint the file had when it was hashed, or {@code null} if the
+   *     digest must not be reused without reading the file again
+   * @param digest the digest of the file's content
+   */
+  public record FileDigest(String name, Fingerprint fingerprint, String digest) {
+    void write(DataOutputStream out) throws IOException {
+      out.writeUTF(name);
+      out.writeBoolean(fingerprint != null);
+      if (fingerprint != null) {
+        fingerprint.write(out);
+      }
+      out.writeUTF(digest);
+    }
+
+    static FileDigest read(DataInputStream in) throws IOException {
+      var name = in.readUTF();
+      var fingerprint = in.readBoolean() ? Fingerprint.read(in) : null;
+      return new FileDigest(name, fingerprint, in.readUTF());
+    }
+
+    static void writeAll(List<FileDigest> digests, DataOutputStream out) throws IOException {
+      out.writeInt(digests.size());
+      for (var digest : digests) {
+        digest.write(out);
+      }
+    }
+
+    static List<FileDigest> readAll(DataInputStream in) throws IOException {
+      var size = in.readInt();
+      var digests = new ArrayList<FileDigest>(size);
+      for (int i = 0; i < size; i++) {
+        digests.add(read(in));
+      }
+      return digests;
+    }
+  }
+
+  /**
+   * The digest of all sources of a library.
+   *
+   * @param digest the digest combining the digests of all files
+   * @param files the digests of the individual files, ordered by their qualified names
+   */
+  public record LibraryDigest(String digest, List<FileDigest> files) {}
+
+  /**
+   * Computes the digest of a file.
+   *
+   * <p>The fingerprint is kept only if the file did not change while it was being read and was not
+   * modified too recently to be trusted.
+   *
+   * @param name the name identifying the file
+   * @param file the file to hash
+   * @return the digest of the file
+   * @throws IOException if the file cannot be read
+   */
+  static FileDigest digestFile(String name, TruffleFile file) throws IOException {
+    var before = Fingerprint.of(file);
+    var digest = CacheUtils.computeDigestFromFile(file);
+    var after = Fingerprint.of(file);
+    var stable =
+        before != null && before.equals(after) && !before.isRacy(System.currentTimeMillis());
+    return new FileDigest(name, stable ? before : null, digest);
+  }
+
+  /**
+   * Returns the digest of a file, reusing a previously computed one if the file has not changed.
+   *
+   * @param previous the previously computed digest, or {@code null}
+   * @param name the name identifying the file
+   * @param file the file to hash
+   * @return the digest of the file
+   * @throws IOException if the file cannot be read
+   */
+  static FileDigest revalidate(FileDigest previous, String name, TruffleFile file)
+      throws IOException {
+    if (previous != null
+        && previous.fingerprint() != null
+        && previous.fingerprint().equals(Fingerprint.of(file))) {
+      return previous;
+    }
+    return digestFile(name, file);
+  }
+
+  /**
+   * Computes the digest of library sources. The files are hashed in parallel and only the files
+   * that changed since the {@code previous} digests were computed are read.
+   *
+   * @param pkgSources the list of package sources
+   * @param previous the digests recorded when the cache was written
+   * @return the digest of the library
+   */
+  static LibraryDigest digestLibrarySources(
+      List<SourceFile<TruffleFile>> pkgSources, List<FileDigest> previous) {
+    var known = new HashMap<String, FileDigest>();
+    for (var digest : previous) {
+      known.put(digest.name(), digest);
+    }
+
+    var sorted = new ArrayList<>(pkgSources);
+    sorted.sort(Comparator.comparing(o -> o.qualifiedName().toString()));
+    List<FileDigest> files =
+        sorted.parallelStream()
+            .map(
+                source -> {
+                  var name = source.qualifiedName().toString();
+                  try {
+                    return revalidate(known.get(name), name, source.file());
+                  } catch (IOException ex) {
+                    throw CacheUtils.raise(RuntimeException.class, ex);
+                  }
+                })
+            .toList();
+
+    var digest = CacheUtils.messageDigest();
+    for (var file : files) {
+      digest.update(file.name().getBytes(StandardCharsets.UTF_8));
+      digest.update(file.digest().getBytes(StandardCharsets.UTF_8));
+    }
+    return new LibraryDigest(Hex.toHexString(digest.digest()), files);
+  }
+}
@@ -11,18 +11,39 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
 import java.util.Arrays;
+import org.enso.interpreter.runtime.EnsoContext;
 import org.enso.interpreter.runtime.data.EnsoObject;
+import org.enso.interpreter.runtime.data.Type;
+import org.enso.interpreter.runtime.data.text.Text;
 import org.enso.interpreter.runtime.warning.WarningsLibrary;
 
+/**
+ * Collects the elements of a vector. The elements are kept unboxed as long as they are all of the
+ * same primitive kind: integers or floats (possibly mixed with {@code Nothing}), booleans or texts.
+ * Once a value of another kind arrives, all elements are copied into an {@code Object[]}.
+ */
 @ExportLibrary(InteropLibrary.class)
 final class ArrayBuilder extends EnsoObject {
   private static final String[] MEMBERS =
       new String[] {"isEmpty", "add", "appendTo", "get", "getSize", "toArray"};
   private final int initialCapacity;
   private int size;
+
+  /** {@code long[]}, {@code double[]}, {@code boolean[]} or {@code Text[]} */
   private Object primitiveArray;
+
   private Object[] objectArray;
 
+  /**
+   * Bitmap of the positions of {@code Nothing} in a {@code long[]} or {@code double[]} {@link
+   * #primitiveArray}, or in a builder holding only {@code Nothing} so far. {@code null} if no
+   * {@code Nothing} has been added.
+   */
+  private long[] isNothing;
+
+  /** The {@code Nothing} value, once it has been added. */
+  private Object nothing;
+
   /** becomes {@code true} when a non trivial value is being added to the builder */
   private boolean nonTrivialEnsoValue;
 
@@ -66,13 +87,14 @@ final class ArrayBuilder extends EnsoObject {
           primitiveArray = longArray = Arrays.copyOf(longArray, size * 2);
         }
         longArray[size++] = l;
-      } else {
-        CompilerDirectives.transferToInterpreter();
-        objectArray = new Object[longArray.length];
-        for (int i = 0; i < size; i++) {
-          objectArray[i] = longArray[i];
+      } else if (isNothingValue(e, warnings)) {
+        if (size == longArray.length) {
+          CompilerDirectives.transferToInterpreter();
+          primitiveArray = Arrays.copyOf(longArray, size * 2);
         }
-        primitiveArray = null;
+        addNothing(e);
+      } else {
+        switchToObjectArray();
         addToObjectArray(e);
       }
     } else if (primitiveArray instanceof double[] doubleArray) {
@@ -82,15 +104,63 @@ final class ArrayBuilder extends EnsoObject {
           primitiveArray = doubleArray = Arrays.copyOf(doubleArray, size * 2);
         }
         doubleArray[size++] = d;
+      } else if (isNothingValue(e, warnings)) {
+        if (size == doubleArray.length) {
+          CompilerDirectives.transferToInterpreter();
+          primitiveArray = Arrays.copyOf(doubleArray, size * 2);
+        }
+        addNothing(e);
       } else {
-        CompilerDirectives.transferToInterpreter();
-        objectArray = new Object[doubleArray.length];
-        for (int i = 0; i < size; i++) {
-          objectArray[i] = doubleArray[i];
+        switchToObjectArray();
+        addToObjectArray(e);
+      }
+    } else if (primitiveArray instanceof boolean[] booleanArray) {
+      if (e instanceof Boolean b) {
+        if (size == booleanArray.length) {
+          CompilerDirectives.transferToInterpreter();
+          primitiveArray = booleanArray = Arrays.copyOf(booleanArray, size * 2);
+        }
+        booleanArray[size++] = b;
+      } else {
+        switchToObjectArray();
+        addToObjectArray(e);
+      }
+    } else if (primitiveArray instanceof Text[] textArray) {
+      if (e instanceof Text t) {
+        if (size == textArray.length) {
+          CompilerDirectives.transferToInterpreter();
+          primitiveArray = textArray = Arrays.copyOf(textArray, size * 2);
         }
-        primitiveArray = null;
+        textArray[size++] = t;
+      } else {
+        switchToObjectArray();
         addToObjectArray(e);
       }
+    } else if (size > 0) {
+      // only Nothing has been added so far
+      assert isNothing != null;
+      if (isNothingValue(e, warnings)) {
+        addNothing(e);
+      } else {
+        CompilerDirectives.transferToInterpreter();
+        var capacity = size < initialCapacity ? initialCapacity : size * 2;
+        switch (e) {
+          case Long l -> {
+            var arr = new long[capacity];
+            arr[size++] = l;
+            primitiveArray = arr;
+          }
+          case Double d -> {
+            var arr = new double[capacity];
+            arr[size++] = d;
+            primitiveArray = arr;
+          }
+          default -> {
+            switchToObjectArray();
+            addToObjectArray(e);
+          }
+        }
+      }
     } else {
       assert objectArray == null;
       assert primitiveArray == null;
@@ -106,16 +176,67 @@ final class ArrayBuilder extends EnsoObject {
           arr[0] = d;
           primitiveArray = arr;
         }
+        case Boolean b -> {
+          var arr = new boolean[initialCapacity];
+          arr[0] = b;
+          primitiveArray = arr;
+        }
+        case Text t -> {
+          var arr = new Text[initialCapacity];
+          arr[0] = t;
+          primitiveArray = arr;
+        }
         default -> {
-          var arr = new Object[initialCapacity];
-          arr[0] = e;
-          objectArray = arr;
+          if (isNothingValue(e, warnings)) {
+            nothing = e;
+            isNothing = new long[wordCount(initialCapacity)];
+            isNothing[0] = 1L;
+          } else {
+            var arr = new Object[initialCapacity];
+            arr[0] = e;
+            objectArray = arr;
+          }
         }
       }
       size = 1;
     }
   }
 
+  private static boolean isNothingValue(Object e, Node node) {
+    return e instanceof Type t && t == EnsoContext.get(node).getNothing();
+  }
+
+  private void addNothing(Object e) {
+    var word = size >>> 6;
+    if (isNothing == null) {
+      CompilerDirectives.transferToInterpreter();
+      isNothing = new long[Math.max(word + 1, wordCount(initialCapacity))];
+      nothing = e;
+    } else if (word >= isNothing.length) {
+      CompilerDirectives.transferToInterpreter();
+      isNothing = Arrays.copyOf(isNothing, Math.max(word + 1, isNothing.length * 2));
+    }
+    isNothing[word] |= 1L << size;
+    size++;
+  }
+
+  /** Number of {@code long} words needed for a bitmap of {@code bits} bits. */
+  static int wordCount(int bits) {
+    return (bits + 63) >>> 6;
+  }
+
+  /**
+   * Checks a bit of a bitmap.
+   *
+   * @param bitmap the words of the bitmap; missing trailing words are considered to be zero
+   * @param index the index of the bit
+   * @return whether the bit is set
+   */
+  static boolean isBitSet(long[] bitmap, int index) {
+    var word = index >>> 6;
+    return word < bitmap.length && (bitmap[word] & (1L << index)) != 0;
+  }
+
   private void addToObjectArray(Object e) {
     if (size == objectArray.length) {
       CompilerDirectives.transferToInterpreter();
@@ -124,17 +245,40 @@ final class ArrayBuilder extends EnsoObject {
     objectArray[size++] = e;
   }
 
+  /** Copies all elements into an {@code Object[]}, boxing the primitive ones. */
+  private void switchToObjectArray() {
+    CompilerDirectives.transferToInterpreter();
+    var arr = new Object[Math.max(initialCapacity, size * 2)];
+    for (int i = 0; i < size; i++) {
+      arr[i] = elementAt(i);
+    }
+    objectArray = arr;
+    primitiveArray = null;
+    isNothing = null;
+  }
+
+  private Object elementAt(int index) {
+    if (objectArray != null) {
+      return objectArray[index];
+    } else if (isNothing != null && isBitSet(isNothing, index)) {
+      return nothing;
+    } else if (primitiveArray instanceof long[] longArray) {
+      return longArray[index];
+    } else if (primitiveArray instanceof double[] doubleArray) {
+      return doubleArray[index];
+    } else if (primitiveArray instanceof boolean[] booleanArray) {
+      return booleanArray[index];
+    } else if (primitiveArray instanceof Text[] textArray) {
+      return textArray[index];
+    }
+    throw new ArrayIndexOutOfBoundsException();
+  }
+
   /** Obtains an element from the builder */
   private Object get(int index, Node node) {
     try {
       if (index >= 0 && index < size) {
-        if (objectArray != null) {
-          return objectArray[index];
-        } else if (primitiveArray instanceof long[] longArray) {
-          return longArray[index];
-        } else if (primitiveArray instanceof double[] doubleArray) {
-          return doubleArray[index];
-        }
+        return elementAt(index);
       }
       throw new ArrayIndexOutOfBoundsException();
     } catch (IndexOutOfBoundsException e) {
@@ -167,6 +311,18 @@ final class ArrayBuilder extends EnsoObject {
       return checkArraySize(mustBeExact, doubleArray.length, size)
           ? doubleArray
           : Arrays.copyOf(doubleArray, size);
+    } else if (primitiveArray instanceof boolean[] booleanArray) {
+      return checkArraySize(mustBeExact, booleanArray.length, size)
+          ? booleanArray
+          : Arrays.copyOf(booleanArray, size);
+    } else if (primitiveArray instanceof Text[] textArray) {
+      return checkArraySize(mustBeExact, textArray.length, size)
+          ? textArray
+          : Arrays.copyOf(textArray, size);
+    } else if (size > 0) {
+      var nothings = new Object[size];
+      Arrays.fill(nothings, nothing);
+      return nothings;
     } else {
       return null;
     }
@@ -243,14 +399,31 @@ final class ArrayBuilder extends EnsoObject {
     return "Array_Builder";
   }
 
+  /** A copy of {@link #isNothing}, so that adding more elements does not affect a vector. */
+  private long[] nothingBitmap() {
+    return Arrays.copyOf(isNothing, wordCount(size));
+  }
+
   Object asVector(boolean mustBeExact) {
     var res = toArray(mustBeExact);
     if (res instanceof long[] longs) {
+      if (isNothing != null) {
+        return Vector.fromNullableLongArray(longs, nothingBitmap(), nothing);
+      }
       return Vector.fromLongArray(longs);
     }
     if (res instanceof double[] doubles) {
+      if (isNothing != null) {
+        return Vector.fromNullableDoubleArray(doubles, nothingBitmap(), nothing);
+      }
       return Vector.fromDoubleArray(doubles);
     }
+    if (res instanceof boolean[] booleans) {
+      return Vector.fromBooleanArray(booleans);
+    }
+    if (res instanceof Text[] texts) {
+      return Vector.fromTextArray(texts);
+    }
     if (nonTrivialEnsoValue) {
       return Vector.fromInteropArray(Array.wrap((Object[]) res));
     } else {
@@ -54,6 +54,28 @@ public abstract class ArrayLikeAtNode extends Node {
     return self.readArrayElement(index);
   }
 
+  @Specialization
+  Object vectorNullableLongAt(Vector.NullableLong self, long index)
+      throws InvalidArrayIndexException {
+    return self.readArrayElement(index);
+  }
+
+  @Specialization
+  Object vectorNullableDoubleAt(Vector.NullableDouble self, long index)
+      throws InvalidArrayIndexException {
+    return self.readArrayElement(index);
+  }
+
+  @Specialization
+  Object vectorBooleanAt(Vector.Boolean self, long index) throws InvalidArrayIndexException {
+    return self.readArrayElement(index);
+  }
+
+  @Specialization
+  Object vectorTextAt(Vector.Text self, long index) throws InvalidArrayIndexException {
+    return self.readArrayElement(index);
+  }
+
   @Specialization
   Object vectorAt(
       Vector.Generic self,
@@ -43,6 +43,26 @@ public abstract class ArrayLikeLengthNode extends Node {
     return self.getArraySize();
   }
 
+  @Specialization
+  static long vectorNullableLongLength(Vector.NullableLong self) {
+    return self.getArraySize();
+  }
+
+  @Specialization
+  static long vectorNullableDoubleLength(Vector.NullableDouble self) {
+    return self.getArraySize();
+  }
+
+  @Specialization
+  static long vectorBooleanLength(Vector.Boolean self) {
+    return self.getArraySize();
+  }
+
+  @Specialization
+  static long vectorTextLength(Vector.Text self) {
+    return self.getArraySize();
+  }
+
   @Specialization
   long vectorLength(
       Vector.Generic self, @Exclusive @CachedLibrary(limit = "3") InteropLibrary iop) {
@@ -132,6 +132,30 @@ abstract class Vector extends EnsoObject {
     }
   }
 
+  static Vector fromNullableLongArray(long[] arr, long[] isNothing, Object nothing) {
+    return new NullableLong(arr, isNothing, nothing);
+  }
+
+  static Vector fromNullableDoubleArray(double[] arr, long[] isNothing, Object nothing) {
+    return new NullableDouble(arr, isNothing, nothing);
+  }
+
+  static Vector fromBooleanArray(boolean[] arr) {
+    if (arr == null || arr.length == 0) {
+      return EMPTY_VECTOR;
+    } else {
+      return new Boolean(arr);
+    }
+  }
+
+  static Vector fromTextArray(org.enso.interpreter.runtime.data.text.Text[] arr) {
+    if (arr == null || arr.length == 0) {
+      return EMPTY_VECTOR;
+    } else {
+      return new Text(arr);
+    }
+  }
+
   static Vector fromEnsoOnlyArray(Object[] arr) {
     if (arr == null || arr.length == 0) {
       return EMPTY_VECTOR;
@@ -422,4 +446,224 @@ abstract class Vector extends EnsoObject {
       return false;
     }
   }
+
+  /**
+   * Vector of integers some of which are {@code Nothing}. The positions of {@code Nothing} are
+   * kept in a bitmap, so the other values stay unboxed.
+   */
+  @ExportLibrary(value = InteropLibrary.class)
+  @ExportLibrary(value = WarningsLibrary.class)
+  static final class NullableLong extends Vector {
+    private final long[] storage;
+    private final long[] isNothing;
+    private final Object nothing;
+
+    private NullableLong(long[] storage, long[] isNothing, Object nothing) {
+      this.storage = storage;
+      this.isNothing = isNothing;
+      this.nothing = nothing;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+      return storage.length;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+      try {
+        var i = Math.toIntExact(index);
+        var value = storage[i];
+        return ArrayBuilder.isBitSet(isNothing, i) ? nothing : value;
+      } catch (ArithmeticException | IndexOutOfBoundsException ex) {
+        throw InvalidArrayIndexException.create(index);
+      }
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+      var size = storage.length;
+      return index < size && index >= 0;
+    }
+
+    @ExportMessage
+    boolean hasWarnings() {
+      return false;
+    }
+
+    @ExportMessage
+    EnsoHashMap getWarnings(boolean shouldWrap) {
+      return EnsoHashMap.empty();
+    }
+
+    @ExportMessage
+    NullableLong removeWarnings() {
+      return this;
+    }
+
+    @ExportMessage
+    boolean isLimitReached() {
+      return false;
+    }
+  }
+
+  /**
+   * Vector of floats some of which are {@code Nothing}. The positions of {@code Nothing} are kept
+   * in a bitmap, so the other values stay unboxed.
+   */
+  @ExportLibrary(value = InteropLibrary.class)
+  @ExportLibrary(value = WarningsLibrary.class)
+  static final class NullableDouble extends Vector {
+    private final double[] storage;
+    private final long[] isNothing;
+    private final Object nothing;
+
+    private NullableDouble(double[] storage, long[] isNothing, Object nothing) {
+      this.storage = storage;
+      this.isNothing = isNothing;
+      this.nothing = nothing;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+      return storage.length;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+      try {
+        var i = Math.toIntExact(index);
+        var value = storage[i];
+        return ArrayBuilder.isBitSet(isNothing, i) ? nothing : value;
+      } catch (ArithmeticException | IndexOutOfBoundsException ex) {
+        throw InvalidArrayIndexException.create(index);
+      }
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+      var size = storage.length;
+      return index < size && index >= 0;
+    }
+
+    @ExportMessage
+    boolean hasWarnings() {
+      return false;
+    }
+
+    @ExportMessage
+    EnsoHashMap getWarnings(boolean shouldWrap) {
+      return EnsoHashMap.empty();
+    }
+
+    @ExportMessage
+    NullableDouble removeWarnings() {
+      return this;
+    }
+
+    @ExportMessage
+    boolean isLimitReached() {
+      return false;
+    }
+  }
+
+  @ExportLibrary(value = InteropLibrary.class)
+  @ExportLibrary(value = WarningsLibrary.class)
+  static final class Boolean extends Vector {
+    private final boolean[] storage;
+
+    private Boolean(boolean[] storage) {
+      this.storage = storage;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+      return storage.length;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+      try {
+        return storage[Math.toIntExact(index)];
+      } catch (ArithmeticException | IndexOutOfBoundsException ex) {
+        throw InvalidArrayIndexException.create(index);
+      }
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+      var size = storage.length;
+      return index < size && index >= 0;
+    }
+
+    @ExportMessage
+    boolean hasWarnings() {
+      return false;
+    }
+
+    @ExportMessage
+    EnsoHashMap getWarnings(boolean shouldWrap) {
+      return EnsoHashMap.empty();
+    }
+
+    @ExportMessage
+    Boolean removeWarnings() {
+      return this;
+    }
+
+    @ExportMessage
+    boolean isLimitReached() {
+      return false;
+    }
+  }
+
+  @ExportLibrary(value = InteropLibrary.class)
+  @ExportLibrary(value = WarningsLibrary.class)
+  static final class Text extends Vector {
+    private final org.enso.interpreter.runtime.data.text.Text[] storage;
+
+    private Text(org.enso.interpreter.runtime.data.text.Text[] storage) {
+      this.storage = storage;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+      return storage.length;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+      try {
+        return storage[Math.toIntExact(index)];
+      } catch (ArithmeticException | IndexOutOfBoundsException ex) {
+        throw InvalidArrayIndexException.create(index);
+      }
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+      var size = storage.length;
+      return index < size && index >= 0;
+    }
+
+    @ExportMessage
+    boolean hasWarnings() {
+      return false;
+    }
+
+    @ExportMessage
+    EnsoHashMap getWarnings(boolean shouldWrap) {
+      return EnsoHashMap.empty();
+    }
+
+    @ExportMessage
+    Text removeWarnings() {
+      return this;
+    }
+
+    @ExportMessage
+    boolean isLimitReached() {
+      return false;
+    }
+  }
 }
@@ -7,7 +7,11 @@ public final class CachingSupplier<T> implements Supplier<T> {
   @SuppressWarnings("unchecked")
   private static final Supplier EMPTY = new CachingSupplier(null);
 
-  private final Supplier<T> supply;
+  /**
+   * The supplier computing the value. It is released once the value is computed, so that whatever
+   * it captured can be garbage collected.
+   */
+  private Supplier<T> supply;
   @CompilerDirectives.CompilationFinal private boolean memoComputed;
   @CompilerDirectives.CompilationFinal private T memo;
 
@@ -35,6 +39,7 @@ public final class CachingSupplier<T> implements Supplier<T> {
 
   @Override
   public T get() {
+    Supplier<T> s;
     synchronized (this) {
       if (memoComputed) {
         return memo;
@@ -44,12 +49,14 @@ public final class CachingSupplier<T> implements Supplier<T> {
         memoComputed = true;
         return memo;
       }
+      s = supply;
     }
-    var v = supply.get();
+    var v = s.get();
     synchronized (this) {
       if (!memoComputed) {
         memo = v;
         memoComputed = true;
+        supply = null;
       }
       return memo;
     }
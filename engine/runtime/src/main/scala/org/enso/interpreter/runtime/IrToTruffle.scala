@@ -393,7 +393,10 @@ class IrToTruffle(
         case _ => None
       }
 
-      val effectContext = methodDef
+      // The signature is only needed once the method is built. Reading it
+      // lazily avoids deserializing the signatures of cached methods that are
+      // never called.
+      def effectContext(): Option[String] = methodDef
         .getMetadata(TypeSignatures)
         .flatMap(sig => getContext(sig.signature))
 
@@ -424,7 +427,7 @@ class IrToTruffle(
           () => {
             buildFunction(
               methodDef,
-              effectContext,
+              effectContext(),
               cons,
               fullMethodDefName,
               expressionProcessor
@@ -442,7 +445,9 @@ class IrToTruffle(
     fullMethodDefName: String,
     expressionProcessor: ExpressionProcessor
   ): RuntimeFunction = {
-    val function = methodDef.body match {
+    // The body is read without being kept in the module IR, so that the IR
+    // of a cached method does not stay in memory once the method is built.
+    val function = methodDef.readBody() match {
       case fn: Function if isBuiltinMethod(fn.body) =>
         buildBuiltinFunction(
           fn,
@@ -623,10 +628,7 @@ class IrToTruffle(
     // For non-builtin types (or modules) that own the builtin method
     // we have to look up the function and register it in the scope.
     // Static wrappers for instance methods have to be registered always.
-    val fullMethodName = methodDef.body
-      .asInstanceOf[Function.Lambda]
-      .body
-      .asInstanceOf[Literal.Text]
+    val fullMethodName = fn.body.asInstanceOf[Literal.Text]
 
     val builtinNameElements = fullMethodName.text.split('.')
     if (builtinNameElements.length != 2) {
@@ -73,6 +73,7 @@ public final class ObjectComparator implements Comparator<Object> {
   }
 
   private final BiFunction<String, String, Integer> textComparator;
+  private final Function<String, String> textSortKey;
 
   public ObjectComparator() {
     this(true, Locale.ROOT);
@@ -81,12 +82,15 @@ public final class ObjectComparator implements Comparator<Object> {
   public ObjectComparator(boolean caseSensitive, Locale locale) {
     if (caseSensitive) {
       textComparator = Text_Utils::compare_normalized;
+      textSortKey = Text_Utils::normalized_sort_key;
     } else {
       textComparator = (a, b) -> Text_Utils.compare_normalized_ignoring_case(a, b, locale);
+      textSortKey = s -> Text_Utils.normalized_sort_key_ignoring_case(s, locale);
     }
   }
 
   public ObjectComparator(Function<Object, Function<Object, Value>> textComparator) {
+    this.textSortKey = null;
     this.textComparator =
         (a, b) -> {
           var result = textComparator.apply(a).apply(b);
@@ -97,6 +101,18 @@ public final class ObjectComparator implements Comparator<Object> {
         };
   }
 
+  /**
+   * Returns a function computing sort keys for text, such that comparing the keys of two strings
+   * with {@link String#compareTo} gives the same result as comparing the strings with this
+   * comparator.
+   *
+   * <p>Returns {@code null} if text is compared using an Enso callback, for which no such keys are
+   * known.
+   */
+  public Function<String, String> getTextSortKey() {
+    return textSortKey;
+  }
+
   @Override
   public int compare(Object thisValue, Object thatValue) {
     // NULLs
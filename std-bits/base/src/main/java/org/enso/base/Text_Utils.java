@@ -226,8 +226,47 @@ public class Text_Utils {
    *     positive value if {@code a} is after {@code b}
    */
   public static int compare_normalized_ignoring_case(String a, String b, Locale locale) {
-    Fold fold = CaseFoldedString.caseFoldAlgorithmForLocale(locale);
-    return Normalizer.compare(fold.apply(a), fold.apply(b), Normalizer.FOLD_CASE_DEFAULT);
+    return Normalizer.compare(
+        foldCaseForComparison(a, locale),
+        foldCaseForComparison(b, locale),
+        Normalizer.FOLD_CASE_DEFAULT);
+  }
+
+  /**
+   * Applies the case folding used by {@code compare_normalized_ignoring_case}.
+   *
+   * <p>Outside of Turkic locales this is the default full case folding ({@link
+   * Normalizer#FOLD_CASE_DEFAULT}), so for example "ß" and "ss" are folded to the same text.
+   */
+  private static String foldCaseForComparison(String str, Locale locale) {
+    return CaseFoldedString.caseFoldAlgorithmForLocale(locale).apply(str);
+  }
+
+  /**
+   * Computes a sort key for {@code compare_normalized}: comparing the keys of two strings with
+   * {@link String#compareTo} gives the same result as comparing the strings themselves.
+   *
+   * @param str the string to compute the key for
+   * @return the canonical decomposition of the string
+   */
+  public static String normalized_sort_key(String str) {
+    return Normalizer2.getNFDInstance().normalize(str);
+  }
+
+  /**
+   * Computes a sort key for {@code compare_normalized_ignoring_case}: comparing the keys of two
+   * strings with {@link String#compareTo} gives the same result as comparing the strings
+   * themselves.
+   *
+   * <p>The string is fully case-folded first, in the same way as by the comparison, so strings
+   * that differ only by a multi-character folding, like "ß" and "ss", get equal keys.
+   *
+   * @param str the string to compute the key for
+   * @param locale the locale to use for case folding
+   * @return the canonical decomposition of the case-folded string
+   */
+  public static String normalized_sort_key_ignoring_case(String str, Locale locale) {
+    return Normalizer2.getNFDInstance().normalize(foldCaseForComparison(str, locale));
   }
 
   /**
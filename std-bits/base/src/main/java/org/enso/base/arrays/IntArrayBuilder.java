@@ -25,6 +25,21 @@ public class IntArrayBuilder {
     storage[length++] = x;
   }
 
+  /**
+   * Adds the first {@code count} elements of the given array, expanding the storage if necessary.
+   */
+  public void addAll(int[] values, int count) {
+    if (length + count > storage.length) {
+      int newCapacity = Math.max(length + count, storage.length + (storage.length / 2));
+      int[] newStorage = new int[newCapacity];
+      System.arraycopy(this.storage, 0, newStorage, 0, length);
+      this.storage = newStorage;
+    }
+
+    System.arraycopy(values, 0, storage, length, count);
+    length += count;
+  }
+
   /**
    * Expands the storage to fit more elements.
    *
@@ -1,9 +1,20 @@
 package org.enso.base.statistics;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.graalvm.polyglot.Context;
 
-/** Class to compute covariance and correlations between series. */
+/**
+ * Class to compute covariance and correlations between series.
+ *
+ * <p>The series are given as primitive arrays, with missing values represented as NaN. Large series
+ * are split into partitions of rows, which are accumulated in parallel and then merged.
+ */
 public class CorrelationStatistics {
+  /** The fewest rows in a partition of a correlation matrix, however many pairs it has. */
+  private static final int MIN_MATRIX_PARTITION_SIZE = 1024;
+
   private long count = 0;
   private double totalX = 0.0;
   private double totalXX = 0.0;
@@ -11,8 +22,20 @@ public class CorrelationStatistics {
   private double totalYY = 0.0;
   private double totalXY = 0.0;
 
-  private void append(Double x, Double y) {
-    if (x == null || x.isNaN() || y == null || y.isNaN()) {
+  private CorrelationStatistics() {}
+
+  CorrelationStatistics(
+      long count, double totalX, double totalXX, double totalY, double totalYY, double totalXY) {
+    this.count = count;
+    this.totalX = totalX;
+    this.totalXX = totalXX;
+    this.totalY = totalY;
+    this.totalYY = totalYY;
+    this.totalXY = totalXY;
+  }
+
+  private void append(double x, double y) {
+    if (Double.isNaN(x) || Double.isNaN(y)) {
       return;
     }
 
@@ -24,6 +47,15 @@ public class CorrelationStatistics {
     totalXY += x * y;
   }
 
+  private void merge(CorrelationStatistics other) {
+    count += other.count;
+    totalX += other.totalX;
+    totalXX += other.totalXX;
+    totalY += other.totalY;
+    totalYY += other.totalYY;
+    totalXY += other.totalXY;
+  }
+
   /*
    * Count of non-null pairs of values.
    */
@@ -110,45 +142,179 @@ public class CorrelationStatistics {
       throw new IllegalArgumentException("Left and right lengths are not the same.");
     }
 
-    CorrelationStatistics output = new CorrelationStatistics();
-    for (int i = 0; i < x.length; i++) {
-      output.append(x[i], y[i]);
+    return computeFromDoubles(unbox(x), unbox(y));
+  }
+
+  /**
+   * Create the CorrelationStats between two series, given as primitive arrays in which missing
+   * values are NaN.
+   *
+   * @param x Array of X values
+   * @param y Array of Y values
+   * @return CorrelationStats object for the 2 series.
+   */
+  public static CorrelationStatistics computeFromDoubles(double[] x, double[] y) {
+    if (x.length != y.length) {
+      throw new IllegalArgumentException("Left and right lengths are not the same.");
+    }
+
+    List<CorrelationStatistics> partitions =
+        RowPartitions.compute(
+            x.length,
+            RowPartitions.PARTITION_SIZE,
+            (start, end) -> {
+              CorrelationStatistics partition = new CorrelationStatistics();
+              for (int i = start; i < end; i++) {
+                partition.append(x[i], y[i]);
+              }
+              return partition;
+            });
+
+    CorrelationStatistics output = partitions.get(0);
+    for (int i = 1; i < partitions.size(); i++) {
+      output.merge(partitions.get(i));
     }
     return output;
   }
 
   public static CorrelationStatistics[][] computeMatrix(Double[][] data) {
-    int len = data[0].length;
+    return computeMatrixFromDoubles(unboxAll(data));
+  }
+
+  /**
+   * Computes the CorrelationStats between every pair of the series, given as primitive arrays in
+   * which missing values are NaN.
+   *
+   * <p>All pairs are computed in a single pass over the rows. The statistics of a pair {@code (i,
+   * j)} with {@code j < i} are the same object as for {@code (j, i)}.
+   *
+   * @param data Array of series, all of the same length.
+   * @return Matrix of CorrelationStats objects.
+   */
+  public static CorrelationStatistics[][] computeMatrixFromDoubles(double[][] data) {
+    int len = checkLengths(data);
+
+    // Each row updates all the pairs, so fewer rows make up a partition. The size depends only on
+    // the shape of the data, so the result does not depend on the machine.
+    int pairs = data.length * (data.length + 1) / 2;
+    int partitionSize =
+        Math.max(MIN_MATRIX_PARTITION_SIZE, RowPartitions.PARTITION_SIZE / Math.max(1, pairs));
+    List<PairwiseMoments> partitions =
+        RowPartitions.compute(
+            len,
+            partitionSize,
+            (start, end) -> {
+              PairwiseMoments partition = new PairwiseMoments(data.length);
+              partition.accumulate(data, start, end);
+              return partition;
+            });
+
+    PairwiseMoments moments = partitions.get(0);
+    for (int i = 1; i < partitions.size(); i++) {
+      moments.merge(partitions.get(i));
+    }
 
     Context context = Context.getCurrent();
     CorrelationStatistics[][] output = new CorrelationStatistics[data.length][];
     for (int i = 0; i < data.length; i++) {
-      if (data[i].length != len) {
-        throw new IllegalArgumentException("Data lengths are not consistent.");
-      }
       output[i] = new CorrelationStatistics[data.length];
       for (int j = 0; j < data.length; j++) {
-        if (j < i) {
-          output[i][j] = output[j][i];
-        } else {
-          output[i][j] = compute(data[i], data[j]);
-        }
-
-        context.safepoint();
+        output[i][j] = j < i ? output[j][i] : moments.get(i, j);
       }
+
+      context.safepoint();
     }
     return output;
   }
 
   public static double spearmanRankCorrelation(Double[] x, Double[] y) {
-    double[][] pairedRanks = Rank.pairedRanks(x, y, Rank.Method.AVERAGE);
+    if (x.length != y.length) {
+      throw new IllegalArgumentException("Left and right lengths are not the same.");
+    }
 
+    return spearmanRankCorrelationFromDoubles(unbox(x), unbox(y));
+  }
+
+  /**
+   * Computes the Spearman rank correlation between two series, given as primitive arrays in which
+   * missing values are NaN. Rows with a missing value in either series are ignored.
+   */
+  public static double spearmanRankCorrelationFromDoubles(double[] x, double[] y) {
+    double[][] pairedRanks = Rank.pairedRanksFromDoubles(x, y, Rank.Method.AVERAGE);
+    return computeFromDoubles(pairedRanks[0], pairedRanks[1]).pearsonCorrelation();
+  }
+
+  /**
+   * Computes the Spearman rank correlation between every pair of the series.
+   *
+   * <p>Each series without missing values is ranked once, and the correlations between all such
+   * series are computed in a single pass over their ranks. If either series of a pair has missing
+   * values, the ranks depend on which rows are present in both, so they are computed for the pair.
+   *
+   * @param data Array of series, all of the same length.
+   * @return Matrix of the correlations, with 1 on the diagonal.
+   */
+  public static double[][] spearmanRankCorrelationMatrix(Double[][] data) {
+    double[][] series = unboxAll(data);
+    checkLengths(series);
+
+    // Position of each series among the ones without missing values, or -1 if it has some.
     Context context = Context.getCurrent();
-    CorrelationStatistics computation = new CorrelationStatistics();
-    for (int i = 0; i < pairedRanks[0].length; i++) {
-      computation.append(pairedRanks[0][i], pairedRanks[1][i]);
+    int[] completeIndex = new int[series.length];
+    List<double[]> completeRanks = new ArrayList<>(series.length);
+    for (int i = 0; i < series.length; i++) {
+      completeIndex[i] = -1;
+      if (Arrays.stream(series[i]).noneMatch(Double::isNaN)) {
+        completeIndex[i] = completeRanks.size();
+        completeRanks.add(Rank.rankFromDoubles(series[i], Rank.Method.AVERAGE));
+      }
       context.safepoint();
     }
-    return computation.pearsonCorrelation();
+
+    CorrelationStatistics[][] rankStatistics =
+        computeMatrixFromDoubles(completeRanks.toArray(new double[0][]));
+
+    double[][] output = new double[series.length][series.length];
+    for (int i = 0; i < series.length; i++) {
+      output[i][i] = 1;
+      for (int j = i + 1; j < series.length; j++) {
+        double correlation =
+            completeIndex[i] != -1 && completeIndex[j] != -1
+                ? rankStatistics[completeIndex[i]][completeIndex[j]].pearsonCorrelation()
+                : spearmanRankCorrelationFromDoubles(series[i], series[j]);
+        output[i][j] = correlation;
+        output[j][i] = correlation;
+        context.safepoint();
+      }
+    }
+    return output;
+  }
+
+  private static int checkLengths(double[][] data) {
+    int len = data.length == 0 ? 0 : data[0].length;
+    for (double[] series : data) {
+      if (series.length != len) {
+        throw new IllegalArgumentException("Data lengths are not consistent.");
+      }
+    }
+    return len;
+  }
+
+  /** Converts the values to a primitive array, representing missing values as NaN. */
+  static double[] unbox(Double[] values) {
+    double[] output = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      Double value = values[i];
+      output[i] = value == null ? Double.NaN : value;
+    }
+    return output;
+  }
+
+  private static double[][] unboxAll(Double[][] data) {
+    double[][] output = new double[data.length][];
+    for (int i = 0; i < data.length; i++) {
+      output[i] = unbox(data[i]);
+    }
+    return output;
   }
 }
@@ -1,5 +1,7 @@
 package org.enso.base.statistics;
 
+import java.util.List;
+
 /** Set of descriptive statistics for numerical data sets */
 public class Moments {
   private long count;
@@ -26,6 +28,46 @@ public class Moments {
     return this;
   }
 
+  /** Adds the values counted by the other instance, which must be of the same order. */
+  public Moments merge(Moments other) {
+    count += other.count;
+    for (int i = 0; i < totals.length; i++) {
+      totals[i] += other.totals[i];
+    }
+
+    return this;
+  }
+
+  /**
+   * Computes the moments of the values, skipping NaN values which represent missing ones.
+   *
+   * <p>Large arrays are split into partitions of rows, which are counted in parallel and merged.
+   *
+   * @param values the values to compute the moments of.
+   * @param order the maximum order of moments to compute.
+   */
+  public static Moments computeFromDoubles(double[] values, int order) {
+    List<Moments> partitions =
+        RowPartitions.compute(
+            values.length,
+            RowPartitions.PARTITION_SIZE,
+            (start, end) -> {
+              Moments partition = new Moments(order);
+              for (int i = start; i < end; i++) {
+                if (!Double.isNaN(values[i])) {
+                  partition.add(values[i]);
+                }
+              }
+              return partition;
+            });
+
+    Moments output = partitions.get(0);
+    for (int i = 1; i < partitions.size(); i++) {
+      output.merge(partitions.get(i));
+    }
+    return output;
+  }
+
   public long getCount() {
     return count;
   }
@@ -0,0 +1,103 @@
+package org.enso.base.statistics;
+
+/**
+ * Accumulates the sums needed for the {@link CorrelationStatistics} of every pair of a set of
+ * series in a single pass over their rows.
+ *
+ * <p>A row only contributes to a pair if both of its values are not NaN. The rows are processed in
+ * blocks, so that the part of every series used by a block stays in the cache while all pairs are
+ * updated. Within a pair the rows are still summed in order, so a single accumulator gives the same
+ * results as computing each pair separately.
+ */
+final class PairwiseMoments {
+  /** The number of rows processed for all pairs before moving on to the next rows. */
+  private static final int BLOCK_SIZE = 256;
+
+  private final int series;
+  private final long[] counts;
+  private final double[] totalX;
+  private final double[] totalXX;
+  private final double[] totalY;
+  private final double[] totalYY;
+  private final double[] totalXY;
+
+  PairwiseMoments(int series) {
+    this.series = series;
+    int pairs = series * (series + 1) / 2;
+    this.counts = new long[pairs];
+    this.totalX = new double[pairs];
+    this.totalXX = new double[pairs];
+    this.totalY = new double[pairs];
+    this.totalYY = new double[pairs];
+    this.totalXY = new double[pairs];
+  }
+
+  /** Returns the index of the pair of series {@code i <= j}. */
+  private int pairIndex(int i, int j) {
+    return i * series - i * (i - 1) / 2 + (j - i);
+  }
+
+  /** Adds the rows {@code [start, end)} of the series to the sums. */
+  void accumulate(double[][] data, int start, int end) {
+    for (int blockStart = start; blockStart < end; blockStart += BLOCK_SIZE) {
+      int blockEnd = Math.min(end, blockStart + BLOCK_SIZE);
+      int pair = 0;
+      for (int i = 0; i < series; i++) {
+        double[] xs = data[i];
+        for (int j = i; j < series; j++) {
+          double[] ys = data[j];
+
+          long count = counts[pair];
+          double sumX = totalX[pair];
+          double sumXX = totalXX[pair];
+          double sumY = totalY[pair];
+          double sumYY = totalYY[pair];
+          double sumXY = totalXY[pair];
+          for (int row = blockStart; row < blockEnd; row++) {
+            double x = xs[row];
+            double y = ys[row];
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+              continue;
+            }
+
+            count++;
+            sumX += x;
+            sumXX += x * x;
+            sumY += y;
+            sumYY += y * y;
+            sumXY += x * y;
+          }
+          counts[pair] = count;
+          totalX[pair] = sumX;
+          totalXX[pair] = sumXX;
+          totalY[pair] = sumY;
+          totalYY[pair] = sumYY;
+          totalXY[pair] = sumXY;
+
+          pair++;
+        }
+      }
+    }
+  }
+
+  /** Adds the sums of the other accumulator, computed for later rows, to this one. */
+  void merge(PairwiseMoments other) {
+    for (int pair = 0; pair < counts.length; pair++) {
+      counts[pair] += other.counts[pair];
+      totalX[pair] += other.totalX[pair];
+      totalXX[pair] += other.totalXX[pair];
+      totalY[pair] += other.totalY[pair];
+      totalYY[pair] += other.totalYY[pair];
+      totalXY[pair] += other.totalXY[pair];
+    }
+  }
+
+  /**
+   * Returns the statistics of the series {@code i} (as X) and {@code j} (as Y), for {@code i <= j}.
+   */
+  CorrelationStatistics get(int i, int j) {
+    int pair = pairIndex(i, j);
+    return new CorrelationStatistics(
+        counts[pair], totalX[pair], totalXX[pair], totalY[pair], totalYY[pair], totalXY[pair]);
+  }
+}
@@ -1,14 +1,15 @@
 package org.enso.base.statistics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import org.enso.base.ObjectComparator;
 import org.graalvm.polyglot.Context;
 
 public class Rank {
-  private static final Comparator<Object> DOUBLE_COMPARATOR =
-      (a, b) -> Double.compare((Double) a, (Double) b);
+  /** The largest magnitude up to which every integer can be represented exactly as a double. */
+  private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
 
   public enum Method {
     AVERAGE,
@@ -22,6 +23,11 @@ public class Rank {
 
   public static double[] rank(Object[] input, Method method)
       throws NullPointerException, ClassCastException {
+    double[] numbers = asDoubles(input);
+    if (numbers != null) {
+      return rankFromDoubles(numbers, method);
+    }
+
     List<ValueWithIndex> tuples = new ArrayList<>(input.length);
     for (int i = 0; i < input.length; i++) {
       if (input[i] == null) {
@@ -33,32 +39,169 @@ public class Rank {
     return computeRankFromTuples(tuples, new ObjectComparator(), method);
   }
 
+  /**
+   * Converts the values to doubles, if they are all {@code Double} or all {@code Long} values that
+   * can be represented exactly. For such values, comparing the doubles gives the same order as the
+   * {@link ObjectComparator}. Otherwise, returns null.
+   */
+  private static double[] asDoubles(Object[] input) {
+    if (input.length == 0) {
+      return null;
+    }
+
+    boolean isDouble = input[0] instanceof Double;
+    double[] output = new double[input.length];
+    for (int i = 0; i < input.length; i++) {
+      if (isDouble && input[i] instanceof Double d) {
+        output[i] = d;
+      } else if (!isDouble
+          && input[i] instanceof Long l
+          && Math.abs(l) <= MAX_EXACT_DOUBLE_INTEGER) {
+        output[i] = l;
+      } else {
+        return null;
+      }
+    }
+    return output;
+  }
+
   public static double[][] pairedRanks(Double[] x, Double[] y, Method method)
-      throws IllegalArgumentException, NullPointerException, ClassCastException {
+      throws IllegalArgumentException {
+    if (x.length != y.length) {
+      throw new IllegalArgumentException("Left and right lengths are not the same.");
+    }
+
+    return pairedRanksFromDoubles(
+        CorrelationStatistics.unbox(x), CorrelationStatistics.unbox(y), method);
+  }
+
+  /**
+   * Ranks the rows of two series in which both values are present, given as primitive arrays in
+   * which missing values are NaN.
+   *
+   * @return the ranks of the X and Y values of the rows which are present in both series.
+   */
+  public static double[][] pairedRanksFromDoubles(double[] x, double[] y, Method method)
+      throws IllegalArgumentException {
     if (x.length != y.length) {
       throw new IllegalArgumentException("Left and right lengths are not the same.");
     }
 
     Context context = Context.getCurrent();
-    List<ValueWithIndex> x_tuples = new ArrayList<>(x.length);
-    List<ValueWithIndex> y_tuples = new ArrayList<>(y.length);
+    double[] xValues = new double[x.length];
+    double[] yValues = new double[y.length];
+    int count = 0;
     for (int i = 0; i < x.length; i++) {
-      if (x[i] == null || Double.isNaN(x[i]) || y[i] == null || Double.isNaN(y[i])) {
+      if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
         continue;
       }
 
-      x_tuples.add(new ValueWithIndex(x[i], x_tuples.size()));
-      y_tuples.add(new ValueWithIndex(y[i], y_tuples.size()));
+      xValues[count] = x[i];
+      yValues[count] = y[i];
+      count++;
 
       context.safepoint();
     }
 
     return new double[][] {
-      computeRankFromTuples(x_tuples, DOUBLE_COMPARATOR, method),
-      computeRankFromTuples(y_tuples, DOUBLE_COMPARATOR, method)
+      rankFromDoubles(Arrays.copyOf(xValues, count), method),
+      rankFromDoubles(Arrays.copyOf(yValues, count), method)
     };
   }
 
+  /**
+   * Ranks the values in the same way as {@link #rank(Object[], Method)}, with the largest value
+   * ranked first, without boxing them.
+   *
+   * <p>The values are sorted once, and the rank of every value is found from the bounds of its run
+   * of equal values in the sorted array, so the ranks of separate partitions of the values can be
+   * computed in parallel.
+   */
+  public static double[] rankFromDoubles(double[] values, Method method) {
+    int size = values.length;
+    double[] sorted = values.clone();
+    Arrays.parallelSort(sorted);
+
+    // Number of distinct values greater or equal to the value at each position of the sorted array.
+    int[] denseRanks = null;
+    if (method == Method.DENSE) {
+      denseRanks = new int[size];
+      int dense = 0;
+      for (int i = size - 1; i >= 0; i--) {
+        if (i == size - 1 || Double.compare(sorted[i], sorted[i + 1]) != 0) {
+          dense++;
+        }
+        denseRanks[i] = dense;
+      }
+    }
+
+    double[] output = new double[size];
+    if (method == Method.ORDINAL) {
+      // Equal values are ranked in the order in which they occur, so it cannot be partitioned.
+      int[] seen = new int[size];
+      for (int i = 0; i < size; i++) {
+        int lower = lowerBound(sorted, values[i]);
+        int greater = size - upperBound(sorted, values[i]);
+        output[i] = greater + 1 + seen[lower];
+        seen[lower]++;
+      }
+      return output;
+    }
+
+    int[] finalDenseRanks = denseRanks;
+    RowPartitions.compute(
+        size,
+        RowPartitions.PARTITION_SIZE,
+        (start, end) -> {
+          for (int i = start; i < end; i++) {
+            int lower = lowerBound(sorted, values[i]);
+            int upper = upperBound(sorted, values[i]);
+            int greater = size - upper;
+            output[i] =
+                switch (method) {
+                  case MINIMUM -> greater + 1;
+                  case MAXIMUM -> size - lower;
+                  case DENSE -> finalDenseRanks[lower];
+                  case AVERAGE -> (greater + 1 + size - lower) / 2.0;
+                  case ORDINAL -> throw new IllegalStateException(
+                      "Ordinal ranks are computed sequentially.");
+                };
+          }
+          return null;
+        });
+    return output;
+  }
+
+  /** Returns the index of the first element of the sorted array that is not less than the value. */
+  private static int lowerBound(double[] sorted, double value) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Double.compare(sorted[mid], value) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Returns the index of the first element of the sorted array that is greater than the value. */
+  private static int upperBound(double[] sorted, double value) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Double.compare(sorted[mid], value) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
   private static double[] computeRankFromTuples(
       List<ValueWithIndex> tuples, Comparator<Object> comparator, Method method)
       throws NullPointerException, ClassCastException {
@@ -12,8 +12,25 @@ public class Regression {
    */
   public static LinearModel fit_linear(Double[] known_xs, Double[] known_ys)
       throws IllegalArgumentException, FitError {
-    CorrelationStatistics stats = CorrelationStatistics.compute(known_xs, known_ys);
+    return fitLinear(CorrelationStatistics.compute(known_xs, known_ys));
+  }
+
+  /**
+   * Performs a least squares fit of a line to the data, given as primitive arrays in which missing
+   * values are NaN.
+   *
+   * @param known_xs Set of known X values.
+   * @param known_ys Set of known Y values.
+   * @return A fitted linear model (y = Intercept + Slope x) and the r-squared value.
+   * @throws IllegalArgumentException if the number of elements in the arrays is different or a
+   *     singular X value is provided.
+   */
+  public static LinearModel fit_linear_from_doubles(double[] known_xs, double[] known_ys)
+      throws IllegalArgumentException, FitError {
+    return fitLinear(CorrelationStatistics.computeFromDoubles(known_xs, known_ys));
+  }
 
+  private static LinearModel fitLinear(CorrelationStatistics stats) throws FitError {
     double denominator = denominator(stats);
     if (denominator == 0) {
       throw new FitError("Singular X value.");
@@ -35,7 +52,25 @@ public class Regression {
    */
   public static LinearModel fit_linear(Double[] known_xs, Double[] known_ys, double intercept)
       throws IllegalArgumentException {
-    CorrelationStatistics stats = CorrelationStatistics.compute(known_xs, known_ys);
+    return fitLinear(CorrelationStatistics.compute(known_xs, known_ys), intercept);
+  }
+
+  /**
+   * Performs a least squares fit of a line to the data with a given intercept, given as primitive
+   * arrays in which missing values are NaN.
+   *
+   * @param known_xs Set of known X values.
+   * @param known_ys Set of known Y values.
+   * @param intercept The intercept of the line.
+   * @return A fitted linear model (y = Intercept + Slope x) and the r-squared value.
+   * @throws IllegalArgumentException if the number of elements in the arrays is different.
+   */
+  public static LinearModel fit_linear_from_doubles(
+      double[] known_xs, double[] known_ys, double intercept) throws IllegalArgumentException {
+    return fitLinear(CorrelationStatistics.computeFromDoubles(known_xs, known_ys), intercept);
+  }
+
+  private static LinearModel fitLinear(CorrelationStatistics stats, double intercept) {
     return new LinearModel(slopeWithIntercept(stats, intercept), intercept, stats.rSquared());
   }
 
@@ -0,0 +1,104 @@
+package org.enso.base.statistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Splits a range of rows into contiguous partitions of a fixed size that are processed in parallel
+ * on the common {@link ForkJoinPool}.
+ *
+ * <p>The boundaries of the partitions depend only on the amount of rows, never on the number of
+ * available threads, so the merged results are the same on every machine.
+ *
+ * <p>The tasks run on threads that are not entered into the polyglot context, so they must only
+ * work on primitive arrays. While waiting for them, the calling thread keeps polling {@link
+ * Context#safepoint()}, so the computation can still be interrupted.
+ */
+final class RowPartitions {
+  private RowPartitions() {}
+
+  /** The amount of rows processed by a single partition. */
+  static final int PARTITION_SIZE = 16 * 1024;
+
+  /** How often the waiting thread checks for interrupts, in milliseconds. */
+  private static final long SAFEPOINT_POLL_INTERVAL_MS = 10;
+
+  /** Computes a partial result for the rows in {@code [start, end)}. */
+  interface PartitionTask<T> {
+    T compute(int start, int end);
+  }
+
+  /**
+   * Computes into how many partitions of {@code partitionSize} rows the {@code size} rows are
+   * split. Only the last partition may be smaller.
+   */
+  static int partitionCount(int size, int partitionSize) {
+    int rows = Math.max(1, partitionSize);
+    return Math.max(1, (int) (((long) size + rows - 1) / rows));
+  }
+
+  /**
+   * Runs the task on each partition of {@code [0, size)} and returns the partial results in the
+   * order of the rows, so that they can be merged deterministically.
+   *
+   * <p>If all rows fit into a single partition, the task is run on the calling thread.
+   */
+  static <T> List<T> compute(int size, int partitionSize, PartitionTask<T> task) {
+    int count = partitionCount(size, partitionSize);
+    if (count <= 1) {
+      return Collections.singletonList(task.compute(0, size));
+    }
+
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    List<ForkJoinTask<T>> submitted = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int start = (int) Math.min((long) i * partitionSize, size);
+      int end = (int) Math.min((long) (i + 1) * partitionSize, size);
+      submitted.add(pool.submit(() -> task.compute(start, end)));
+    }
+
+    Context context = Context.getCurrent();
+    List<T> results = new ArrayList<>(count);
+    try {
+      for (ForkJoinTask<T> partition : submitted) {
+        results.add(await(partition, context));
+      }
+    } catch (RuntimeException | Error e) {
+      for (ForkJoinTask<T> partition : submitted) {
+        partition.cancel(false);
+      }
+      throw e;
+    }
+    return results;
+  }
+
+  private static <T> T await(ForkJoinTask<T> task, Context context) {
+    while (true) {
+      try {
+        return task.get(SAFEPOINT_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        context.safepoint();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while computing statistics.");
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        } else if (cause instanceof Error error) {
+          throw error;
+        } else {
+          throw new IllegalStateException("A statistics task failed.", cause);
+        }
+      }
+    }
+  }
+}
@@ -19,7 +19,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
 
-abstract class AuditedConnection implements Connection {
+abstract class AuditedConnection implements Connection, OperationAuditor {
   protected final Connection underlying;
 
   AuditedConnection(Connection underlying) {
@@ -30,6 +30,11 @@ abstract class AuditedConnection implements Connection {
 
   abstract void auditTransaction(String operation);
 
+  @Override
+  public void auditOperation(String operationType, String sql) {
+    auditQuery(operationType, sql);
+  }
+
   private RuntimeException unimplemented(String name) {
     throw new UnsupportedOperationException(
         name + " is not implemented. This is a bug in the Database library.");
@@ -0,0 +1,18 @@
+package org.enso.database.audit;
+
+import java.sql.Connection;
+
+/**
+ * Records operations that are performed on a connection without going through a JDBC statement, for
+ * example using a driver-specific bulk copy API, so that they still appear in the audit log.
+ */
+public interface OperationAuditor {
+  void auditOperation(String operationType, String sql);
+
+  /** Records the operation if the connection is audited, otherwise does nothing. */
+  static void auditIfEnabled(Connection connection, String operationType, String sql) {
+    if (connection instanceof OperationAuditor auditor) {
+      auditor.auditOperation(operationType, sql);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package org.enso.database.fetchers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.enso.database.JDBCUtils;
+import org.enso.table.data.column.builder.BoolBuilder;
+import org.enso.table.data.column.builder.Builder;
+import org.enso.table.data.column.builder.DoubleBuilder;
+import org.enso.table.data.column.builder.LongBuilder;
+import org.enso.table.data.column.storage.Storage;
+
+/**
+ * Reads the values of a single column of a {@link ResultSet} into a builder.
+ *
+ * <p>Primitive values are read with the primitive getters and checked with {@link
+ * ResultSet#wasNull()}, so that they are not boxed on the way to the builder.
+ */
+public abstract class ColumnFetcher {
+  /** Reads the value of the column from the current row and appends it to the builder. */
+  public abstract void fetch(ResultSet resultSet, int columnIndex) throws SQLException;
+
+  /** Returns the builder that the values are appended to. */
+  public abstract Builder getBuilder();
+
+  /** Seals the builder, returning the storage of all values fetched so far. */
+  public Storage<?> seal() {
+    return getBuilder().seal();
+  }
+
+  public static ColumnFetcher forBoolean(BoolBuilder builder) {
+    return new BooleanFetcher(builder);
+  }
+
+  public static ColumnFetcher forLong(LongBuilder builder) {
+    return new LongFetcher(builder);
+  }
+
+  public static ColumnFetcher forDouble(DoubleBuilder builder) {
+    return new DoubleFetcher(builder);
+  }
+
+  /** Reads values as {@link BigDecimal} and converts them to integers, failing if any is not. */
+  public static ColumnFetcher forBigInteger(Builder builder) {
+    return new ObjectFetcher(
+        builder,
+        (resultSet, columnIndex) -> {
+          BigDecimal value = resultSet.getBigDecimal(columnIndex);
+          return value == null ? null : value.toBigIntegerExact();
+        });
+  }
+
+  public static ColumnFetcher forBigDecimal(Builder builder) {
+    return new ObjectFetcher(builder, ResultSet::getBigDecimal);
+  }
+
+  public static ColumnFetcher forText(Builder builder) {
+    return new ObjectFetcher(builder, ResultSet::getString);
+  }
+
+  public static ColumnFetcher forDate(Builder builder) {
+    return new ObjectFetcher(builder, JDBCUtils::getLocalDate);
+  }
+
+  public static ColumnFetcher forTimeOfDay(Builder builder) {
+    return new ObjectFetcher(builder, JDBCUtils::getLocalTime);
+  }
+
+  public static ColumnFetcher forDateTime(Builder builder) {
+    return new ObjectFetcher(builder, JDBCUtils::getZonedDateTime);
+  }
+
+  /**
+   * Reads timestamps without a timezone, interpreting them in the system default timezone, as
+   * {@link JDBCUtils#getLocalDateTimeAsZoned} does.
+   */
+  public static ColumnFetcher forLocalDateTime(Builder builder) {
+    return new ObjectFetcher(builder, JDBCUtils::getLocalDateTimeAsZoned);
+  }
+
+  /** Reads values with {@link ResultSet#getObject(int)}, for columns of any other type. */
+  public static ColumnFetcher forObject(Builder builder) {
+    return new ObjectFetcher(builder, ResultSet::getObject);
+  }
+
+  /**
+   * Reads values using the given getter, for columns that need a database-specific conversion.
+   *
+   * <p>The getter is called for every row, so it should be implemented in Java.
+   */
+  public static ColumnFetcher forValues(Builder builder, ValueGetter getter) {
+    return new ObjectFetcher(builder, getter);
+  }
+
+  /** Gets the value of a column in the current row of a result set. */
+  public interface ValueGetter {
+    /** Returns the value of the column in the current row, or {@code null} if it is missing. */
+    Object get(ResultSet resultSet, int columnIndex) throws SQLException;
+  }
+
+  private static final class BooleanFetcher extends ColumnFetcher {
+    private final BoolBuilder builder;
+
+    private BooleanFetcher(BoolBuilder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    public void fetch(ResultSet resultSet, int columnIndex) throws SQLException {
+      boolean value = resultSet.getBoolean(columnIndex);
+      if (resultSet.wasNull()) {
+        builder.appendNulls(1);
+      } else {
+        builder.appendBoolean(value);
+      }
+    }
+
+    @Override
+    public Builder getBuilder() {
+      return builder;
+    }
+  }
+
+  private static final class LongFetcher extends ColumnFetcher {
+    private final LongBuilder builder;
+
+    private LongFetcher(LongBuilder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    public void fetch(ResultSet resultSet, int columnIndex) throws SQLException {
+      long value = resultSet.getLong(columnIndex);
+      if (resultSet.wasNull()) {
+        builder.appendNulls(1);
+      } else {
+        builder.appendLong(value);
+      }
+    }
+
+    @Override
+    public Builder getBuilder() {
+      return builder;
+    }
+  }
+
+  private static final class DoubleFetcher extends ColumnFetcher {
+    private final DoubleBuilder builder;
+
+    private DoubleFetcher(DoubleBuilder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    public void fetch(ResultSet resultSet, int columnIndex) throws SQLException {
+      double value = resultSet.getDouble(columnIndex);
+      if (resultSet.wasNull()) {
+        builder.appendNulls(1);
+      } else {
+        builder.appendDouble(value);
+      }
+    }
+
+    @Override
+    public Builder getBuilder() {
+      return builder;
+    }
+  }
+
+  private static final class ObjectFetcher extends ColumnFetcher {
+    private final Builder builder;
+    private final ValueGetter getter;
+
+    private ObjectFetcher(Builder builder, ValueGetter getter) {
+      this.builder = builder;
+      this.getter = getter;
+    }
+
+    @Override
+    public void fetch(ResultSet resultSet, int columnIndex) throws SQLException {
+      Object value = getter.get(resultSet, columnIndex);
+      if (value == null) {
+        builder.appendNulls(1);
+      } else {
+        builder.append(value);
+      }
+    }
+
+    @Override
+    public Builder getBuilder() {
+      return builder;
+    }
+  }
+}
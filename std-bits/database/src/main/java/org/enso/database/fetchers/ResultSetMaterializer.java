@@ -0,0 +1,49 @@
+package org.enso.database.fetchers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.ArrayList;
+import java.util.List;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Reads all rows of a {@link ResultSet} into columns.
+ *
+ * <p>The loop over the rows runs entirely in Java, and each column is read by a {@link
+ * ColumnFetcher} chosen for its type, so no Enso code is called per row or per cell.
+ */
+public final class ResultSetMaterializer {
+  private ResultSetMaterializer() {}
+
+  /**
+   * Reads all remaining rows of the result set.
+   *
+   * <p>The number of rows that the driver fetches from the database at once is set on the statement
+   * before it is executed, as some drivers ignore a fetch size set later.
+   *
+   * @param resultSet the result set to read
+   * @param fetchers the fetchers for each column of the result set, in order
+   * @return the warnings reported by the driver while reading the rows
+   */
+  public static List<SQLWarning> readAll(ResultSet resultSet, ColumnFetcher[] fetchers)
+      throws SQLException {
+    Context context = Context.getCurrent();
+    List<SQLWarning> warnings = new ArrayList<>();
+    while (resultSet.next()) {
+      for (int i = 0; i < fetchers.length; i++) {
+        fetchers[i].fetch(resultSet, i + 1);
+      }
+
+      // The warnings are cleared by the driver when the next row is read.
+      for (SQLWarning warning = resultSet.getWarnings();
+          warning != null;
+          warning = warning.getNextWarning()) {
+        warnings.add(warning);
+      }
+
+      context.safepoint();
+    }
+    return warnings;
+  }
+}
@@ -0,0 +1,212 @@
+package org.enso.database.upload;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.enso.table.data.column.storage.Storage;
+import org.graalvm.polyglot.Context;
+import org.postgresql.PGConnection;
+import org.sqlite.SQLiteConnection;
+
+/**
+ * Inserts the rows of an in-memory table into a database table.
+ *
+ * <p>The values are read directly from the storages of the columns, so no Enso code is called per
+ * row or per value. Depending on the database, a faster method than a batch of single-row inserts
+ * is used:
+ *
+ * <ul>
+ *   <li>in Postgres, the rows are streamed with {@code COPY ... FROM STDIN},
+ *   <li>in SQLite, each statement inserts many rows with a multi-row {@code VALUES} clause.
+ * </ul>
+ *
+ * <p>All operations go through the given connection, so they are recorded in its audit log. It is
+ * the caller's responsibility to run the insert within a transaction.
+ */
+public final class BulkInsert {
+  private BulkInsert() {}
+
+  /**
+   * The maximum number of parameters of a multi-row insert statement. Older versions of SQLite do
+   * not allow more than 999 parameters in a single statement.
+   */
+  private static final int MAX_PARAMETERS_PER_STATEMENT = 999;
+
+  /** The number of multi-row statements that are sent together in a single batch. */
+  private static final int STATEMENTS_PER_BATCH = 16;
+
+  private static final String INSERT_PREFIX = "INSERT INTO ";
+  private static final String VALUES_PART = " VALUES ";
+
+  /**
+   * Inserts the first {@code rowCount} rows of the given columns.
+   *
+   * @param connection the connection to the database
+   * @param insertTemplate an insert statement for a single row, of the form {@code INSERT INTO
+   *     table (columns) VALUES (?, ...)}, with a parameter for each column
+   * @param columns the values to insert, one storage for each parameter of the template
+   * @param dateTimeWithTimezone for each column, whether date-times are inserted with their
+   *     timezone, or as local date-times
+   * @param allowCopy whether the rows may be streamed with {@code COPY} in Postgres. Values are
+   *     then parsed by the database from text, so it should only be allowed if the types of the
+   *     target columns match the types of the storages.
+   * @param rowCount the number of rows to insert
+   * @param batchSize the number of single-row inserts sent in one batch
+   */
+  public static void insertRows(
+      Connection connection,
+      String insertTemplate,
+      Storage<?>[] columns,
+      boolean[] dateTimeWithTimezone,
+      boolean allowCopy,
+      int rowCount,
+      int batchSize)
+      throws SQLException {
+    if (rowCount == 0) {
+      return;
+    }
+
+    int valuesIndex = insertTemplate.lastIndexOf(VALUES_PART);
+    boolean hasExpectedForm = insertTemplate.startsWith(INSERT_PREFIX) && valuesIndex > 0;
+    if (hasExpectedForm
+        && allowCopy
+        && PostgresCopy.canCopy(columns)
+        && connection.isWrapperFor(PGConnection.class)) {
+      String target = insertTemplate.substring(INSERT_PREFIX.length(), valuesIndex);
+      PostgresCopy.copyRows(connection, target, columns, dateTimeWithTimezone, rowCount);
+    } else if (hasExpectedForm
+        && columns.length > 0
+        && connection.isWrapperFor(SQLiteConnection.class)) {
+      String rowPlaceholders = insertTemplate.substring(valuesIndex + VALUES_PART.length());
+      insertMultiRowValues(
+          connection, insertTemplate, rowPlaceholders, columns, dateTimeWithTimezone, rowCount);
+    } else {
+      insertInBatches(
+          connection, insertTemplate, columns, dateTimeWithTimezone, rowCount, batchSize);
+    }
+  }
+
+  private static ColumnBinder[] makeBinders(Storage<?>[] columns, boolean[] dateTimeWithTimezone) {
+    ColumnBinder[] binders = new ColumnBinder[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      binders[i] = ColumnBinder.forStorage(columns[i], dateTimeWithTimezone[i]);
+    }
+    return binders;
+  }
+
+  private static void insertInBatches(
+      Connection connection,
+      String insertTemplate,
+      Storage<?>[] columns,
+      boolean[] dateTimeWithTimezone,
+      int rowCount,
+      int batchSize)
+      throws SQLException {
+    ColumnBinder[] binders = makeBinders(columns, dateTimeWithTimezone);
+    Context context = Context.getCurrent();
+    try (PreparedStatement statement = connection.prepareStatement(insertTemplate)) {
+      for (int row = 0; row < rowCount; row++) {
+        for (int i = 0; i < binders.length; i++) {
+          binders[i].bind(statement, i + 1, row);
+        }
+        statement.addBatch();
+        if ((row + 1) % batchSize == 0) {
+          checkUpdateCounts(statement.executeBatch(), batchSize, 1);
+        }
+        context.safepoint();
+      }
+      if (rowCount % batchSize != 0) {
+        checkUpdateCounts(statement.executeBatch(), rowCount % batchSize, 1);
+      }
+    }
+  }
+
+  private static void insertMultiRowValues(
+      Connection connection,
+      String insertTemplate,
+      String rowPlaceholders,
+      Storage<?>[] columns,
+      boolean[] dateTimeWithTimezone,
+      int rowCount)
+      throws SQLException {
+    ColumnBinder[] binders = makeBinders(columns, dateTimeWithTimezone);
+    int rowsPerStatement = Math.max(1, MAX_PARAMETERS_PER_STATEMENT / columns.length);
+    int fullStatements = rowCount / rowsPerStatement;
+    int remainingRows = rowCount % rowsPerStatement;
+    Context context = Context.getCurrent();
+
+    if (fullStatements > 0) {
+      String sql = multiRowInsert(insertTemplate, rowPlaceholders, rowsPerStatement);
+      try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        int pending = 0;
+        for (int i = 0; i < fullStatements; i++) {
+          bindRows(statement, binders, i * rowsPerStatement, rowsPerStatement);
+          statement.addBatch();
+          pending++;
+          if (pending == STATEMENTS_PER_BATCH) {
+            checkUpdateCounts(statement.executeBatch(), pending, rowsPerStatement);
+            pending = 0;
+          }
+          context.safepoint();
+        }
+        if (pending > 0) {
+          checkUpdateCounts(statement.executeBatch(), pending, rowsPerStatement);
+        }
+      }
+    }
+
+    if (remainingRows > 0) {
+      String sql = multiRowInsert(insertTemplate, rowPlaceholders, remainingRows);
+      try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        bindRows(statement, binders, fullStatements * rowsPerStatement, remainingRows);
+        statement.addBatch();
+        checkUpdateCounts(statement.executeBatch(), 1, remainingRows);
+      }
+    }
+  }
+
+  private static String multiRowInsert(
+      String insertTemplate, String rowPlaceholders, int rowsPerStatement) {
+    StringBuilder sql =
+        new StringBuilder(
+            insertTemplate.length() + (rowPlaceholders.length() + 2) * (rowsPerStatement - 1));
+    sql.append(insertTemplate);
+    for (int i = 1; i < rowsPerStatement; i++) {
+      sql.append(", ").append(rowPlaceholders);
+    }
+    return sql.toString();
+  }
+
+  private static void bindRows(
+      PreparedStatement statement, ColumnBinder[] binders, int firstRow, int rows)
+      throws SQLException {
+    int parameterIndex = 1;
+    for (int row = firstRow; row < firstRow + rows; row++) {
+      for (ColumnBinder binder : binders) {
+        binder.bind(statement, parameterIndex++, row);
+      }
+    }
+  }
+
+  private static void checkUpdateCounts(
+      int[] updateCounts, int expectedStatements, int expectedRowsPerStatement) {
+    if (updateCounts.length != expectedStatements) {
+      throw new IllegalStateException(
+          "The batch update unexpectedly affected "
+              + updateCounts.length
+              + " rows instead of "
+              + expectedStatements
+              + ".");
+    }
+    for (int affectedRows : updateCounts) {
+      if (affectedRows != expectedRowsPerStatement) {
+        throw new IllegalStateException(
+            "A single update within the batch unexpectedly affected "
+                + affectedRows
+                + " rows instead of "
+                + expectedRowsPerStatement
+                + ".");
+      }
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package org.enso.database.upload;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import org.enso.database.JDBCUtils;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+
+/**
+ * Sets the values of a single column as parameters of a prepared statement.
+ *
+ * <p>The type of the storage is checked once when the binder is created, so that integers, floats
+ * and booleans are set with the primitive setters without boxing them. Other values are set in the
+ * same way as by {@code Statement_Setter.default}.
+ */
+abstract class ColumnBinder {
+  /** Sets the value of the column in the given row as the parameter with the given index. */
+  abstract void bind(PreparedStatement statement, int parameterIndex, int row) throws SQLException;
+
+  /**
+   * Creates a binder for the given storage.
+   *
+   * @param storage the values of the column
+   * @param dateTimeWithTimezone whether date-times are set with their timezone, or as local
+   *     date-times if the target column does not store a timezone
+   */
+  static ColumnBinder forStorage(Storage<?> storage, boolean dateTimeWithTimezone) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> new LongBinder(longStorage);
+      case DoubleStorage doubleStorage -> new DoubleBinder(doubleStorage);
+      case BoolStorage boolStorage -> new BooleanBinder(boolStorage);
+      default -> new ObjectBinder(storage, dateTimeWithTimezone);
+    };
+  }
+
+  /** Sets a boxed value, choosing the setter based on its type. */
+  private static void bindObject(
+      PreparedStatement statement, int parameterIndex, Object value, boolean dateTimeWithTimezone)
+      throws SQLException {
+    switch (value) {
+      case null -> statement.setNull(parameterIndex, Types.NULL);
+      case Boolean b -> statement.setBoolean(parameterIndex, b);
+      case Long l -> statement.setLong(parameterIndex, l);
+      case BigInteger bigInteger -> statement.setBigDecimal(
+          parameterIndex, new BigDecimal(bigInteger));
+      case BigDecimal bigDecimal -> statement.setBigDecimal(parameterIndex, bigDecimal);
+      case Double d -> statement.setDouble(parameterIndex, d);
+      case String s -> statement.setString(parameterIndex, s);
+      case ZonedDateTime dateTime -> {
+        if (dateTimeWithTimezone) {
+          JDBCUtils.setZonedDateTime(statement, parameterIndex, dateTime);
+        } else {
+          JDBCUtils.setLocalDateTime(statement, parameterIndex, dateTime);
+        }
+      }
+      case LocalTime time -> JDBCUtils.setLocalTime(statement, parameterIndex, time);
+      case LocalDate date -> JDBCUtils.setLocalDate(statement, parameterIndex, date);
+      default -> statement.setObject(parameterIndex, value);
+    }
+  }
+
+  private static final class LongBinder extends ColumnBinder {
+    private final AbstractLongStorage storage;
+
+    private LongBinder(AbstractLongStorage storage) {
+      this.storage = storage;
+    }
+
+    @Override
+    void bind(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+      if (storage.isNothing(row)) {
+        statement.setNull(parameterIndex, Types.NULL);
+      } else {
+        statement.setLong(parameterIndex, storage.getItem(row));
+      }
+    }
+  }
+
+  private static final class DoubleBinder extends ColumnBinder {
+    private final DoubleStorage storage;
+
+    private DoubleBinder(DoubleStorage storage) {
+      this.storage = storage;
+    }
+
+    @Override
+    void bind(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+      if (storage.isNothing(row)) {
+        statement.setNull(parameterIndex, Types.NULL);
+      } else {
+        statement.setDouble(parameterIndex, storage.getItemAsDouble(row));
+      }
+    }
+  }
+
+  private static final class BooleanBinder extends ColumnBinder {
+    private final BoolStorage storage;
+
+    private BooleanBinder(BoolStorage storage) {
+      this.storage = storage;
+    }
+
+    @Override
+    void bind(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+      if (storage.isNothing(row)) {
+        statement.setNull(parameterIndex, Types.NULL);
+      } else {
+        statement.setBoolean(parameterIndex, storage.getItem(row));
+      }
+    }
+  }
+
+  private static final class ObjectBinder extends ColumnBinder {
+    private final Storage<?> storage;
+    private final boolean dateTimeWithTimezone;
+
+    private ObjectBinder(Storage<?> storage, boolean dateTimeWithTimezone) {
+      this.storage = storage;
+      this.dateTimeWithTimezone = dateTimeWithTimezone;
+    }
+
+    @Override
+    void bind(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+      bindObject(statement, parameterIndex, storage.getItemBoxed(row), dateTimeWithTimezone);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package org.enso.database.upload;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import org.enso.database.audit.OperationAuditor;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.DateTimeStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.BigDecimalStorage;
+import org.enso.table.data.column.storage.numeric.BigIntegerStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.graalvm.polyglot.Context;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Streams rows into a Postgres table using {@code COPY ... FROM STDIN}.
+ *
+ * <p>The rows are sent in the CSV format, in which a missing value is an empty unquoted field and
+ * all text values are quoted. The database parses each value according to the type of its target
+ * column.
+ */
+final class PostgresCopy {
+  private PostgresCopy() {}
+
+  /** The size of the chunks in which the data is sent to the database. */
+  private static final int CHUNK_SIZE = 1 << 16;
+
+  /** Checks if all columns have a type whose values can be sent as text. */
+  static boolean canCopy(Storage<?>[] columns) {
+    for (Storage<?> storage : columns) {
+      boolean supported =
+          switch (storage) {
+            case AbstractLongStorage longStorage -> true;
+            case DoubleStorage doubleStorage -> true;
+            case BoolStorage boolStorage -> true;
+            case StringStorage stringStorage -> true;
+            case BigIntegerStorage bigIntegerStorage -> true;
+            case BigDecimalStorage bigDecimalStorage -> true;
+            case DateStorage dateStorage -> true;
+            case TimeOfDayStorage timeOfDayStorage -> true;
+            case DateTimeStorage dateTimeStorage -> true;
+            default -> false;
+          };
+      if (!supported) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copies the first {@code rowCount} rows of the columns into the target table.
+   *
+   * @param target the name of the table followed by the list of its columns, e.g. {@code "t" ("a",
+   *     "b")}
+   */
+  static void copyRows(
+      Connection connection,
+      String target,
+      Storage<?>[] columns,
+      boolean[] dateTimeWithTimezone,
+      int rowCount)
+      throws SQLException {
+    String sql = "COPY " + target + " FROM STDIN (FORMAT csv)";
+    OperationAuditor.auditIfEnabled(connection, "copy", sql);
+    CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    try {
+      Context context = Context.getCurrent();
+      StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 1024);
+      for (int row = 0; row < rowCount; row++) {
+        for (int i = 0; i < columns.length; i++) {
+          if (i > 0) {
+            chunk.append(',');
+          }
+          appendValue(chunk, columns[i].getItemBoxed(row), dateTimeWithTimezone[i]);
+        }
+        chunk.append('\n');
+
+        if (chunk.length() >= CHUNK_SIZE) {
+          write(copyIn, chunk);
+        }
+        context.safepoint();
+      }
+      write(copyIn, chunk);
+
+      long copiedRows = copyIn.endCopy();
+      if (copiedRows != rowCount) {
+        throw new IllegalStateException(
+            "The copy unexpectedly affected " + copiedRows + " rows instead of " + rowCount + ".");
+      }
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+
+  private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+    byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    chunk.setLength(0);
+  }
+
+  private static void appendValue(StringBuilder out, Object value, boolean dateTimeWithTimezone) {
+    switch (value) {
+      case null -> {}
+      case String s -> {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+          char c = s.charAt(i);
+          if (c == '"') {
+            out.append('"');
+          }
+          out.append(c);
+        }
+        out.append('"');
+      }
+      case BigDecimal bigDecimal -> out.append(bigDecimal.toPlainString());
+      case ZonedDateTime dateTime -> out.append(
+          dateTimeWithTimezone ? dateTime.toOffsetDateTime() : dateTime.toLocalDateTime());
+      default -> out.append(value);
+    }
+  }
+}
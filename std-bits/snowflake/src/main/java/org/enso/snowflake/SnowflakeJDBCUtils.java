@@ -1,17 +1,45 @@
 package org.enso.snowflake;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import org.enso.database.fetchers.ColumnFetcher;
+import org.enso.polyglot.common_utils.Core_Date_Utils;
+import org.enso.table.data.column.builder.Builder;
 
 public class SnowflakeJDBCUtils {
   private static final DateTimeFormatter dateTimeWithOffsetFormatter =
       DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS XXX");
 
+  /**
+   * Parses timestamps as returned by the driver, with an optional fraction of a second and an
+   * optional offset in either the {@code +0200} or {@code +02:00} format.
+   */
+  private static final DateTimeFormatter dateTimeParser =
+      new DateTimeFormatterBuilder()
+          .appendPattern("yyyy-MM-dd HH:mm:ss")
+          .optionalStart()
+          .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+          .optionalEnd()
+          .optionalStart()
+          .appendLiteral(' ')
+          .appendOffset("+HHMM", "+0000")
+          .optionalEnd()
+          .optionalStart()
+          .appendLiteral(' ')
+          .appendOffset("+HH:MM", "Z")
+          .optionalEnd()
+          .toFormatter();
+
   public static void setDateTime(
       PreparedStatement stmt, int columnIndex, ZonedDateTime dateTime, boolean keepOffset)
       throws SQLException {
@@ -36,4 +64,45 @@ public class SnowflakeJDBCUtils {
       throws SQLException {
     stmt.setDate(columnIndex, java.sql.Date.valueOf(date));
   }
+
+  /**
+   * Gets a time of day from a ResultSet.
+   *
+   * <p>The time is read as text, because that is the only way to keep the nanosecond precision.
+   */
+  public static LocalTime getTimeOfDay(ResultSet rs, int columnIndex) throws SQLException {
+    String text = rs.getString(columnIndex);
+    return text == null ? null : LocalTime.parse(text);
+  }
+
+  /**
+   * Gets a date-time from a ResultSet.
+   *
+   * <p>The value is read as text to keep the nanosecond precision. A timestamp without an offset
+   * (e.g. {@code TIMESTAMP_NTZ}) is interpreted in the system default timezone.
+   */
+  public static ZonedDateTime getDateTime(ResultSet rs, int columnIndex) throws SQLException {
+    String text = rs.getString(columnIndex);
+    if (text == null) {
+      return null;
+    }
+
+    if (text.length() > 10 && text.charAt(10) == 'T') {
+      text = text.substring(0, 10) + ' ' + text.substring(11);
+    }
+    TemporalAccessor parsed = dateTimeParser.parse(text);
+    if (parsed.isSupported(ChronoField.OFFSET_SECONDS)) {
+      return OffsetDateTime.from(parsed).toZonedDateTime();
+    } else {
+      return LocalDateTime.from(parsed).atZone(Core_Date_Utils.defaultSystemZone());
+    }
+  }
+
+  public static ColumnFetcher makeTimeOfDayFetcher(Builder builder) {
+    return ColumnFetcher.forValues(builder, SnowflakeJDBCUtils::getTimeOfDay);
+  }
+
+  public static ColumnFetcher makeDateTimeFetcher(Builder builder) {
+    return ColumnFetcher.forValues(builder, SnowflakeJDBCUtils::getDateTime);
+  }
 }
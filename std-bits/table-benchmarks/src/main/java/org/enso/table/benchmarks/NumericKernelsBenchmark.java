@@ -0,0 +1,241 @@
+package org.enso.table.benchmarks;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link NumericKernels} with the per-row loops that the numeric column operations
+ * use when the kernels cannot be applied (or are disabled with {@code
+ * -Denso.table.numericKernels=false}).
+ *
+ * <p>Run with {@code sbt "std-table-benchmarks/run NumericKernelsBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class NumericKernelsBenchmark {
+  @Param({"1000000"})
+  int size;
+
+  /** The fraction of missing rows, in percent. */
+  @Param({"0", "10"})
+  int missingPercent;
+
+  LongStorage longs1;
+  LongStorage longs2;
+  DoubleStorage doubles1;
+  DoubleStorage doubles2;
+  long[] longValues;
+  HashSet<Long> longSet;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    longs1 = makeLongs(random);
+    longs2 = makeLongs(random);
+    doubles1 = makeDoubles(random);
+    doubles2 = makeDoubles(random);
+    longValues = new long[] {1, 7, 42, 100, 1000, 4096, 65536, 100000};
+    longSet = new HashSet<>();
+    for (long value : longValues) {
+      longSet.add(value);
+    }
+  }
+
+  private BitSet makeMissing(Random random) {
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (random.nextInt(100) < missingPercent) {
+        isNothing.set(i);
+      }
+    }
+    return isNothing;
+  }
+
+  private LongStorage makeLongs(Random random) {
+    long[] data = new long[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = random.nextInt(1_000_000);
+    }
+    return new LongStorage(data, size, makeMissing(random), IntegerType.INT_64);
+  }
+
+  private DoubleStorage makeDoubles(Random random) {
+    long[] data = new long[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = Double.doubleToRawLongBits(random.nextDouble() * 1000.0);
+    }
+    return new DoubleStorage(data, size, makeMissing(random));
+  }
+
+  @Benchmark
+  public void addLongsScalar(Blackhole blackhole) {
+    long[] out = new long[size];
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (longs1.isNothing(i) || longs2.isNothing(i)) {
+        isNothing.set(i);
+      } else {
+        out[i] = Math.addExact(longs1.getItem(i), longs2.getItem(i));
+      }
+    }
+    blackhole.consume(out);
+    blackhole.consume(isNothing);
+  }
+
+  @Benchmark
+  public void addLongsKernel(Blackhole blackhole) {
+    long[] out = new long[size];
+    BitSet isNothing =
+        NumericKernels.missingOfZip(longs1.getIsNothingMap(), longs2.getIsNothingMap(), size, size);
+    for (int start = 0; start < size; start += NumericKernels.BLOCK_SIZE) {
+      int end = Math.min(start + NumericKernels.BLOCK_SIZE, size);
+      boolean ok =
+          NumericKernels.longArithmetic(
+              NumericKernels.Arithmetic.ADD,
+              longs1.getRawDataArray(),
+              longs2.getRawDataArray(),
+              out,
+              start,
+              end);
+      blackhole.consume(ok);
+      NumericKernels.clearMissing(out, isNothing, start, end);
+    }
+    blackhole.consume(out);
+    blackhole.consume(isNothing);
+  }
+
+  @Benchmark
+  public void multiplyDoublesScalar(Blackhole blackhole) {
+    long[] out = new long[size];
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (doubles1.isNothing(i) || doubles2.isNothing(i)) {
+        isNothing.set(i);
+      } else {
+        double r = doubles1.getItemAsDouble(i) * doubles2.getItemAsDouble(i);
+        out[i] = Double.doubleToRawLongBits(r);
+      }
+    }
+    blackhole.consume(out);
+    blackhole.consume(isNothing);
+  }
+
+  @Benchmark
+  public void multiplyDoublesKernel(Blackhole blackhole) {
+    long[] out = new long[size];
+    NumericKernels.doubleArithmetic(
+        NumericKernels.Arithmetic.MULTIPLY,
+        doubles1.getRawDataArray(),
+        doubles2.getRawDataArray(),
+        out,
+        0,
+        size);
+    blackhole.consume(out);
+  }
+
+  @Benchmark
+  public void compareDoublesScalar(Blackhole blackhole) {
+    BitSet results = new BitSet();
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (doubles1.isNothing(i)) {
+        isNothing.set(i);
+      } else if (doubles1.getItemAsDouble(i) > 500.0) {
+        results.set(i);
+      }
+    }
+    blackhole.consume(results);
+    blackhole.consume(isNothing);
+  }
+
+  @Benchmark
+  public void compareDoublesKernel(Blackhole blackhole) {
+    long[] words = new long[(size + 63) >>> 6];
+    NumericKernels.compareDoubles(
+        NumericKernels.Comparison.GT, doubles1.getRawDataArray(), 500.0, words, 0, size);
+    BitSet results = BitSet.valueOf(words);
+    results.andNot(doubles1.getIsNothingMap());
+    blackhole.consume(results);
+  }
+
+  @Benchmark
+  public void isInLongsScalar(Blackhole blackhole) {
+    BitSet results = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (!longs1.isNothing(i) && longSet.contains(longs1.getItemBoxed(i))) {
+        results.set(i);
+      }
+    }
+    blackhole.consume(results);
+  }
+
+  @Benchmark
+  public void isInLongsKernel(Blackhole blackhole) {
+    long[] words = new long[(size + 63) >>> 6];
+    NumericKernels.longsIn(longs1.getRawDataArray(), longValues, words, 0, size);
+    BitSet results = BitSet.valueOf(words);
+    results.andNot(longs1.getIsNothingMap());
+    blackhole.consume(results);
+  }
+
+  @Benchmark
+  public long sumLongsScalar() {
+    long sum = 0;
+    for (int i = 0; i < size; i++) {
+      if (!longs1.isNothing(i)) {
+        sum = Math.addExact(sum, longs1.getItem(i));
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long sumLongsKernel() {
+    long[] nothingWords = NumericKernels.words(longs1.getIsNothingMap(), size);
+    return NumericKernels.sumExact(longs1.getRawDataArray(), nothingWords, 0, 0, size);
+  }
+
+  @Benchmark
+  public double maxDoublesScalar() {
+    boolean hasValue = false;
+    double max = 0;
+    for (int i = 0; i < size; i++) {
+      if (!doubles1.isNothing(i)) {
+        double value = doubles1.getItemAsDouble(i);
+        if (!hasValue || Double.compare(value, max) > 0) {
+          max = value;
+          hasValue = true;
+        }
+      }
+    }
+    return max;
+  }
+
+  @Benchmark
+  public double maxDoublesKernel() {
+    long[] nothingWords = NumericKernels.words(doubles1.getIsNothingMap(), size);
+    return NumericKernels.doubleExtreme(true, doubles1.getRawDataArray(), nothingWords, 0, size);
+  }
+}
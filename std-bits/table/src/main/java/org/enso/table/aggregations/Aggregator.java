@@ -39,4 +39,15 @@ public abstract class Aggregator {
    * @return aggregated value
    */
   public abstract Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator);
+
+  /**
+   * Creates an accumulator computing the value for all groups in a single pass over the rows.
+   *
+   * @param groupCount the number of groups
+   * @return the accumulator, or null if this aggregator can only be computed group by group using
+   *     {@link #aggregate}
+   */
+  public GroupedAccumulator makeGroupedAccumulator(int groupCount) {
+    return null;
+  }
 }
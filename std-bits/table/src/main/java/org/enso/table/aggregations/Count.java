@@ -14,4 +14,43 @@ public class Count extends Aggregator {
   public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
     return indexes.size();
   }
+
+  @Override
+  public GroupedAccumulator makeGroupedAccumulator(int groupCount) {
+    return new GroupedCount(groupCount);
+  }
+
+  private static final class GroupedCount extends GroupedAccumulator {
+    private final int[] counts;
+
+    GroupedCount(int groupCount) {
+      super(groupCount);
+      counts = new int[groupCount];
+    }
+
+    @Override
+    protected GroupedAccumulator makeEmpty() {
+      return new GroupedCount(groupCount);
+    }
+
+    @Override
+    protected void accumulate(int[] groupOfRow, int start, int end) {
+      for (int row = start; row < end; row++) {
+        counts[groupOfRow[row]]++;
+      }
+    }
+
+    @Override
+    protected void merge(GroupedAccumulator other) {
+      int[] otherCounts = ((GroupedCount) other).counts;
+      for (int group = 0; group < groupCount; group++) {
+        counts[group] += otherCounts[group];
+      }
+    }
+
+    @Override
+    public Object result(int group, ProblemAggregator problemAggregator) {
+      return counts[group];
+    }
+  }
 }
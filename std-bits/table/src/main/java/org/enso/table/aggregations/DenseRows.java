@@ -0,0 +1,41 @@
+package org.enso.table.aggregations;
+
+import java.util.BitSet;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
+import org.enso.table.data.column.storage.ColumnStorageWithNothingMap;
+import org.enso.table.data.column.storage.Storage;
+
+/**
+ * The raw data of a dense numeric column aggregated as a single group, which can be processed with
+ * {@link NumericKernels}.
+ *
+ * @param data the raw values of the rows
+ * @param nothingWords the words of the missing rows
+ * @param isNothing the missing rows
+ */
+record DenseRows(long[] data, long[] nothingWords, BitSet isNothing) {
+  /**
+   * Prepares the data of a storage for the kernels.
+   *
+   * @return the dense rows, or {@code null} if the rows are split into multiple groups or the
+   *     storage is not supported
+   */
+  static DenseRows of(int groupCount, Storage<?> storage) {
+    if (groupCount != 1 || !(storage instanceof ColumnStorageWithNothingMap withNothingMap)) {
+      return null;
+    }
+
+    long[] data = NumericKernels.rawData(storage);
+    if (data == null) {
+      return null;
+    }
+
+    BitSet isNothing = withNothingMap.getIsNothingMap();
+    return new DenseRows(data, NumericKernels.words(isNothing, storage.size()), isNothing);
+  }
+
+  /** Checks if any of the rows in the range {@code [start, end)} is not missing. */
+  boolean hasValues(int start, int end) {
+    return isNothing.nextClearBit(start) < end;
+  }
+}
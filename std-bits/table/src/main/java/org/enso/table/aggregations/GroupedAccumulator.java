@@ -0,0 +1,122 @@
+package org.enso.table.aggregations;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.ParallelTasks;
+
+/**
+ * Computes an aggregate for all groups at once.
+ *
+ * <p>Instead of walking the rows of each group separately, the input column is scanned once and
+ * every row updates the primitive accumulator of its group. Disjoint ranges of rows can be
+ * processed by separate accumulators in parallel, which are then merged in the order of the rows.
+ *
+ * <p>The {@link #accumulate} method may run on a worker thread, so it must only read primitive
+ * storages and must not report any problems. Problems are reported when the results are retrieved.
+ */
+public abstract class GroupedAccumulator {
+  /** The minimum amount of rows for which the accumulation is split across threads. */
+  public static final int PARALLEL_THRESHOLD = 100_000;
+
+  protected final int groupCount;
+
+  protected GroupedAccumulator(int groupCount) {
+    this.groupCount = groupCount;
+  }
+
+  /**
+   * Checks if the rows can be split into ranges processed by separate accumulators.
+   *
+   * <p>Accumulators whose result depends on the exact order in which the rows are processed should
+   * return false - they are then always run over all rows by a single thread.
+   */
+  protected boolean isSplittable() {
+    return true;
+  }
+
+  /** Creates an empty accumulator of the same kind, used for processing another range of rows. */
+  protected abstract GroupedAccumulator makeEmpty();
+
+  /**
+   * Processes the rows in the range {@code [start, end)}.
+   *
+   * @param groupOfRow maps each row to the index of its group
+   */
+  protected abstract void accumulate(int[] groupOfRow, int start, int end);
+
+  /**
+   * Merges the state of another accumulator into this one.
+   *
+   * <p>The other accumulator has processed rows that come after all rows processed by this one.
+   */
+  protected abstract void merge(GroupedAccumulator other);
+
+  /** Returns the aggregated value of the given group, reporting any problems it has encountered. */
+  public abstract Object result(int group, ProblemAggregator problemAggregator);
+
+  /**
+   * Runs all accumulators over the rows of a table.
+   *
+   * <p>If the table is large enough, the rows are split into chunks processed in parallel. The
+   * number of chunks is limited so that the partial states take at most as much memory as the
+   * mapping of rows to groups itself.
+   *
+   * @param accumulators the accumulators to run
+   * @param groupOfRow maps each row to the index of its group
+   * @param groupCount the number of groups
+   */
+  public static void accumulateAll(
+      List<GroupedAccumulator> accumulators, int[] groupOfRow, int groupCount) {
+    int rowCount = groupOfRow.length;
+    if (!ParallelTasks.shouldRunInParallel(rowCount, PARALLEL_THRESHOLD)) {
+      for (GroupedAccumulator acc : accumulators) {
+        acc.accumulate(groupOfRow, 0, rowCount);
+      }
+      return;
+    }
+
+    int chunkCount =
+        Math.min(ParallelTasks.chunkCount(rowCount), rowCount / Math.max(1, groupCount));
+    List<GroupedAccumulator> splittable = new ArrayList<>();
+    List<Runnable> tasks = new ArrayList<>();
+    for (GroupedAccumulator acc : accumulators) {
+      if (chunkCount > 1 && acc.isSplittable()) {
+        splittable.add(acc);
+      } else {
+        tasks.add(() -> acc.accumulate(groupOfRow, 0, rowCount));
+      }
+    }
+
+    if (splittable.isEmpty()) {
+      ParallelTasks.runAll(tasks);
+      return;
+    }
+
+    List<List<GroupedAccumulator>> partials = new ArrayList<>(chunkCount);
+    partials.add(splittable);
+    for (int chunk = 1; chunk < chunkCount; chunk++) {
+      partials.add(splittable.stream().map(GroupedAccumulator::makeEmpty).toList());
+    }
+
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      List<GroupedAccumulator> chunkPartials = partials.get(chunk);
+      int start = ParallelTasks.chunkStart(rowCount, chunkCount, chunk);
+      int end = ParallelTasks.chunkStart(rowCount, chunkCount, chunk + 1);
+      tasks.add(
+          () -> {
+            for (GroupedAccumulator acc : chunkPartials) {
+              acc.accumulate(groupOfRow, start, end);
+            }
+          });
+    }
+    ParallelTasks.runAll(tasks);
+
+    for (int chunk = 1; chunk < chunkCount; chunk++) {
+      List<GroupedAccumulator> chunkPartials = partials.get(chunk);
+      for (int i = 0; i < splittable.size(); i++) {
+        splittable.get(i).merge(chunkPartials.get(i));
+      }
+    }
+  }
+}
@@ -2,7 +2,10 @@ package org.enso.table.aggregations;
 
 import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
+import org.enso.table.data.column.operation.map.numeric.helpers.DoubleArrayAdapter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
@@ -57,4 +60,64 @@ public class Mean extends Aggregator {
     }
     return current == null ? null : current.total / current.count;
   }
+
+  @Override
+  public GroupedAccumulator makeGroupedAccumulator(int groupCount) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> new GroupedMean(
+          groupCount, DoubleArrayAdapter.fromStorage(longStorage));
+      case DoubleStorage doubleStorage -> new GroupedMean(groupCount, doubleStorage);
+      default -> null;
+    };
+  }
+
+  /**
+   * Sums the values of each group in the order of the rows, like {@link #aggregate}. Floating point
+   * addition is not associative, so the accumulator is not split - otherwise the result would
+   * depend on where the rows were split.
+   */
+  private static final class GroupedMean extends GroupedAccumulator {
+    private final DoubleArrayAdapter values;
+    private final long[] counts;
+    private final double[] totals;
+
+    GroupedMean(int groupCount, DoubleArrayAdapter values) {
+      super(groupCount);
+      this.values = values;
+      this.counts = new long[groupCount];
+      this.totals = new double[groupCount];
+    }
+
+    @Override
+    protected boolean isSplittable() {
+      return false;
+    }
+
+    @Override
+    protected GroupedAccumulator makeEmpty() {
+      throw new IllegalStateException("Means cannot be split.");
+    }
+
+    @Override
+    protected void accumulate(int[] groupOfRow, int start, int end) {
+      for (int row = start; row < end; row++) {
+        if (!values.isNothing(row)) {
+          int group = groupOfRow[row];
+          double value = values.getItemAsDouble(row);
+          totals[group] = counts[group] == 0 ? value : totals[group] + value;
+          counts[group]++;
+        }
+      }
+    }
+
+    @Override
+    protected void merge(GroupedAccumulator other) {
+      throw new IllegalStateException("Means cannot be merged.");
+    }
+
+    @Override
+    public Object result(int group, ProblemAggregator problemAggregator) {
+      return counts[group] == 0 ? null : totals[group] / counts[group];
+    }
+  }
 }
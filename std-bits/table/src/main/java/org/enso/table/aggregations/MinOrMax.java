@@ -3,7 +3,10 @@ package org.enso.table.aggregations;
 import java.util.List;
 import org.enso.base.CompareException;
 import org.enso.base.ObjectComparator;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
@@ -61,4 +64,157 @@ public class MinOrMax extends Aggregator {
     }
     return current;
   }
+
+  @Override
+  public GroupedAccumulator makeGroupedAccumulator(int groupCount) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> new LongExtremes(groupCount, longStorage);
+      case DoubleStorage doubleStorage -> new DoubleExtremes(groupCount, doubleStorage);
+      default -> null;
+    };
+  }
+
+  /**
+   * Keeps the extreme value of each group, replacing it only with values that are strictly smaller
+   * (or larger), so that the first of equal values is kept - like in {@link #aggregate}.
+   *
+   * <p>If all rows belong to a single group, the extreme of a dense storage is found with {@link
+   * NumericKernels}.
+   */
+  private abstract class GroupedExtremes extends GroupedAccumulator {
+    protected final boolean[] hasValue;
+
+    GroupedExtremes(int groupCount) {
+      super(groupCount);
+      this.hasValue = new boolean[groupCount];
+    }
+
+    protected boolean shouldReplace(int comparisonResult) {
+      return Integer.signum(comparisonResult) == minOrMax;
+    }
+  }
+
+  private final class LongExtremes extends GroupedExtremes {
+    private final AbstractLongStorage longStorage;
+    private final DenseRows denseRows;
+    private final long[] extremes;
+
+    LongExtremes(int groupCount, AbstractLongStorage longStorage) {
+      this(groupCount, longStorage, DenseRows.of(groupCount, longStorage));
+    }
+
+    private LongExtremes(int groupCount, AbstractLongStorage longStorage, DenseRows denseRows) {
+      super(groupCount);
+      this.longStorage = longStorage;
+      this.denseRows = denseRows;
+      this.extremes = new long[groupCount];
+    }
+
+    @Override
+    protected GroupedAccumulator makeEmpty() {
+      return new LongExtremes(groupCount, longStorage, denseRows);
+    }
+
+    @Override
+    protected void accumulate(int[] groupOfRow, int start, int end) {
+      if (denseRows != null) {
+        if (denseRows.hasValues(start, end)) {
+          long[] data = denseRows.data();
+          long[] nothingWords = denseRows.nothingWords();
+          add(0, NumericKernels.longExtreme(minOrMax == MAX, data, nothingWords, start, end));
+        }
+        return;
+      }
+
+      for (int row = start; row < end; row++) {
+        if (!longStorage.isNothing(row)) {
+          add(groupOfRow[row], longStorage.getItem(row));
+        }
+      }
+    }
+
+    private void add(int group, long value) {
+      if (!hasValue[group] || shouldReplace(Long.compare(value, extremes[group]))) {
+        extremes[group] = value;
+        hasValue[group] = true;
+      }
+    }
+
+    @Override
+    protected void merge(GroupedAccumulator other) {
+      LongExtremes otherExtremes = (LongExtremes) other;
+      for (int group = 0; group < groupCount; group++) {
+        if (otherExtremes.hasValue[group]) {
+          add(group, otherExtremes.extremes[group]);
+        }
+      }
+    }
+
+    @Override
+    public Object result(int group, ProblemAggregator problemAggregator) {
+      return hasValue[group] ? extremes[group] : null;
+    }
+  }
+
+  private final class DoubleExtremes extends GroupedExtremes {
+    private final DoubleStorage doubleStorage;
+    private final DenseRows denseRows;
+    private final double[] extremes;
+
+    DoubleExtremes(int groupCount, DoubleStorage doubleStorage) {
+      this(groupCount, doubleStorage, DenseRows.of(groupCount, doubleStorage));
+    }
+
+    private DoubleExtremes(int groupCount, DoubleStorage doubleStorage, DenseRows denseRows) {
+      super(groupCount);
+      this.doubleStorage = doubleStorage;
+      this.denseRows = denseRows;
+      this.extremes = new double[groupCount];
+    }
+
+    @Override
+    protected GroupedAccumulator makeEmpty() {
+      return new DoubleExtremes(groupCount, doubleStorage, denseRows);
+    }
+
+    @Override
+    protected void accumulate(int[] groupOfRow, int start, int end) {
+      if (denseRows != null) {
+        if (denseRows.hasValues(start, end)) {
+          long[] data = denseRows.data();
+          long[] nothingWords = denseRows.nothingWords();
+          add(0, NumericKernels.doubleExtreme(minOrMax == MAX, data, nothingWords, start, end));
+        }
+        return;
+      }
+
+      for (int row = start; row < end; row++) {
+        if (!doubleStorage.isNothing(row)) {
+          add(groupOfRow[row], doubleStorage.getItemAsDouble(row));
+        }
+      }
+    }
+
+    private void add(int group, double value) {
+      if (!hasValue[group] || shouldReplace(Double.compare(value, extremes[group]))) {
+        extremes[group] = value;
+        hasValue[group] = true;
+      }
+    }
+
+    @Override
+    protected void merge(GroupedAccumulator other) {
+      DoubleExtremes otherExtremes = (DoubleExtremes) other;
+      for (int group = 0; group < groupCount; group++) {
+        if (otherExtremes.hasValue[group]) {
+          add(group, otherExtremes.extremes[group]);
+        }
+      }
+    }
+
+    @Override
+    public Object result(int group, ProblemAggregator problemAggregator) {
+      return hasValue[group] ? extremes[group] : null;
+    }
+  }
 }
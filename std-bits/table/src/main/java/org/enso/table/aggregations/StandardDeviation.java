@@ -2,7 +2,10 @@ package org.enso.table.aggregations;
 
 import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
+import org.enso.table.data.column.operation.map.numeric.helpers.DoubleArrayAdapter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
@@ -61,8 +64,76 @@ public class StandardDeviation extends Aggregator {
       context.safepoint();
     }
 
-    if (current == null || (!population && current.count <= 1)) return null;
-    return (population ? 1 : Math.sqrt(current.count / (current.count - 1.0)))
-        * Math.sqrt(current.total_sqr / current.count - Math.pow(current.total / current.count, 2));
+    return current == null ? null : compute(current.count, current.total, current.total_sqr);
+  }
+
+  private Double compute(long count, double total, double total_sqr) {
+    if (!population && count <= 1) return null;
+    return (population ? 1 : Math.sqrt(count / (count - 1.0)))
+        * Math.sqrt(total_sqr / count - Math.pow(total / count, 2));
+  }
+
+  @Override
+  public GroupedAccumulator makeGroupedAccumulator(int groupCount) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> new GroupedStandardDeviation(
+          groupCount, DoubleArrayAdapter.fromStorage(longStorage));
+      case DoubleStorage doubleStorage -> new GroupedStandardDeviation(groupCount, doubleStorage);
+      default -> null;
+    };
+  }
+
+  /**
+   * Sums the values and their squares in the order of the rows, like {@link #aggregate}. Floating
+   * point addition is not associative, so the accumulator is not split - otherwise the result would
+   * depend on where the rows were split.
+   */
+  private final class GroupedStandardDeviation extends GroupedAccumulator {
+    private final DoubleArrayAdapter values;
+    private final long[] counts;
+    private final double[] totals;
+    private final double[] totalSquares;
+
+    GroupedStandardDeviation(int groupCount, DoubleArrayAdapter values) {
+      super(groupCount);
+      this.values = values;
+      this.counts = new long[groupCount];
+      this.totals = new double[groupCount];
+      this.totalSquares = new double[groupCount];
+    }
+
+    @Override
+    protected boolean isSplittable() {
+      return false;
+    }
+
+    @Override
+    protected GroupedAccumulator makeEmpty() {
+      throw new IllegalStateException("Standard deviations cannot be split.");
+    }
+
+    @Override
+    protected void accumulate(int[] groupOfRow, int start, int end) {
+      for (int row = start; row < end; row++) {
+        if (!values.isNothing(row)) {
+          int group = groupOfRow[row];
+          double value = values.getItemAsDouble(row);
+          counts[group]++;
+          totals[group] += value;
+          totalSquares[group] += value * value;
+        }
+      }
+    }
+
+    @Override
+    protected void merge(GroupedAccumulator other) {
+      throw new IllegalStateException("Standard deviations cannot be merged.");
+    }
+
+    @Override
+    public Object result(int group, ProblemAggregator problemAggregator) {
+      long count = counts[group];
+      return count == 0 ? null : compute(count, totals[group], totalSquares[group]);
+    }
   }
 }
@@ -3,7 +3,10 @@ package org.enso.table.aggregations;
 import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.table.Column;
@@ -59,4 +62,192 @@ public class Sum extends Aggregator {
     }
     return current;
   }
+
+  @Override
+  public GroupedAccumulator makeGroupedAccumulator(int groupCount) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> new LongSums(groupCount, longStorage);
+      case DoubleStorage doubleStorage -> new DoubleSums(groupCount, doubleStorage);
+      default -> null;
+    };
+  }
+
+  /**
+   * Sums integer values of each group.
+   *
+   * <p>If all rows belong to a single group, a dense storage is summed with {@link NumericKernels}.
+   *
+   * <p>Like {@link #aggregate}, an overflow is reported as soon as a running total does not fit in
+   * 64 bits, even if later rows would bring it back into range. Whether that happens depends on
+   * the order of the rows, so the accumulator is not split.
+   */
+  private final class LongSums extends GroupedAccumulator {
+    private final AbstractLongStorage longStorage;
+    private final DenseRows denseRows;
+    private final long[] sums;
+    private final boolean[] hasValue;
+    private final boolean[] overflowed;
+
+    LongSums(int groupCount, AbstractLongStorage longStorage) {
+      super(groupCount);
+      this.longStorage = longStorage;
+      this.denseRows = DenseRows.of(groupCount, longStorage);
+      this.sums = new long[groupCount];
+      this.hasValue = new boolean[groupCount];
+      this.overflowed = new boolean[groupCount];
+    }
+
+    @Override
+    protected boolean isSplittable() {
+      return false;
+    }
+
+    @Override
+    protected GroupedAccumulator makeEmpty() {
+      throw new IllegalStateException("Integer sums cannot be split.");
+    }
+
+    @Override
+    protected void accumulate(int[] groupOfRow, int start, int end) {
+      if (denseRows != null) {
+        accumulateDense(start, end);
+        return;
+      }
+
+      for (int row = start; row < end; row++) {
+        if (!longStorage.isNothing(row)) {
+          int group = groupOfRow[row];
+          hasValue[group] = true;
+          if (!overflowed[group]) {
+            try {
+              sums[group] = Math.addExact(sums[group], longStorage.getItem(row));
+            } catch (ArithmeticException exception) {
+              overflowed[group] = true;
+            }
+          }
+        }
+      }
+    }
+
+    private void accumulateDense(int start, int end) {
+      if (!denseRows.hasValues(start, end)) {
+        return;
+      }
+
+      hasValue[0] = true;
+      if (!overflowed[0]) {
+        try {
+          sums[0] =
+              NumericKernels.sumExact(
+                  denseRows.data(), denseRows.nothingWords(), sums[0], start, end);
+        } catch (ArithmeticException exception) {
+          overflowed[0] = true;
+        }
+      }
+    }
+
+    @Override
+    protected void merge(GroupedAccumulator other) {
+      throw new IllegalStateException("Integer sums cannot be merged.");
+    }
+
+    @Override
+    public Object result(int group, ProblemAggregator problemAggregator) {
+      if (overflowed[group]) {
+        MapOperationProblemAggregator innerAggregator =
+            new MapOperationProblemAggregator(problemAggregator, getName());
+        innerAggregator.reportOverflow(IntegerType.INT_64, "Sum");
+        return null;
+      }
+      return hasValue[group] ? sums[group] : null;
+    }
+  }
+
+  /**
+   * Sums floating point values, following the same rules as {@link #aggregate}: whole values are
+   * added as integers for as long as the running total is whole too.
+   *
+   * <p>Because of that the result depends on the order of the rows, so the accumulator is not
+   * split.
+   */
+  private final class DoubleSums extends GroupedAccumulator {
+    private static final byte EMPTY = 0;
+    private static final byte INTEGER = 1;
+    private static final byte FLOATING = 2;
+    private static final byte OVERFLOWED = 3;
+
+    private final DoubleStorage doubleStorage;
+    private final byte[] states;
+    private final long[] integerSums;
+    private final double[] floatingSums;
+
+    DoubleSums(int groupCount, DoubleStorage doubleStorage) {
+      super(groupCount);
+      this.doubleStorage = doubleStorage;
+      this.states = new byte[groupCount];
+      this.integerSums = new long[groupCount];
+      this.floatingSums = new double[groupCount];
+    }
+
+    @Override
+    protected boolean isSplittable() {
+      return false;
+    }
+
+    @Override
+    protected GroupedAccumulator makeEmpty() {
+      throw new IllegalStateException("Floating point sums cannot be split.");
+    }
+
+    @Override
+    protected void accumulate(int[] groupOfRow, int start, int end) {
+      for (int row = start; row < end; row++) {
+        if (!doubleStorage.isNothing(row)) {
+          add(groupOfRow[row], doubleStorage.getItemAsDouble(row));
+        }
+      }
+    }
+
+    private void add(int group, double value) {
+      byte state = states[group];
+      if (state == OVERFLOWED) {
+        return;
+      }
+
+      boolean currentIsWhole = state != FLOATING || floatingSums[group] % 1.0 == 0.0;
+      if (currentIsWhole && value % 1.0 == 0.0) {
+        long current = state == FLOATING ? (long) floatingSums[group] : integerSums[group];
+        try {
+          integerSums[group] = Math.addExact(current, (long) value);
+          states[group] = INTEGER;
+        } catch (ArithmeticException exception) {
+          states[group] = OVERFLOWED;
+        }
+      } else {
+        double current = state == FLOATING ? floatingSums[group] : integerSums[group];
+        floatingSums[group] = current + value;
+        states[group] = FLOATING;
+      }
+    }
+
+    @Override
+    protected void merge(GroupedAccumulator other) {
+      throw new IllegalStateException("Floating point sums cannot be merged.");
+    }
+
+    @Override
+    public Object result(int group, ProblemAggregator problemAggregator) {
+      return switch (states[group]) {
+        case INTEGER -> integerSums[group];
+        case FLOATING -> floatingSums[group];
+        case OVERFLOWED -> {
+          MapOperationProblemAggregator innerAggregator =
+              new MapOperationProblemAggregator(problemAggregator, getName());
+          innerAggregator.reportOverflow(IntegerType.INT_64, "Sum");
+          yield null;
+        }
+        default -> null;
+      };
+    }
+  }
 }
@@ -0,0 +1,8 @@
+package org.enso.table.arrow;
+
+/** Indicates that a file is not a valid Arrow IPC file, or uses features that are not supported. */
+public class ArrowFormatException extends RuntimeException {
+  public ArrowFormatException(String message) {
+    super(message);
+  }
+}
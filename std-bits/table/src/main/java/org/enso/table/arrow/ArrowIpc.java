@@ -0,0 +1,123 @@
+package org.enso.table.arrow;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants of the Arrow IPC file format.
+ *
+ * <p>Slots refer to the field indices of the tables defined in the {@code Schema.fbs}, {@code
+ * Message.fbs} and {@code File.fbs} schemas of the Arrow format specification.
+ */
+final class ArrowIpc {
+  private ArrowIpc() {}
+
+  static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+
+  /** The marker preceding the length of each encapsulated message. */
+  static final int CONTINUATION = 0xFFFFFFFF;
+
+  /** The {@code MetadataVersion.V5} version of the format. */
+  static final short VERSION = 4;
+
+  /** Buffers of the message body are aligned to this many bytes. */
+  static final int ALIGNMENT = 8;
+
+  static final int FOOTER_VERSION = 0;
+  static final int FOOTER_SCHEMA = 1;
+  static final int FOOTER_DICTIONARIES = 2;
+  static final int FOOTER_RECORD_BATCHES = 3;
+  static final int FOOTER_FIELD_COUNT = 4;
+
+  /** The size of the {@code Block} struct and the offsets of its fields. */
+  static final int BLOCK_SIZE = 24;
+
+  static final int BLOCK_OFFSET = 0;
+  static final int BLOCK_METADATA_LENGTH = 8;
+  static final int BLOCK_BODY_LENGTH = 16;
+
+  static final int MESSAGE_VERSION = 0;
+  static final int MESSAGE_HEADER_TYPE = 1;
+  static final int MESSAGE_HEADER = 2;
+  static final int MESSAGE_BODY_LENGTH = 3;
+  static final int MESSAGE_FIELD_COUNT = 5;
+
+  static final int HEADER_SCHEMA = 1;
+  static final int HEADER_DICTIONARY_BATCH = 2;
+  static final int HEADER_RECORD_BATCH = 3;
+
+  static final int SCHEMA_ENDIANNESS = 0;
+  static final int SCHEMA_FIELDS = 1;
+  static final int SCHEMA_FIELD_COUNT = 4;
+
+  static final int FIELD_NAME = 0;
+  static final int FIELD_NULLABLE = 1;
+  static final int FIELD_TYPE_TYPE = 2;
+  static final int FIELD_TYPE = 3;
+  static final int FIELD_DICTIONARY = 4;
+  static final int FIELD_CHILDREN = 5;
+  static final int FIELD_FIELD_COUNT = 7;
+
+  static final int DICTIONARY_ENCODING_ID = 0;
+  static final int DICTIONARY_ENCODING_INDEX_TYPE = 1;
+
+  static final int RECORD_BATCH_LENGTH = 0;
+  static final int RECORD_BATCH_NODES = 1;
+  static final int RECORD_BATCH_BUFFERS = 2;
+  static final int RECORD_BATCH_COMPRESSION = 3;
+  static final int RECORD_BATCH_FIELD_COUNT = 4;
+
+  static final int DICTIONARY_BATCH_ID = 0;
+  static final int DICTIONARY_BATCH_DATA = 1;
+  static final int DICTIONARY_BATCH_IS_DELTA = 2;
+
+  /** The size of the {@code FieldNode} and {@code Buffer} structs, which both hold two longs. */
+  static final int STRUCT_SIZE = 16;
+
+  static final int TYPE_NULL = 1;
+  static final int TYPE_INT = 2;
+  static final int TYPE_FLOATING_POINT = 3;
+  static final int TYPE_UTF8 = 5;
+  static final int TYPE_BOOL = 6;
+  static final int TYPE_DATE = 8;
+  static final int TYPE_TIME = 9;
+  static final int TYPE_TIMESTAMP = 10;
+  static final int TYPE_LARGE_UTF8 = 20;
+
+  static final int INT_BIT_WIDTH = 0;
+  static final int INT_IS_SIGNED = 1;
+  static final int INT_FIELD_COUNT = 2;
+
+  static final int FLOATING_POINT_PRECISION = 0;
+  static final int PRECISION_SINGLE = 1;
+  static final int PRECISION_DOUBLE = 2;
+
+  static final int DATE_UNIT = 0;
+  static final int DATE_UNIT_DAY = 0;
+  static final int DATE_UNIT_MILLISECOND = 1;
+
+  static final int TIME_UNIT = 0;
+  static final int TIME_BIT_WIDTH = 1;
+  static final int TIMESTAMP_UNIT = 0;
+  static final int TIMESTAMP_TIMEZONE = 1;
+
+  static final int UNIT_SECOND = 0;
+  static final int UNIT_MILLISECOND = 1;
+  static final int UNIT_MICROSECOND = 2;
+  static final int UNIT_NANOSECOND = 3;
+
+  /** Returns the number of nanoseconds in a single {@code TimeUnit}. */
+  static long nanosPerUnit(int unit) {
+    return switch (unit) {
+      case UNIT_SECOND -> 1_000_000_000L;
+      case UNIT_MILLISECOND -> 1_000_000L;
+      case UNIT_MICROSECOND -> 1_000L;
+      case UNIT_NANOSECOND -> 1L;
+      default -> throw new ArrowFormatException("Unknown time unit: " + unit + ".");
+    };
+  }
+
+  /** Rounds the length up to the alignment of the body buffers. */
+  static long padded(long length) {
+    return (length + ALIGNMENT - 1) & -ALIGNMENT;
+  }
+}
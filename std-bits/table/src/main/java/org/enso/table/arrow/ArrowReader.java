@@ -0,0 +1,711 @@
+package org.enso.table.arrow;
+
+import static org.enso.table.arrow.ArrowIpc.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.enso.table.data.column.builder.Builder;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.MixedStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.DateTimeStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.numeric.OffHeapLongArray;
+import org.enso.table.data.column.storage.type.Bits;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.NameDeduplicator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A table reader for Arrow IPC files (also known as Feather V2 files).
+ *
+ * <p>The file is memory-mapped and only the metadata and the buffers of each record batch are
+ * accessed. Record batches are decoded into storages one by one and concatenated if there is more
+ * than one of them.
+ *
+ * <p>In tables with at least {@link #OFF_HEAP_THRESHOLD} rows, the numeric columns are instead
+ * copied in bulk into off-heap arrays, so that they do not need to be held on the Java heap. The
+ * file itself is not kept mapped once it has been read, as it could be modified while the table is
+ * still in use.
+ */
+public final class ArrowReader {
+  /** The number of rows from which numeric columns are stored off-heap. */
+  static final int OFF_HEAP_THRESHOLD = 1 << 20;
+
+  private final FileChannel channel;
+  private final List<FlatBufferTable> fields;
+  private final Map<Long, String[]> dictionaries = new HashMap<>();
+
+  private ArrowReader(FileChannel channel, List<FlatBufferTable> fields) {
+    this.channel = channel;
+    this.fields = fields;
+  }
+
+  /**
+   * Reads a table from an Arrow IPC file.
+   *
+   * @param file the file to read
+   * @param problemAggregator aggregates problems reported when creating the columns
+   * @return the table stored in the file
+   * @throws IOException when the file cannot be read
+   * @throws ArrowFormatException when the file is not a valid Arrow file or uses features that are
+   *     not supported
+   */
+  public static Table read(File file, ProblemAggregator problemAggregator) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      FlatBufferTable footer = readFooter(channel);
+      FlatBufferTable schema = footer.getTable(FOOTER_SCHEMA);
+      if (schema == null) {
+        throw new ArrowFormatException("The file does not contain a schema.");
+      }
+      if (schema.getShort(SCHEMA_ENDIANNESS, (short) 0) != 0) {
+        throw new ArrowFormatException("Big-endian Arrow files are not supported.");
+      }
+
+      int fieldCount = schema.getVectorLength(SCHEMA_FIELDS);
+      if (fieldCount == 0) {
+        throw new ArrowFormatException("The file does not contain any columns.");
+      }
+      List<FlatBufferTable> fields = new ArrayList<>(fieldCount);
+      for (int i = 0; i < fieldCount; i++) {
+        fields.add(schema.getVectorTable(SCHEMA_FIELDS, i));
+      }
+
+      ArrowReader reader = new ArrowReader(channel, fields);
+      return reader.readTable(footer, problemAggregator);
+    }
+  }
+
+  private static FlatBufferTable readFooter(FileChannel channel) throws IOException {
+    long size = channel.size();
+    int trailerLength = 4 + MAGIC.length;
+    if (size < 8 + trailerLength) {
+      throw new ArrowFormatException("The file is too short to be an Arrow file.");
+    }
+
+    checkMagic(map(channel, 0, MAGIC.length));
+    ByteBuffer trailer = map(channel, size - trailerLength, trailerLength);
+    checkMagic(trailer.slice(4, MAGIC.length));
+
+    int footerLength = trailer.getInt(0);
+    long footerStart = size - trailerLength - footerLength;
+    if (footerLength <= 0 || footerStart < 8) {
+      throw new ArrowFormatException("The file footer is corrupted.");
+    }
+    return FlatBufferTable.root(map(channel, footerStart, footerLength));
+  }
+
+  private static void checkMagic(ByteBuffer buffer) {
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer.get(i) != MAGIC[i]) {
+        throw new ArrowFormatException("The file is not an Arrow IPC file.");
+      }
+    }
+  }
+
+  private static ByteBuffer map(FileChannel channel, long position, long length)
+      throws IOException {
+    if (length > Integer.MAX_VALUE) {
+      throw new ArrowFormatException(
+          "Record batches larger than 2GB are not supported. Please write the file in smaller"
+              + " batches.");
+    }
+    if (position < 0 || position + length > channel.size()) {
+      throw new ArrowFormatException("The file is truncated.");
+    }
+    return channel
+        .map(FileChannel.MapMode.READ_ONLY, position, length)
+        .order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private Table readTable(FlatBufferTable footer, ProblemAggregator problemAggregator)
+      throws IOException {
+    Context context = Context.getCurrent();
+
+    int dictionaryCount = footer.getVectorLength(FOOTER_DICTIONARIES);
+    for (int i = 0; i < dictionaryCount; i++) {
+      readDictionaryBatch(readMessage(footer, FOOTER_DICTIONARIES, i));
+      context.safepoint();
+    }
+
+    int batchCount = footer.getVectorLength(FOOTER_RECORD_BATCHES);
+    List<Message> messages = new ArrayList<>(batchCount);
+    long totalRows = 0;
+    for (int i = 0; i < batchCount; i++) {
+      Message message = readMessage(footer, FOOTER_RECORD_BATCHES, i);
+      if (message.headerType != HEADER_RECORD_BATCH) {
+        throw new ArrowFormatException("Expected a record batch, but got another message.");
+      }
+      messages.add(message);
+      totalRows += message.header.getLong(RECORD_BATCH_LENGTH, 0);
+    }
+    if (totalRows > Integer.MAX_VALUE) {
+      throw new ArrowFormatException("Tables with more than 2^31 rows are not supported.");
+    }
+
+    OffHeapColumn[] offHeapColumns = new OffHeapColumn[fields.size()];
+    if (totalRows >= OFF_HEAP_THRESHOLD) {
+      for (int i = 0; i < offHeapColumns.length; i++) {
+        if (isNumeric(fields.get(i))) {
+          offHeapColumns[i] = new OffHeapColumn(OffHeapLongArray.allocate((int) totalRows));
+        }
+      }
+    }
+
+    List<Storage<?>[]> batches = new ArrayList<>(batchCount);
+    int rowOffset = 0;
+    for (Message message : messages) {
+      batches.add(
+          readRecordBatch(message.header, message.body, fields, false, offHeapColumns, rowOffset));
+      rowOffset += (int) message.header.getLong(RECORD_BATCH_LENGTH, 0);
+      context.safepoint();
+    }
+
+    String[] names = new String[fields.size()];
+    for (int i = 0; i < names.length; i++) {
+      String name = fields.get(i).getString(FIELD_NAME);
+      names[i] = name == null ? "" : name;
+    }
+    names = NameDeduplicator.createDefault(problemAggregator).makeUniqueArray(names);
+
+    Column[] columns = new Column[names.length];
+    for (int i = 0; i < columns.length; i++) {
+      Storage<?> storage =
+          offHeapColumns[i] != null
+              ? offHeapColumns[i].toStorage(fields.get(i), (int) totalRows)
+              : concatenate(batches, i, problemAggregator);
+      columns[i] = new Column(names[i], storage);
+    }
+    return new Table(columns);
+  }
+
+  private Storage<?> concatenate(
+      List<Storage<?>[]> batches, int column, ProblemAggregator problemAggregator) {
+    if (batches.isEmpty()) {
+      return new RecordBatchDecoder(ByteBuffer.allocate(0), null, 0)
+          .emptyStorage(fields.get(column));
+    }
+    if (batches.size() == 1) {
+      return batches.get(0)[column];
+    }
+
+    int totalSize = 0;
+    for (Storage<?>[] batch : batches) {
+      totalSize += batch[column].size();
+    }
+
+    Storage<?> first = batches.get(0)[column];
+    Builder builder = Builder.getForType(first.getType(), totalSize, problemAggregator);
+    for (Storage<?>[] batch : batches) {
+      builder.appendBulkStorage(batch[column]);
+    }
+    return builder.seal();
+  }
+
+  /** Checks if the column holds plain integers or floating point numbers. */
+  private static boolean isNumeric(FlatBufferTable field) {
+    if (field.getTable(FIELD_DICTIONARY) != null) {
+      return false;
+    }
+    int typeId = field.getUnsignedByte(FIELD_TYPE_TYPE, 0);
+    return typeId == TYPE_INT || typeId == TYPE_FLOATING_POINT;
+  }
+
+  /**
+   * A numeric column of a large table, whose record batches are decoded directly into a single
+   * off-heap array instead of being concatenated.
+   */
+  private static final class OffHeapColumn {
+    private final OffHeapLongArray values;
+    private final BitSet isNothing = new BitSet();
+    private IntegerType integerType = null;
+
+    OffHeapColumn(OffHeapLongArray values) {
+      this.values = values;
+    }
+
+    /** Stores the values of a record batch, which start at the given row. */
+    void put(int rowOffset, long[] data, BitSet batchIsNothing) {
+      checkBounds(rowOffset, data.length);
+      values.copyFrom(data, 0, rowOffset, data.length);
+      addMissing(rowOffset, batchIsNothing);
+    }
+
+    /** Stores the little-endian 64-bit values of a record batch, which start at the given row. */
+    void put(int rowOffset, ByteBuffer data, int length, BitSet batchIsNothing) {
+      checkBounds(rowOffset, length);
+      values.copyFrom(data.slice(0, 8 * length), rowOffset);
+      addMissing(rowOffset, batchIsNothing);
+    }
+
+    private void checkBounds(int rowOffset, int length) {
+      if ((long) rowOffset + length > values.length()) {
+        throw new ArrowFormatException("A record batch is longer than declared.");
+      }
+    }
+
+    private void addMissing(int rowOffset, BitSet batchIsNothing) {
+      for (int i = batchIsNothing.nextSetBit(0); i >= 0; i = batchIsNothing.nextSetBit(i + 1)) {
+        isNothing.set(rowOffset + i);
+      }
+    }
+
+    Storage<?> toStorage(FlatBufferTable field, int size) {
+      return field.getUnsignedByte(FIELD_TYPE_TYPE, 0) == TYPE_INT
+          ? new LongStorage(values, size, isNothing, integerType)
+          : new DoubleStorage(values, size, isNothing);
+    }
+  }
+
+  /** An encapsulated message: its metadata and its body. */
+  private record Message(int headerType, FlatBufferTable header, ByteBuffer body) {}
+
+  private Message readMessage(FlatBufferTable footer, int slot, int index) throws IOException {
+    long offset = footer.getVectorStructLong(slot, index, BLOCK_SIZE, BLOCK_OFFSET);
+    int metadataLength = footer.getVectorStructInt(slot, index, BLOCK_SIZE, BLOCK_METADATA_LENGTH);
+    long bodyLength = footer.getVectorStructLong(slot, index, BLOCK_SIZE, BLOCK_BODY_LENGTH);
+
+    ByteBuffer metadata = map(channel, offset, metadataLength);
+    int prefix = metadata.getInt(0) == CONTINUATION ? 8 : 4;
+    FlatBufferTable message = FlatBufferTable.root(metadata.position(prefix));
+    if (message.getShort(MESSAGE_VERSION, (short) 0) < 3) {
+      throw new ArrowFormatException("Arrow files older than version 4 are not supported.");
+    }
+
+    FlatBufferTable header = message.getTable(MESSAGE_HEADER);
+    if (header == null) {
+      throw new ArrowFormatException("A message of the file has no header.");
+    }
+    ByteBuffer body = map(channel, offset + metadataLength, bodyLength);
+    return new Message(message.getUnsignedByte(MESSAGE_HEADER_TYPE, 0), header, body);
+  }
+
+  private void readDictionaryBatch(Message message) {
+    if (message.headerType != HEADER_DICTIONARY_BATCH) {
+      throw new ArrowFormatException("Expected a dictionary batch, but got another message.");
+    }
+
+    long id = message.header.getLong(DICTIONARY_BATCH_ID, 0);
+    FlatBufferTable valueField = null;
+    for (FlatBufferTable field : fields) {
+      FlatBufferTable encoding = field.getTable(FIELD_DICTIONARY);
+      if (encoding != null && encoding.getLong(DICTIONARY_ENCODING_ID, 0) == id) {
+        valueField = field;
+        break;
+      }
+    }
+    if (valueField == null) {
+      throw new ArrowFormatException("The file contains a dictionary that is not used.");
+    }
+
+    FlatBufferTable data = message.header.getTable(DICTIONARY_BATCH_DATA);
+    if (data == null) {
+      throw new ArrowFormatException("A dictionary batch has no data.");
+    }
+    StringStorage values =
+        (StringStorage) readRecordBatch(data, message.body, List.of(valueField), true, null, 0)[0];
+    String[] strings = new String[values.size()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = values.getItemBoxed(i);
+    }
+
+    String[] existing = dictionaries.get(id);
+    if (existing != null && message.header.getBoolean(DICTIONARY_BATCH_IS_DELTA, false)) {
+      String[] combined = Arrays.copyOf(existing, existing.length + strings.length);
+      System.arraycopy(strings, 0, combined, existing.length, strings.length);
+      strings = combined;
+    }
+    dictionaries.put(id, strings);
+  }
+
+  /**
+   * Decodes the columns of a record batch.
+   *
+   * @param dictionaryValues whether the batch holds the values of a dictionary, in which case the
+   *     dictionary encoding of its field is ignored
+   * @param offHeapColumns the columns that are decoded directly into off-heap arrays, or {@code
+   *     null}; the storages returned for these columns are {@code null}
+   * @param rowOffset the index of the first row of the batch within the whole table
+   */
+  private Storage<?>[] readRecordBatch(
+      FlatBufferTable recordBatch,
+      ByteBuffer body,
+      List<FlatBufferTable> batchFields,
+      boolean dictionaryValues,
+      OffHeapColumn[] offHeapColumns,
+      int rowOffset) {
+    if (recordBatch.has(RECORD_BATCH_COMPRESSION)) {
+      throw new ArrowFormatException(
+          "Compressed Arrow files are not supported. Please write the file without compression.");
+    }
+
+    RecordBatchDecoder decoder = new RecordBatchDecoder(body, recordBatch, rowOffset);
+    Storage<?>[] storages = new Storage<?>[batchFields.size()];
+    for (int i = 0; i < storages.length; i++) {
+      decoder.offHeapColumn = offHeapColumns == null ? null : offHeapColumns[i];
+      storages[i] = decoder.decodeField(batchFields.get(i), dictionaryValues);
+    }
+    return storages;
+  }
+
+  /**
+   * Decodes the columns of a single record batch, consuming its field nodes and buffers in the
+   * order in which they are laid out.
+   */
+  private final class RecordBatchDecoder {
+    private final ByteBuffer body;
+    private final FlatBufferTable recordBatch;
+    private final int rowOffset;
+    private int nextNode = 0;
+    private int nextBuffer = 0;
+
+    /** The off-heap column into which the next field is decoded, if any. */
+    private OffHeapColumn offHeapColumn = null;
+
+    RecordBatchDecoder(ByteBuffer body, FlatBufferTable recordBatch, int rowOffset) {
+      this.body = body;
+      this.recordBatch = recordBatch;
+      this.rowOffset = rowOffset;
+    }
+
+    Storage<?> emptyStorage(FlatBufferTable field) {
+      return decode(field, 0, 0, false);
+    }
+
+    Storage<?> decodeField(FlatBufferTable field, boolean dictionaryValues) {
+      if (nextNode >= recordBatch.getVectorLength(RECORD_BATCH_NODES)) {
+        throw new ArrowFormatException("A record batch is missing some of its columns.");
+      }
+      long length = recordBatch.getVectorStructLong(RECORD_BATCH_NODES, nextNode, STRUCT_SIZE, 0);
+      long nullCount =
+          recordBatch.getVectorStructLong(RECORD_BATCH_NODES, nextNode, STRUCT_SIZE, 8);
+      nextNode++;
+      if (length > Integer.MAX_VALUE) {
+        throw new ArrowFormatException(
+            "Record batches with more than 2^31 rows are not supported.");
+      }
+      if (length != recordBatch.getLong(RECORD_BATCH_LENGTH, 0)) {
+        throw new ArrowFormatException(
+            "Column `" + fieldName(field) + "` has a different length than its record batch.");
+      }
+      return decode(field, (int) length, nullCount, dictionaryValues);
+    }
+
+    private ByteBuffer nextBuffer() {
+      if (recordBatch == null) {
+        return ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN);
+      }
+      if (nextBuffer >= recordBatch.getVectorLength(RECORD_BATCH_BUFFERS)) {
+        throw new ArrowFormatException("A record batch is missing some of its buffers.");
+      }
+      long offset =
+          recordBatch.getVectorStructLong(RECORD_BATCH_BUFFERS, nextBuffer, STRUCT_SIZE, 0);
+      long length =
+          recordBatch.getVectorStructLong(RECORD_BATCH_BUFFERS, nextBuffer, STRUCT_SIZE, 8);
+      nextBuffer++;
+      if (offset < 0 || length < 0 || offset + length > body.capacity()) {
+        throw new ArrowFormatException("A buffer of a record batch lies outside of its body.");
+      }
+      return body.slice((int) offset, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Returns the next buffer, checking that it holds at least the given number of bytes. */
+    private ByteBuffer nextBuffer(long minimumLength) {
+      ByteBuffer buffer = nextBuffer();
+      if (buffer.capacity() < minimumLength) {
+        throw new ArrowFormatException("A buffer of a record batch is shorter than its column.");
+      }
+      return buffer;
+    }
+
+    private Storage<?> decode(
+        FlatBufferTable field, int length, long nullCount, boolean dictionaryValues) {
+      FlatBufferTable encoding = field.getTable(FIELD_DICTIONARY);
+      if (encoding != null && !dictionaryValues) {
+        return decodeDictionary(field, encoding, length, nullCount);
+      }
+
+      int typeId = field.getUnsignedByte(FIELD_TYPE_TYPE, 0);
+      FlatBufferTable type = field.getTable(FIELD_TYPE);
+      if (typeId == TYPE_NULL) {
+        return new MixedStorage(new Object[length], length);
+      }
+      if (field.getVectorLength(FIELD_CHILDREN) > 0) {
+        throw unsupportedType(field);
+      }
+
+      BitSet isNothing = validity(nextBuffer(), length, nullCount);
+      return switch (typeId) {
+        case TYPE_INT -> {
+          int bitWidth = type.getInt(INT_BIT_WIDTH, 0);
+          boolean signed = type.getBoolean(INT_IS_SIGNED, false);
+          if (!signed && bitWidth == 64) {
+            throw new ArrowFormatException(
+                "Column `"
+                    + fieldName(field)
+                    + "` has an unsupported type: unsigned 64-bit integer.");
+          }
+          Bits bits = Bits.fromInteger(signed ? bitWidth : bitWidth * 2);
+          IntegerType integerType = IntegerType.create(bits);
+          ByteBuffer values = nextBuffer((long) length * (bitWidth / 8));
+          if (offHeapColumn != null) {
+            offHeapColumn.integerType = integerType;
+            if (bitWidth == 64) {
+              offHeapColumn.put(rowOffset, values, length, isNothing);
+            } else {
+              offHeapColumn.put(
+                  rowOffset, readIntegers(values, length, bitWidth, signed), isNothing);
+            }
+            yield null;
+          }
+          long[] data = readIntegers(values, length, bitWidth, signed);
+          yield new LongStorage(data, length, isNothing, integerType);
+        }
+        case TYPE_FLOATING_POINT -> {
+          short precision = type.getShort(FLOATING_POINT_PRECISION, (short) 0);
+          int width =
+              switch (precision) {
+                case PRECISION_SINGLE -> 4;
+                case PRECISION_DOUBLE -> 8;
+                default -> throw unsupportedType(field);
+              };
+          ByteBuffer values = nextBuffer((long) length * width);
+          if (offHeapColumn != null && precision == PRECISION_DOUBLE) {
+            offHeapColumn.put(rowOffset, values, length, isNothing);
+            yield null;
+          }
+          long[] data = new long[length];
+          switch (precision) {
+            case PRECISION_DOUBLE -> values.asLongBuffer().get(data, 0, length);
+            case PRECISION_SINGLE -> {
+              for (int i = 0; i < length; i++) {
+                data[i] = Double.doubleToRawLongBits(values.getFloat(4 * i));
+              }
+            }
+          }
+          if (offHeapColumn != null) {
+            offHeapColumn.put(rowOffset, data, isNothing);
+            yield null;
+          }
+          yield new DoubleStorage(data, length, isNothing);
+        }
+        case TYPE_BOOL -> {
+          BitSet values = BitSet.valueOf(nextBuffer(bitmapLength(length)));
+          values.clear(length, Math.max(length, values.length()));
+          values.andNot(isNothing);
+          yield new BoolStorage(values, isNothing, length, false);
+        }
+        case TYPE_UTF8, TYPE_LARGE_UTF8 -> {
+          int offsetWidth = typeId == TYPE_LARGE_UTF8 ? 8 : 4;
+          ByteBuffer offsets = nextBuffer(length == 0 ? 0 : (length + 1L) * offsetWidth);
+          ByteBuffer data = nextBuffer();
+          yield new StringStorage(
+              readStrings(offsets, data, length, isNothing, typeId == TYPE_LARGE_UTF8),
+              length,
+              TextType.VARIABLE_LENGTH);
+        }
+        case TYPE_DATE -> {
+          boolean days = type.getShort(DATE_UNIT, (short) DATE_UNIT_MILLISECOND) == DATE_UNIT_DAY;
+          ByteBuffer values = nextBuffer((long) length * (days ? 4 : 8));
+          LocalDate[] dates = new LocalDate[length];
+          for (int i = 0; i < length; i++) {
+            if (!isNothing.get(i)) {
+              long day =
+                  days ? values.getInt(4 * i) : Math.floorDiv(values.getLong(8 * i), 86_400_000L);
+              dates[i] = LocalDate.ofEpochDay(day);
+            }
+          }
+          yield new DateStorage(dates, length);
+        }
+        case TYPE_TIME -> {
+          long nanosPerUnit = nanosPerUnit(type.getShort(TIME_UNIT, (short) UNIT_MILLISECOND));
+          boolean wide = type.getInt(TIME_BIT_WIDTH, 32) == 64;
+          ByteBuffer values = nextBuffer((long) length * (wide ? 8 : 4));
+          LocalTime[] times = new LocalTime[length];
+          for (int i = 0; i < length; i++) {
+            if (!isNothing.get(i)) {
+              long value = wide ? values.getLong(8 * i) : values.getInt(4 * i);
+              times[i] = LocalTime.ofNanoOfDay(value * nanosPerUnit);
+            }
+          }
+          yield new TimeOfDayStorage(times, length);
+        }
+        case TYPE_TIMESTAMP -> {
+          ByteBuffer values = nextBuffer(8L * length);
+          long nanosPerUnit = nanosPerUnit(type.getShort(TIMESTAMP_UNIT, (short) 0));
+          long unitsPerSecond = 1_000_000_000L / nanosPerUnit;
+          String timezone = type.getString(TIMESTAMP_TIMEZONE);
+          ZoneId zone = timezone == null ? null : parseZone(timezone, field);
+          ZonedDateTime[] dateTimes = new ZonedDateTime[length];
+          for (int i = 0; i < length; i++) {
+            if (!isNothing.get(i)) {
+              long value = values.getLong(8 * i);
+              long seconds = Math.floorDiv(value, unitsPerSecond);
+              int nanos = (int) (Math.floorMod(value, unitsPerSecond) * nanosPerUnit);
+              // A timestamp without a time zone holds the wall clock time, as if it was in UTC.
+              dateTimes[i] =
+                  zone == null
+                      ? LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC)
+                          .atZone(ZoneId.systemDefault())
+                      : Instant.ofEpochSecond(seconds, nanos).atZone(zone);
+            }
+          }
+          yield new DateTimeStorage(dateTimes, length);
+        }
+        default -> throw unsupportedType(field);
+      };
+    }
+
+    private Storage<?> decodeDictionary(
+        FlatBufferTable field, FlatBufferTable encoding, int length, long nullCount) {
+      int typeId = field.getUnsignedByte(FIELD_TYPE_TYPE, 0);
+      if (typeId != TYPE_UTF8 && typeId != TYPE_LARGE_UTF8) {
+        throw unsupportedType(field);
+      }
+      String[] dictionary = dictionaries.get(encoding.getLong(DICTIONARY_ENCODING_ID, 0));
+      if (dictionary == null && length == 0) {
+        dictionary = new String[0];
+      } else if (dictionary == null) {
+        throw new ArrowFormatException(
+            "The dictionary of column `" + fieldName(field) + "` is missing.");
+      }
+
+      FlatBufferTable indexType = encoding.getTable(DICTIONARY_ENCODING_INDEX_TYPE);
+      int bitWidth = indexType == null ? 32 : indexType.getInt(INT_BIT_WIDTH, 0);
+      boolean signed = indexType == null || indexType.getBoolean(INT_IS_SIGNED, false);
+
+      BitSet isNothing = validity(nextBuffer(), length, nullCount);
+      long[] indices =
+          readIntegers(nextBuffer((long) length * (bitWidth / 8)), length, bitWidth, signed);
+      int[] codes = new int[length];
+      for (int i = 0; i < length; i++) {
+        if (isNothing.get(i)) {
+          codes[i] = StringStorage.NOTHING_CODE;
+        } else {
+          long index = indices[i];
+          if (index < 0 || index >= dictionary.length) {
+            throw new ArrowFormatException(
+                "Column `" + fieldName(field) + "` refers to a value outside of its dictionary.");
+          }
+          codes[i] = dictionary[(int) index] == null ? StringStorage.NOTHING_CODE : (int) index;
+        }
+      }
+      return new StringStorage(dictionary, codes, length, TextType.VARIABLE_LENGTH);
+    }
+  }
+
+  /** Decodes a validity bitmap into a set of the indices of missing values. */
+  private static BitSet validity(ByteBuffer bitmap, int length, long nullCount) {
+    if (nullCount == 0 || bitmap.capacity() == 0) {
+      return new BitSet();
+    }
+    if (bitmap.capacity() < bitmapLength(length)) {
+      throw new ArrowFormatException("A validity bitmap of a record batch is too short.");
+    }
+    BitSet isNothing = BitSet.valueOf(bitmap);
+    isNothing.flip(0, length);
+    isNothing.clear(length, Math.max(length, isNothing.length()));
+    return isNothing;
+  }
+
+  /** The number of bytes of a bitmap holding a bit for each of the rows. */
+  private static long bitmapLength(int length) {
+    return (length + 7L) / 8;
+  }
+
+  private static ZoneId parseZone(String timezone, FlatBufferTable field) {
+    try {
+      return ZoneId.of(timezone);
+    } catch (DateTimeException e) {
+      throw new ArrowFormatException(
+          "Column `" + fieldName(field) + "` has an unknown time zone: " + timezone + ".");
+    }
+  }
+
+  private static long[] readIntegers(ByteBuffer buffer, int length, int bitWidth, boolean signed) {
+    long[] data = new long[length];
+    switch (bitWidth) {
+      case 8 -> {
+        for (int i = 0; i < length; i++) {
+          byte value = buffer.get(i);
+          data[i] = signed ? value : Byte.toUnsignedLong(value);
+        }
+      }
+      case 16 -> {
+        for (int i = 0; i < length; i++) {
+          short value = buffer.getShort(2 * i);
+          data[i] = signed ? value : Short.toUnsignedLong(value);
+        }
+      }
+      case 32 -> {
+        for (int i = 0; i < length; i++) {
+          int value = buffer.getInt(4 * i);
+          data[i] = signed ? value : Integer.toUnsignedLong(value);
+        }
+      }
+      case 64 -> buffer.asLongBuffer().get(data, 0, length);
+      default -> throw new ArrowFormatException("Unsupported integer width: " + bitWidth + ".");
+    }
+    return data;
+  }
+
+  private static String[] readStrings(
+      ByteBuffer offsets, ByteBuffer data, int length, BitSet isNothing, boolean large) {
+    String[] values = new String[length];
+    byte[] bytes = new byte[0];
+    for (int i = 0; i < length; i++) {
+      if (isNothing.get(i)) {
+        continue;
+      }
+
+      long start = large ? offsets.getLong(8 * i) : offsets.getInt(4 * i);
+      long end = large ? offsets.getLong(8 * i + 8) : offsets.getInt(4 * i + 4);
+      if (start < 0 || end < start || end > data.capacity()) {
+        throw new ArrowFormatException("A text value of a record batch lies outside of its data.");
+      }
+      int stringLength = (int) (end - start);
+      if (bytes.length < stringLength) {
+        bytes = new byte[Math.max(stringLength, 2 * bytes.length)];
+      }
+      data.get((int) start, bytes, 0, stringLength);
+      values[i] = new String(bytes, 0, stringLength, StandardCharsets.UTF_8);
+    }
+    return values;
+  }
+
+  private static String fieldName(FlatBufferTable field) {
+    return field.getString(FIELD_NAME);
+  }
+
+  private static ArrowFormatException unsupportedType(FlatBufferTable field) {
+    return new ArrowFormatException(
+        "Column `" + fieldName(field) + "` has a type that is not supported.");
+  }
+}
@@ -0,0 +1,619 @@
+package org.enso.table.arrow;
+
+import static org.enso.table.arrow.ArrowIpc.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.type.BooleanType;
+import org.enso.table.data.column.storage.type.DateTimeType;
+import org.enso.table.data.column.storage.type.DateType;
+import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.data.column.storage.type.TimeOfDayType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Writes tables as Arrow IPC files (also known as Feather V2 files).
+ *
+ * <p>The table is split into record batches of a bounded number of cells, so that only the buffers
+ * of a single batch are held in memory at a time. Values are written without compression.
+ */
+public final class ArrowWriter {
+  /** The maximum number of cells encoded in a single record batch. */
+  private static final int BATCH_CELLS = 8 * 1024 * 1024;
+
+  /** The maximum number of rows of a single record batch. */
+  private static final int MAX_BATCH_ROWS = 1024 * 1024;
+
+  private final OutputStream output;
+  private final Column[] columns;
+  private final FieldEncoder[] encoders;
+  private final List<long[]> blocks = new ArrayList<>();
+  private long position = 0;
+
+  private ArrowWriter(OutputStream output, Table table) {
+    this.output = output;
+    this.columns = table.getColumns();
+    this.encoders = new FieldEncoder[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      encoders[i] = FieldEncoder.forColumn(columns[i]);
+    }
+  }
+
+  /**
+   * Writes the table to the output stream as an Arrow IPC file.
+   *
+   * @param table the table to write
+   * @param output the stream to write to
+   * @throws IOException when writing to the stream fails
+   * @throws IllegalArgumentException when the table contains a column of a type that cannot be
+   *     represented in an Arrow file
+   */
+  public static void write(Table table, OutputStream output) throws IOException {
+    new ArrowWriter(output, table).write();
+  }
+
+  private void write() throws IOException {
+    write(MAGIC);
+    write(new byte[ALIGNMENT - MAGIC.length]);
+    writeMessage(HEADER_SCHEMA, 0, this::buildSchema);
+
+    Context context = Context.getCurrent();
+    int rowCount = columns[0].getSize();
+    int batchRows = Math.max(1, Math.min(MAX_BATCH_ROWS, BATCH_CELLS / columns.length));
+    for (int start = 0; start < rowCount || start == 0; start += batchRows) {
+      writeRecordBatch(start, Math.min(rowCount, start + batchRows));
+      context.safepoint();
+      if (rowCount == 0) {
+        break;
+      }
+    }
+
+    writeInt(CONTINUATION);
+    writeInt(0);
+
+    FlatBufferBuilder builder = new FlatBufferBuilder();
+    int schemaTable = buildSchema(builder);
+    builder.startVector(BLOCK_SIZE, blocks.size(), 8);
+    for (int i = blocks.size() - 1; i >= 0; i--) {
+      long[] block = blocks.get(i);
+      builder.startStruct(8, BLOCK_SIZE);
+      builder.putLong(block[2]);
+      builder.pad4();
+      builder.putInt((int) block[1]);
+      builder.putLong(block[0]);
+    }
+    int recordBatches = builder.endVector(blocks.size());
+    builder.startVector(BLOCK_SIZE, 0, 8);
+    int dictionaries = builder.endVector(0);
+    builder.startTable(FOOTER_FIELD_COUNT);
+    builder.addReference(FOOTER_DICTIONARIES, dictionaries);
+    builder.addReference(FOOTER_RECORD_BATCHES, recordBatches);
+    builder.addReference(FOOTER_SCHEMA, schemaTable);
+    builder.addShort(FOOTER_VERSION, VERSION);
+    byte[] footer = builder.finish(builder.endTable());
+
+    write(footer);
+    writeInt(footer.length);
+    write(MAGIC);
+    output.flush();
+  }
+
+  private int buildSchema(FlatBufferBuilder builder) {
+    int[] fields = new int[encoders.length];
+    for (int i = 0; i < fields.length; i++) {
+      int name = builder.createString(columns[i].getName());
+      int type = encoders[i].buildType(builder);
+      int children = builder.createTableVector(new int[0]);
+      builder.startTable(FIELD_FIELD_COUNT);
+      builder.addReference(FIELD_NAME, name);
+      builder.addReference(FIELD_TYPE, type);
+      builder.addReference(FIELD_CHILDREN, children);
+      builder.addByte(FIELD_TYPE_TYPE, (byte) encoders[i].typeId());
+      builder.addBoolean(FIELD_NULLABLE, true);
+      fields[i] = builder.endTable();
+    }
+
+    int fieldVector = builder.createTableVector(fields);
+    builder.startTable(SCHEMA_FIELD_COUNT);
+    builder.addReference(SCHEMA_FIELDS, fieldVector);
+    return builder.endTable();
+  }
+
+  private void writeRecordBatch(int start, int end) throws IOException {
+    int length = end - start;
+    List<ByteBuffer> buffers = new ArrayList<>();
+    long[] nullCounts = new long[encoders.length];
+    for (int i = 0; i < encoders.length; i++) {
+      nullCounts[i] = encoders[i].encode(start, end, buffers);
+    }
+
+    long bodyLength = 0;
+    long[] bufferOffsets = new long[buffers.size()];
+    for (int i = 0; i < bufferOffsets.length; i++) {
+      bufferOffsets[i] = bodyLength;
+      bodyLength += padded(buffers.get(i).remaining());
+    }
+
+    long blockOffset = position;
+    long finalBodyLength = bodyLength;
+    int metadataLength =
+        writeMessage(
+            HEADER_RECORD_BATCH,
+            bodyLength,
+            builder -> {
+              builder.startVector(STRUCT_SIZE, buffers.size(), 8);
+              for (int i = buffers.size() - 1; i >= 0; i--) {
+                builder.startStruct(8, STRUCT_SIZE);
+                builder.putLong(buffers.get(i).remaining());
+                builder.putLong(bufferOffsets[i]);
+              }
+              int bufferVector = builder.endVector(buffers.size());
+
+              builder.startVector(STRUCT_SIZE, encoders.length, 8);
+              for (int i = encoders.length - 1; i >= 0; i--) {
+                builder.startStruct(8, STRUCT_SIZE);
+                builder.putLong(nullCounts[i]);
+                builder.putLong(length);
+              }
+              int nodeVector = builder.endVector(encoders.length);
+
+              builder.startTable(RECORD_BATCH_FIELD_COUNT);
+              builder.addLong(RECORD_BATCH_LENGTH, length);
+              builder.addReference(RECORD_BATCH_NODES, nodeVector);
+              builder.addReference(RECORD_BATCH_BUFFERS, bufferVector);
+              return builder.endTable();
+            });
+
+    for (ByteBuffer buffer : buffers) {
+      int bufferLength = buffer.remaining();
+      write(buffer.array(), buffer.arrayOffset() + buffer.position(), bufferLength);
+      write(new byte[(int) (padded(bufferLength) - bufferLength)]);
+    }
+    blocks.add(new long[] {blockOffset, metadataLength, finalBodyLength});
+  }
+
+  /** Builds the header table of a message. */
+  private interface HeaderBuilder {
+    int build(FlatBufferBuilder builder);
+  }
+
+  /**
+   * Writes an encapsulated message with the given header, not including its body.
+   *
+   * @return the length of the written metadata, including its prefix and padding
+   */
+  private int writeMessage(int headerType, long bodyLength, HeaderBuilder headerBuilder)
+      throws IOException {
+    FlatBufferBuilder builder = new FlatBufferBuilder();
+    int header = headerBuilder.build(builder);
+    builder.startTable(MESSAGE_FIELD_COUNT);
+    builder.addLong(MESSAGE_BODY_LENGTH, bodyLength);
+    builder.addReference(MESSAGE_HEADER, header);
+    builder.addShort(MESSAGE_VERSION, VERSION);
+    builder.addByte(MESSAGE_HEADER_TYPE, (byte) headerType);
+    byte[] metadata = builder.finish(builder.endTable());
+
+    int paddedLength = (int) padded(metadata.length);
+    writeInt(CONTINUATION);
+    writeInt(paddedLength);
+    write(metadata);
+    write(new byte[paddedLength - metadata.length]);
+    return 8 + paddedLength;
+  }
+
+  private void writeInt(int value) throws IOException {
+    write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+  }
+
+  private void write(byte[] bytes) throws IOException {
+    write(bytes, 0, bytes.length);
+  }
+
+  private void write(byte[] bytes, int offset, int length) throws IOException {
+    output.write(bytes, offset, length);
+    position += length;
+  }
+
+  /** Encodes the values of a single column into the Arrow columnar layout. */
+  private abstract static class FieldEncoder {
+    protected final Storage<?> storage;
+
+    FieldEncoder(Storage<?> storage) {
+      this.storage = storage;
+    }
+
+    static FieldEncoder forColumn(Column column) {
+      Storage<?> storage = column.getStorage();
+      return switch (storage.getType()) {
+        case IntegerType integerType -> new IntegerEncoder(storage, integerType);
+        case FloatType x -> new FloatEncoder(storage);
+        case BooleanType x -> new BoolEncoder(storage);
+        case TextType x -> new StringEncoder(storage);
+        case DateType x -> new DateEncoder(storage);
+        case TimeOfDayType x -> new TimeEncoder(storage);
+        case DateTimeType x -> new DateTimeEncoder(storage);
+        default -> throw new IllegalArgumentException(
+            "Column `"
+                + column.getName()
+                + "` of type "
+                + storage.getType()
+                + " cannot be written to an Arrow file. Please convert it to a supported type"
+                + " first.");
+      };
+    }
+
+    abstract int typeId();
+
+    /** Builds the type table of the field. */
+    abstract int buildType(FlatBufferBuilder builder);
+
+    /**
+     * Encodes the values in the range {@code [start, end)}, appending the buffers of the field to
+     * the list.
+     *
+     * @return the number of missing values in the range
+     */
+    abstract long encode(int start, int end, List<ByteBuffer> buffers);
+
+    /**
+     * Appends the validity bitmap of the range. The bitmap is left empty if there are no missing
+     * values.
+     *
+     * @return the number of missing values in the range
+     */
+    protected long encodeValidity(int start, int end, List<ByteBuffer> buffers) {
+      int length = end - start;
+      byte[] bitmap = null;
+      long nullCount = 0;
+      for (int i = start; i < end; i++) {
+        if (storage.isNothing(i)) {
+          if (bitmap == null) {
+            bitmap = new byte[(length + 7) / 8];
+            for (int j = 0; j < i - start; j++) {
+              bitmap[j >> 3] |= (byte) (1 << (j & 7));
+            }
+          }
+          nullCount++;
+        } else if (bitmap != null) {
+          int j = i - start;
+          bitmap[j >> 3] |= (byte) (1 << (j & 7));
+        }
+      }
+      buffers.add(ByteBuffer.wrap(bitmap == null ? new byte[0] : bitmap));
+      return nullCount;
+    }
+
+    protected static ByteBuffer allocate(long size) {
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalStateException("A single Arrow buffer cannot exceed 2GB.");
+      }
+      return ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    protected static int emptyTable(FlatBufferBuilder builder) {
+      builder.startTable(0);
+      return builder.endTable();
+    }
+  }
+
+  private static final class IntegerEncoder extends FieldEncoder {
+    private final int bitWidth;
+
+    IntegerEncoder(Storage<?> storage, IntegerType type) {
+      super(storage);
+      this.bitWidth = type.bits().toInteger();
+    }
+
+    @Override
+    int typeId() {
+      return TYPE_INT;
+    }
+
+    @Override
+    int buildType(FlatBufferBuilder builder) {
+      builder.startTable(INT_FIELD_COUNT);
+      builder.addInt(INT_BIT_WIDTH, bitWidth);
+      builder.addBoolean(INT_IS_SIGNED, true);
+      return builder.endTable();
+    }
+
+    @Override
+    long encode(int start, int end, List<ByteBuffer> buffers) {
+      long nullCount = encodeValidity(start, end, buffers);
+      ByteBuffer data = allocate((long) (end - start) * bitWidth / 8);
+      AbstractLongStorage longs = storage instanceof AbstractLongStorage s ? s : null;
+      for (int i = start; i < end; i++) {
+        long value = 0;
+        if (!storage.isNothing(i)) {
+          value = longs != null ? longs.getItem(i) : ((Number) storage.getItemBoxed(i)).longValue();
+        }
+        switch (bitWidth) {
+          case 8 -> data.put((byte) value);
+          case 16 -> data.putShort((short) value);
+          case 32 -> data.putInt((int) value);
+          default -> data.putLong(value);
+        }
+      }
+      buffers.add(data.flip());
+      return nullCount;
+    }
+  }
+
+  private static final class FloatEncoder extends FieldEncoder {
+    FloatEncoder(Storage<?> storage) {
+      super(storage);
+    }
+
+    @Override
+    int typeId() {
+      return TYPE_FLOATING_POINT;
+    }
+
+    @Override
+    int buildType(FlatBufferBuilder builder) {
+      builder.startTable(1);
+      builder.addShort(FLOATING_POINT_PRECISION, (short) PRECISION_DOUBLE);
+      return builder.endTable();
+    }
+
+    @Override
+    long encode(int start, int end, List<ByteBuffer> buffers) {
+      long nullCount = encodeValidity(start, end, buffers);
+      ByteBuffer data = allocate(8L * (end - start));
+      if (storage instanceof DoubleStorage doubles) {
+        long[] raw = new long[end - start];
+        doubles.copyRawData(start, raw, 0, raw.length);
+        data.asLongBuffer().put(raw);
+        data.position(data.limit());
+      } else {
+        for (int i = start; i < end; i++) {
+          data.putDouble(
+              storage.isNothing(i) ? 0.0 : ((Number) storage.getItemBoxed(i)).doubleValue());
+        }
+      }
+      buffers.add(data.flip());
+      return nullCount;
+    }
+  }
+
+  private static final class BoolEncoder extends FieldEncoder {
+    BoolEncoder(Storage<?> storage) {
+      super(storage);
+    }
+
+    @Override
+    int typeId() {
+      return TYPE_BOOL;
+    }
+
+    @Override
+    int buildType(FlatBufferBuilder builder) {
+      return emptyTable(builder);
+    }
+
+    @Override
+    long encode(int start, int end, List<ByteBuffer> buffers) {
+      long nullCount = encodeValidity(start, end, buffers);
+      byte[] bitmap = new byte[(end - start + 7) / 8];
+      BoolStorage bools = storage instanceof BoolStorage s ? s : null;
+      for (int i = start; i < end; i++) {
+        if (!storage.isNothing(i)
+            && (bools != null ? bools.getItem(i) : (Boolean) storage.getItemBoxed(i))) {
+          int j = i - start;
+          bitmap[j >> 3] |= (byte) (1 << (j & 7));
+        }
+      }
+      buffers.add(ByteBuffer.wrap(bitmap));
+      return nullCount;
+    }
+  }
+
+  private static final class StringEncoder extends FieldEncoder {
+    StringEncoder(Storage<?> storage) {
+      super(storage);
+    }
+
+    @Override
+    int typeId() {
+      return TYPE_UTF8;
+    }
+
+    @Override
+    int buildType(FlatBufferBuilder builder) {
+      return emptyTable(builder);
+    }
+
+    @Override
+    long encode(int start, int end, List<ByteBuffer> buffers) {
+      long nullCount = encodeValidity(start, end, buffers);
+      byte[][] encoded = new byte[end - start][];
+      ByteBuffer offsets = allocate(4L * (end - start + 1));
+      long dataLength = 0;
+      offsets.putInt(0);
+      for (int i = start; i < end; i++) {
+        if (!storage.isNothing(i)) {
+          byte[] bytes = ((String) storage.getItemBoxed(i)).getBytes(StandardCharsets.UTF_8);
+          encoded[i - start] = bytes;
+          dataLength += bytes.length;
+          if (dataLength > Integer.MAX_VALUE) {
+            throw new IllegalStateException(
+                "The text in a single batch of an Arrow file cannot exceed 2GB.");
+          }
+        }
+        offsets.putInt((int) dataLength);
+      }
+
+      ByteBuffer data = allocate(dataLength);
+      for (byte[] bytes : encoded) {
+        if (bytes != null) {
+          data.put(bytes);
+        }
+      }
+      buffers.add(offsets.flip());
+      buffers.add(data.flip());
+      return nullCount;
+    }
+  }
+
+  private static final class DateEncoder extends FieldEncoder {
+    DateEncoder(Storage<?> storage) {
+      super(storage);
+    }
+
+    @Override
+    int typeId() {
+      return TYPE_DATE;
+    }
+
+    @Override
+    int buildType(FlatBufferBuilder builder) {
+      builder.startTable(1);
+      builder.addShort(DATE_UNIT, (short) DATE_UNIT_DAY);
+      return builder.endTable();
+    }
+
+    @Override
+    long encode(int start, int end, List<ByteBuffer> buffers) {
+      long nullCount = encodeValidity(start, end, buffers);
+      ByteBuffer data = allocate(4L * (end - start));
+      for (int i = start; i < end; i++) {
+        LocalDate date = (LocalDate) storage.getItemBoxed(i);
+        data.putInt(date == null ? 0 : Math.toIntExact(date.toEpochDay()));
+      }
+      buffers.add(data.flip());
+      return nullCount;
+    }
+  }
+
+  private static final class TimeEncoder extends FieldEncoder {
+    TimeEncoder(Storage<?> storage) {
+      super(storage);
+    }
+
+    @Override
+    int typeId() {
+      return TYPE_TIME;
+    }
+
+    @Override
+    int buildType(FlatBufferBuilder builder) {
+      builder.startTable(2);
+      builder.addShort(TIME_UNIT, (short) UNIT_NANOSECOND);
+      builder.addInt(TIME_BIT_WIDTH, 64);
+      return builder.endTable();
+    }
+
+    @Override
+    long encode(int start, int end, List<ByteBuffer> buffers) {
+      long nullCount = encodeValidity(start, end, buffers);
+      ByteBuffer data = allocate(8L * (end - start));
+      for (int i = start; i < end; i++) {
+        LocalTime time = (LocalTime) storage.getItemBoxed(i);
+        data.putLong(time == null ? 0 : time.toNanoOfDay());
+      }
+      buffers.add(data.flip());
+      return nullCount;
+    }
+  }
+
+  /**
+   * Encodes date-times as timestamps. Nanosecond precision is used unless some value falls outside
+   * of the range representable with it (years 1677-2262), in which case microseconds are used.
+   *
+   * <p>An Arrow column has a single time zone, so if all values share a zone it is stored with the
+   * column, and otherwise the values are stored as UTC instants.
+   */
+  private static final class DateTimeEncoder extends FieldEncoder {
+    private final int unit;
+    private final String timezone;
+
+    DateTimeEncoder(Storage<?> storage) {
+      super(storage);
+      ZoneId sharedZone = null;
+      boolean mixedZones = false;
+      boolean fitsNanos = true;
+      for (int i = 0; i < storage.size(); i++) {
+        ZonedDateTime value = (ZonedDateTime) storage.getItemBoxed(i);
+        if (value == null) {
+          continue;
+        }
+        if (sharedZone == null) {
+          sharedZone = value.getZone();
+        } else if (!sharedZone.equals(value.getZone())) {
+          mixedZones = true;
+        }
+        if (fitsNanos && toUnits(value, UNIT_NANOSECOND) == null) {
+          fitsNanos = false;
+        }
+      }
+
+      this.unit = fitsNanos ? UNIT_NANOSECOND : UNIT_MICROSECOND;
+      this.timezone =
+          mixedZones || sharedZone == null || sharedZone.equals(ZoneOffset.UTC)
+              ? "UTC"
+              : sharedZone.getId();
+    }
+
+    /** Converts the value into the given unit, returning {@code null} if it does not fit. */
+    private static Long toUnits(ZonedDateTime value, int unit) {
+      long nanosPerUnit = nanosPerUnit(unit);
+      long seconds = value.toEpochSecond();
+      try {
+        return Math.addExact(
+            Math.multiplyExact(seconds, 1_000_000_000L / nanosPerUnit),
+            value.getNano() / nanosPerUnit);
+      } catch (ArithmeticException e) {
+        return null;
+      }
+    }
+
+    @Override
+    int typeId() {
+      return TYPE_TIMESTAMP;
+    }
+
+    @Override
+    int buildType(FlatBufferBuilder builder) {
+      int zone = builder.createString(timezone);
+      builder.startTable(2);
+      builder.addReference(TIMESTAMP_TIMEZONE, zone);
+      builder.addShort(TIMESTAMP_UNIT, (short) unit);
+      return builder.endTable();
+    }
+
+    @Override
+    long encode(int start, int end, List<ByteBuffer> buffers) {
+      long nullCount = encodeValidity(start, end, buffers);
+      ByteBuffer data = allocate(8L * (end - start));
+      for (int i = start; i < end; i++) {
+        ZonedDateTime value = (ZonedDateTime) storage.getItemBoxed(i);
+        Long units = value == null ? Long.valueOf(0) : toUnits(value, unit);
+        if (units == null) {
+          throw new IllegalArgumentException(
+              "The date-time " + value + " is outside of the range supported by Arrow files.");
+        }
+        data.putLong(units);
+      }
+      buffers.add(data.flip());
+      return nullCount;
+    }
+  }
+}
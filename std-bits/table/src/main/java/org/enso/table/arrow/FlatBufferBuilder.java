@@ -0,0 +1,198 @@
+package org.enso.table.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds a FlatBuffers-encoded buffer.
+ *
+ * <p>Like the reference implementation, the buffer is filled from its end towards its beginning, so
+ * that objects referenced by a table are always created before the table itself. Objects are
+ * identified by their offset from the end of the buffer, as returned by the methods creating them.
+ *
+ * <p>Only the subset of the format that is needed to write Arrow IPC metadata is supported. A table
+ * is built by calling {@link #startTable}, adding its fields and then calling {@link #endTable}.
+ * Strings and vectors must be created before starting the table that references them.
+ */
+final class FlatBufferBuilder {
+  private ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+  private int space = buffer.capacity();
+  private int minAlignment = 1;
+
+  private int[] fieldOffsets = null;
+  private int tableStart = 0;
+
+  /** The current offset, counted from the end of the buffer. */
+  private int offset() {
+    return buffer.capacity() - space;
+  }
+
+  /**
+   * Prepares to write an element of {@code size} bytes after {@code additionalBytes} have been
+   * written, padding the buffer so that the element is aligned to its size.
+   */
+  private void prepare(int size, int additionalBytes) {
+    minAlignment = Math.max(minAlignment, size);
+    int alignment = (-(offset() + additionalBytes)) & (size - 1);
+    while (space < alignment + size + additionalBytes) {
+      grow();
+    }
+    pad(alignment);
+  }
+
+  private void grow() {
+    int oldCapacity = buffer.capacity();
+    ByteBuffer grown = ByteBuffer.allocate(oldCapacity * 2).order(ByteOrder.LITTLE_ENDIAN);
+    grown.put(oldCapacity, buffer, 0, oldCapacity);
+    buffer = grown;
+    space += oldCapacity;
+  }
+
+  private void pad(int bytes) {
+    for (int i = 0; i < bytes; i++) {
+      buffer.put(--space, (byte) 0);
+    }
+  }
+
+  void putByte(byte value) {
+    buffer.put(--space, value);
+  }
+
+  void putInt(int value) {
+    space -= 4;
+    buffer.putInt(space, value);
+  }
+
+  void putLong(long value) {
+    space -= 8;
+    buffer.putLong(space, value);
+  }
+
+  private void putShort(short value) {
+    space -= 2;
+    buffer.putShort(space, value);
+  }
+
+  /**
+   * Prepares the space for a struct of the given size and alignment, to be written field by field.
+   */
+  void startStruct(int alignment, int size) {
+    prepare(alignment, size);
+  }
+
+  void pad4() {
+    pad(4);
+  }
+
+  /** Adds a reference to the object at the given offset. */
+  private void addReference(int target) {
+    prepare(4, 0);
+    putInt(offset() - target + 4);
+  }
+
+  /** Creates a string and returns its offset. */
+  int createString(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    prepare(4, bytes.length + 1);
+    putByte((byte) 0);
+    space -= bytes.length;
+    buffer.put(space, bytes);
+    putInt(bytes.length);
+    return offset();
+  }
+
+  /** Creates a vector of references to tables and returns its offset. */
+  int createTableVector(int[] tables) {
+    prepare(4, 4 * tables.length);
+    for (int i = tables.length - 1; i >= 0; i--) {
+      addReference(tables[i]);
+    }
+    putInt(tables.length);
+    return offset();
+  }
+
+  /**
+   * Starts a vector of structs, which should then be written in reverse order, each using {@link
+   * #startStruct}, and finished by {@link #endVector}.
+   */
+  void startVector(int elementSize, int count, int alignment) {
+    prepare(4, elementSize * count);
+    prepare(alignment, elementSize * count);
+  }
+
+  /** Finishes a vector of {@code count} elements and returns its offset. */
+  int endVector(int count) {
+    putInt(count);
+    return offset();
+  }
+
+  void startTable(int fieldCount) {
+    fieldOffsets = new int[fieldCount];
+    tableStart = offset();
+  }
+
+  void addLong(int slot, long value) {
+    prepare(8, 0);
+    putLong(value);
+    fieldOffsets[slot] = offset();
+  }
+
+  void addInt(int slot, int value) {
+    prepare(4, 0);
+    putInt(value);
+    fieldOffsets[slot] = offset();
+  }
+
+  void addShort(int slot, short value) {
+    prepare(2, 0);
+    putShort(value);
+    fieldOffsets[slot] = offset();
+  }
+
+  void addByte(int slot, byte value) {
+    prepare(1, 0);
+    putByte(value);
+    fieldOffsets[slot] = offset();
+  }
+
+  void addBoolean(int slot, boolean value) {
+    addByte(slot, (byte) (value ? 1 : 0));
+  }
+
+  /** Adds a field referencing the table, string or vector at the given offset. */
+  void addReference(int slot, int target) {
+    addReference(target);
+    fieldOffsets[slot] = offset();
+  }
+
+  /** Finishes the current table, writing its vtable, and returns its offset. */
+  int endTable() {
+    prepare(4, 0);
+    putInt(0);
+    int tableOffset = offset();
+
+    for (int slot = fieldOffsets.length - 1; slot >= 0; slot--) {
+      int field = fieldOffsets[slot];
+      prepare(2, 0);
+      putShort((short) (field == 0 ? 0 : tableOffset - field));
+    }
+    prepare(2, 0);
+    putShort((short) (tableOffset - tableStart));
+    putShort((short) ((fieldOffsets.length + 2) * 2));
+
+    int vtableOffset = offset();
+    buffer.putInt(buffer.capacity() - tableOffset, vtableOffset - tableOffset);
+    fieldOffsets = null;
+    return tableOffset;
+  }
+
+  /** Finishes the buffer with the given root table and returns its contents. */
+  byte[] finish(int rootTable) {
+    prepare(minAlignment, 4);
+    addReference(rootTable);
+    byte[] result = new byte[offset()];
+    buffer.get(space, result);
+    return result;
+  }
+}
@@ -0,0 +1,140 @@
+package org.enso.table.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only view of a table within a FlatBuffers-encoded buffer.
+ *
+ * <p>It implements only the subset of the FlatBuffers format that is needed to read Arrow IPC
+ * metadata: scalar fields, strings, nested tables, unions and vectors of tables or structs. Fields
+ * are addressed by their slot, which is their index in the schema definition (a union occupies two
+ * slots - one for its type and one for its value).
+ */
+final class FlatBufferTable {
+  private final ByteBuffer buffer;
+  private final int position;
+  private final int vtable;
+  private final int vtableLength;
+
+  private FlatBufferTable(ByteBuffer buffer, int position) {
+    this.buffer = buffer;
+    this.position = position;
+    this.vtable = position - buffer.getInt(position);
+    this.vtableLength = Short.toUnsignedInt(buffer.getShort(vtable));
+  }
+
+  /**
+   * Returns the root table of a FlatBuffers-encoded buffer.
+   *
+   * @param buffer the buffer, whose position marks the start of the encoded data
+   */
+  static FlatBufferTable root(ByteBuffer buffer) {
+    ByteBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (data.limit() < 4) {
+      throw new ArrowFormatException("The metadata is truncated.");
+    }
+    return new FlatBufferTable(data, data.getInt(0));
+  }
+
+  /** Returns the position of the field in the buffer, or 0 if the field is not present. */
+  private int fieldPosition(int slot) {
+    int entry = 4 + 2 * slot;
+    if (entry >= vtableLength) {
+      return 0;
+    }
+
+    int offset = Short.toUnsignedInt(buffer.getShort(vtable + entry));
+    return offset == 0 ? 0 : position + offset;
+  }
+
+  boolean has(int slot) {
+    return fieldPosition(slot) != 0;
+  }
+
+  long getLong(int slot, long defaultValue) {
+    int field = fieldPosition(slot);
+    return field == 0 ? defaultValue : buffer.getLong(field);
+  }
+
+  int getInt(int slot, int defaultValue) {
+    int field = fieldPosition(slot);
+    return field == 0 ? defaultValue : buffer.getInt(field);
+  }
+
+  short getShort(int slot, short defaultValue) {
+    int field = fieldPosition(slot);
+    return field == 0 ? defaultValue : buffer.getShort(field);
+  }
+
+  int getUnsignedByte(int slot, int defaultValue) {
+    int field = fieldPosition(slot);
+    return field == 0 ? defaultValue : Byte.toUnsignedInt(buffer.get(field));
+  }
+
+  boolean getBoolean(int slot, boolean defaultValue) {
+    int field = fieldPosition(slot);
+    return field == 0 ? defaultValue : buffer.get(field) != 0;
+  }
+
+  /** Returns the string stored in the given slot, or {@code null} if it is not present. */
+  String getString(int slot) {
+    int field = fieldPosition(slot);
+    if (field == 0) {
+      return null;
+    }
+
+    int start = dereference(field);
+    int length = buffer.getInt(start);
+    byte[] bytes = new byte[length];
+    buffer.get(start + 4, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Returns the table stored in the given slot, or {@code null} if it is not present. */
+  FlatBufferTable getTable(int slot) {
+    int field = fieldPosition(slot);
+    return field == 0 ? null : new FlatBufferTable(buffer, dereference(field));
+  }
+
+  /** Returns the length of the vector stored in the given slot, or 0 if it is not present. */
+  int getVectorLength(int slot) {
+    int field = fieldPosition(slot);
+    return field == 0 ? 0 : buffer.getInt(dereference(field));
+  }
+
+  /** Returns the {@code index}-th table of the vector of tables stored in the given slot. */
+  FlatBufferTable getVectorTable(int slot, int index) {
+    int element = vectorStart(slot) + 4 * index;
+    return new FlatBufferTable(buffer, dereference(element));
+  }
+
+  /**
+   * Returns the {@code fieldIndex}-th long field of the {@code index}-th struct in the vector of
+   * structs stored in the given slot.
+   *
+   * @param structSize the size of a single struct, in bytes
+   * @param fieldOffset the offset of the field within the struct, in bytes
+   */
+  long getVectorStructLong(int slot, int index, int structSize, int fieldOffset) {
+    return buffer.getLong(vectorStart(slot) + structSize * index + fieldOffset);
+  }
+
+  /** Returns an int field of a struct in a vector of structs. */
+  int getVectorStructInt(int slot, int index, int structSize, int fieldOffset) {
+    return buffer.getInt(vectorStart(slot) + structSize * index + fieldOffset);
+  }
+
+  private int vectorStart(int slot) {
+    int field = fieldPosition(slot);
+    if (field == 0) {
+      throw new ArrowFormatException("A required vector is missing from the metadata.");
+    }
+    return dereference(field) + 4;
+  }
+
+  private int dereference(int field) {
+    return field + buffer.getInt(field);
+  }
+}
@@ -79,7 +79,7 @@ public abstract class LongBuilder extends NumericBuilder {
       // A fast path for the same type - no conversions/checks needed.
       int n = longStorage.size();
       ensureFreeSpaceFor(n);
-      System.arraycopy(longStorage.getRawData(), 0, data, currentSize, n);
+      longStorage.copyRawData(0, data, currentSize, n);
       BitSets.copy(longStorage.getIsNothingMap(), isNothing, currentSize, n);
       currentSize += n;
     } else if (storage.getType() instanceof IntegerType otherType && getType().fits(otherType)) {
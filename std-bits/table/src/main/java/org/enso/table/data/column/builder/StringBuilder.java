@@ -7,7 +7,11 @@ import org.enso.table.data.column.storage.type.StorageType;
 import org.enso.table.data.column.storage.type.TextType;
 import org.enso.table.error.ValueTypeMismatchException;
 
-/** A builder for string columns. */
+/**
+ * A builder for string columns.
+ *
+ * <p>Long columns with few distinct values are dictionary-encoded when sealed.
+ */
 public class StringBuilder extends TypedBuilderImpl<String> {
   private final TextType type;
 
@@ -53,6 +57,12 @@ public class StringBuilder extends TypedBuilderImpl<String> {
   public void appendBulkStorage(Storage<?> storage) {
     if (storage.getType() instanceof TextType gotType) {
       if (type.fitsExactly(gotType)) {
+        if (storage instanceof StringStorage strings && strings.isDictionaryEncoded()) {
+          for (int i = 0; i < strings.size(); i++) {
+            data[currentSize++] = strings.getItem(i);
+          }
+          return;
+        }
         if (storage instanceof SpecializedStorage<?>) {
           // This cast is safe, because storage.getType() == this.getType() == TextType iff
           // storage.T == String
@@ -70,6 +80,6 @@ public class StringBuilder extends TypedBuilderImpl<String> {
 
   @Override
   protected Storage<String> doSeal() {
-    return new StringStorage(data, currentSize, type);
+    return StringStorage.encodeIfLowCardinality(data, currentSize, type);
   }
 }
@@ -243,6 +243,13 @@ public class ToTextStorageConverter implements StorageConverter<String> {
    * canAvoidCopying}.
    */
   private Storage<String> retypeStringStorage(StringStorage stringStorage) {
+    if (stringStorage.isDictionaryEncoded()) {
+      return new StringStorage(
+          stringStorage.getDictionary(),
+          stringStorage.getCodes(),
+          stringStorage.size(),
+          targetType);
+    }
     return new StringStorage(stringStorage.getData(), stringStorage.size(), targetType);
   }
 }
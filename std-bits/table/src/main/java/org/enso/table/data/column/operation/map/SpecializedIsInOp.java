@@ -54,6 +54,13 @@ public abstract class SpecializedIsInOp<T, S extends Storage<T>> extends BinaryM
   public Storage<?> runMap(S storage, List<?> arg) {
     Context context = Context.getCurrent();
     CompactRepresentation<T> compactRepresentation = prepareList(arg);
+    if (!arg.isEmpty()) {
+      Storage<?> dense = runDenseMap(storage, compactRepresentation);
+      if (dense != null) {
+        return dense;
+      }
+    }
+
     BitSet newVals = new BitSet();
     BitSet isNothing = new BitSet();
     if (!arg.isEmpty()) {
@@ -73,6 +80,39 @@ public abstract class SpecializedIsInOp<T, S extends Storage<T>> extends BinaryM
     return new BoolStorage(newVals, isNothing, storage.size(), false);
   }
 
+  /**
+   * Computes the operation with a specialized loop over primitive data.
+   *
+   * <p>It is only called for a non-empty vector of values.
+   *
+   * @return the result, or {@code null} if the storage or the values are not supported, in which
+   *     case the operation falls back to the generic loop
+   */
+  protected Storage<?> runDenseMap(S storage, CompactRepresentation<T> compactRepresentation) {
+    return null;
+  }
+
+  /**
+   * Builds the result of {@link #runDenseMap} from the bit words marking the rows that matched.
+   *
+   * @param matchWords the words of the rows that matched, missing rows are ignored
+   * @param isNothing the missing rows of the storage, it is modified to become the missing rows of
+   *     the result
+   * @param size the size of the storage
+   * @param hasNulls whether the vector of values contained a missing value
+   */
+  protected static BoolStorage makeDenseResult(
+      long[] matchWords, BitSet isNothing, int size, boolean hasNulls) {
+    BitSet newVals = BitSet.valueOf(matchWords);
+    newVals.andNot(isNothing);
+    if (hasNulls) {
+      BitSet notMatched = (BitSet) newVals.clone();
+      notMatched.flip(0, size);
+      isNothing.or(notMatched);
+    }
+    return new BoolStorage(newVals, isNothing, size, false);
+  }
+
   @Override
   public Storage<?> runZip(
       S storage, Storage<?> arg, MapOperationProblemAggregator problemAggregator) {
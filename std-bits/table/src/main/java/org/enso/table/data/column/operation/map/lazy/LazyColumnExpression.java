@@ -0,0 +1,964 @@
+package org.enso.table.data.column.operation.map.lazy;
+
+import java.util.BitSet;
+import org.enso.base.polyglot.NumericConverter;
+import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.BooleanType;
+import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.data.table.Column;
+import org.enso.table.problems.ProblemAggregator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A deferred chain of vectorized map operations over Integer, Float and Boolean storages.
+ *
+ * <p>Building an expression does not compute anything. The operations are only run by {@link
+ * #materialize(ProblemAggregator)}, which computes each row of the whole expression at once, so a
+ * chain of operations produces a single storage instead of one intermediate storage per step.
+ *
+ * <p>The operations are identified by the names from {@link Storage.Maps} and have the same
+ * semantics as the corresponding operations registered in the {@code MapOperationStorage} of the
+ * numeric and boolean storages. Problems are reported to a separate aggregator for each operation,
+ * located at the name of the column that the operation would be run on, so they are the same as if
+ * each operation were run separately.
+ *
+ * <p>An expression can also be kept in a column created by {@link Column#deferred}, so that the
+ * operators of {@code Column} can chain onto it and the storage is only computed when the column is
+ * consumed, see {@link #deferBinary}. The problems of such operations are reported when they are
+ * applied, by {@link #reportProblems(MapOperationProblemAggregator)}, so that they end up on the
+ * column returned by the operator, and computing the storage later is silent.
+ *
+ * <p>The nodes store the value of the current row, so an expression may only be materialized by
+ * one thread at a time. Deferred expressions may share nodes, so they are only evaluated while
+ * holding {@link #DEFERRED_EVALUATION_LOCK}.
+ */
+public abstract class LazyColumnExpression {
+  /**
+   * The largest number of operations deferred in a single column. An operation on a bigger
+   * expression computes the storages of its operands first, which bounds the work repeated by
+   * {@link #reportProblems(MapOperationProblemAggregator)} over a long chain of operations.
+   */
+  static final int MAX_DEFERRED_OPERATIONS = 16;
+
+  private static final Object DEFERRED_EVALUATION_LOCK = new Object();
+
+  enum Kind {
+    LONG,
+    DOUBLE,
+    BOOLEAN
+  }
+
+  final Kind kind;
+
+  long longValue;
+  double doubleValue;
+  boolean booleanValue;
+
+  LazyColumnExpression(Kind kind) {
+    this.kind = kind;
+  }
+
+  /**
+   * Creates an expression reading a column.
+   *
+   * @param name the name of the column
+   * @param storage the storage of the column
+   * @return the expression, or {@code null} if the storage is not an Integer, Float or Boolean one
+   */
+  public static LazyColumnExpression fromStorage(String name, Storage<?> storage) {
+    return switch (storage) {
+      case AbstractLongStorage s -> new LongColumn(name, s);
+      case DoubleStorage s -> new DoubleColumn(name, s);
+      case BoolStorage s -> new BooleanColumn(name, s);
+      default -> null;
+    };
+  }
+
+  /**
+   * Creates a constant expression.
+   *
+   * @param value the value of the constant
+   * @return the expression, or {@code null} if the value is not a 64-bit integer, a floating point
+   *     number or a boolean
+   */
+  public static LazyColumnExpression constant(Object value) {
+    if (NumericConverter.isCoercibleToLong(value)) {
+      return Constant.ofLong(NumericConverter.coerceToLong(value));
+    } else if (NumericConverter.isFloatLike(value)) {
+      return Constant.ofDouble(NumericConverter.coerceToDouble(value));
+    } else if (value instanceof Boolean b) {
+      return Constant.ofBoolean(b);
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Creates an expression reading a column, continuing the expression deferred in it if there is
+   * one.
+   *
+   * @param column the column
+   * @return the expression, or {@code null} if the column is not an Integer, Float or Boolean one
+   */
+  public static LazyColumnExpression fromColumn(Column column) {
+    LazyColumnExpression pending = column.getDeferredExpression();
+    return pending != null ? pending : fromStorage(column.getName(), column.getStorage());
+  }
+
+  /**
+   * Applies a binary operation to a column without computing its result yet.
+   *
+   * <p>Problems of the operation are reported to the aggregator right away, as they would be by the
+   * operation registered in the storage of the column.
+   *
+   * @param name the name of the operation, one of {@link Storage.Maps}
+   * @param column the left-hand side of the operation
+   * @param operand the right-hand side of the operation, a {@link Column} or a constant
+   * @param newName the name of the resulting column
+   * @param problemAggregator the aggregator receiving the problems of the operation
+   * @return the deferred column, or {@code null} if the operation cannot be deferred, in which case
+   *     it should be run on the storages directly
+   */
+  public static Column deferBinary(
+      String name,
+      Column column,
+      Object operand,
+      String newName,
+      MapOperationProblemAggregator problemAggregator) {
+    LazyColumnExpression left = fromColumn(column);
+    LazyColumnExpression right =
+        operand instanceof Column other ? fromColumn(other) : constant(operand);
+    if (left == null || right == null) {
+      return null;
+    }
+
+    if (left.operationCount() + right.operationCount() >= MAX_DEFERRED_OPERATIONS) {
+      left = fromStorage(column.getName(), column.getStorage());
+      if (operand instanceof Column other) {
+        right = fromStorage(other.getName(), other.getStorage());
+      }
+    }
+
+    LazyColumnExpression result = left.binary(name, right);
+    if (result == null) {
+      return null;
+    }
+
+    synchronized (DEFERRED_EVALUATION_LOCK) {
+      result.reportProblems(problemAggregator);
+    }
+    return Column.deferred(newName, result);
+  }
+
+  /**
+   * Negates a Boolean column without computing the result yet.
+   *
+   * @param column the column to negate
+   * @param newName the name of the resulting column
+   * @return the deferred column, or {@code null} if the column is not a Boolean one
+   */
+  public static Column deferNot(Column column, String newName) {
+    LazyColumnExpression operand = fromColumn(column);
+    if (operand == null) {
+      return null;
+    }
+
+    if (operand.operationCount() >= MAX_DEFERRED_OPERATIONS) {
+      operand = fromStorage(column.getName(), column.getStorage());
+    }
+
+    LazyColumnExpression result = operand.not(newName);
+    return result == null ? null : Column.deferred(newName, result);
+  }
+
+  /**
+   * Applies a binary operation to this expression and another one.
+   *
+   * <p>The result is named the way `Column` names the result of a binary operation.
+   *
+   * @param name the name of the operation, one of {@link Storage.Maps}
+   * @param other the right-hand side of the operation
+   * @return the expression, or {@code null} if the operation is not supported for these operands
+   */
+  public LazyColumnExpression binary(String name, LazyColumnExpression other) {
+    if (other == null || !isColumn()) {
+      return null;
+    }
+
+    boolean numeric = isNumeric() && other.isNumeric();
+    boolean bool = kind == Kind.BOOLEAN && other.kind == Kind.BOOLEAN;
+    return switch (name) {
+      case Storage.Maps.ADD -> numeric ? new Arithmetic(ArithmeticOp.ADD, this, other) : null;
+      case Storage.Maps.SUB -> numeric ? new Arithmetic(ArithmeticOp.SUB, this, other) : null;
+      case Storage.Maps.MUL -> numeric ? new Arithmetic(ArithmeticOp.MUL, this, other) : null;
+      case Storage.Maps.DIV -> numeric ? new Arithmetic(ArithmeticOp.DIV, this, other) : null;
+      case Storage.Maps.MOD -> numeric ? new Arithmetic(ArithmeticOp.MOD, this, other) : null;
+      case Storage.Maps.POWER -> numeric ? new Arithmetic(ArithmeticOp.POWER, this, other) : null;
+      case Storage.Maps.MIN -> numeric ? new Coalescing(true, this, other) : null;
+      case Storage.Maps.MAX -> numeric ? new Coalescing(false, this, other) : null;
+      case Storage.Maps.EQ -> numeric ? new Comparison(ComparisonOp.EQ, this, other) : null;
+      case Storage.Maps.LT -> numeric ? new Comparison(ComparisonOp.LT, this, other) : null;
+      case Storage.Maps.LTE -> numeric ? new Comparison(ComparisonOp.LTE, this, other) : null;
+      case Storage.Maps.GT -> numeric ? new Comparison(ComparisonOp.GT, this, other) : null;
+      case Storage.Maps.GTE -> numeric ? new Comparison(ComparisonOp.GTE, this, other) : null;
+      case Storage.Maps.AND -> bool ? new Logical(true, this, other) : null;
+      case Storage.Maps.OR -> bool ? new Logical(false, this, other) : null;
+      default -> null;
+    };
+  }
+
+  /**
+   * Negates this Boolean expression.
+   *
+   * @param name the name of the result
+   * @return the expression, or {@code null} if this is not a Boolean column expression
+   */
+  public LazyColumnExpression not(String name) {
+    return kind == Kind.BOOLEAN && isColumn() ? new Not(this, name) : null;
+  }
+
+  /** Returns an expression with the same values as this one, but with a different name. */
+  public LazyColumnExpression renamed(String name) {
+    return new Renamed(this, name);
+  }
+
+  /** The name of the column that this expression would produce as a separate operation. */
+  public abstract String getName();
+
+  /** The text used for this expression when it is an operand in a column name. */
+  public String toExpressionText() {
+    return "[" + getName() + "]";
+  }
+
+  /** Whether this expression is computed from at least one column, rather than being a constant. */
+  public boolean isColumn() {
+    return true;
+  }
+
+  /** Whether this expression reads a column without applying any operation to it. */
+  public boolean isPlainColumn() {
+    return false;
+  }
+
+  /**
+   * Runs all the deferred operations in a single pass.
+   *
+   * @param problemAggregator the parent of the aggregators receiving the problems of all
+   *     operations
+   * @return the storage with the values of the expression
+   */
+  public Storage<?> materialize(ProblemAggregator problemAggregator) {
+    if (!isColumn()) {
+      throw new IllegalStateException("A constant expression cannot be materialized.");
+    }
+
+    bindProblems(problemAggregator);
+    int size = size();
+    return switch (kind) {
+      case LONG -> materializeLong(size);
+      case DOUBLE -> materializeDouble(size);
+      case BOOLEAN -> materializeBoolean(size);
+    };
+  }
+
+  /**
+   * Runs all the deferred operations of a column in a single pass, without reporting any problems.
+   *
+   * <p>The problems have been reported when the operations were deferred.
+   */
+  public Storage<?> materializeDeferred() {
+    synchronized (DEFERRED_EVALUATION_LOCK) {
+      int size = size();
+      return switch (kind) {
+        case LONG -> materializeLong(size);
+        case DOUBLE -> materializeDouble(size);
+        case BOOLEAN -> materializeBoolean(size);
+      };
+    }
+  }
+
+  /**
+   * The type of the storage computed by this expression, which is the same as the type returned by
+   * the corresponding operations of the storages.
+   */
+  public StorageType getResultType() {
+    return switch (kind) {
+      case LONG -> IntegerType.INT_64;
+      case DOUBLE -> FloatType.FLOAT_64;
+      case BOOLEAN -> BooleanType.INSTANCE;
+    };
+  }
+
+  /** The number of rows of the result. */
+  public final int getSize() {
+    return size();
+  }
+
+  /**
+   * Reports the problems of the operation at the root of this expression, as if it were run on the
+   * storages of its operands. The problems of the operands are not reported again.
+   *
+   * <p>For operations whose problems depend on the values, this runs a pass over all rows without
+   * storing the results.
+   */
+  void reportProblems(MapOperationProblemAggregator problemAggregator) {}
+
+  /** The number of operations in this expression. */
+  abstract int operationCount();
+
+  /** Evaluates every row, discarding the values; used to report the problems of a single node. */
+  void evaluateAllRows() {
+    Context context = Context.getCurrent();
+    int size = size();
+    for (int i = 0; i < size; i++) {
+      evaluate(i);
+      context.safepoint();
+    }
+  }
+
+  private LongStorage materializeLong(int size) {
+    Context context = Context.getCurrent();
+    long[] data = new long[size];
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (evaluate(i)) {
+        data[i] = longValue;
+      } else {
+        isNothing.set(i);
+      }
+
+      context.safepoint();
+    }
+
+    return new LongStorage(data, size, isNothing, IntegerType.INT_64);
+  }
+
+  private DoubleStorage materializeDouble(int size) {
+    Context context = Context.getCurrent();
+    long[] data = new long[size];
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (evaluate(i)) {
+        data[i] = Double.doubleToRawLongBits(doubleValue);
+      } else {
+        isNothing.set(i);
+      }
+
+      context.safepoint();
+    }
+
+    return new DoubleStorage(data, size, isNothing);
+  }
+
+  private BoolStorage materializeBoolean(int size) {
+    Context context = Context.getCurrent();
+    BitSet values = new BitSet();
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      if (!evaluate(i)) {
+        isNothing.set(i);
+      } else if (booleanValue) {
+        values.set(i);
+      }
+
+      context.safepoint();
+    }
+
+    return new BoolStorage(values, isNothing, size, false);
+  }
+
+  /**
+   * Computes the value of the given row.
+   *
+   * @return {@code false} if the value is Nothing, {@code true} otherwise
+   */
+  abstract boolean evaluate(int row);
+
+  /** The number of rows of the result, as for a zip the left-hand side decides the size. */
+  abstract int size();
+
+  /**
+   * Creates the problem aggregators of this subtree, in the order in which the separate operations
+   * would have been run.
+   */
+  void bindProblems(ProblemAggregator parent) {}
+
+  boolean isNumeric() {
+    return kind != Kind.BOOLEAN;
+  }
+
+  double asDouble() {
+    return kind == Kind.LONG ? (double) longValue : doubleValue;
+  }
+
+  private abstract static class ColumnNode extends LazyColumnExpression {
+    private final String name;
+    protected final int size;
+
+    ColumnNode(Kind kind, String name, int size) {
+      super(kind);
+      this.name = name;
+      this.size = size;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public boolean isPlainColumn() {
+      return true;
+    }
+
+    @Override
+    int size() {
+      return size;
+    }
+
+    @Override
+    int operationCount() {
+      return 0;
+    }
+  }
+
+  private static final class LongColumn extends ColumnNode {
+    private final AbstractLongStorage storage;
+
+    LongColumn(String name, AbstractLongStorage storage) {
+      super(Kind.LONG, name, storage.size());
+      this.storage = storage;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      // Rows beyond a shorter operand are Nothing, as in a zip.
+      if (row >= size || storage.isNothing(row)) {
+        return false;
+      }
+      longValue = storage.getItem(row);
+      return true;
+    }
+  }
+
+  private static final class DoubleColumn extends ColumnNode {
+    private final DoubleStorage storage;
+
+    DoubleColumn(String name, DoubleStorage storage) {
+      super(Kind.DOUBLE, name, storage.size());
+      this.storage = storage;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      if (row >= size || storage.isNothing(row)) {
+        return false;
+      }
+      doubleValue = storage.getItem(row);
+      return true;
+    }
+  }
+
+  private static final class BooleanColumn extends ColumnNode {
+    private final BoolStorage storage;
+
+    BooleanColumn(String name, BoolStorage storage) {
+      super(Kind.BOOLEAN, name, storage.size());
+      this.storage = storage;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      if (row >= size || storage.isNothing(row)) {
+        return false;
+      }
+      booleanValue = storage.getItem(row);
+      return true;
+    }
+  }
+
+  /** A constant value; its value fields are set once and never change. */
+  private static final class Constant extends LazyColumnExpression {
+    private final String text;
+
+    private Constant(Kind kind, String text) {
+      super(kind);
+      this.text = text;
+    }
+
+    static Constant ofLong(long value) {
+      var node = new Constant(Kind.LONG, Long.toString(value));
+      node.longValue = value;
+      return node;
+    }
+
+    static Constant ofDouble(double value) {
+      var node = new Constant(Kind.DOUBLE, Double.toString(value));
+      node.doubleValue = value;
+      return node;
+    }
+
+    static Constant ofBoolean(boolean value) {
+      var node = new Constant(Kind.BOOLEAN, value ? "True" : "False");
+      node.booleanValue = value;
+      return node;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      return true;
+    }
+
+    @Override
+    int size() {
+      throw new IllegalStateException("A constant has no size.");
+    }
+
+    @Override
+    int operationCount() {
+      return 0;
+    }
+
+    @Override
+    public String getName() {
+      return text;
+    }
+
+    @Override
+    public String toExpressionText() {
+      return text;
+    }
+
+    @Override
+    public boolean isColumn() {
+      return false;
+    }
+  }
+
+  private abstract static class Binary extends LazyColumnExpression {
+    protected final LazyColumnExpression left;
+    protected final LazyColumnExpression right;
+    private final String name;
+
+    Binary(Kind kind, String name, LazyColumnExpression left, LazyColumnExpression right) {
+      super(kind);
+      this.left = left;
+      this.right = right;
+      this.name = name;
+    }
+
+    Binary(Kind kind, LazyColumnExpression left, String symbol, LazyColumnExpression right) {
+      this(
+          kind,
+          left.toExpressionText() + " " + symbol + " " + right.toExpressionText(),
+          left,
+          right);
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    int size() {
+      return left.size();
+    }
+
+    @Override
+    int operationCount() {
+      return 1 + left.operationCount() + right.operationCount();
+    }
+
+    @Override
+    void bindProblems(ProblemAggregator parent) {
+      left.bindProblems(parent);
+      right.bindProblems(parent);
+    }
+  }
+
+  private enum ArithmeticOp {
+    ADD(Storage.Maps.ADD),
+    SUB(Storage.Maps.SUB),
+    MUL(Storage.Maps.MUL),
+    DIV(Storage.Maps.DIV),
+    MOD(Storage.Maps.MOD),
+    POWER(Storage.Maps.POWER);
+
+    final String symbol;
+
+    ArithmeticOp(String symbol) {
+      this.symbol = symbol;
+    }
+
+    /** Whether the operation returns a Float even for two Integer operands. */
+    boolean returnsDouble() {
+      return this == DIV || this == POWER;
+    }
+  }
+
+  /**
+   * Arithmetic on two numeric operands, with the semantics of the operations in {@code
+   * org.enso.table.data.column.operation.map.numeric.arithmetic}.
+   */
+  private static final class Arithmetic extends Binary {
+    private final ArithmeticOp op;
+    private MapOperationProblemAggregator problems;
+
+    Arithmetic(ArithmeticOp op, LazyColumnExpression left, LazyColumnExpression right) {
+      super(
+          left.kind == Kind.LONG && right.kind == Kind.LONG && !op.returnsDouble()
+              ? Kind.LONG
+              : Kind.DOUBLE,
+          left,
+          op.symbol,
+          right);
+      this.op = op;
+    }
+
+    @Override
+    void bindProblems(ProblemAggregator parent) {
+      super.bindProblems(parent);
+      problems = new MapOperationProblemAggregator(parent, left.getName());
+    }
+
+    @Override
+    void reportProblems(MapOperationProblemAggregator problemAggregator) {
+      // Only integer arithmetic can overflow, and only division and modulus report division by 0.
+      boolean valuesMayCauseProblems =
+          kind == Kind.LONG || op == ArithmeticOp.DIV || op == ArithmeticOp.MOD;
+      if (valuesMayCauseProblems) {
+        problems = problemAggregator;
+        try {
+          evaluateAllRows();
+        } finally {
+          problems = null;
+        }
+      }
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      // Both operands are always evaluated, so that their problems are reported for every row,
+      // as they would be when computing each operand as a separate storage.
+      boolean hasLeft = left.evaluate(row);
+      boolean hasRight = right.evaluate(row);
+      if (!hasLeft || !hasRight) {
+        return false;
+      }
+
+      if (kind == Kind.LONG) {
+        return evaluateLong(left.longValue, right.longValue, row);
+      } else {
+        doubleValue = evaluateDouble(left.asDouble(), right.asDouble(), row);
+        return true;
+      }
+    }
+
+    private boolean evaluateLong(long a, long b, int row) {
+      try {
+        switch (op) {
+          case ADD -> longValue = Math.addExact(a, b);
+          case SUB -> longValue = Math.subtractExact(a, b);
+          case MUL -> longValue = Math.multiplyExact(a, b);
+          case MOD -> {
+            if (b == 0) {
+              reportDivisionByZero(row);
+              return false;
+            }
+            longValue = a % b;
+          }
+          default -> throw new IllegalStateException("Unexpected integer operation: " + op);
+        }
+        return true;
+      } catch (ArithmeticException e) {
+        // The problems are null while computing a deferred storage, as they have been reported.
+        if (problems != null) {
+          problems.reportOverflow(IntegerType.INT_64, a, op.symbol, b);
+        }
+        return false;
+      }
+    }
+
+    private void reportDivisionByZero(int row) {
+      if (problems != null) {
+        problems.reportDivisionByZero(row);
+      }
+    }
+
+    private double evaluateDouble(double a, double b, int row) {
+      return switch (op) {
+        case ADD -> a + b;
+        case SUB -> a - b;
+        case MUL -> a * b;
+        case DIV -> {
+          if (b == 0.0) {
+            reportDivisionByZero(row);
+          }
+          yield a / b;
+        }
+        case MOD -> {
+          if (b == 0.0) {
+            reportDivisionByZero(row);
+          }
+          yield a % b;
+        }
+        case POWER -> Math.pow(a, b);
+      };
+    }
+  }
+
+  /** Minimum or maximum of two numeric operands, skipping Nothing like `Column.min`. */
+  private static final class Coalescing extends Binary {
+    private final boolean isMin;
+
+    Coalescing(boolean isMin, LazyColumnExpression left, LazyColumnExpression right) {
+      super(
+          left.kind == Kind.LONG && right.kind == Kind.LONG ? Kind.LONG : Kind.DOUBLE,
+          (isMin ? Storage.Maps.MIN : Storage.Maps.MAX)
+              + "("
+              + left.toExpressionText()
+              + ", "
+              + right.toExpressionText()
+              + ")",
+          left,
+          right);
+      this.isMin = isMin;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      boolean hasLeft = left.evaluate(row);
+      boolean hasRight = right.evaluate(row);
+      if (!hasLeft && !hasRight) {
+        return false;
+      }
+
+      if (kind == Kind.LONG) {
+        if (!hasLeft) {
+          longValue = right.longValue;
+        } else if (!hasRight) {
+          longValue = left.longValue;
+        } else {
+          longValue =
+              isMin
+                  ? Math.min(left.longValue, right.longValue)
+                  : Math.max(left.longValue, right.longValue);
+        }
+      } else {
+        if (!hasLeft) {
+          doubleValue = right.asDouble();
+        } else if (!hasRight) {
+          doubleValue = left.asDouble();
+        } else {
+          doubleValue =
+              isMin
+                  ? Math.min(left.asDouble(), right.asDouble())
+                  : Math.max(left.asDouble(), right.asDouble());
+        }
+      }
+      return true;
+    }
+  }
+
+  private enum ComparisonOp {
+    EQ(Storage.Maps.EQ),
+    LT(Storage.Maps.LT),
+    LTE(Storage.Maps.LTE),
+    GT(Storage.Maps.GT),
+    GTE(Storage.Maps.GTE);
+
+    final String symbol;
+
+    ComparisonOp(String symbol) {
+      this.symbol = symbol;
+    }
+  }
+
+  /** Comparison of two numeric operands, returning a Boolean. */
+  private static final class Comparison extends Binary {
+    private final ComparisonOp op;
+
+    Comparison(ComparisonOp op, LazyColumnExpression left, LazyColumnExpression right) {
+      super(Kind.BOOLEAN, left, op.symbol, right);
+      this.op = op;
+    }
+
+    @Override
+    void bindProblems(ProblemAggregator parent) {
+      super.bindProblems(parent);
+      if (isFloatingPointEquality()) {
+        // Equality is located at its result column, see `Column.==`.
+        new MapOperationProblemAggregator(parent, getName()).reportFloatingPointEquality(-1);
+      }
+    }
+
+    @Override
+    void reportProblems(MapOperationProblemAggregator problemAggregator) {
+      if (isFloatingPointEquality()) {
+        problemAggregator.reportFloatingPointEquality(-1);
+      }
+    }
+
+    private boolean isFloatingPointEquality() {
+      return op == ComparisonOp.EQ && (left.kind == Kind.DOUBLE || right.kind == Kind.DOUBLE);
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      boolean hasLeft = left.evaluate(row);
+      boolean hasRight = right.evaluate(row);
+      if (!hasLeft || !hasRight) {
+        return false;
+      }
+
+      if (left.kind == Kind.LONG && right.kind == Kind.LONG) {
+        long a = left.longValue;
+        long b = right.longValue;
+        booleanValue =
+            switch (op) {
+              case EQ -> a == b;
+              case LT -> a < b;
+              case LTE -> a <= b;
+              case GT -> a > b;
+              case GTE -> a >= b;
+            };
+      } else {
+        double a = left.asDouble();
+        double b = right.asDouble();
+        booleanValue =
+            switch (op) {
+              case EQ -> a == b;
+              case LT -> a < b;
+              case LTE -> a <= b;
+              case GT -> a > b;
+              case GTE -> a >= b;
+            };
+      }
+      return true;
+    }
+  }
+
+  /** Three-valued conjunction or disjunction of two Boolean operands. */
+  private static final class Logical extends Binary {
+    private final boolean isAnd;
+
+    Logical(boolean isAnd, LazyColumnExpression left, LazyColumnExpression right) {
+      super(Kind.BOOLEAN, left, isAnd ? Storage.Maps.AND : Storage.Maps.OR, right);
+      this.isAnd = isAnd;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      boolean hasLeft = left.evaluate(row);
+      boolean hasRight = right.evaluate(row);
+      // A known False decides a conjunction (and a known True a disjunction) even if the other
+      // operand is Nothing.
+      boolean dominant = !isAnd;
+      if ((hasLeft && left.booleanValue == dominant)
+          || (hasRight && right.booleanValue == dominant)) {
+        booleanValue = dominant;
+        return true;
+      }
+      if (!hasLeft || !hasRight) {
+        return false;
+      }
+      booleanValue = !dominant;
+      return true;
+    }
+  }
+
+  private static final class Not extends LazyColumnExpression {
+    private final LazyColumnExpression operand;
+    private final String name;
+
+    Not(LazyColumnExpression operand, String name) {
+      super(Kind.BOOLEAN);
+      this.operand = operand;
+      this.name = name;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      if (!operand.evaluate(row)) {
+        return false;
+      }
+      booleanValue = !operand.booleanValue;
+      return true;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    int size() {
+      return operand.size();
+    }
+
+    @Override
+    int operationCount() {
+      return 1 + operand.operationCount();
+    }
+
+    @Override
+    void bindProblems(ProblemAggregator parent) {
+      operand.bindProblems(parent);
+    }
+  }
+
+  private static final class Renamed extends LazyColumnExpression {
+    private final LazyColumnExpression inner;
+    private final String name;
+
+    Renamed(LazyColumnExpression inner, String name) {
+      super(inner.kind);
+      this.inner = inner;
+      this.name = name;
+    }
+
+    @Override
+    boolean evaluate(int row) {
+      if (!inner.evaluate(row)) {
+        return false;
+      }
+      longValue = inner.longValue;
+      doubleValue = inner.doubleValue;
+      booleanValue = inner.booleanValue;
+      return true;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public boolean isColumn() {
+      return inner.isColumn();
+    }
+
+    @Override
+    int size() {
+      return inner.size();
+    }
+
+    @Override
+    int operationCount() {
+      return inner.operationCount();
+    }
+
+    @Override
+    void bindProblems(ProblemAggregator parent) {
+      inner.bindProblems(parent);
+    }
+  }
+}
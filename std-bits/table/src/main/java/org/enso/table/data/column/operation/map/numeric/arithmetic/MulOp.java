@@ -3,6 +3,7 @@ package org.enso.table.data.column.operation.map.numeric.arithmetic;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.type.IntegerType;
 
@@ -12,6 +13,11 @@ public class MulOp<T extends Number, I extends Storage<? super T>>
     super(Storage.Maps.MUL);
   }
 
+  @Override
+  protected NumericKernels.Arithmetic denseKernel() {
+    return NumericKernels.Arithmetic.MULTIPLY;
+  }
+
   @Override
   public double doDouble(
       double a, double b, int ix, MapOperationProblemAggregator problemAggregator) {
@@ -11,6 +11,7 @@ import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigDecimalArrayAdapter;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigIntegerArrayAdapter;
 import org.enso.table.data.column.operation.map.numeric.helpers.DoubleArrayAdapter;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
 import org.enso.table.data.column.storage.SpecializedStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
@@ -20,6 +21,7 @@ import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.numeric.LongStorage;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.error.UnexpectedTypeException;
+import org.enso.table.util.BitSets;
 import org.graalvm.polyglot.Context;
 
 /** An operation expecting a numeric argument and returning a numeric column. */
@@ -33,6 +35,16 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     super(name);
   }
 
+  /**
+   * Returns the kernel computing this operation on dense primitive arrays, or {@code null} if the
+   * operation has no such kernel.
+   *
+   * <p>The kernel must compute the same values as {@code doLong} and {@code doDouble}.
+   */
+  protected NumericKernels.Arithmetic denseKernel() {
+    return null;
+  }
+
   @Override
   public Storage<? extends Number> runBinaryMap(
       I storage, Object arg, MapOperationProblemAggregator problemAggregator) {
@@ -159,6 +171,15 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
 
   protected DoubleStorage runDoubleZip(
       DoubleArrayAdapter a, DoubleArrayAdapter b, MapOperationProblemAggregator problemAggregator) {
+    NumericKernels.Arithmetic kernel = denseKernel();
+    if (kernel != null && a instanceof DoubleStorage lhs && b instanceof DoubleStorage rhs) {
+      long[] lhsData = NumericKernels.rawData(lhs);
+      long[] rhsData = NumericKernels.rawData(rhs);
+      if (lhsData != null && rhsData != null) {
+        return runDenseDoubleZip(kernel, lhs, lhsData, rhs, rhsData);
+      }
+    }
+
     Context context = Context.getCurrent();
     int n = a.size();
     int m = Math.min(a.size(), b.size());
@@ -182,6 +203,28 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     return new DoubleStorage(out, n, isNothing);
   }
 
+  private static DoubleStorage runDenseDoubleZip(
+      NumericKernels.Arithmetic kernel,
+      DoubleStorage a,
+      long[] aData,
+      DoubleStorage b,
+      long[] bData) {
+    Context context = Context.getCurrent();
+    int n = a.size();
+    int m = Math.min(a.size(), b.size());
+    long[] out = new long[n];
+    BitSet isNothing =
+        NumericKernels.missingOfZip(a.getIsNothingMap(), b.getIsNothingMap(), m, n);
+    for (int start = 0; start < m; start += NumericKernels.BLOCK_SIZE) {
+      int end = Math.min(start + NumericKernels.BLOCK_SIZE, m);
+      NumericKernels.doubleArithmetic(kernel, aData, bData, out, start, end);
+      NumericKernels.clearMissing(out, isNothing, start, end);
+      context.safepoint();
+    }
+
+    return new DoubleStorage(out, n, isNothing);
+  }
+
   private static Storage<? extends Number> allNullStorageOfSameType(Storage<?> storage) {
     return switch (storage) {
       case AbstractLongStorage s -> LongStorage.makeEmpty(storage.size(), INTEGER_RESULT_TYPE);
@@ -199,6 +242,14 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     }
 
     double bNonNull = b;
+    NumericKernels.Arithmetic kernel = denseKernel();
+    if (kernel != null && a instanceof DoubleStorage lhs) {
+      long[] lhsData = NumericKernels.rawData(lhs);
+      if (lhsData != null) {
+        return runDenseDoubleMap(kernel, lhs, lhsData, bNonNull);
+      }
+    }
+
     Context context = Context.getCurrent();
     int n = a.size();
     long[] out = new long[n];
@@ -217,10 +268,33 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     return new DoubleStorage(out, n, isNothing);
   }
 
+  private static DoubleStorage runDenseDoubleMap(
+      NumericKernels.Arithmetic kernel, DoubleStorage a, long[] aData, double b) {
+    Context context = Context.getCurrent();
+    int n = a.size();
+    long[] out = new long[n];
+    BitSet isNothing = BitSets.makeDuplicate(a.getIsNothingMap());
+    for (int start = 0; start < n; start += NumericKernels.BLOCK_SIZE) {
+      int end = Math.min(start + NumericKernels.BLOCK_SIZE, n);
+      NumericKernels.doubleArithmetic(kernel, aData, b, out, start, end);
+      NumericKernels.clearMissing(out, isNothing, start, end);
+      context.safepoint();
+    }
+
+    return new DoubleStorage(out, n, isNothing);
+  }
+
   protected LongStorage runLongZip(
       AbstractLongStorage a,
       AbstractLongStorage b,
       MapOperationProblemAggregator problemAggregator) {
+    NumericKernels.Arithmetic kernel = denseKernel();
+    long[] aData = NumericKernels.rawData(a);
+    long[] bData = NumericKernels.rawData(b);
+    if (kernel != null && aData != null && bData != null) {
+      return runDenseLongZip(kernel, a, aData, b, bData, problemAggregator);
+    }
+
     Context context = Context.getCurrent();
     int n = a.size();
     int m = Math.min(a.size(), b.size());
@@ -248,6 +322,45 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     return new LongStorage(out, n, isNothing, INTEGER_RESULT_TYPE);
   }
 
+  /**
+   * Runs the kernel over blocks of rows, recomputing the blocks in which any row overflowed with
+   * {@code doLong}, so that the overflows are reported.
+   */
+  private LongStorage runDenseLongZip(
+      NumericKernels.Arithmetic kernel,
+      AbstractLongStorage a,
+      long[] aData,
+      AbstractLongStorage b,
+      long[] bData,
+      MapOperationProblemAggregator problemAggregator) {
+    Context context = Context.getCurrent();
+    int n = a.size();
+    int m = Math.min(a.size(), b.size());
+    long[] out = new long[n];
+    BitSet isNothing =
+        NumericKernels.missingOfZip(a.getIsNothingMap(), b.getIsNothingMap(), m, n);
+    for (int start = 0; start < m; start += NumericKernels.BLOCK_SIZE) {
+      int end = Math.min(start + NumericKernels.BLOCK_SIZE, m);
+      if (!NumericKernels.longArithmetic(kernel, aData, bData, out, start, end)) {
+        for (int i = start; i < end; i++) {
+          if (!isNothing.get(i)) {
+            Long r = doLong(aData[i], bData[i], i, problemAggregator);
+            if (r == null) {
+              isNothing.set(i);
+            } else {
+              out[i] = r;
+            }
+          }
+        }
+      }
+
+      NumericKernels.clearMissing(out, isNothing, start, end);
+      context.safepoint();
+    }
+
+    return new LongStorage(out, n, isNothing, INTEGER_RESULT_TYPE);
+  }
+
   protected Storage<Long> runLongMap(
       AbstractLongStorage a, Long b, MapOperationProblemAggregator problemAggregator) {
     if (b == null) {
@@ -255,6 +368,12 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     }
 
     long bNonNull = b;
+    NumericKernels.Arithmetic kernel = denseKernel();
+    long[] aData = NumericKernels.rawData(a);
+    if (kernel != null && aData != null) {
+      return runDenseLongMap(kernel, a, aData, bNonNull, problemAggregator);
+    }
+
     Context context = Context.getCurrent();
     int n = a.size();
     long[] out = new long[n];
@@ -277,6 +396,38 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     return new LongStorage(out, n, isNothing, INTEGER_RESULT_TYPE);
   }
 
+  private LongStorage runDenseLongMap(
+      NumericKernels.Arithmetic kernel,
+      AbstractLongStorage a,
+      long[] aData,
+      long b,
+      MapOperationProblemAggregator problemAggregator) {
+    Context context = Context.getCurrent();
+    int n = a.size();
+    long[] out = new long[n];
+    BitSet isNothing = BitSets.makeDuplicate(a.getIsNothingMap());
+    for (int start = 0; start < n; start += NumericKernels.BLOCK_SIZE) {
+      int end = Math.min(start + NumericKernels.BLOCK_SIZE, n);
+      if (!NumericKernels.longArithmetic(kernel, aData, b, out, start, end)) {
+        for (int i = start; i < end; i++) {
+          if (!isNothing.get(i)) {
+            Long r = doLong(aData[i], b, i, problemAggregator);
+            if (r == null) {
+              isNothing.set(i);
+            } else {
+              out[i] = r;
+            }
+          }
+        }
+      }
+
+      NumericKernels.clearMissing(out, isNothing, start, end);
+      context.safepoint();
+    }
+
+    return new LongStorage(out, n, isNothing, INTEGER_RESULT_TYPE);
+  }
+
   protected BigIntegerStorage runBigIntegerZip(
       BigIntegerArrayAdapter a,
       BigIntegerArrayAdapter b,
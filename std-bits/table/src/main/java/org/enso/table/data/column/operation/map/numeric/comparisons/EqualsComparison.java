@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.operation.map.numeric.helpers.DoubleArrayAdapter;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 
@@ -13,6 +14,11 @@ public class EqualsComparison<T extends Number, I extends Storage<? super T>>
     super(Storage.Maps.EQ);
   }
 
+  @Override
+  protected NumericKernels.Comparison denseKernel() {
+    return NumericKernels.Comparison.EQ;
+  }
+
   @Override
   protected boolean doDouble(double a, double b) {
     return a == b;
@@ -2,6 +2,7 @@ package org.enso.table.data.column.operation.map.numeric.comparisons;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
 import org.enso.table.data.column.storage.Storage;
 
 public class GreaterComparison<T extends Number, I extends Storage<? super T>>
@@ -10,6 +11,11 @@ public class GreaterComparison<T extends Number, I extends Storage<? super T>>
     super(Storage.Maps.GT);
   }
 
+  @Override
+  protected NumericKernels.Comparison denseKernel() {
+    return NumericKernels.Comparison.GT;
+  }
+
   @Override
   protected boolean doDouble(double a, double b) {
     return a > b;
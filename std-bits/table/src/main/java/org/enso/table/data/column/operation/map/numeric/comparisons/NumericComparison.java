@@ -12,6 +12,7 @@ import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigDecimalArrayAdapter;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigIntegerArrayAdapter;
 import org.enso.table.data.column.operation.map.numeric.helpers.DoubleArrayAdapter;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
@@ -37,6 +38,14 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
     throw new CompareException(a, b);
   }
 
+  /**
+   * Returns the kernel computing this comparison on dense primitive arrays, or {@code null} if the
+   * comparison has no such kernel.
+   */
+  protected NumericKernels.Comparison denseKernel() {
+    return null;
+  }
+
   public NumericComparison(String name) {
     super(name);
   }
@@ -118,6 +127,21 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
 
   protected BoolStorage runLongMap(
       AbstractLongStorage lhs, long rhs, MapOperationProblemAggregator problemAggregator) {
+    NumericKernels.Comparison kernel = denseKernel();
+    long[] lhsData = NumericKernels.rawData(lhs);
+    if (kernel != null && lhsData != null) {
+      int n = lhs.size();
+      long[] words = new long[(n + 63) >>> 6];
+      Context context = Context.getCurrent();
+      for (int start = 0; start < n; start += NumericKernels.BLOCK_SIZE) {
+        int end = Math.min(start + NumericKernels.BLOCK_SIZE, n);
+        NumericKernels.compareLongs(kernel, lhsData, rhs, words, start, end);
+        context.safepoint();
+      }
+
+      return makeResult(words, BitSets.makeDuplicate(lhs.getIsNothingMap()), n);
+    }
+
     int n = lhs.size();
     BitSet comparisonResults = new BitSet();
     BitSet isNothing = BitSets.makeDuplicate(lhs.getIsNothingMap());
@@ -139,6 +163,23 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
 
   protected BoolStorage runDoubleMap(
       DoubleArrayAdapter lhs, double rhs, MapOperationProblemAggregator problemAggregator) {
+    NumericKernels.Comparison kernel = denseKernel();
+    if (kernel != null && lhs instanceof DoubleStorage lhsStorage) {
+      long[] lhsData = NumericKernels.rawData(lhsStorage);
+      if (lhsData != null) {
+        int n = lhs.size();
+        long[] words = new long[(n + 63) >>> 6];
+        Context context = Context.getCurrent();
+        for (int start = 0; start < n; start += NumericKernels.BLOCK_SIZE) {
+          int end = Math.min(start + NumericKernels.BLOCK_SIZE, n);
+          NumericKernels.compareDoubles(kernel, lhsData, rhs, words, start, end);
+          context.safepoint();
+        }
+
+        return makeResult(words, BitSets.makeDuplicate(lhsStorage.getIsNothingMap()), n);
+      }
+    }
+
     int n = lhs.size();
     BitSet comparisonResults = new BitSet();
     BitSet isNothing = new BitSet();
@@ -286,6 +327,25 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
       AbstractLongStorage lhs,
       AbstractLongStorage rhs,
       MapOperationProblemAggregator problemAggregator) {
+    NumericKernels.Comparison kernel = denseKernel();
+    long[] lhsData = NumericKernels.rawData(lhs);
+    long[] rhsData = NumericKernels.rawData(rhs);
+    if (kernel != null && lhsData != null && rhsData != null) {
+      int n = lhs.size();
+      int m = Math.min(lhs.size(), rhs.size());
+      long[] words = new long[(n + 63) >>> 6];
+      Context context = Context.getCurrent();
+      for (int start = 0; start < m; start += NumericKernels.BLOCK_SIZE) {
+        int end = Math.min(start + NumericKernels.BLOCK_SIZE, m);
+        NumericKernels.compareLongs(kernel, lhsData, rhsData, words, start, end);
+        context.safepoint();
+      }
+
+      BitSet isNothing =
+          NumericKernels.missingOfZip(lhs.getIsNothingMap(), rhs.getIsNothingMap(), m, n);
+      return makeResult(words, isNothing, n);
+    }
+
     int n = lhs.size();
     int m = Math.min(lhs.size(), rhs.size());
     BitSet comparisonResults = new BitSet();
@@ -317,6 +377,30 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
       DoubleArrayAdapter lhs,
       DoubleArrayAdapter rhs,
       MapOperationProblemAggregator problemAggregator) {
+    NumericKernels.Comparison kernel = denseKernel();
+    if (kernel != null
+        && lhs instanceof DoubleStorage lhsStorage
+        && rhs instanceof DoubleStorage rhsStorage) {
+      long[] lhsData = NumericKernels.rawData(lhsStorage);
+      long[] rhsData = NumericKernels.rawData(rhsStorage);
+      if (lhsData != null && rhsData != null) {
+        int n = lhs.size();
+        int m = Math.min(lhs.size(), rhs.size());
+        long[] words = new long[(n + 63) >>> 6];
+        Context context = Context.getCurrent();
+        for (int start = 0; start < m; start += NumericKernels.BLOCK_SIZE) {
+          int end = Math.min(start + NumericKernels.BLOCK_SIZE, m);
+          NumericKernels.compareDoubles(kernel, lhsData, rhsData, words, start, end);
+          context.safepoint();
+        }
+
+        BitSet isNothing =
+            NumericKernels.missingOfZip(
+                lhsStorage.getIsNothingMap(), rhsStorage.getIsNothingMap(), m, n);
+        return makeResult(words, isNothing, n);
+      }
+    }
+
     int n = lhs.size();
     int m = Math.min(lhs.size(), rhs.size());
     BitSet comparisonResults = new BitSet();
@@ -344,6 +428,13 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
     return new BoolStorage(comparisonResults, isNothing, n, false);
   }
 
+  /** Builds the result of a kernel, clearing the bits of the missing rows. */
+  private static BoolStorage makeResult(long[] words, BitSet isNothing, int n) {
+    BitSet comparisonResults = BitSet.valueOf(words);
+    comparisonResults.andNot(isNothing);
+    return new BoolStorage(comparisonResults, isNothing, n, false);
+  }
+
   protected BoolStorage runBigIntegerZip(
       BigIntegerArrayAdapter lhs,
       BigIntegerArrayAdapter rhs,
@@ -0,0 +1,444 @@
+package org.enso.table.data.column.operation.map.numeric.helpers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.util.BitSets;
+
+/**
+ * Primitive loops over the raw arrays of dense, on-heap {@link LongStorage} and {@link
+ * DoubleStorage}.
+ *
+ * <p>The loops have no calls and no data-dependent branches in their bodies, so that the JIT can
+ * unroll them and compile them into SIMD instructions. They compute every row, including the ones
+ * holding Nothing - the callers mask these rows out afterwards.
+ *
+ * <p>Anything that needs to be reported per row (like an overflow) is only detected by the kernels,
+ * and the callers are expected to recompute the affected block of rows with the regular scalar
+ * loop. The callers should also process the rows in blocks of {@link #BLOCK_SIZE}, checking for
+ * interrupts between the blocks.
+ *
+ * <p>The kernels can be disabled by setting the {@code enso.table.numericKernels} system property
+ * to {@code false}, in which case {@link #rawData} never returns any data and all operations use
+ * the scalar loops.
+ */
+public final class NumericKernels {
+  /** The number of rows processed between interrupt checks. It is a multiple of 64. */
+  public static final int BLOCK_SIZE = 4096;
+
+  private static final boolean ENABLED =
+      Boolean.parseBoolean(System.getProperty("enso.table.numericKernels", "true"));
+
+  /** The arithmetic operations supported by the kernels. */
+  public enum Arithmetic {
+    ADD,
+    SUBTRACT,
+    MULTIPLY
+  }
+
+  /** The comparisons supported by the kernels. */
+  public enum Comparison {
+    EQ(false, true, false),
+    LT(true, false, false),
+    LTE(true, true, false),
+    GT(false, false, true),
+    GTE(false, true, true);
+
+    private final long less;
+    private final long equal;
+    private final long greater;
+
+    Comparison(boolean less, boolean equal, boolean greater) {
+      this.less = less ? 1L : 0L;
+      this.equal = equal ? 1L : 0L;
+      this.greater = greater ? 1L : 0L;
+    }
+  }
+
+  private NumericKernels() {}
+
+  /** Checks if the kernels are enabled. */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Returns the raw array of a dense, on-heap numeric storage.
+   *
+   * @return the array, or {@code null} if the kernels are disabled or cannot be used with the
+   *     storage
+   */
+  public static long[] rawData(Storage<?> storage) {
+    if (!ENABLED) {
+      return null;
+    }
+
+    return switch (storage) {
+      case LongStorage s -> s.getRawDataArray();
+      case DoubleStorage s -> s.getRawDataArray();
+      default -> null;
+    };
+  }
+
+  /**
+   * Returns the words of a bit set, padded so that they cover {@code size} bits.
+   *
+   * <p>It is used to pass the missing value masks to the kernels.
+   */
+  public static long[] words(BitSet bitSet, int size) {
+    return Arrays.copyOf(bitSet.toLongArray(), (size + 63) >>> 6);
+  }
+
+  /**
+   * Computes the missing rows of a zip of two storages: the rows missing in either of them and the
+   * rows from {@code m} (the size of the shorter one) up to {@code n}.
+   */
+  public static BitSet missingOfZip(BitSet aIsNothing, BitSet bIsNothing, int m, int n) {
+    BitSet isNothing = BitSets.makeDuplicate(aIsNothing);
+    isNothing.or(bIsNothing);
+    isNothing.clear(m, Integer.MAX_VALUE);
+    if (m < n) {
+      isNothing.set(m, n);
+    }
+    return isNothing;
+  }
+
+  /**
+   * Zeroes the values of the rows marked in {@code isNothing}, so that the raw data computed by the
+   * kernels is the same as the one produced by the scalar loops.
+   */
+  public static void clearMissing(long[] out, BitSet isNothing, int from, int to) {
+    for (int i = isNothing.nextSetBit(from); i >= 0 && i < to; i = isNothing.nextSetBit(i + 1)) {
+      out[i] = 0;
+    }
+  }
+
+  /**
+   * Computes {@code out[i] = a[i] op b[i]} on 64-bit integers.
+   *
+   * @return false if any of the rows may have overflowed, in which case the block should be
+   *     recomputed by the scalar loop
+   */
+  public static boolean longArithmetic(
+      Arithmetic op, long[] a, long[] b, long[] out, int from, int to) {
+    long overflow = 0;
+    switch (op) {
+      case ADD -> {
+        for (int i = from; i < to; i++) {
+          long x = a[i];
+          long y = b[i];
+          long r = x + y;
+          out[i] = r;
+          overflow |= (x ^ r) & (y ^ r);
+        }
+      }
+      case SUBTRACT -> {
+        for (int i = from; i < to; i++) {
+          long x = a[i];
+          long y = b[i];
+          long r = x - y;
+          out[i] = r;
+          overflow |= (x ^ y) & (x ^ r);
+        }
+      }
+      case MULTIPLY -> {
+        for (int i = from; i < to; i++) {
+          long x = a[i];
+          long y = b[i];
+          long r = x * y;
+          out[i] = r;
+          overflow |= Math.multiplyHigh(x, y) ^ (r >> 63);
+        }
+      }
+    }
+    return op == Arithmetic.MULTIPLY ? overflow == 0 : overflow >= 0;
+  }
+
+  /**
+   * Computes {@code out[i] = a[i] op b} on 64-bit integers.
+   *
+   * @return false if any of the rows may have overflowed, in which case the block should be
+   *     recomputed by the scalar loop
+   */
+  public static boolean longArithmetic(
+      Arithmetic op, long[] a, long b, long[] out, int from, int to) {
+    long overflow = 0;
+    switch (op) {
+      case ADD -> {
+        for (int i = from; i < to; i++) {
+          long x = a[i];
+          long r = x + b;
+          out[i] = r;
+          overflow |= (x ^ r) & (b ^ r);
+        }
+      }
+      case SUBTRACT -> {
+        for (int i = from; i < to; i++) {
+          long x = a[i];
+          long r = x - b;
+          out[i] = r;
+          overflow |= (x ^ b) & (x ^ r);
+        }
+      }
+      case MULTIPLY -> {
+        for (int i = from; i < to; i++) {
+          long x = a[i];
+          long r = x * b;
+          out[i] = r;
+          overflow |= Math.multiplyHigh(x, b) ^ (r >> 63);
+        }
+      }
+    }
+    return op == Arithmetic.MULTIPLY ? overflow == 0 : overflow >= 0;
+  }
+
+  /** Computes {@code out[i] = a[i] op b[i]} on the raw bits of 64-bit floating point values. */
+  public static void doubleArithmetic(
+      Arithmetic op, long[] a, long[] b, long[] out, int from, int to) {
+    switch (op) {
+      case ADD -> {
+        for (int i = from; i < to; i++) {
+          out[i] = Double.doubleToRawLongBits(asDouble(a[i]) + asDouble(b[i]));
+        }
+      }
+      case SUBTRACT -> {
+        for (int i = from; i < to; i++) {
+          out[i] = Double.doubleToRawLongBits(asDouble(a[i]) - asDouble(b[i]));
+        }
+      }
+      case MULTIPLY -> {
+        for (int i = from; i < to; i++) {
+          out[i] = Double.doubleToRawLongBits(asDouble(a[i]) * asDouble(b[i]));
+        }
+      }
+    }
+  }
+
+  /** Computes {@code out[i] = a[i] op b} on the raw bits of 64-bit floating point values. */
+  public static void doubleArithmetic(
+      Arithmetic op, long[] a, double b, long[] out, int from, int to) {
+    switch (op) {
+      case ADD -> {
+        for (int i = from; i < to; i++) {
+          out[i] = Double.doubleToRawLongBits(asDouble(a[i]) + b);
+        }
+      }
+      case SUBTRACT -> {
+        for (int i = from; i < to; i++) {
+          out[i] = Double.doubleToRawLongBits(asDouble(a[i]) - b);
+        }
+      }
+      case MULTIPLY -> {
+        for (int i = from; i < to; i++) {
+          out[i] = Double.doubleToRawLongBits(asDouble(a[i]) * b);
+        }
+      }
+    }
+  }
+
+  /**
+   * Compares 64-bit integers, setting the bits of {@code outWords} for the rows where {@code a[i]
+   * op b[i]} holds.
+   *
+   * <p>{@code from} must be a multiple of 64.
+   */
+  public static void compareLongs(
+      Comparison op, long[] a, long[] b, long[] outWords, int from, int to) {
+    long less = op.less;
+    long equal = op.equal;
+    long greater = op.greater;
+    for (int base = from; base < to; base += 64) {
+      int end = Math.min(base + 64, to);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        long x = a[i];
+        long y = b[i];
+        long bit = (x < y ? less : 0L) | (x == y ? equal : 0L) | (x > y ? greater : 0L);
+        word |= bit << i;
+      }
+      outWords[base >>> 6] = word;
+    }
+  }
+
+  /**
+   * Compares 64-bit integers with a constant, setting the bits of {@code outWords} for the rows
+   * where {@code a[i] op b} holds.
+   *
+   * <p>{@code from} must be a multiple of 64.
+   */
+  public static void compareLongs(
+      Comparison op, long[] a, long b, long[] outWords, int from, int to) {
+    long less = op.less;
+    long equal = op.equal;
+    long greater = op.greater;
+    for (int base = from; base < to; base += 64) {
+      int end = Math.min(base + 64, to);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        long x = a[i];
+        long bit = (x < b ? less : 0L) | (x == b ? equal : 0L) | (x > b ? greater : 0L);
+        word |= bit << i;
+      }
+      outWords[base >>> 6] = word;
+    }
+  }
+
+  /**
+   * Compares the raw bits of 64-bit floating point values, setting the bits of {@code outWords}
+   * for the rows where {@code a[i] op b[i]} holds.
+   *
+   * <p>{@code from} must be a multiple of 64. All comparisons with NaN are false.
+   */
+  public static void compareDoubles(
+      Comparison op, long[] a, long[] b, long[] outWords, int from, int to) {
+    long less = op.less;
+    long equal = op.equal;
+    long greater = op.greater;
+    for (int base = from; base < to; base += 64) {
+      int end = Math.min(base + 64, to);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        double x = asDouble(a[i]);
+        double y = asDouble(b[i]);
+        long bit = (x < y ? less : 0L) | (x == y ? equal : 0L) | (x > y ? greater : 0L);
+        word |= bit << i;
+      }
+      outWords[base >>> 6] = word;
+    }
+  }
+
+  /**
+   * Compares the raw bits of 64-bit floating point values with a constant, setting the bits of
+   * {@code outWords} for the rows where {@code a[i] op b} holds.
+   *
+   * <p>{@code from} must be a multiple of 64. All comparisons with NaN are false.
+   */
+  public static void compareDoubles(
+      Comparison op, long[] a, double b, long[] outWords, int from, int to) {
+    long less = op.less;
+    long equal = op.equal;
+    long greater = op.greater;
+    for (int base = from; base < to; base += 64) {
+      int end = Math.min(base + 64, to);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        double x = asDouble(a[i]);
+        long bit = (x < b ? less : 0L) | (x == b ? equal : 0L) | (x > b ? greater : 0L);
+        word |= bit << i;
+      }
+      outWords[base >>> 6] = word;
+    }
+  }
+
+  /**
+   * Sets the bits of {@code outWords} for the rows whose 64-bit integer is equal to any of {@code
+   * values}.
+   *
+   * <p>It is meant for short lists of values, larger ones should be looked up in a hash set. {@code
+   * from} must be a multiple of 64.
+   */
+  public static void longsIn(long[] a, long[] values, long[] outWords, int from, int to) {
+    for (int base = from; base < to; base += 64) {
+      int end = Math.min(base + 64, to);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        long x = a[i];
+        long bit = 0;
+        for (long value : values) {
+          bit |= x == value ? 1L : 0L;
+        }
+        word |= bit << i;
+      }
+      outWords[base >>> 6] = word;
+    }
+  }
+
+  /**
+   * Sets the bits of {@code outWords} for the rows whose floating point value is equal to any of
+   * {@code values}, given as {@link Double#doubleToLongBits}.
+   *
+   * <p>The values are compared like {@link Double#equals}, so NaN is equal to itself and the two
+   * zeros are different. It is meant for short lists of values, larger ones should be looked up in
+   * a hash set. {@code from} must be a multiple of 64.
+   */
+  public static void doublesIn(long[] a, long[] values, long[] outWords, int from, int to) {
+    for (int base = from; base < to; base += 64) {
+      int end = Math.min(base + 64, to);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        long x = Double.doubleToLongBits(asDouble(a[i]));
+        long bit = 0;
+        for (long value : values) {
+          bit |= x == value ? 1L : 0L;
+        }
+        word |= bit << i;
+      }
+      outWords[base >>> 6] = word;
+    }
+  }
+
+  /**
+   * Adds the 64-bit integers that are not marked in {@code nothingWords} to {@code initial}, in
+   * order.
+   *
+   * @throws ArithmeticException if the running total overflows at any point
+   */
+  public static long sumExact(long[] a, long[] nothingWords, long initial, int from, int to) {
+    long sum = initial;
+    for (int i = from; i < to; i++) {
+      long present = ((nothingWords[i >>> 6] >>> i) & 1L) - 1L;
+      sum = Math.addExact(sum, a[i] & present);
+    }
+    return sum;
+  }
+
+  /**
+   * Finds the minimum ({@code max = false}) or maximum 64-bit integer that is not marked in {@code
+   * nothingWords}.
+   *
+   * <p>The result is only meaningful if the range contains at least one such value.
+   */
+  public static long longExtreme(boolean max, long[] a, long[] nothingWords, int from, int to) {
+    long flip = max ? -1L : 0L;
+    long result = Long.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      long present = ((nothingWords[i >>> 6] >>> i) & 1L) - 1L;
+      // Maximum is computed as the minimum of the complements, missing rows become MAX_VALUE.
+      long key = ((a[i] ^ flip) & present) | (Long.MAX_VALUE & ~present);
+      result = Math.min(result, key);
+    }
+    return result ^ flip;
+  }
+
+  /**
+   * Finds the minimum ({@code max = false}) or maximum floating point value that is not marked in
+   * {@code nothingWords}, ordering the values like {@link Double#compare}.
+   *
+   * <p>The result is only meaningful if the range contains at least one such value.
+   */
+  public static double doubleExtreme(boolean max, long[] a, long[] nothingWords, int from, int to) {
+    long flip = max ? -1L : 0L;
+    long result = Long.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      long present = ((nothingWords[i >>> 6] >>> i) & 1L) - 1L;
+      long key = (orderedKey(Double.doubleToLongBits(asDouble(a[i]))) ^ flip) & present;
+      result = Math.min(result, key | (Long.MAX_VALUE & ~present));
+    }
+    // The mapping to ordered keys is its own inverse.
+    return Double.longBitsToDouble(orderedKey(result ^ flip));
+  }
+
+  /**
+   * Maps the bits of a floating point value to a 64-bit integer that orders like {@link
+   * Double#compare}: the magnitude bits of negative values are flipped.
+   */
+  private static long orderedKey(long bits) {
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  private static double asDouble(long bits) {
+    return Double.longBitsToDouble(bits);
+  }
+}
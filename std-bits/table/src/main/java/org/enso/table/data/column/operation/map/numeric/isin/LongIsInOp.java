@@ -1,13 +1,20 @@
 package org.enso.table.data.column.operation.map.numeric.isin;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.operation.map.SpecializedIsInOp;
+import org.enso.table.data.column.operation.map.numeric.helpers.NumericKernels;
+import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.util.BitSets;
 import org.graalvm.polyglot.Context;
 
 public class LongIsInOp extends SpecializedIsInOp<Long, AbstractLongStorage> {
+  /** The maximum amount of values that are compared directly, instead of being hashed. */
+  private static final int MAX_DENSE_VALUES = 16;
+
   @Override
   protected CompactRepresentation<Long> prepareList(List<?> list) {
     Context context = Context.getCurrent();
@@ -24,4 +31,27 @@ public class LongIsInOp extends SpecializedIsInOp<Long, AbstractLongStorage> {
     }
     return new CompactRepresentation<>(set, hasNulls);
   }
+
+  @Override
+  protected Storage<?> runDenseMap(
+      AbstractLongStorage storage, CompactRepresentation<Long> compactRepresentation) {
+    long[] data = NumericKernels.rawData(storage);
+    HashSet<Long> set = compactRepresentation.coercedValues();
+    if (data == null || set.size() > MAX_DENSE_VALUES) {
+      return null;
+    }
+
+    long[] values = set.stream().mapToLong(Long::longValue).toArray();
+    int n = storage.size();
+    long[] words = new long[(n + 63) >>> 6];
+    Context context = Context.getCurrent();
+    for (int start = 0; start < n; start += NumericKernels.BLOCK_SIZE) {
+      int end = Math.min(start + NumericKernels.BLOCK_SIZE, n);
+      NumericKernels.longsIn(data, values, words, start, end);
+      context.safepoint();
+    }
+
+    BitSet isNothing = BitSets.makeDuplicate(storage.getIsNothingMap());
+    return makeDenseResult(words, isNothing, n, compactRepresentation.hasNulls());
+  }
 }
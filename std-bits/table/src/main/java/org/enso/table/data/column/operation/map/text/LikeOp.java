@@ -8,6 +8,7 @@ import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.SpecializedStorage;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
 import org.enso.table.error.UnexpectedTypeException;
 import org.graalvm.polyglot.Context;
 
@@ -46,6 +47,10 @@ public class LikeOp extends StringBooleanOp {
       return new BoolStorage(newVals, newIsNothing, storage.size(), false);
     } else if (arg instanceof String argString) {
       Pattern pattern = createRegexPatternFromSql(argString);
+      if (storage instanceof StringStorage strings && strings.isDictionaryEncoded()) {
+        return strings.mapDictionaryToBoolean(value -> pattern.matcher(value).matches());
+      }
+
       BitSet newVals = new BitSet();
       BitSet newIsNothing = new BitSet();
       Context context = Context.getCurrent();
@@ -33,6 +33,10 @@ public abstract class StringBooleanOp
       newIsNothing.set(0, storage.size());
       return new BoolStorage(newVals, newIsNothing, storage.size(), false);
     } else if (arg instanceof String argString) {
+      if (storage instanceof StringStorage strings && strings.isDictionaryEncoded()) {
+        return strings.mapDictionaryToBoolean(value -> doString(value, argString));
+      }
+
       BitSet newVals = new BitSet();
       BitSet newIsNothing = new BitSet();
       Context context = Context.getCurrent();
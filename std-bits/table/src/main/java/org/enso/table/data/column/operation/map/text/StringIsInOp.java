@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.List;
 import org.enso.table.data.column.operation.map.SpecializedIsInOp;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
 import org.graalvm.polyglot.Context;
 
 public class StringIsInOp<S extends Storage<String>> extends SpecializedIsInOp<String, S> {
@@ -22,4 +23,20 @@ public class StringIsInOp<S extends Storage<String>> extends SpecializedIsInOp<S
     }
     return new CompactRepresentation<>(set, hasNulls);
   }
+
+  @Override
+  public Storage<?> runMap(S storage, List<?> arg) {
+    if (!arg.isEmpty()
+        && storage instanceof StringStorage strings
+        && strings.isDictionaryEncoded()) {
+      CompactRepresentation<String> compactRepresentation = prepareList(arg);
+      return strings.mapDictionaryToBoolean(
+          value ->
+              compactRepresentation.coercedValues().contains(value)
+                  ? Boolean.TRUE
+                  : compactRepresentation.hasNulls() ? null : Boolean.FALSE);
+    }
+
+    return super.runMap(storage, arg);
+  }
 }
@@ -1,11 +1,18 @@
 package org.enso.table.data.column.storage;
 
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.function.Function;
 import org.enso.base.CompareException;
 import org.enso.base.Text_Utils;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.operation.CountNothing;
 import org.enso.table.data.column.operation.CountUntrimmed;
 import org.enso.table.data.column.operation.map.BinaryMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
@@ -18,35 +25,363 @@ import org.enso.table.data.column.operation.map.text.StringLongToStringOp;
 import org.enso.table.data.column.operation.map.text.StringStringOp;
 import org.enso.table.data.column.storage.type.StorageType;
 import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.mask.SliceRange;
 import org.graalvm.polyglot.Context;
 import org.slf4j.Logger;
 
-/** A column storing strings. */
+/**
+ * A column storing strings.
+ *
+ * <p>The strings are either held in an array, or dictionary-encoded: each row then holds the index
+ * of its value in an array of the values occurring in the column, or {@link #NOTHING_CODE} for a
+ * missing value. Dictionary encoding is used for long columns with few distinct values (see {@link
+ * #encodeIfLowCardinality}), which saves memory and allows operations to compute their results once
+ * per distinct value instead of once per row.
+ */
 public final class StringStorage extends SpecializedStorage<String> {
   private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(StringStorage.class);
 
+  /** The code of a missing value in a dictionary-encoded storage. */
+  public static final int NOTHING_CODE = -1;
+
+  /** The minimum number of rows for which dictionary encoding is considered. */
+  static final int DICTIONARY_MIN_SIZE = 1024;
+
+  /** The maximum number of distinct values in a dictionary. */
+  static final int DICTIONARY_MAX_VALUES = 1 << 16;
+
   private final TextType type;
+  private final String[] dictionary;
+  private final int[] codes;
   private Future<Long> untrimmedCount;
 
+  private volatile FoldedDictionary foldedDictionary = null;
+  private volatile DictionaryRanks dictionaryRanks = null;
+
   /**
    * @param data the underlying data
    * @param size the number of items stored
    * @param type the type of the column
    */
   public StringStorage(String[] data, int size, TextType type) {
+    this(data, null, null, size, type);
+  }
+
+  /**
+   * Creates a dictionary-encoded storage.
+   *
+   * @param dictionary the values occurring in the column; entries that are not referenced by any
+   *     code may be {@code null}
+   * @param codes for each row, the index of its value in {@code dictionary} or {@link
+   *     #NOTHING_CODE}
+   * @param size the number of items stored
+   * @param type the type of the column
+   */
+  public StringStorage(String[] dictionary, int[] codes, int size, TextType type) {
+    this(null, dictionary, codes, size, type);
+  }
+
+  private StringStorage(String[] data, String[] dictionary, int[] codes, int size, TextType type) {
     super(data, size, buildOps());
     this.type = type;
+    this.dictionary = dictionary;
+    this.codes = codes;
 
     untrimmedCount =
         CompletableFuture.supplyAsync(
             () -> CountUntrimmed.compute(this, CountUntrimmed.DEFAULT_SAMPLE_SIZE, null));
   }
 
+  /**
+   * Creates a storage for the given strings, dictionary-encoding them if the column is long and has
+   * few distinct values.
+   */
+  public static StringStorage encodeIfLowCardinality(String[] data, int size, TextType type) {
+    if (size < DICTIONARY_MIN_SIZE) {
+      return new StringStorage(data, size, type);
+    }
+
+    int maxValues = Math.min(DICTIONARY_MAX_VALUES, size / 8);
+    HashMap<String, Integer> index = new HashMap<>();
+    int[] codes = new int[size];
+    for (int i = 0; i < size; i++) {
+      String value = data[i];
+      if (value == null) {
+        codes[i] = NOTHING_CODE;
+        continue;
+      }
+
+      Integer code = index.get(value);
+      if (code == null) {
+        if (index.size() >= maxValues) {
+          return new StringStorage(data, size, type);
+        }
+        code = index.size();
+        index.put(value, code);
+      }
+      codes[i] = code;
+    }
+
+    String[] dictionary = new String[index.size()];
+    for (var entry : index.entrySet()) {
+      dictionary[entry.getValue()] = entry.getKey();
+    }
+    return new StringStorage(dictionary, codes, size, type);
+  }
+
   @Override
   protected SpecializedStorage<String> newInstance(String[] data, int size) {
     return new StringStorage(data, size, type);
   }
 
+  private StringStorage newDictionaryInstance(int[] newCodes, int newSize) {
+    return new StringStorage(dictionary, newCodes, newSize, type);
+  }
+
+  /** Checks if the storage is dictionary-encoded. */
+  public boolean isDictionaryEncoded() {
+    return codes != null;
+  }
+
+  /**
+   * Returns the values occurring in a dictionary-encoded storage. The returned array must not be
+   * modified.
+   */
+  public String[] getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Returns the codes of the rows of a dictionary-encoded storage. The returned array must not be
+   * modified.
+   */
+  public int[] getCodes() {
+    return codes;
+  }
+
+  @Override
+  public String getItem(long idx) {
+    if (codes == null) {
+      return data[(int) idx];
+    }
+    int code = codes[(int) idx];
+    return code == NOTHING_CODE ? null : dictionary[code];
+  }
+
+  @Override
+  public String getItemBoxed(int idx) {
+    return getItem(idx);
+  }
+
+  @Override
+  public boolean isNothing(long idx) {
+    return codes == null ? data[(int) idx] == null : codes[(int) idx] == NOTHING_CODE;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>For a dictionary-encoded storage, the strings are decoded into a new array.
+   */
+  @Override
+  public String[] getData() {
+    if (codes == null) {
+      return data;
+    }
+    String[] decoded = new String[size];
+    for (int i = 0; i < size; i++) {
+      decoded[i] = getItem(i);
+    }
+    return decoded;
+  }
+
+  @Override
+  public SpecializedStorage<String> applyFilter(BitSet filterMask, int newLength) {
+    if (codes == null) {
+      return super.applyFilter(filterMask, newLength);
+    }
+    Context context = Context.getCurrent();
+    int[] newCodes = new int[newLength];
+    int resIx = 0;
+    for (int i = filterMask.nextSetBit(0); i >= 0 && i < size; i = filterMask.nextSetBit(i + 1)) {
+      newCodes[resIx++] = codes[i];
+      context.safepoint();
+    }
+    return newDictionaryInstance(newCodes, newLength);
+  }
+
+  @Override
+  public SpecializedStorage<String> applyMask(OrderMask mask) {
+    if (codes == null) {
+      return super.applyMask(mask);
+    }
+    Context context = Context.getCurrent();
+    int[] newCodes = new int[mask.length()];
+    for (int i = 0; i < newCodes.length; i++) {
+      int position = mask.get(i);
+      newCodes[i] = position == Storage.NOT_FOUND_INDEX ? NOTHING_CODE : codes[position];
+      context.safepoint();
+    }
+    return newDictionaryInstance(newCodes, newCodes.length);
+  }
+
+  @Override
+  public SpecializedStorage<String> slice(int offset, int limit) {
+    if (codes == null) {
+      return super.slice(offset, limit);
+    }
+    int newSize = Math.min(size - offset, limit);
+    return newDictionaryInstance(Arrays.copyOfRange(codes, offset, offset + newSize), newSize);
+  }
+
+  @Override
+  public SpecializedStorage<String> slice(List<SliceRange> ranges) {
+    if (codes == null) {
+      return super.slice(ranges);
+    }
+    Context context = Context.getCurrent();
+    int newSize = SliceRange.totalLength(ranges);
+    int[] newCodes = new int[newSize];
+    int offset = 0;
+    for (SliceRange range : ranges) {
+      int length = range.end() - range.start();
+      System.arraycopy(codes, range.start(), newCodes, offset, length);
+      offset += length;
+      context.safepoint();
+    }
+    return newDictionaryInstance(newCodes, newSize);
+  }
+
+  @Override
+  public Storage<?> appendNulls(int count) {
+    if (codes == null) {
+      return super.appendNulls(count);
+    }
+    int[] newCodes = Arrays.copyOf(codes, size + count);
+    Arrays.fill(newCodes, size, size + count, NOTHING_CODE);
+    return newDictionaryInstance(newCodes, size + count);
+  }
+
+  @Override
+  public Storage<String> fillMissingFromPrevious(BoolStorage missingIndicator) {
+    if (codes == null) {
+      return super.fillMissingFromPrevious(missingIndicator);
+    }
+    if (missingIndicator != null && CountNothing.anyNothing(missingIndicator)) {
+      throw new IllegalArgumentException(
+          "Missing indicator must not contain missing values itself.");
+    }
+
+    int[] newCodes = new int[size];
+    int previous = NOTHING_CODE;
+    boolean hasPrevious = false;
+
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      boolean isCurrentValueMissing =
+          missingIndicator == null ? isNothing(i) : missingIndicator.getItem(i);
+      if (!isCurrentValueMissing) {
+        previous = codes[i];
+        hasPrevious = true;
+      }
+
+      newCodes[i] = hasPrevious ? previous : codes[i];
+      context.safepoint();
+    }
+
+    return newDictionaryInstance(newCodes, size);
+  }
+
+  /**
+   * Computes a boolean column for a dictionary-encoded storage, evaluating the function only once
+   * for each value of the dictionary.
+   *
+   * @param function computes the result for a value; {@code null} marks the result as missing
+   * @return the results for every row, missing values giving missing results
+   */
+  public BoolStorage mapDictionaryToBoolean(Function<String, Boolean> function) {
+    Context context = Context.getCurrent();
+    byte[] results = new byte[dictionary.length];
+    for (int i = 0; i < dictionary.length; i++) {
+      Boolean result = dictionary[i] == null ? null : function.apply(dictionary[i]);
+      results[i] = result == null ? (byte) -1 : result ? (byte) 1 : (byte) 0;
+      context.safepoint();
+    }
+
+    BitSet values = new BitSet();
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      int code = codes[i];
+      byte result = code == NOTHING_CODE ? -1 : results[code];
+      if (result == 1) {
+        values.set(i);
+      } else if (result == -1) {
+        isNothing.set(i);
+      }
+    }
+    return new BoolStorage(values, isNothing, size, false);
+  }
+
+  /**
+   * Returns the value of a row of a dictionary-encoded storage folded with the given strategy, or
+   * {@code null} if it is missing.
+   *
+   * <p>The folded values of the dictionary are computed on first use and cached for the last
+   * strategy used, so that hashing rows does not need to fold each row separately.
+   */
+  public String getFoldedItem(int idx, TextFoldingStrategy strategy) {
+    int code = codes[idx];
+    if (code == NOTHING_CODE) {
+      return null;
+    }
+
+    FoldedDictionary folded = foldedDictionary;
+    if (folded == null || folded.strategy != strategy) {
+      String[] values = new String[dictionary.length];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = dictionary[i] == null ? null : strategy.fold(dictionary[i]);
+      }
+      folded = new FoldedDictionary(strategy, values);
+      foldedDictionary = folded;
+    }
+    return folded.values[code];
+  }
+
+  private record FoldedDictionary(TextFoldingStrategy strategy, String[] values) {}
+
+  /**
+   * Returns, for each value of the dictionary, its rank among all the values of the dictionary
+   * according to the comparator. Values that are equal according to the comparator have the same
+   * rank, so rows can be compared by comparing the ranks of their codes.
+   *
+   * <p>The ranks are computed on first use and cached for the last comparator used.
+   */
+  public int[] getDictionaryRanks(Comparator<Object> comparator) {
+    DictionaryRanks ranks = dictionaryRanks;
+    if (ranks == null || ranks.comparator != comparator) {
+      Integer[] order = new Integer[dictionary.length];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> comparator.compare(dictionary[a], dictionary[b]));
+
+      int[] values = new int[dictionary.length];
+      int rank = 0;
+      for (int i = 0; i < order.length; i++) {
+        if (i > 0 && comparator.compare(dictionary[order[i - 1]], dictionary[order[i]]) != 0) {
+          rank++;
+        }
+        values[order[i]] = rank;
+      }
+      ranks = new DictionaryRanks(comparator, values);
+      dictionaryRanks = ranks;
+    }
+    return ranks.values;
+  }
+
+  private record DictionaryRanks(Comparator<Object> comparator, int[] values) {}
+
   @Override
   protected String[] newUnderlyingArray(int size) {
     return new String[size];
@@ -89,6 +424,12 @@ public final class StringStorage extends SpecializedStorage<String> {
               SpecializedStorage<String> storage,
               Object arg,
               MapOperationProblemAggregator problemAggregator) {
+            if (arg instanceof String s
+                && storage instanceof StringStorage strings
+                && strings.isDictionaryEncoded()) {
+              return strings.mapDictionaryToBoolean(value -> Text_Utils.equals(value, s));
+            }
+
             BitSet r = new BitSet();
             BitSet isNothing = new BitSet();
             Context context = Context.getCurrent();
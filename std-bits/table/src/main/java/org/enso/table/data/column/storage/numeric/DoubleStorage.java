@@ -35,10 +35,16 @@ import org.enso.table.util.BitSets;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 
-/** A column containing floating point numbers. */
+/**
+ * A column containing floating point numbers.
+ *
+ * <p>The raw bits of the values are kept either in a {@code long[]} array or, for very large
+ * columns, in an {@link OffHeapLongArray}. Exactly one of the two backends is set.
+ */
 public final class DoubleStorage extends NumericStorage<Double>
     implements DoubleArrayAdapter, ColumnStorageWithNothingMap {
   private final long[] data;
+  private final OffHeapLongArray offHeapData;
   private final BitSet isNothing;
   private final int size;
   private static final MapOperationStorage<Double, DoubleStorage> ops = buildOps();
@@ -51,10 +57,30 @@ public final class DoubleStorage extends NumericStorage<Double>
    */
   public DoubleStorage(long[] data, int size, BitSet isNothing) {
     this.data = data;
+    this.offHeapData = null;
     this.isNothing = isNothing;
     this.size = size;
   }
 
+  /**
+   * Creates a storage backed by off-heap memory.
+   *
+   * @param data the raw bits of the values, which must not be modified afterwards
+   * @param size the number of items stored
+   * @param isNothing a bit set denoting at index {@code i} whether the value at index {@code i} is
+   *     Nothing.
+   */
+  public DoubleStorage(OffHeapLongArray data, int size, BitSet isNothing) {
+    this.data = null;
+    this.offHeapData = data;
+    this.isNothing = isNothing;
+    this.size = size;
+  }
+
+  private long getRaw(int idx) {
+    return data != null ? data[idx] : offHeapData.get(idx);
+  }
+
   public static DoubleStorage makeEmpty(int size) {
     BitSet isNothing = new BitSet(size);
     isNothing.set(0, size);
@@ -74,12 +100,12 @@ public final class DoubleStorage extends NumericStorage<Double>
    * @return the data item contained at the given index.
    */
   public double getItem(long idx) {
-    return Double.longBitsToDouble(data[(int) idx]);
+    return Double.longBitsToDouble(getRaw((int) idx));
   }
 
   @Override
   public Double getItemBoxed(int idx) {
-    return isNothing.get(idx) ? null : Double.longBitsToDouble(data[idx]);
+    return isNothing.get(idx) ? null : Double.longBitsToDouble(getRaw(idx));
   }
 
   /**
@@ -100,7 +126,7 @@ public final class DoubleStorage extends NumericStorage<Double>
 
   @Override
   public double getItemAsDouble(int i) {
-    return Double.longBitsToDouble(data[i]);
+    return Double.longBitsToDouble(getRaw(i));
   }
 
   @Override
@@ -147,7 +173,7 @@ public final class DoubleStorage extends NumericStorage<Double>
       if (isNothing.get(i)) {
         builder.appendRawNoGrow(rawArg);
       } else {
-        builder.appendRawNoGrow(data[i]);
+        builder.appendRawNoGrow(getRaw(i));
       }
 
       context.safepoint();
@@ -163,7 +189,7 @@ public final class DoubleStorage extends NumericStorage<Double>
       if (isNothing.get(i)) {
         builder.appendBigInteger(arg);
       } else {
-        builder.appendRawNoGrow(data[i]);
+        builder.appendRawNoGrow(getRaw(i));
       }
 
       context.safepoint();
@@ -179,7 +205,7 @@ public final class DoubleStorage extends NumericStorage<Double>
       if (isNothing.get(i)) {
         builder.appendLong(arg);
       } else {
-        builder.appendRawNoGrow(data[i]);
+        builder.appendRawNoGrow(getRaw(i));
       }
 
       context.safepoint();
@@ -226,7 +252,7 @@ public final class DoubleStorage extends NumericStorage<Double>
           newIsNothing.set(i);
         }
       } else {
-        long currentValueRaw = data[i];
+        long currentValueRaw = getRaw(i);
         newData[i] = currentValueRaw;
         previousValueRaw = currentValueRaw;
         hasPrevious = true;
@@ -249,7 +275,7 @@ public final class DoubleStorage extends NumericStorage<Double>
         if (isNothing.get(i)) {
           newIsNothing.set(resIx++);
         } else {
-          newData[resIx++] = data[i];
+          newData[resIx++] = getRaw(i);
         }
       }
 
@@ -268,7 +294,7 @@ public final class DoubleStorage extends NumericStorage<Double>
       if (position == Storage.NOT_FOUND_INDEX || isNothing.get(position)) {
         newIsNothing.set(i);
       } else {
-        newData[i] = data[position];
+        newData[i] = getRaw(position);
       }
 
       context.safepoint();
@@ -276,8 +302,31 @@ public final class DoubleStorage extends NumericStorage<Double>
     return new DoubleStorage(newData, newData.length, newIsNothing);
   }
 
-  public long[] getRawData() {
-    return data;
+  /**
+   * Returns the on-heap array holding the raw values of all rows, or {@code null} if the values are
+   * stored off-heap or the array does not cover all rows. The array must not be modified.
+   */
+  public long[] getRawDataArray() {
+    return data != null && data.length >= size ? data : null;
+  }
+
+  /**
+   * Copies up to {@code count} raw values starting at {@code offset} into {@code target}.
+   *
+   * <p>Storages of missing values may not allocate data for them, so fewer values are copied if the
+   * underlying data is shorter. The remaining part of {@code target} is left unchanged.
+   */
+  public void copyRawData(int offset, long[] target, int targetOffset, int count) {
+    int available = Math.max(0, Math.min(count, dataLength() - offset));
+    if (data != null) {
+      System.arraycopy(data, offset, target, targetOffset, available);
+    } else {
+      offHeapData.copyTo(offset, target, targetOffset, available);
+    }
+  }
+
+  private int dataLength() {
+    return data != null ? data.length : offHeapData.length();
   }
 
   private static MapOperationStorage<Double, DoubleStorage> buildOps() {
@@ -306,13 +355,13 @@ public final class DoubleStorage extends NumericStorage<Double>
     long[] newData;
 
     // Special case if slice is after the actual data
-    if (offset >= data.length) {
+    if (offset >= dataLength()) {
       newData = new long[0];
     } else {
       // Can only copy as much as there is data
-      int newDataSize = Math.min(data.length - offset, newSize);
+      int newDataSize = Math.min(dataLength() - offset, newSize);
       newData = new long[newDataSize];
-      System.arraycopy(data, offset, newData, 0, newDataSize);
+      copyRawData(offset, newData, 0, newDataSize);
     }
 
     BitSet newMask = isNothing.get(offset, offset + limit);
@@ -325,7 +374,7 @@ public final class DoubleStorage extends NumericStorage<Double>
     newIsNothing.set(size, size + count);
 
     long[] newData = new long[size + count];
-    System.arraycopy(data, 0, newData, 0, size);
+    copyRawData(0, newData, 0, size);
     return new DoubleStorage(newData, size + count, newIsNothing);
   }
 
@@ -338,7 +387,7 @@ public final class DoubleStorage extends NumericStorage<Double>
     Context context = Context.getCurrent();
     for (SliceRange range : ranges) {
       int length = range.end() - range.start();
-      System.arraycopy(data, range.start(), newData, offset, length);
+      copyRawData(range.start(), newData, offset, length);
       for (int i = 0; i < length; ++i) {
         newIsNothing.set(offset + i, isNothing.get(range.start() + i));
         context.safepoint();
@@ -361,7 +410,7 @@ public final class DoubleStorage extends NumericStorage<Double>
           continue;
         }
 
-        double value = Double.longBitsToDouble(data[i]);
+        double value = Double.longBitsToDouble(getRaw(i));
         visitedNumbers++;
         boolean isWholeNumber = value % 1.0 == 0.0;
         boolean canBeInteger = isWholeNumber && IntegerType.INT_64.fits(value);
@@ -16,12 +16,18 @@ import org.enso.table.util.BitSets;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 
-/** A column storing 64-bit integers. */
+/**
+ * A column storing 64-bit integers.
+ *
+ * <p>The values are kept either in a {@code long[]} array or, for very large columns, in an {@link
+ * OffHeapLongArray}. Exactly one of the two backends is set.
+ */
 public final class LongStorage extends AbstractLongStorage {
   // TODO [RW] at some point we will want to add separate storage classes for byte, short and int,
   // for more compact storage and more efficient handling of smaller integers; for now we will be
   // handling this just by checking the bounds
   private final long[] data;
+  private final OffHeapLongArray offHeapData;
   private final BitSet isNothing;
   private final int size;
 
@@ -36,6 +42,24 @@ public final class LongStorage extends AbstractLongStorage {
    */
   public LongStorage(long[] data, int size, BitSet isNothing, IntegerType type) {
     this.data = data;
+    this.offHeapData = null;
+    this.isNothing = isNothing;
+    this.size = size;
+    this.type = type;
+  }
+
+  /**
+   * Creates a storage backed by off-heap memory.
+   *
+   * @param data the underlying data, which must not be modified afterwards
+   * @param size the number of items stored
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing.
+   * @param type the type specifying the bit-width of integers that are allowed in this storage
+   */
+  public LongStorage(OffHeapLongArray data, int size, BitSet isNothing, IntegerType type) {
+    this.data = null;
+    this.offHeapData = data;
     this.isNothing = isNothing;
     this.size = size;
     this.type = type;
@@ -68,12 +92,12 @@ public final class LongStorage extends AbstractLongStorage {
    * @return the data item contained at the given index.
    */
   public long getItem(int idx) {
-    return data[idx];
+    return data != null ? data[idx] : offHeapData.get(idx);
   }
 
   @Override
   public Long getItemBoxed(int idx) {
-    return isNothing.get(idx) ? null : data[idx];
+    return isNothing.get(idx) ? null : getItem(idx);
   }
 
   /**
@@ -100,7 +124,7 @@ public final class LongStorage extends AbstractLongStorage {
       if (isNothing.get(i)) {
         builder.appendRawNoGrow(rawArg);
       } else {
-        double coerced = data[i];
+        double coerced = getItem(i);
         builder.appendRawNoGrow(Double.doubleToRawLongBits(coerced));
       }
 
@@ -118,7 +142,7 @@ public final class LongStorage extends AbstractLongStorage {
       if (isNothing.get(i)) {
         builder.appendRawNoGrow(arg);
       } else {
-        builder.appendRawNoGrow(data[i]);
+        builder.appendRawNoGrow(getItem(i));
       }
 
       context.safepoint();
@@ -135,7 +159,7 @@ public final class LongStorage extends AbstractLongStorage {
       if (isNothing.get(i)) {
         builder.appendRawNoGrow(bigInteger);
       } else {
-        builder.appendRawNoGrow(BigInteger.valueOf(data[i]));
+        builder.appendRawNoGrow(BigInteger.valueOf(getItem(i)));
       }
 
       context.safepoint();
@@ -171,7 +195,7 @@ public final class LongStorage extends AbstractLongStorage {
         if (isNothing.get(i)) {
           newIsNothing.set(resIx++);
         } else {
-          newData[resIx++] = data[i];
+          newData[resIx++] = getItem(i);
         }
       }
 
@@ -190,7 +214,7 @@ public final class LongStorage extends AbstractLongStorage {
       if (position == Storage.NOT_FOUND_INDEX || isNothing.get(position)) {
         newIsNothing.set(i);
       } else {
-        newData[i] = data[position];
+        newData[i] = getItem(position);
       }
 
       context.safepoint();
@@ -203,8 +227,31 @@ public final class LongStorage extends AbstractLongStorage {
     return isNothing;
   }
 
-  public long[] getRawData() {
-    return data;
+  /**
+   * Returns the on-heap array holding the raw values of all rows, or {@code null} if the values are
+   * stored off-heap or the array does not cover all rows. The array must not be modified.
+   */
+  public long[] getRawDataArray() {
+    return data != null && data.length >= size ? data : null;
+  }
+
+  /**
+   * Copies up to {@code count} raw values starting at {@code offset} into {@code target}.
+   *
+   * <p>Storages of missing values may not allocate data for them, so fewer values are copied if the
+   * underlying data is shorter. The remaining part of {@code target} is left unchanged.
+   */
+  public void copyRawData(int offset, long[] target, int targetOffset, int count) {
+    int available = Math.max(0, Math.min(count, dataLength() - offset));
+    if (data != null) {
+      System.arraycopy(data, offset, target, targetOffset, available);
+    } else {
+      offHeapData.copyTo(offset, target, targetOffset, available);
+    }
+  }
+
+  private int dataLength() {
+    return data != null ? data.length : offHeapData.length();
   }
 
   @Override
@@ -213,13 +260,13 @@ public final class LongStorage extends AbstractLongStorage {
     long[] newData;
 
     // Special case if slice is after the actual data
-    if (offset >= data.length) {
+    if (offset >= dataLength()) {
       newData = new long[0];
     } else {
       // Can only copy as much as there is data
-      int newDataSize = Math.min(data.length - offset, newSize);
+      int newDataSize = Math.min(dataLength() - offset, newSize);
       newData = new long[newDataSize];
-      System.arraycopy(data, offset, newData, 0, newDataSize);
+      copyRawData(offset, newData, 0, newDataSize);
     }
 
     BitSet newMask = isNothing.get(offset, offset + limit);
@@ -231,7 +278,7 @@ public final class LongStorage extends AbstractLongStorage {
     BitSet newIsNothing = BitSets.makeDuplicate(isNothing);
     newIsNothing.set(size, size + count);
     long[] newData = new long[size + count];
-    System.arraycopy(data, 0, newData, 0, size);
+    copyRawData(0, newData, 0, size);
     return new LongStorage(newData, size + count, newIsNothing, type);
   }
 
@@ -244,7 +291,7 @@ public final class LongStorage extends AbstractLongStorage {
     Context context = Context.getCurrent();
     for (SliceRange range : ranges) {
       int length = range.end() - range.start();
-      System.arraycopy(data, range.start(), newData, offset, length);
+      copyRawData(range.start(), newData, offset, length);
       for (int i = 0; i < length; ++i) {
         newIsNothing.set(offset + i, isNothing.get(range.start() + i));
         context.safepoint();
@@ -259,6 +306,8 @@ public final class LongStorage extends AbstractLongStorage {
   @Override
   public LongStorage widen(IntegerType widerType) {
     assert widerType.fits(type);
-    return new LongStorage(data, size, isNothing, widerType);
+    return data != null
+        ? new LongStorage(data, size, isNothing, widerType)
+        : new LongStorage(offHeapData, size, isNothing, widerType);
   }
 }
@@ -0,0 +1,110 @@
+package org.enso.table.data.column.storage.numeric;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A fixed-length array of 64-bit values stored outside of the Java heap.
+ *
+ * <p>It is used as an alternative backend of {@link LongStorage} and {@link DoubleStorage}, so that
+ * very large columns do not put pressure on the garbage collector. The memory is split into direct
+ * buffers of at most {@code 2^27} elements each, because a single buffer cannot exceed 2GB. The
+ * values are stored in little-endian order, which is the layout used by Arrow buffers, so they can
+ * be copied in bulk.
+ *
+ * <p>The memory is released once the array becomes unreachable. An array is filled once after
+ * allocation and then only read, which is safe to do from multiple threads.
+ */
+public final class OffHeapLongArray {
+  private static final int CHUNK_BITS = 27;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private final ByteBuffer[] chunks;
+  private final ByteBuffer first;
+  private final int length;
+
+  private OffHeapLongArray(int length) {
+    this.length = length;
+    int chunkCount = Math.max(1, (int) (((long) length + CHUNK_SIZE - 1) >>> CHUNK_BITS));
+    this.chunks = new ByteBuffer[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      int chunkLength = Math.min(CHUNK_SIZE, length - i * CHUNK_SIZE);
+      chunks[i] = ByteBuffer.allocateDirect(8 * chunkLength).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    this.first = chunks[0];
+  }
+
+  /** Allocates a zero-filled array of the given length. */
+  public static OffHeapLongArray allocate(int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("The length must not be negative.");
+    }
+    return new OffHeapLongArray(length);
+  }
+
+  public int length() {
+    return length;
+  }
+
+  public long get(int index) {
+    if (index < CHUNK_SIZE) {
+      return first.getLong(index << 3);
+    }
+    return chunks[index >>> CHUNK_BITS].getLong((index & CHUNK_MASK) << 3);
+  }
+
+  public void set(int index, long value) {
+    chunks[index >>> CHUNK_BITS].putLong((index & CHUNK_MASK) << 3, value);
+  }
+
+  /**
+   * Copies {@code count} values starting at {@code index} into the array.
+   *
+   * @param source the values to copy
+   * @param sourceOffset the index of the first value to copy from {@code source}
+   */
+  public void copyFrom(long[] source, int sourceOffset, int index, int count) {
+    while (count > 0) {
+      int chunkOffset = index & CHUNK_MASK;
+      int n = Math.min(count, CHUNK_SIZE - chunkOffset);
+      chunks[index >>> CHUNK_BITS].asLongBuffer().put(chunkOffset, source, sourceOffset, n);
+      sourceOffset += n;
+      index += n;
+      count -= n;
+    }
+  }
+
+  /**
+   * Copies the values encoded in little-endian order in the buffer into the array, starting at
+   * {@code index}. The buffer's position is not changed.
+   */
+  public void copyFrom(ByteBuffer source, int index) {
+    int position = source.position();
+    int count = source.remaining() / 8;
+    while (count > 0) {
+      int chunkOffset = index & CHUNK_MASK;
+      int n = Math.min(count, CHUNK_SIZE - chunkOffset);
+      chunks[index >>> CHUNK_BITS].put(chunkOffset << 3, source, position, n << 3);
+      position += n << 3;
+      index += n;
+      count -= n;
+    }
+  }
+
+  /**
+   * Copies {@code count} values starting at {@code index} into {@code target}.
+   *
+   * @param targetOffset the index in {@code target} at which the first value is stored
+   */
+  public void copyTo(int index, long[] target, int targetOffset, int count) {
+    while (count > 0) {
+      int chunkOffset = index & CHUNK_MASK;
+      int n = Math.min(count, CHUNK_SIZE - chunkOffset);
+      chunks[index >>> CHUNK_BITS].asLongBuffer().get(chunkOffset, target, targetOffset, n);
+      targetOffset += n;
+      index += n;
+      count -= n;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -13,6 +14,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.aggregations.Aggregator;
+import org.enso.table.aggregations.GroupedAccumulator;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.operation.CountNothing;
 import org.enso.table.data.column.storage.Storage;
@@ -23,11 +25,23 @@ import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.util.ConstantList;
 import org.graalvm.polyglot.Context;
 
+/**
+ * An index grouping rows of a table by the values of a set of key columns.
+ *
+ * <p>Unordered indices over a single integer, float or text column are backed by a {@link
+ * SingleKeyIndex}. In that case the map of keys is only materialized if it is actually requested,
+ * and {@link #makeTable} works directly on the primitive groups.
+ *
+ * <p>Aggregators that provide a {@link GroupedAccumulator} are computed for all groups in a single
+ * pass over their input column, the remaining ones are computed group by group.
+ */
 public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
   private final ProblemAggregator problemAggregator;
   private final Column[] keyColumns;
-  private final Map<KeyType, List<Integer>> locs;
+  private Map<KeyType, List<Integer>> locs;
   private final boolean isUnique;
+  private final SingleKeyIndex singleKeyIndex;
+  private final IntFunction<KeyType> keyFactory;
 
   public static MultiValueIndex<OrderedMultiValueKey> makeOrderedIndex(
       Column[] keyColumns,
@@ -53,6 +67,14 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
         Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
     IntFunction<UnorderedMultiValueKey> keyFactory =
         i -> new UnorderedMultiValueKey(storage, i, textFoldingStrategies);
+    if (SingleKeyIndex.isSupported(keyColumns)) {
+      SingleKeyIndex singleKeyIndex =
+          SingleKeyIndex.build(
+              keyColumns[0],
+              textFoldingStrategies.get(0),
+              new ColumnAggregatedProblemAggregator(problemAggregator));
+      return new MultiValueIndex<>(keyColumns, singleKeyIndex, keyFactory, problemAggregator);
+    }
     return new MultiValueIndex<>(keyColumns, tableSize, locs, keyFactory, problemAggregator);
   }
 
@@ -75,6 +97,8 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
     this.keyColumns = keyColumns;
     this.locs = initialLocs;
     this.problemAggregator = problemAggregator;
+    this.singleKeyIndex = null;
+    this.keyFactory = keyFactory;
 
     if (keyColumns.length != 0) {
       boolean isUnique = true;
@@ -103,6 +127,19 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
     }
   }
 
+  private MultiValueIndex(
+      Column[] keyColumns,
+      SingleKeyIndex singleKeyIndex,
+      IntFunction<KeyType> keyFactory,
+      ProblemAggregator problemAggregator) {
+    this.keyColumns = keyColumns;
+    this.locs = null;
+    this.problemAggregator = problemAggregator;
+    this.singleKeyIndex = singleKeyIndex;
+    this.keyFactory = keyFactory;
+    this.isUnique = singleKeyIndex.isUnique();
+  }
+
   public boolean isUnique() {
     return isUnique;
   }
@@ -110,7 +147,7 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
   public Table makeTable(Aggregator[] columns) {
     Context context = Context.getCurrent();
     final int length = columns.length;
-    final int size = locs.size();
+    final int size = size();
 
     boolean emptyScenario = size == 0 && keyColumns.length == 0;
     Builder[] storage =
@@ -126,9 +163,29 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
         context.safepoint();
       }
     } else {
-      for (List<Integer> group_locs : this.locs.values()) {
+      GroupedAccumulator[] accumulators = new GroupedAccumulator[length];
+      List<GroupedAccumulator> activeAccumulators = new ArrayList<>();
+      for (int i = 0; i < length; i++) {
+        accumulators[i] = columns[i].makeGroupedAccumulator(size);
+        if (accumulators[i] != null) {
+          activeAccumulators.add(accumulators[i]);
+        }
+      }
+
+      if (!activeAccumulators.isEmpty()) {
+        GroupedAccumulator.accumulateAll(activeAccumulators, computeGroupOfRow(), size);
+      }
+
+      Iterator<List<Integer>> remainingGroups =
+          singleKeyIndex == null ? this.locs.values().iterator() : null;
+      for (int group = 0; group < size; group++) {
+        List<Integer> groupRows =
+            singleKeyIndex != null ? singleKeyIndex.groupRows(group) : remainingGroups.next();
         for (int i = 0; i < length; i++) {
-          Object value = columns[i].aggregate(group_locs, problemAggregator);
+          Object value =
+              accumulators[i] != null
+                  ? accumulators[i].result(group, problemAggregator)
+                  : columns[i].aggregate(groupRows, problemAggregator);
           storage[i].appendNoGrow(value);
           context.safepoint();
         }
@@ -141,24 +198,77 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
             .toArray(Column[]::new));
   }
 
+  /**
+   * Maps every row to the index of its group.
+   *
+   * <p>The groups are numbered in the same order in which {@link #makeTable} outputs them, from
+   * {@code 0} to {@link #size()} (exclusive).
+   */
+  public int[] computeGroupOfRow() {
+    if (singleKeyIndex != null) {
+      int[] groupOfRow = new int[keyColumns[0].getSize()];
+      for (int row = 0; row < groupOfRow.length; row++) {
+        groupOfRow[row] = singleKeyIndex.groupOfRow(row);
+      }
+      return groupOfRow;
+    }
+
+    int rowCount = 0;
+    for (List<Integer> rows : this.locs.values()) {
+      rowCount += rows.size();
+    }
+
+    Context context = Context.getCurrent();
+    int[] groupOfRow = new int[rowCount];
+    int group = 0;
+    for (List<Integer> rows : this.locs.values()) {
+      for (int row : rows) {
+        groupOfRow[row] = group;
+      }
+      group++;
+      context.safepoint();
+    }
+    return groupOfRow;
+  }
+
   public Set<KeyType> keys() {
-    return locs.keySet();
+    return mapping().keySet();
   }
 
   public boolean contains(KeyType key) {
-    return this.locs.containsKey(key);
+    return mapping().containsKey(key);
   }
 
   public List<Integer> get(KeyType key) {
-    return this.locs.get(key);
+    return mapping().get(key);
   }
 
   public Map<KeyType, List<Integer>> mapping() {
+    if (locs == null) {
+      locs = materializeSingleKeyMapping();
+    }
     return locs;
   }
 
+  /**
+   * Builds the map of keys from the primitive groups.
+   *
+   * <p>The groups are inserted in the order of their first appearance - the same order in which the
+   * keys would have been inserted by the generic algorithm, so the map iterates in the same order.
+   */
+  private Map<KeyType, List<Integer>> materializeSingleKeyMapping() {
+    Context context = Context.getCurrent();
+    Map<KeyType, List<Integer>> mapping = new HashMap<>();
+    for (int group = 0; group < singleKeyIndex.groupCount(); group++) {
+      mapping.put(
+          keyFactory.apply(singleKeyIndex.firstRow(group)), singleKeyIndex.groupRows(group));
+      context.safepoint();
+    }
+    return mapping;
+  }
+
   public int size() {
-    return this.locs.size();
+    return singleKeyIndex != null ? singleKeyIndex.groupCount() : this.locs.size();
   }
 
   /**
@@ -166,6 +276,11 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
    * found.
    */
   public KeyType findAnyNullKey() {
+    if (singleKeyIndex != null) {
+      int nullGroup = singleKeyIndex.nullGroup();
+      return nullGroup == -1 ? null : keyFactory.apply(singleKeyIndex.firstRow(nullGroup));
+    }
+
     for (Column c : keyColumns) {
       boolean containsNulls = CountNothing.anyNothing(c.getStorage());
       if (containsNulls) {
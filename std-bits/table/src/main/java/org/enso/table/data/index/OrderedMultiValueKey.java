@@ -3,6 +3,7 @@ package org.enso.table.data.index;
 import java.util.Comparator;
 import org.enso.base.ObjectComparator;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
 
 /**
  * A multi-value key for ordered operations like sorting.
@@ -56,7 +57,7 @@ public class OrderedMultiValueKey extends MultiValueKeyBase
     }
 
     for (int i = 0; i < storages.length; i++) {
-      int comparison = objectComparator.compare(get(i), that.get(i));
+      int comparison = compareColumn(i, that);
       if (comparison != 0) {
         return comparison * directions[i];
       }
@@ -65,6 +66,28 @@ public class OrderedMultiValueKey extends MultiValueKeyBase
     return 0;
   }
 
+  /**
+   * Compares the values of this and another key in one column.
+   *
+   * <p>If both keys come from the same dictionary-encoded text column, the ranks of their values in
+   * the dictionary are compared instead of the strings themselves.
+   */
+  private int compareColumn(int ix, OrderedMultiValueKey that) {
+    if (storages[ix] == that.storages[ix]
+        && storages[ix] instanceof StringStorage strings
+        && strings.isDictionaryEncoded()
+        && objectComparator == that.objectComparator) {
+      int[] codes = strings.getCodes();
+      int thisCode = codes[rowIndex];
+      int thatCode = codes[that.rowIndex];
+      if (thisCode != StringStorage.NOTHING_CODE && thatCode != StringStorage.NOTHING_CODE) {
+        int[] ranks = strings.getDictionaryRanks(objectComparator);
+        return Integer.compare(ranks[thisCode], ranks[thatCode]);
+      }
+    }
+    return objectComparator.compare(get(ix), that.get(ix));
+  }
+
   @Override
   public int hashCode() {
     throw new IllegalStateException(
@@ -91,7 +114,7 @@ public class OrderedMultiValueKey extends MultiValueKeyBase
         throw new ClassCastException("Incomparable keys.");
       }
 
-      return o1.objectComparator.compare(o1.get(ix), o2.get(ix));
+      return o1.compareColumn(ix, o2);
     }
   }
 }
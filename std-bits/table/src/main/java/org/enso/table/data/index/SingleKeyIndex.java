@@ -0,0 +1,415 @@
+package org.enso.table.data.index;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.problems.FloatingPointGrouping;
+import org.enso.table.problems.ColumnAggregatedProblemAggregator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * An index grouping rows by a single integer, float or text column.
+ *
+ * <p>Unlike {@link MultiValueIndex}, it does not allocate a key object per row nor a boxed list per
+ * group. The keys are kept in open-addressing tables of primitives (or folded strings) and the rows
+ * of all groups are stored in a single {@code int[]}, each group being a contiguous run of
+ * ascending row indices.
+ *
+ * <p>Groups are numbered in the order of their first appearance. The equality of keys is the same
+ * as for {@link UnorderedMultiValueKey} - floating point values that are whole numbers are equal to
+ * the corresponding integers, all NaNs are equal to each other and all missing values form a single
+ * group.
+ */
+public final class SingleKeyIndex {
+  private enum KeyKind {
+    NUMERIC,
+    TEXT
+  }
+
+  private final KeyKind kind;
+  private final TextFoldingStrategy textFoldingStrategy;
+  private final LongKeyTable integerKeys;
+  private final LongKeyTable fractionalKeys;
+  private final TextKeyTable textKeys;
+  private final int nullGroup;
+  private final int groupCount;
+  private final int[] groupOfRow;
+  private final int[] groupStarts;
+  private final int[] groupedRows;
+
+  /** Checks if the index can be built over the given storage. */
+  public static boolean isSupported(Storage<?> storage) {
+    return kindOf(storage) != null;
+  }
+
+  /** Checks if the index can be built over the given set of key columns. */
+  public static boolean isSupported(Column[] keyColumns) {
+    return keyColumns.length == 1 && isSupported(keyColumns[0].getStorage());
+  }
+
+  /** Checks if keys from one of the storages can be looked up in an index over the other one. */
+  public static boolean areCompatible(Storage<?> storage, Storage<?> other) {
+    KeyKind kind = kindOf(storage);
+    return kind != null && kind == kindOf(other);
+  }
+
+  private static KeyKind kindOf(Storage<?> storage) {
+    if (storage instanceof AbstractLongStorage || storage instanceof DoubleStorage) {
+      return KeyKind.NUMERIC;
+    } else if (storage instanceof StringStorage) {
+      return KeyKind.TEXT;
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Builds the index over the given column.
+   *
+   * <p>If the column contains floating point values, a {@link FloatingPointGrouping} problem is
+   * reported.
+   */
+  public static SingleKeyIndex build(
+      Column keyColumn,
+      TextFoldingStrategy textFoldingStrategy,
+      ColumnAggregatedProblemAggregator problemAggregator) {
+    Storage<?> storage = keyColumn.getStorage();
+    KeyKind kind = kindOf(storage);
+    if (kind == null) {
+      throw new IllegalArgumentException(
+          "SingleKeyIndex does not support storage " + storage.getClass().getName() + ".");
+    }
+
+    int size = storage.size();
+    int[] groupOfRow = new int[size];
+    int[] groupSizes = new int[16];
+    int groupCount = 0;
+    int nullGroup = -1;
+    LongKeyTable integerKeys = new LongKeyTable();
+    LongKeyTable fractionalKeys = new LongKeyTable();
+    TextKeyTable textKeys = new TextKeyTable();
+    boolean reportedFloats = false;
+
+    Context context = Context.getCurrent();
+    for (int row = 0; row < size; row++) {
+      int group;
+      if (storage.isNothing(row)) {
+        if (nullGroup == -1) {
+          nullGroup = groupCount;
+        }
+        group = nullGroup;
+      } else {
+        switch (storage) {
+          case AbstractLongStorage longStorage -> group =
+              integerKeys.getOrAdd(longStorage.getItem(row), groupCount);
+          case DoubleStorage doubleStorage -> {
+            double value = doubleStorage.getItemAsDouble(row);
+            group =
+                isWhole(value)
+                    ? integerKeys.getOrAdd((long) value, groupCount)
+                    : fractionalKeys.getOrAdd(Double.doubleToLongBits(value), groupCount);
+            if (!reportedFloats) {
+              // The problem does not keep track of further rows, so it is enough to report it once.
+              problemAggregator.reportColumnAggregatedProblem(
+                  new FloatingPointGrouping(keyColumn.getName(), row));
+              reportedFloats = true;
+            }
+          }
+          case StringStorage stringStorage -> group =
+              textKeys.getOrAdd(fold(stringStorage, row, textFoldingStrategy), groupCount);
+          default -> throw new IllegalStateException("Unexpected storage: " + storage);
+        }
+      }
+
+      if (group == groupCount) {
+        groupCount++;
+        if (groupCount > groupSizes.length) {
+          groupSizes = Arrays.copyOf(groupSizes, groupSizes.length * 2);
+        }
+      }
+      groupOfRow[row] = group;
+      groupSizes[group]++;
+      context.safepoint();
+    }
+
+    int[] groupStarts = new int[groupCount + 1];
+    for (int g = 0; g < groupCount; g++) {
+      groupStarts[g + 1] = groupStarts[g] + groupSizes[g];
+    }
+
+    int[] positions = Arrays.copyOf(groupStarts, groupCount);
+    int[] groupedRows = new int[size];
+    for (int row = 0; row < size; row++) {
+      groupedRows[positions[groupOfRow[row]]++] = row;
+    }
+
+    return new SingleKeyIndex(
+        kind,
+        textFoldingStrategy,
+        integerKeys,
+        fractionalKeys,
+        textKeys,
+        nullGroup,
+        groupCount,
+        groupOfRow,
+        groupStarts,
+        groupedRows);
+  }
+
+  private SingleKeyIndex(
+      KeyKind kind,
+      TextFoldingStrategy textFoldingStrategy,
+      LongKeyTable integerKeys,
+      LongKeyTable fractionalKeys,
+      TextKeyTable textKeys,
+      int nullGroup,
+      int groupCount,
+      int[] groupOfRow,
+      int[] groupStarts,
+      int[] groupedRows) {
+    this.kind = kind;
+    this.textFoldingStrategy = textFoldingStrategy;
+    this.integerKeys = integerKeys;
+    this.fractionalKeys = fractionalKeys;
+    this.textKeys = textKeys;
+    this.nullGroup = nullGroup;
+    this.groupCount = groupCount;
+    this.groupOfRow = groupOfRow;
+    this.groupStarts = groupStarts;
+    this.groupedRows = groupedRows;
+  }
+
+  private static boolean isWhole(double value) {
+    // Consistent with the folding done in `EnsoObjectWrapper.foldObject`.
+    return value % 1 == 0;
+  }
+
+  /** The number of distinct keys, including the missing key if present. */
+  public int groupCount() {
+    return groupCount;
+  }
+
+  /** Checks if every group consists of a single row. */
+  public boolean isUnique() {
+    return groupCount == groupedRows.length;
+  }
+
+  /** Returns the group of rows with a missing key, or -1 if there are no such rows. */
+  public int nullGroup() {
+    return nullGroup;
+  }
+
+  /** Returns the group that the given row belongs to. */
+  public int groupOfRow(int row) {
+    return groupOfRow[row];
+  }
+
+  public int groupSize(int group) {
+    return groupStarts[group + 1] - groupStarts[group];
+  }
+
+  /** Returns the {@code i}-th row (in ascending order) of the given group. */
+  public int groupRow(int group, int i) {
+    return groupedRows[groupStarts[group] + i];
+  }
+
+  public int firstRow(int group) {
+    return groupedRows[groupStarts[group]];
+  }
+
+  /** Returns a read-only view of the rows of the given group. */
+  public List<Integer> groupRows(int group) {
+    final int start = groupStarts[group];
+    final int size = groupSize(group);
+    return new AbstractList<>() {
+      @Override
+      public Integer get(int index) {
+        if (index < 0 || index >= size) {
+          throw new IndexOutOfBoundsException(index);
+        }
+        return groupedRows[start + index];
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Finds the group whose key is equal to the value in the given row of another storage.
+   *
+   * <p>Returns -1 if there is no such group or if the value is missing, as missing values are not
+   * considered equal for lookups. The storage must be compatible with this index, as checked by
+   * {@link #areCompatible}.
+   */
+  public int lookup(Storage<?> storage, int row) {
+    if (storage.isNothing(row)) {
+      return -1;
+    }
+
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> kind == KeyKind.NUMERIC
+          ? integerKeys.get(longStorage.getItem(row))
+          : -1;
+      case DoubleStorage doubleStorage -> {
+        if (kind != KeyKind.NUMERIC) {
+          yield -1;
+        }
+        double value = doubleStorage.getItemAsDouble(row);
+        yield isWhole(value)
+            ? integerKeys.get((long) value)
+            : fractionalKeys.get(Double.doubleToLongBits(value));
+      }
+      case StringStorage stringStorage -> kind == KeyKind.TEXT
+          ? textKeys.get(fold(stringStorage, row, textFoldingStrategy))
+          : -1;
+      default -> throw new IllegalArgumentException(
+          "Unsupported storage for lookup: " + storage.getClass().getName() + ".");
+    };
+  }
+
+  /**
+   * Folds the text of a row. For dictionary-encoded storages, the folded values of the dictionary
+   * are reused instead of folding each row.
+   */
+  private static String fold(StringStorage storage, int row, TextFoldingStrategy strategy) {
+    return storage.isDictionaryEncoded()
+        ? storage.getFoldedItem(row, strategy)
+        : strategy.fold(storage.getItem(row));
+  }
+
+  /** Spreads the bits of the key, so that consecutive values do not end up in adjacent slots. */
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /** An open-addressing table mapping {@code long} keys to group numbers. */
+  private static final class LongKeyTable {
+    private long[] keys = new long[16];
+    // Stores the group number plus one, so that 0 marks an empty slot.
+    private int[] groups = new int[16];
+    private int size = 0;
+
+    int get(long key) {
+      int mask = keys.length - 1;
+      int slot = mix(key) & mask;
+      while (groups[slot] != 0) {
+        if (keys[slot] == key) {
+          return groups[slot] - 1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    /** Returns the group of the key, inserting it with the {@code newGroup} if it was absent. */
+    int getOrAdd(long key, int newGroup) {
+      int mask = keys.length - 1;
+      int slot = mix(key) & mask;
+      while (groups[slot] != 0) {
+        if (keys[slot] == key) {
+          return groups[slot] - 1;
+        }
+        slot = (slot + 1) & mask;
+      }
+
+      keys[slot] = key;
+      groups[slot] = newGroup + 1;
+      size++;
+      if (2 * size > keys.length) {
+        grow();
+      }
+      return newGroup;
+    }
+
+    private void grow() {
+      long[] oldKeys = keys;
+      int[] oldGroups = groups;
+      keys = new long[oldKeys.length * 2];
+      groups = new int[oldGroups.length * 2];
+      int mask = keys.length - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldGroups[i] != 0) {
+          int slot = mix(oldKeys[i]) & mask;
+          while (groups[slot] != 0) {
+            slot = (slot + 1) & mask;
+          }
+          keys[slot] = oldKeys[i];
+          groups[slot] = oldGroups[i];
+        }
+      }
+    }
+  }
+
+  /** An open-addressing table mapping folded text keys to group numbers. */
+  private static final class TextKeyTable {
+    private String[] keys = new String[16];
+    private int[] hashes = new int[16];
+    private int[] groups = new int[16];
+    private int size = 0;
+
+    int get(String key) {
+      int hash = key.hashCode();
+      int mask = keys.length - 1;
+      int slot = mix(hash) & mask;
+      while (groups[slot] != 0) {
+        if (hashes[slot] == hash && keys[slot].equals(key)) {
+          return groups[slot] - 1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    int getOrAdd(String key, int newGroup) {
+      int hash = key.hashCode();
+      int mask = keys.length - 1;
+      int slot = mix(hash) & mask;
+      while (groups[slot] != 0) {
+        if (hashes[slot] == hash && keys[slot].equals(key)) {
+          return groups[slot] - 1;
+        }
+        slot = (slot + 1) & mask;
+      }
+
+      keys[slot] = key;
+      hashes[slot] = hash;
+      groups[slot] = newGroup + 1;
+      size++;
+      if (2 * size > keys.length) {
+        grow();
+      }
+      return newGroup;
+    }
+
+    private void grow() {
+      String[] oldKeys = keys;
+      int[] oldHashes = hashes;
+      int[] oldGroups = groups;
+      keys = new String[oldKeys.length * 2];
+      hashes = new int[oldHashes.length * 2];
+      groups = new int[oldGroups.length * 2];
+      int mask = keys.length - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldGroups[i] != 0) {
+          int slot = mix(oldHashes[i]) & mask;
+          while (groups[slot] != 0) {
+            slot = (slot + 1) & mask;
+          }
+          keys[slot] = oldKeys[i];
+          hashes[slot] = oldHashes[i];
+          groups[slot] = oldGroups[i];
+        }
+      }
+    }
+  }
+}
@@ -9,6 +9,7 @@ import org.enso.base.polyglot.EnsoObjectWrapper;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
 
 /**
  * A multi-value key for unordered operations like group-by or distinct.
@@ -44,8 +45,7 @@ public class UnorderedMultiValueKey extends MultiValueKeyBase {
         hasAnyNulls = true;
       } else {
         hasFloatValues = hasFloatValues || NumericConverter.isFloatLike(value);
-        Object folded = EnsoObjectWrapper.foldObject(value, textFoldingStrategy.get(i));
-        h += folded.hashCode();
+        h += getObjectFolded(i).hashCode();
       }
     }
 
@@ -54,6 +54,9 @@ public class UnorderedMultiValueKey extends MultiValueKeyBase {
   }
 
   protected Object getObjectFolded(int index) {
+    if (storages[index] instanceof StringStorage strings && strings.isDictionaryEncoded()) {
+      return strings.getFoldedItem(rowIndex, textFoldingStrategy.get(index));
+    }
     return EnsoObjectWrapper.foldObject(this.get(index), textFoldingStrategy.get(index));
   }
 
@@ -6,6 +6,7 @@ import org.enso.base.polyglot.Polyglot_Utils;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.builder.InferredBuilder;
 import org.enso.table.data.column.builder.MixedBuilder;
+import org.enso.table.data.column.operation.map.lazy.LazyColumnExpression;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.type.StorageType;
 import org.enso.table.data.mask.OrderMask;
@@ -15,10 +16,17 @@ import org.enso.table.problems.ProblemAggregator;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 
-/** A representation of a column. Consists of a column name and the underlying storage. */
+/**
+ * A representation of a column. Consists of a column name and the underlying storage.
+ *
+ * <p>The storage of a column created by {@link #deferred(String, LazyColumnExpression)} is only
+ * computed when it is first needed, so that further operations on the column can be fused with the
+ * ones deferred in it.
+ */
 public class Column {
   private final String name;
   private final Storage<?> storage;
+  private final DeferredStorage deferred;
 
   /**
    * Creates a new column.
@@ -30,6 +38,27 @@ public class Column {
     ensureNameIsValid(name);
     this.name = name;
     this.storage = storage;
+    this.deferred = null;
+  }
+
+  private Column(String name, DeferredStorage deferred) {
+    ensureNameIsValid(name);
+    this.name = name;
+    this.storage = null;
+    this.deferred = deferred;
+  }
+
+  /**
+   * Creates a column whose storage is computed from the expression when it is first needed.
+   *
+   * <p>Any problems of the expression must have been reported already, as computing the storage
+   * does not report them again.
+   *
+   * @param name the column name
+   * @param expression the expression computing the values of the column
+   */
+  public static Column deferred(String name, LazyColumnExpression expression) {
+    return new Column(name, new DeferredStorage(expression));
   }
 
   public static boolean isColumnNameValid(String name) {
@@ -71,14 +100,31 @@ public class Column {
    * @return the underlying storage
    */
   public Storage<?> getStorage() {
-    return storage;
+    return deferred == null ? storage : deferred.get();
+  }
+
+  /**
+   * @return the expression whose computation has been deferred, or {@code null} if the storage of
+   *     this column has already been computed
+   */
+  public LazyColumnExpression getDeferredExpression() {
+    return deferred == null ? null : deferred.getPendingExpression();
+  }
+
+  /**
+   * @return the type of the underlying storage, without computing a deferred storage
+   */
+  public StorageType getStorageType() {
+    LazyColumnExpression pending = getDeferredExpression();
+    return pending == null ? getStorage().getType() : pending.getResultType();
   }
 
   /**
    * @return the number of items in this column.
    */
   public int getSize() {
-    return getStorage().size();
+    LazyColumnExpression pending = getDeferredExpression();
+    return pending == null ? getStorage().size() : pending.getSize();
   }
 
   /**
@@ -89,7 +135,7 @@ public class Column {
    * @return a new column, masked with the given mask
    */
   public Column applyFilter(BitSet filterMask, int newLength) {
-    return new Column(name, storage.applyFilter(filterMask, newLength));
+    return new Column(name, getStorage().applyFilter(filterMask, newLength));
   }
 
   /**
@@ -99,7 +145,7 @@ public class Column {
    * @return a new column with the given name
    */
   public Column rename(String name) {
-    return new Column(name, storage);
+    return deferred == null ? new Column(name, storage) : new Column(name, deferred);
   }
 
   /** Creates a column from an Enso array, ensuring Enso dates are converted to Java dates. */
@@ -193,7 +239,7 @@ public class Column {
    * @return a new column, resulting from reordering this column according to {@code mask}.
    */
   public Column applyMask(OrderMask mask) {
-    Storage<?> newStorage = storage.applyMask(mask);
+    Storage<?> newStorage = getStorage().applyMask(mask);
     return new Column(name, newStorage);
   }
 
@@ -201,21 +247,21 @@ public class Column {
    * @return a copy of the Column containing a slice of the original data
    */
   public Column slice(int offset, int limit) {
-    return new Column(name, storage.slice(offset, limit));
+    return new Column(name, getStorage().slice(offset, limit));
   }
 
   /**
    * @return a copy of the Column consisting of slices of the original data
    */
   public Column slice(List<SliceRange> ranges) {
-    return new Column(name, storage.slice(ranges));
+    return new Column(name, getStorage().slice(ranges));
   }
 
   /**
    * @return a column counting value repetitions in this column.
    */
   public Column duplicateCount() {
-    return new Column(name + "_duplicate_count", storage.duplicateCount());
+    return new Column(name + "_duplicate_count", getStorage().duplicateCount());
   }
 
   /**
@@ -231,7 +277,31 @@ public class Column {
       return slice(0, newSize);
     } else {
       int nullsToAdd = newSize - getSize();
-      return new Column(name, storage.appendNulls(nullsToAdd));
+      return new Column(name, getStorage().appendNulls(nullsToAdd));
+    }
+  }
+
+  /** The storage of a deferred column, shared with its renamed copies. */
+  private static final class DeferredStorage {
+    private LazyColumnExpression expression;
+    private Storage<?> storage;
+
+    DeferredStorage(LazyColumnExpression expression) {
+      this.expression = expression;
+    }
+
+    synchronized Storage<?> get() {
+      if (storage == null) {
+        storage = expression.materializeDeferred();
+        // The expression references the storages it was built from, which may not be needed
+        // anymore.
+        expression = null;
+      }
+      return storage;
+    }
+
+    synchronized LazyColumnExpression getPendingExpression() {
+      return expression;
     }
   }
 }
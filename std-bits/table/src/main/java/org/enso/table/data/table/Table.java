@@ -31,6 +31,7 @@ import org.enso.table.data.table.join.JoinStrategy;
 import org.enso.table.data.table.join.conditions.JoinCondition;
 import org.enso.table.error.UnexpectedColumnTypeException;
 import org.enso.table.operations.Distinct;
+import org.enso.table.operations.MultiColumnSorter;
 import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.util.NameDeduplicator;
 import org.graalvm.polyglot.Context;
@@ -205,6 +206,17 @@ public class Table {
     Context context = Context.getCurrent();
     final Storage<?>[] storages =
         Arrays.stream(columns).map(Column::getStorage).toArray(Storage[]::new);
+    if (MultiColumnSorter.isSupported(storages, objectComparator)) {
+      // Missing values are the smallest, so they come last only in descending order.
+      boolean[] missingLast = new boolean[directionInts.length];
+      for (int i = 0; i < directionInts.length; i++) {
+        missingLast[i] = directionInts[i] < 0;
+      }
+      OrderMask mask =
+          MultiColumnSorter.buildOrderMask(storages, directionInts, missingLast, objectComparator);
+      return this.applyMask(mask);
+    }
+
     OrderedMultiValueKey[] keys = new OrderedMultiValueKey[n];
     for (int i = 0; i < n; i++) {
       keys[i] = new OrderedMultiValueKey(storages, i, directionInts, objectComparator);
@@ -53,6 +53,19 @@ public class JoinResult {
       rightIndices.add(rightIndex);
     }
 
+    /**
+     * Appends all row pairs added to another builder, after the ones added to this one.
+     *
+     * <p>The other builder is invalidated, in the same way as by {@link #buildAndInvalidate()}.
+     */
+    public void appendAndInvalidate(Builder other) {
+      int length = other.leftIndices.getLength();
+      leftIndices.addAll(other.leftIndices.unsafeGetResultAndInvalidate(), length);
+      rightIndices.addAll(other.rightIndices.unsafeGetResultAndInvalidate(), length);
+      other.leftIndices = null;
+      other.rightIndices = null;
+    }
+
     /**
      * Returns the result of the builder.
      *
@@ -0,0 +1,186 @@
+package org.enso.table.data.table.join.between;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.enso.base.ObjectComparator;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.DateTimeStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.table.join.conditions.Between;
+import org.enso.table.operations.MultiColumnSorter;
+import org.graalvm.polyglot.Context;
+
+/**
+ * The values of the columns of a {@link Between} condition, encoded as {@code long} keys that
+ * compare as signed integers in the same way as the original values compare with {@link
+ * ObjectComparator#DEFAULT}.
+ *
+ * <p>Such keys exist if all three columns hold integers, floating point values, booleans, dates,
+ * times of day or date-times. Integers and floating point values may be mixed, unless some values
+ * would compare differently once converted to floating point. Date-times are only supported if they
+ * all have the same time zone, as otherwise equal instants are ordered by their zone.
+ */
+final class BetweenKeys {
+  /** The largest magnitude of an integer that is exactly representable as a {@code double}. */
+  private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  final long[] left;
+  final boolean[] leftMissing;
+  final long[] lower;
+  final long[] upper;
+  final boolean[] boundsMissing;
+
+  private BetweenKeys(
+      long[] left, boolean[] leftMissing, long[] lower, long[] upper, boolean[] boundsMissing) {
+    this.left = left;
+    this.leftMissing = leftMissing;
+    this.lower = lower;
+    this.upper = upper;
+    this.boundsMissing = boundsMissing;
+  }
+
+  /**
+   * Extracts the keys of the condition, or returns {@code null} if its values cannot be encoded as
+   * keys.
+   */
+  static BetweenKeys tryExtract(Between condition) {
+    Storage<?> left = condition.left().getStorage();
+    Storage<?> lower = condition.rightLower().getStorage();
+    Storage<?> upper = condition.rightUpper().getStorage();
+    KeyExtractor extractor = chooseExtractor(new Storage<?>[] {left, lower, upper});
+    if (extractor == null) {
+      return null;
+    }
+
+    try {
+      boolean[] leftMissing = new boolean[left.size()];
+      long[] leftKeys = extractKeys(left, extractor, leftMissing);
+      boolean[] boundsMissing = new boolean[lower.size()];
+      long[] lowerKeys = extractKeys(lower, extractor, boundsMissing);
+      long[] upperKeys = extractKeys(upper, extractor, boundsMissing);
+      return new BetweenKeys(leftKeys, leftMissing, lowerKeys, upperKeys, boundsMissing);
+    } catch (UnsupportedValueException e) {
+      return null;
+    }
+  }
+
+  private static long[] extractKeys(Storage<?> storage, KeyExtractor extractor, boolean[] missing) {
+    Context context = Context.getCurrent();
+    int size = storage.size();
+    long[] keys = new long[size];
+    for (int row = 0; row < size; row++) {
+      if (storage.isNothing(row)) {
+        missing[row] = true;
+      } else {
+        keys[row] = extractor.key(storage, row);
+      }
+      context.safepoint();
+    }
+    return keys;
+  }
+
+  /** Computes the key of a value that is not missing. */
+  private interface KeyExtractor {
+    /**
+     * @throws UnsupportedValueException if the value cannot be encoded consistently with the other
+     *     values of the condition
+     */
+    long key(Storage<?> storage, int row);
+  }
+
+  private static final class UnsupportedValueException extends RuntimeException {
+    UnsupportedValueException() {
+      super(null, null, false, false);
+    }
+  }
+
+  private static KeyExtractor chooseExtractor(Storage<?>[] storages) {
+    if (allInstancesOf(storages, AbstractLongStorage.class)) {
+      return (storage, row) -> ((AbstractLongStorage) storage).getItem(row);
+    } else if (allInstancesOf(storages, DoubleStorage.class)) {
+      return (storage, row) ->
+          MultiColumnSorter.sortableBits(((DoubleStorage) storage).getItemAsDouble(row));
+    } else if (allNumeric(storages)) {
+      return BetweenKeys::mixedNumericKey;
+    } else if (allInstancesOf(storages, BoolStorage.class)) {
+      return (storage, row) -> ((BoolStorage) storage).getItem(row) ? 1 : 0;
+    } else if (allInstancesOf(storages, DateStorage.class)) {
+      return (storage, row) -> ((DateStorage) storage).getItem(row).toEpochDay();
+    } else if (allInstancesOf(storages, TimeOfDayStorage.class)) {
+      return (storage, row) -> ((TimeOfDayStorage) storage).getItem(row).toNanoOfDay();
+    } else if (allInstancesOf(storages, DateTimeStorage.class)) {
+      return new DateTimeKeyExtractor();
+    } else {
+      return null;
+    }
+  }
+
+  private static boolean allInstancesOf(Storage<?>[] storages, Class<?> storageClass) {
+    for (Storage<?> storage : storages) {
+      if (!storageClass.isInstance(storage)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean allNumeric(Storage<?>[] storages) {
+    for (Storage<?> storage : storages) {
+      if (!(storage instanceof AbstractLongStorage) && !(storage instanceof DoubleStorage)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * An integer is compared with a floating point value by converting it to floating point, while
+   * two floating point values are compared with {@link Double#compare}. Both agree with comparing
+   * the converted values numerically as long as there are no NaNs or negative zeros, and the
+   * integers are exactly representable, so that two integers also compare in the same way.
+   */
+  private static long mixedNumericKey(Storage<?> storage, int row) {
+    double value;
+    if (storage instanceof AbstractLongStorage longStorage) {
+      long item = longStorage.getItem(row);
+      if (item > MAX_EXACT_DOUBLE_INTEGER || item < -MAX_EXACT_DOUBLE_INTEGER) {
+        throw new UnsupportedValueException();
+      }
+      value = (double) item;
+    } else {
+      value = ((DoubleStorage) storage).getItemAsDouble(row);
+      if (Double.isNaN(value) || Double.doubleToRawLongBits(value) == Long.MIN_VALUE) {
+        throw new UnsupportedValueException();
+      }
+    }
+    return MultiColumnSorter.sortableBits(value);
+  }
+
+  /** Encodes date-times as nanoseconds since the epoch, as long as they share the same zone. */
+  private static final class DateTimeKeyExtractor implements KeyExtractor {
+    private ZoneId zone;
+
+    @Override
+    public long key(Storage<?> storage, int row) {
+      ZonedDateTime dateTime = ((DateTimeStorage) storage).getItem(row);
+      if (zone == null) {
+        zone = dateTime.getZone();
+      } else if (!zone.equals(dateTime.getZone())) {
+        throw new UnsupportedValueException();
+      }
+
+      try {
+        return Math.addExact(
+            Math.multiplyExact(dateTime.toEpochSecond(), NANOS_PER_SECOND), dateTime.getNano());
+      } catch (ArithmeticException e) {
+        throw new UnsupportedValueException();
+      }
+    }
+  }
+}
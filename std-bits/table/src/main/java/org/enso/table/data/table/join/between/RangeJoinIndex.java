@@ -0,0 +1,283 @@
+package org.enso.table.data.table.join.between;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import org.enso.table.data.table.join.JoinResult;
+import org.graalvm.polyglot.Context;
+
+/**
+ * An index of the left rows of a join on {@link BetweenKeys}.
+ *
+ * <p>The rows are sorted by their key of the first condition, so the rows satisfying it for a given
+ * right row form a contiguous range of positions, found by binary search. The keys of the other
+ * conditions are laid out in the same order, together with their minimum and maximum over blocks of
+ * consecutive positions. While scanning a range, blocks in which no row can satisfy some condition
+ * are skipped, and blocks whose rows all satisfy every condition are added without checking each
+ * row.
+ *
+ * <p>Once built, the index only reads primitive arrays, so it can be probed from multiple threads.
+ */
+final class RangeJoinIndex {
+  /** The number of consecutive positions summarized by their minimum and maximum keys. */
+  private static final int BLOCK_SIZE = 64;
+
+  // The results of blockCoverage.
+  private static final int NONE = 0;
+  private static final int SOME = 1;
+  private static final int ALL = 2;
+
+  private final BetweenKeys[] conditions;
+  private final int[] rows;
+  private final long[] firstKeys;
+
+  /** The keys of the conditions after the first one, indexed by position. */
+  private final long[][] otherKeys;
+
+  private final long[][] blockMinimums;
+  private final long[][] blockMaximums;
+
+  private RangeJoinIndex(
+      BetweenKeys[] conditions,
+      int[] rows,
+      long[] firstKeys,
+      long[][] otherKeys,
+      long[][] blockMinimums,
+      long[][] blockMaximums) {
+    this.conditions = conditions;
+    this.rows = rows;
+    this.firstKeys = firstKeys;
+    this.otherKeys = otherKeys;
+    this.blockMinimums = blockMinimums;
+    this.blockMaximums = blockMaximums;
+  }
+
+  /**
+   * Builds an index of the given left rows.
+   *
+   * <p>Rows with a missing key cannot match anything, so they are not included. Rows with equal
+   * keys of the first condition keep their relative order.
+   */
+  static RangeJoinIndex build(BetweenKeys[] conditions, int[] leftRows) {
+    Context context = Context.getCurrent();
+    int[] candidates = new int[leftRows.length];
+    int count = 0;
+    for (int row : leftRows) {
+      if (!hasMissingKey(conditions, row)) {
+        candidates[count++] = row;
+      }
+      context.safepoint();
+    }
+
+    int[] rows = sortByFirstKey(conditions[0].left, candidates, count);
+    long[] firstKeys = new long[count];
+    for (int position = 0; position < count; position++) {
+      firstKeys[position] = conditions[0].left[rows[position]];
+    }
+
+    int blockCount = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    long[][] otherKeys = new long[conditions.length - 1][];
+    long[][] blockMinimums = new long[conditions.length - 1][];
+    long[][] blockMaximums = new long[conditions.length - 1][];
+    for (int i = 1; i < conditions.length; i++) {
+      long[] source = conditions[i].left;
+      long[] keys = new long[count];
+      long[] minimums = new long[blockCount];
+      long[] maximums = new long[blockCount];
+      for (int block = 0; block < blockCount; block++) {
+        long minimum = Long.MAX_VALUE;
+        long maximum = Long.MIN_VALUE;
+        int blockEnd = Math.min(count, (block + 1) * BLOCK_SIZE);
+        for (int position = block * BLOCK_SIZE; position < blockEnd; position++) {
+          long key = source[rows[position]];
+          keys[position] = key;
+          minimum = Math.min(minimum, key);
+          maximum = Math.max(maximum, key);
+        }
+        minimums[block] = minimum;
+        maximums[block] = maximum;
+        context.safepoint();
+      }
+      otherKeys[i - 1] = keys;
+      blockMinimums[i - 1] = minimums;
+      blockMaximums[i - 1] = maximums;
+    }
+
+    return new RangeJoinIndex(conditions, rows, firstKeys, otherKeys, blockMinimums, blockMaximums);
+  }
+
+  private static boolean hasMissingKey(BetweenKeys[] conditions, int leftRow) {
+    for (BetweenKeys condition : conditions) {
+      if (condition.leftMissing[leftRow]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sorts the first {@code count} rows by their key, keeping the relative order of rows with equal
+   * keys.
+   *
+   * <p>The distinct keys are sorted and the rows are then placed by the rank of their key with a
+   * counting sort, which is stable.
+   */
+  private static int[] sortByFirstKey(long[] keys, int[] candidates, int count) {
+    Context context = Context.getCurrent();
+    long[] distinctKeys = new long[count];
+    for (int i = 0; i < count; i++) {
+      distinctKeys[i] = keys[candidates[i]];
+    }
+    Arrays.sort(distinctKeys);
+    int distinctCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinctCount == 0 || distinctKeys[distinctCount - 1] != distinctKeys[i]) {
+        distinctKeys[distinctCount++] = distinctKeys[i];
+      }
+    }
+
+    int[] ranks = new int[count];
+    int[] starts = new int[distinctCount + 1];
+    for (int i = 0; i < count; i++) {
+      int rank = Arrays.binarySearch(distinctKeys, 0, distinctCount, keys[candidates[i]]);
+      ranks[i] = rank;
+      starts[rank + 1]++;
+      context.safepoint();
+    }
+    for (int rank = 0; rank < distinctCount; rank++) {
+      starts[rank + 1] += starts[rank];
+    }
+
+    int[] sorted = new int[count];
+    for (int i = 0; i < count; i++) {
+      sorted[starts[ranks[i]]++] = candidates[i];
+    }
+    return sorted;
+  }
+
+  /**
+   * Finds the left rows matching the given right row, in the order of the index.
+   *
+   * @param rightRow the right row whose bounds are used
+   * @param resultBuilder the builder to which the matched pairs are added, or {@code null} if only
+   *     the matches are to be counted and marked
+   * @param matchedLeftRows a set in which the matched left rows are marked, or {@code null}
+   * @return the number of matched left rows
+   */
+  int addMatchingLeftRows(int rightRow, JoinResult.Builder resultBuilder, BitSet matchedLeftRows) {
+    for (BetweenKeys condition : conditions) {
+      if (condition.boundsMissing[rightRow]
+          || condition.lower[rightRow] > condition.upper[rightRow]) {
+        return 0;
+      }
+    }
+
+    int start = firstPositionNotBelow(conditions[0].lower[rightRow]);
+    int end = firstPositionAbove(conditions[0].upper[rightRow]);
+    if (otherKeys.length == 0) {
+      addRange(start, end, rightRow, resultBuilder, matchedLeftRows);
+      return Math.max(0, end - start);
+    }
+
+    int matchCount = 0;
+    int position = start;
+    while (position < end) {
+      int block = position / BLOCK_SIZE;
+      int blockStart = block * BLOCK_SIZE;
+      int blockLimit = Math.min(rows.length, blockStart + BLOCK_SIZE);
+      int scanEnd = Math.min(end, blockLimit);
+      if (position == blockStart && scanEnd == blockLimit) {
+        int coverage = blockCoverage(block, rightRow);
+        if (coverage == NONE) {
+          position = scanEnd;
+          continue;
+        } else if (coverage == ALL) {
+          addRange(position, scanEnd, rightRow, resultBuilder, matchedLeftRows);
+          matchCount += scanEnd - position;
+          position = scanEnd;
+          continue;
+        }
+      }
+
+      for (; position < scanEnd; position++) {
+        if (matchesOtherConditions(position, rightRow)) {
+          addRange(position, position + 1, rightRow, resultBuilder, matchedLeftRows);
+          matchCount++;
+        }
+      }
+    }
+    return matchCount;
+  }
+
+  /** Checks whether none, some or all rows of a block may satisfy the other conditions. */
+  private int blockCoverage(int block, int rightRow) {
+    int coverage = ALL;
+    for (int i = 0; i < otherKeys.length; i++) {
+      BetweenKeys condition = conditions[i + 1];
+      long lower = condition.lower[rightRow];
+      long upper = condition.upper[rightRow];
+      long minimum = blockMinimums[i][block];
+      long maximum = blockMaximums[i][block];
+      if (maximum < lower || minimum > upper) {
+        return NONE;
+      }
+      if (minimum < lower || maximum > upper) {
+        coverage = SOME;
+      }
+    }
+    return coverage;
+  }
+
+  private boolean matchesOtherConditions(int position, int rightRow) {
+    for (int i = 0; i < otherKeys.length; i++) {
+      BetweenKeys condition = conditions[i + 1];
+      long key = otherKeys[i][position];
+      if (key < condition.lower[rightRow] || key > condition.upper[rightRow]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void addRange(
+      int start, int end, int rightRow, JoinResult.Builder resultBuilder, BitSet matchedLeftRows) {
+    for (int position = start; position < end; position++) {
+      int leftRow = rows[position];
+      if (resultBuilder != null) {
+        resultBuilder.addMatchedRowsPair(leftRow, rightRow);
+      }
+      if (matchedLeftRows != null) {
+        matchedLeftRows.set(leftRow);
+      }
+    }
+  }
+
+  /** Returns the first position whose key is greater than or equal to the given one. */
+  private int firstPositionNotBelow(long key) {
+    int start = 0;
+    int end = firstKeys.length;
+    while (start < end) {
+      int mid = (start + end) >>> 1;
+      if (firstKeys[mid] < key) {
+        start = mid + 1;
+      } else {
+        end = mid;
+      }
+    }
+    return start;
+  }
+
+  /** Returns the first position whose key is greater than the given one. */
+  private int firstPositionAbove(long key) {
+    int start = 0;
+    int end = firstKeys.length;
+    while (start < end) {
+      int mid = (start + end) >>> 1;
+      if (firstKeys[mid] <= key) {
+        start = mid + 1;
+      } else {
+        end = mid;
+      }
+    }
+    return start;
+  }
+}
@@ -1,6 +1,7 @@
 package org.enso.table.data.table.join.between;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
@@ -12,8 +13,18 @@ import org.enso.table.data.table.join.JoinResult;
 import org.enso.table.data.table.join.JoinStrategy;
 import org.enso.table.data.table.join.conditions.Between;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.ParallelTasks;
 import org.graalvm.polyglot.Context;
 
+/**
+ * A strategy joining rows on {@link Between} conditions.
+ *
+ * <p>If the values of all conditions can be encoded as primitive {@link BetweenKeys}, the left rows
+ * are indexed in a {@link RangeJoinIndex} and the right rows are probed against it in parallel.
+ * Otherwise, the left rows are sorted as {@link OrderedMultiValueKey}s by the first condition, and
+ * the remaining conditions are checked using the {@link ObjectComparator}. Both ways produce the
+ * matches in the same order.
+ */
 public class SortJoin implements JoinStrategy {
 
   public SortJoin(List<Between> conditions, JoinKind joinKind) {
@@ -33,9 +44,11 @@ public class SortJoin implements JoinStrategy {
       upperStorages[i] = conditions.get(i).rightUpper().getStorage();
       context.safepoint();
     }
+    this.conditions = conditions;
   }
 
   private final JoinKind joinKind;
+  private final List<Between> conditions;
 
   private final int[] directions;
   private final Storage<?>[] leftStorages;
@@ -43,6 +56,11 @@ public class SortJoin implements JoinStrategy {
   private final Storage<?>[] upperStorages;
   private final BitSet matchedLeftRows = new BitSet();
 
+  /** The primitive keys of the conditions, extracted on first use. */
+  private BetweenKeys[] primitiveKeys;
+
+  private boolean primitiveKeysExtracted = false;
+
   @Override
   public JoinResult join(ProblemAggregator problemAggregator) {
     Context context = Context.getCurrent();
@@ -54,6 +72,17 @@ public class SortJoin implements JoinStrategy {
       // if one group is completely empty, there will be no matches to report
       return resultBuilder.buildAndInvalidate();
     }
+
+    BetweenKeys[] keys = getPrimitiveKeys();
+    if (keys != null) {
+      int[] leftRows = new int[leftRowCount];
+      Arrays.setAll(leftRows, i -> i);
+      RangeJoinIndex leftIndex = RangeJoinIndex.build(keys, leftRows);
+      addMatchesOfAllRightRows(leftIndex, rightRowCount, resultBuilder);
+      addUnmatchedLeftRows(leftRowCount, resultBuilder);
+      return resultBuilder.buildAndInvalidate();
+    }
+
     List<OrderedMultiValueKey> leftKeys = new ArrayList<>(leftRowCount);
     for (int i = 0; i < leftRowCount; i++) {
       leftKeys.add(new OrderedMultiValueKey(leftStorages, i, directions));
@@ -70,7 +99,13 @@ public class SortJoin implements JoinStrategy {
       context.safepoint();
     }
 
+    addUnmatchedLeftRows(leftRowCount, resultBuilder);
+    return resultBuilder.buildAndInvalidate();
+  }
+
+  private void addUnmatchedLeftRows(int leftRowCount, JoinResult.Builder resultBuilder) {
     if (joinKind.wantsLeftUnmatched) {
+      Context context = Context.getCurrent();
       for (int leftRowIx = 0; leftRowIx < leftRowCount; leftRowIx++) {
         if (!matchedLeftRows.get(leftRowIx)) {
           resultBuilder.addUnmatchedLeftRow(leftRowIx);
@@ -78,8 +113,76 @@ public class SortJoin implements JoinStrategy {
         context.safepoint();
       }
     }
+  }
+
+  /**
+   * Probes all right rows against the index.
+   *
+   * <p>For large tables, chunks of right rows are probed in parallel, each into its own builder.
+   * The builders are then appended in the order of the chunks, so the result is the same as if the
+   * rows were probed one by one.
+   */
+  private void addMatchesOfAllRightRows(
+      RangeJoinIndex leftIndex, int rightRowCount, JoinResult.Builder resultBuilder) {
+    int chunkCount = ParallelTasks.chunkCount(rightRowCount);
+    if (chunkCount <= 1) {
+      Context context = Context.getCurrent();
+      for (int rightRowIx = 0; rightRowIx < rightRowCount; rightRowIx++) {
+        addMatchesOfRightRow(leftIndex, rightRowIx, resultBuilder, matchedLeftRows);
+        context.safepoint();
+      }
+      return;
+    }
 
-    return resultBuilder.buildAndInvalidate();
+    JoinResult.Builder[] chunkBuilders = new JoinResult.Builder[chunkCount];
+    BitSet[] chunkMatchedLeftRows = new BitSet[chunkCount];
+    ParallelTasks.forEachChunk(
+        rightRowCount,
+        chunkCount,
+        (chunkIndex, start, end) -> {
+          JoinResult.Builder chunkBuilder = new JoinResult.Builder();
+          BitSet chunkMatched = new BitSet();
+          for (int rightRowIx = start; rightRowIx < end; rightRowIx++) {
+            addMatchesOfRightRow(leftIndex, rightRowIx, chunkBuilder, chunkMatched);
+          }
+          chunkBuilders[chunkIndex] = chunkBuilder;
+          chunkMatchedLeftRows[chunkIndex] = chunkMatched;
+        });
+
+    for (int i = 0; i < chunkCount; i++) {
+      resultBuilder.appendAndInvalidate(chunkBuilders[i]);
+      matchedLeftRows.or(chunkMatchedLeftRows[i]);
+    }
+  }
+
+  private void addMatchesOfRightRow(
+      RangeJoinIndex leftIndex,
+      int rightRowIx,
+      JoinResult.Builder resultBuilder,
+      BitSet matchedLeft) {
+    int matches =
+        leftIndex.addMatchingLeftRows(
+            rightRowIx,
+            joinKind.wantsCommon ? resultBuilder : null,
+            joinKind.wantsLeftUnmatched ? matchedLeft : null);
+    if (joinKind.wantsRightUnmatched && matches == 0) {
+      resultBuilder.addUnmatchedRightRow(rightRowIx);
+    }
+  }
+
+  private BetweenKeys[] getPrimitiveKeys() {
+    if (!primitiveKeysExtracted) {
+      primitiveKeysExtracted = true;
+      BetweenKeys[] keys = new BetweenKeys[conditions.size()];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = BetweenKeys.tryExtract(conditions.get(i));
+        if (keys[i] == null) {
+          return null;
+        }
+      }
+      primitiveKeys = keys;
+    }
+    return primitiveKeys;
   }
 
   public void joinSubsets(
@@ -89,6 +192,22 @@ public class SortJoin implements JoinStrategy {
       ProblemAggregator problemAggregator) {
     Context context = Context.getCurrent();
 
+    BetweenKeys[] keys = getPrimitiveKeys();
+    if (keys != null) {
+      int[] leftRows = leftGroup.stream().mapToInt(Integer::intValue).toArray();
+      if (leftRows.length == 0) {
+        return;
+      }
+
+      RangeJoinIndex leftIndex = RangeJoinIndex.build(keys, leftRows);
+      for (int rightRowIx : rightGroup) {
+        addMatchesOfRightRow(leftIndex, rightRowIx, resultBuilder, matchedLeftRows);
+        context.safepoint();
+      }
+      addUnmatchedLeftRowsOfGroup(leftGroup, resultBuilder);
+      return;
+    }
+
     List<OrderedMultiValueKey> leftKeys =
         leftGroup.stream()
             .map(i -> new OrderedMultiValueKey(leftStorages, i, directions, objectComparator))
@@ -108,7 +227,13 @@ public class SortJoin implements JoinStrategy {
       context.safepoint();
     }
 
+    addUnmatchedLeftRowsOfGroup(leftGroup, resultBuilder);
+  }
+
+  private void addUnmatchedLeftRowsOfGroup(
+      List<Integer> leftGroup, JoinResult.Builder resultBuilder) {
     if (joinKind.wantsLeftUnmatched) {
+      Context context = Context.getCurrent();
       for (int leftRowIx : leftGroup) {
         if (!matchedLeftRows.get(leftRowIx)) {
           resultBuilder.addUnmatchedLeftRow(leftRowIx);
@@ -9,6 +9,7 @@ import org.enso.table.data.table.join.JoinStrategy;
 import org.enso.table.data.table.join.between.SortJoin;
 import org.enso.table.data.table.join.conditions.Between;
 import org.enso.table.data.table.join.conditions.HashableCondition;
+import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
 import org.graalvm.polyglot.Context;
 
@@ -17,6 +18,9 @@ import org.graalvm.polyglot.Context;
  *
  * <p>It then delegates to {@code SortJoin} to perform the remaining conditions on the matching
  * pairs of row subsets.
+ *
+ * <p>For large tables, both hash indices are built as {@link PartitionedHashIndex} in parallel. The
+ * matching groups are then processed in the order of their first row.
  */
 public class CompoundHashJoin implements JoinStrategy {
 
@@ -35,6 +39,10 @@ public class CompoundHashJoin implements JoinStrategy {
 
   @Override
   public JoinResult join(ProblemAggregator problemAggregator) {
+    if (PartitionedHashIndex.isApplicable(hashJoinConfig)) {
+      return joinPartitioned(problemAggregator);
+    }
+
     Context context = Context.getCurrent();
 
     var leftIndex =
@@ -87,4 +95,53 @@ public class CompoundHashJoin implements JoinStrategy {
 
     return resultBuilder.buildAndInvalidate();
   }
+
+  private JoinResult joinPartitioned(ProblemAggregator problemAggregator) {
+    Context context = Context.getCurrent();
+
+    var leftIndex =
+        PartitionedHashIndex.build(
+            hashJoinConfig.getLeftEquals(),
+            hashJoinConfig.getTextFoldingStrategies(),
+            new ColumnAggregatedProblemAggregator(problemAggregator));
+    var rightIndex =
+        PartitionedHashIndex.build(
+            hashJoinConfig.getRightEquals(),
+            hashJoinConfig.getTextFoldingStrategies(),
+            new ColumnAggregatedProblemAggregator(problemAggregator));
+
+    JoinResult.Builder resultBuilder = new JoinResult.Builder();
+    for (var leftGroup : leftIndex.groupsInOrderOfAppearance()) {
+      // If any field of the key is null, it cannot match anything.
+      var rightGroup = leftGroup.key().hasAnyNulls() ? null : rightIndex.get(leftGroup.key());
+
+      if (rightGroup != null) {
+        rightGroup.markMatched();
+        sortJoin.joinSubsets(
+            leftGroup.rowsAsList(), rightGroup.rowsAsList(), resultBuilder, problemAggregator);
+      } else {
+        if (joinKind.wantsLeftUnmatched) {
+          for (int i = 0; i < leftGroup.size(); i++) {
+            resultBuilder.addUnmatchedLeftRow(leftGroup.row(i));
+            context.safepoint();
+          }
+        }
+      }
+
+      context.safepoint();
+    }
+
+    if (joinKind.wantsRightUnmatched) {
+      for (var rightGroup : rightIndex.groupsInOrderOfAppearance()) {
+        if (!rightGroup.wasMatched()) {
+          for (int i = 0; i < rightGroup.size(); i++) {
+            resultBuilder.addUnmatchedRightRow(rightGroup.row(i));
+          }
+        }
+        context.safepoint();
+      }
+    }
+
+    return resultBuilder.buildAndInvalidate();
+  }
 }
@@ -0,0 +1,258 @@
+package org.enso.table.data.table.join.hashing;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.index.UnorderedMultiValueKey;
+import org.enso.table.data.table.Column;
+import org.enso.table.problems.ColumnAggregatedProblemAggregator;
+import org.enso.table.util.ParallelTasks;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A hash index over the key columns of a table, split into radix partitions.
+ *
+ * <p>The keys are computed on disjoint row ranges in parallel, then the rows are scattered into
+ * partitions based on the highest bits of their key hash, and finally the hash table of each
+ * partition is built by a separate task. Once built, the index is read-only and can be probed from
+ * many threads at once.
+ *
+ * <p>Rows of each group are kept in ascending order, so the results are deterministic regardless of
+ * how the work was scheduled.
+ */
+public class PartitionedHashIndex {
+  /** The minimum total amount of rows for which the partitioned variant is used. */
+  public static final int PARALLEL_THRESHOLD = 100_000;
+
+  private static final int MAX_PARTITION_BITS = 10;
+
+  private final HashMap<UnorderedMultiValueKey, RowGroup>[] partitions;
+  private final int partitionBits;
+
+  /** A group of rows sharing the same key. */
+  public static final class RowGroup {
+    private final UnorderedMultiValueKey key;
+    private int[] rows = new int[1];
+    private int size = 0;
+    private boolean matched = false;
+
+    private RowGroup(UnorderedMultiValueKey key) {
+      this.key = key;
+    }
+
+    private void add(int row) {
+      if (size == rows.length) {
+        rows = Arrays.copyOf(rows, rows.length * 2);
+      }
+      rows[size++] = row;
+    }
+
+    public UnorderedMultiValueKey key() {
+      return key;
+    }
+
+    public int size() {
+      return size;
+    }
+
+    public int row(int i) {
+      return rows[i];
+    }
+
+    /**
+     * Marks the group as matched by the other side of the join.
+     *
+     * <p>It may be called from many probing threads at once - they all write the same value and the
+     * result is only read after all of them have finished.
+     */
+    public void markMatched() {
+      matched = true;
+    }
+
+    public boolean wasMatched() {
+      return matched;
+    }
+
+    /** Returns a read-only view of the rows of this group. */
+    public List<Integer> rowsAsList() {
+      return new AbstractList<>() {
+        @Override
+        public Integer get(int index) {
+          return rows[index];
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+  }
+
+  /**
+   * Checks if the partitioned index should be used for joining tables with the given key columns.
+   */
+  public static boolean isApplicable(HashJoinConfig config) {
+    long totalRows = (long) config.getLeftNumRows() + config.getRightNumRows();
+    return ParallelTasks.shouldRunInParallel(totalRows, PARALLEL_THRESHOLD)
+        && ParallelTasks.areSafeForParallelAccess(storagesOf(config.getLeftEquals()))
+        && ParallelTasks.areSafeForParallelAccess(storagesOf(config.getRightEquals()));
+  }
+
+  static Storage<?>[] storagesOf(Column[] columns) {
+    return Arrays.stream(columns).map(Column::getStorage).toArray(Storage[]::new);
+  }
+
+  /**
+   * Builds the index over the given key columns.
+   *
+   * <p>Any floating point keys are reported to the provided aggregator from the calling thread, in
+   * the order of rows.
+   */
+  public static PartitionedHashIndex build(
+      Column[] keyColumns,
+      List<TextFoldingStrategy> textFoldingStrategies,
+      ColumnAggregatedProblemAggregator problemAggregator) {
+    Storage<?>[] storages = storagesOf(keyColumns);
+    int numRows = keyColumns[0].getSize();
+    int partitionBits = choosePartitionBits();
+    int partitionCount = 1 << partitionBits;
+    int chunkCount = ParallelTasks.chunkCount(numRows);
+
+    // Phase 1: compute the keys and count how many rows of each chunk go to each partition.
+    UnorderedMultiValueKey[] keys = new UnorderedMultiValueKey[numRows];
+    int[][] counts = new int[chunkCount][partitionCount];
+    boolean[] chunkHasFloats = new boolean[chunkCount];
+    ParallelTasks.forEachChunk(
+        numRows,
+        chunkCount,
+        (chunk, start, end) -> {
+          int[] chunkCounts = counts[chunk];
+          boolean hasFloats = false;
+          for (int i = start; i < end; i++) {
+            var key = new UnorderedMultiValueKey(storages, i, textFoldingStrategies);
+            keys[i] = key;
+            chunkCounts[partitionOf(key, partitionBits)]++;
+            hasFloats = hasFloats || key.hasFloatValues();
+          }
+          chunkHasFloats[chunk] = hasFloats;
+        });
+
+    reportFloatingKeys(keys, chunkHasFloats, keyColumns, problemAggregator);
+
+    // Phase 2: scatter row indices into partitions, keeping them in ascending order.
+    int[] partitionStarts = new int[partitionCount + 1];
+    int[][] offsets = new int[chunkCount][partitionCount];
+    int position = 0;
+    for (int p = 0; p < partitionCount; p++) {
+      partitionStarts[p] = position;
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        offsets[chunk][p] = position;
+        position += counts[chunk][p];
+      }
+    }
+    partitionStarts[partitionCount] = position;
+
+    int[] partitionedRows = new int[numRows];
+    ParallelTasks.forEachChunk(
+        numRows,
+        chunkCount,
+        (chunk, start, end) -> {
+          int[] chunkOffsets = offsets[chunk];
+          for (int i = start; i < end; i++) {
+            partitionedRows[chunkOffsets[partitionOf(keys[i], partitionBits)]++] = i;
+          }
+        });
+
+    // Phase 3: build the hash table of each partition.
+    @SuppressWarnings("unchecked")
+    HashMap<UnorderedMultiValueKey, RowGroup>[] partitions = new HashMap[partitionCount];
+    List<Runnable> tasks = new ArrayList<>(partitionCount);
+    for (int p = 0; p < partitionCount; p++) {
+      final int partition = p;
+      tasks.add(
+          () -> {
+            int start = partitionStarts[partition];
+            int end = partitionStarts[partition + 1];
+            var map = new HashMap<UnorderedMultiValueKey, RowGroup>();
+            for (int i = start; i < end; i++) {
+              int row = partitionedRows[i];
+              map.computeIfAbsent(keys[row], RowGroup::new).add(row);
+            }
+            partitions[partition] = map;
+          });
+    }
+    ParallelTasks.runAll(tasks);
+
+    return new PartitionedHashIndex(partitions, partitionBits);
+  }
+
+  private PartitionedHashIndex(
+      HashMap<UnorderedMultiValueKey, RowGroup>[] partitions, int partitionBits) {
+    this.partitions = partitions;
+    this.partitionBits = partitionBits;
+  }
+
+  /** Finds the group of rows with the given key, or returns null if there is no such group. */
+  public RowGroup get(UnorderedMultiValueKey key) {
+    return partitions[partitionOf(key, partitionBits)].get(key);
+  }
+
+  /** Returns all groups, ordered by the first row that belongs to each group. */
+  public List<RowGroup> groupsInOrderOfAppearance() {
+    int totalSize = 0;
+    for (var partition : partitions) {
+      totalSize += partition.size();
+    }
+
+    List<RowGroup> groups = new ArrayList<>(totalSize);
+    for (var partition : partitions) {
+      groups.addAll(partition.values());
+    }
+    groups.sort(Comparator.comparingInt(group -> group.rows[0]));
+    return groups;
+  }
+
+  static void reportFloatingKeys(
+      UnorderedMultiValueKey[] keys,
+      boolean[] chunkHasFloats,
+      Column[] keyColumns,
+      ColumnAggregatedProblemAggregator problemAggregator) {
+    boolean anyFloats = false;
+    for (boolean hasFloats : chunkHasFloats) {
+      anyFloats = anyFloats || hasFloats;
+    }
+
+    if (anyFloats) {
+      Context context = Context.getCurrent();
+      for (var key : keys) {
+        key.checkAndReportFloatingEquality(
+            problemAggregator, columnIx -> keyColumns[columnIx].getName());
+        context.safepoint();
+      }
+    }
+  }
+
+  /** Uses a few partitions per available thread, so that uneven partitions balance out. */
+  private static int choosePartitionBits() {
+    int targetPartitions = ParallelTasks.parallelism() * 4;
+    int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, targetPartitions - 1));
+    return Math.max(1, Math.min(MAX_PARTITION_BITS, bits));
+  }
+
+  /**
+   * Selects the partition based on the highest bits of the mixed hash.
+   *
+   * <p>The hash maps of the partitions use the lowest bits of the hash, so these two choices are
+   * independent and the rows of a partition are still spread evenly within its map.
+   */
+  private static int partitionOf(UnorderedMultiValueKey key, int partitionBits) {
+    int mixed = key.hashCode() * 0x9E3779B9;
+    return mixed >>> (32 - partitionBits);
+  }
+}
@@ -1,22 +1,32 @@
 package org.enso.table.data.table.join.hashing;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.index.MultiValueIndex;
+import org.enso.table.data.index.SingleKeyIndex;
 import org.enso.table.data.index.UnorderedMultiValueKey;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.join.JoinKind;
 import org.enso.table.data.table.join.JoinResult;
 import org.enso.table.data.table.join.JoinStrategy;
 import org.enso.table.data.table.join.conditions.HashableCondition;
+import org.enso.table.data.table.problems.FloatingPointGrouping;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.ParallelTasks;
 import org.graalvm.polyglot.Context;
 
-/** A strategy that uses a hash-map to perform join on the equality conditions. */
+/**
+ * A strategy that uses a hash-map to perform join on the equality conditions.
+ *
+ * <p>For large tables, the hash table is built as a {@link PartitionedHashIndex} and probed from
+ * many threads at once. The result is the same as in the single-threaded variant.
+ */
 public class SimpleHashJoin implements JoinStrategy {
 
   public SimpleHashJoin(List<HashableCondition> conditions, JoinKind joinKind) {
@@ -52,6 +62,14 @@ public class SimpleHashJoin implements JoinStrategy {
     // The result builder flips the indexes back as you add them
     assert (hashJoinConfig.getLeftNumRows() >= hashJoinConfig.getRightNumRows());
 
+    if (canJoinOnSingleKey()) {
+      return joinSingleKey(problemAggregator);
+    }
+
+    if (PartitionedHashIndex.isApplicable(hashJoinConfig)) {
+      return joinPartitioned(problemAggregator);
+    }
+
     var groupingProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
     var rightIndex =
         MultiValueIndex.makeUnorderedIndex(
@@ -91,6 +109,293 @@ public class SimpleHashJoin implements JoinStrategy {
     return resultBuilder.buildAndInvalidate();
   }
 
+  private boolean canJoinOnSingleKey() {
+    Column[] leftEquals = hashJoinConfig.getLeftEquals();
+    Column[] rightEquals = hashJoinConfig.getRightEquals();
+    return leftEquals.length == 1
+        && SingleKeyIndex.areCompatible(rightEquals[0].getStorage(), leftEquals[0].getStorage());
+  }
+
+  /**
+   * Performs the join of two single columns using a {@link SingleKeyIndex}.
+   *
+   * <p>No key objects are allocated - the left values are looked up directly in the primitive
+   * index. For large tables the probing is done in parallel.
+   */
+  private JoinResult joinSingleKey(ProblemAggregator problemAggregator) {
+    var groupingProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
+    var rightIndex =
+        SingleKeyIndex.build(
+            hashJoinConfig.getRightEquals()[0],
+            hashJoinConfig.getTextFoldingStrategies().get(0),
+            new ColumnAggregatedProblemAggregator(problemAggregator));
+
+    Column leftColumn = hashJoinConfig.getLeftEquals()[0];
+    Storage<?> leftStorage = leftColumn.getStorage();
+    if (leftStorage instanceof DoubleStorage) {
+      int firstFloatRow = findFirstNonNothing(leftStorage);
+      if (firstFloatRow != -1) {
+        groupingProblemAggregator.reportColumnAggregatedProblem(
+            new FloatingPointGrouping(leftColumn.getName(), firstFloatRow));
+      }
+    }
+
+    int leftNumRows = hashJoinConfig.getLeftNumRows();
+    int chunkCount = chunkCountForProbing(leftNumRows);
+    int[] leftMatches = new int[leftNumRows];
+    long[] chunkOutputSizes = new long[chunkCount];
+    boolean[] matchedRightGroups = new boolean[rightIndex.groupCount()];
+    runChunks(
+        leftNumRows,
+        chunkCount,
+        (chunk, start, end, context) -> {
+          long outputSize = 0;
+          for (int leftRow = start; leftRow < end; leftRow++) {
+            int rightGroup = rightIndex.lookup(leftStorage, leftRow);
+            leftMatches[leftRow] = rightGroup;
+            if (rightGroup != -1) {
+              if (joinKind.wantsCommon) {
+                outputSize += rightIndex.groupSize(rightGroup);
+              }
+              if (joinKind.wantsRightUnmatched) {
+                matchedRightGroups[rightGroup] = true;
+              }
+            } else if (joinKind.wantsLeftUnmatched) {
+              outputSize++;
+            }
+
+            if (context != null) {
+              context.safepoint();
+            }
+          }
+          chunkOutputSizes[chunk] = outputSize;
+        });
+
+    Context context = Context.getCurrent();
+    BitSet unmatchedRightRows = new BitSet();
+    if (joinKind.wantsRightUnmatched) {
+      for (int group = 0; group < rightIndex.groupCount(); group++) {
+        if (!matchedRightGroups[group]) {
+          for (int i = 0; i < rightIndex.groupSize(group); i++) {
+            unmatchedRightRows.set(rightIndex.groupRow(group, i));
+          }
+        }
+        context.safepoint();
+      }
+    }
+
+    LeftRowMatches matches =
+        new LeftRowMatches() {
+          @Override
+          public int count(int leftRow) {
+            int group = leftMatches[leftRow];
+            return group == -1 ? 0 : rightIndex.groupSize(group);
+          }
+
+          @Override
+          public int rightRow(int leftRow, int i) {
+            return rightIndex.groupRow(leftMatches[leftRow], i);
+          }
+        };
+    return writeResult(leftNumRows, chunkCount, chunkOutputSizes, matches, unmatchedRightRows);
+  }
+
+  private static int findFirstNonNothing(Storage<?> storage) {
+    for (int i = 0; i < storage.size(); i++) {
+      if (!storage.isNothing(i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Performs the join using a partitioned index, probing it in parallel.
+   *
+   * <p>The probing threads only record which group each left row matched.
+   */
+  private JoinResult joinPartitioned(ProblemAggregator problemAggregator) {
+    var groupingProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
+    var rightIndex =
+        PartitionedHashIndex.build(
+            hashJoinConfig.getRightEquals(),
+            hashJoinConfig.getTextFoldingStrategies(),
+            new ColumnAggregatedProblemAggregator(problemAggregator));
+
+    var storage = PartitionedHashIndex.storagesOf(hashJoinConfig.getLeftEquals());
+    var textFoldingStrategies = hashJoinConfig.getTextFoldingStrategies();
+    int leftNumRows = hashJoinConfig.getLeftNumRows();
+    int chunkCount = ParallelTasks.chunkCount(leftNumRows);
+
+    // Probe the index, remembering the matched group for each left row.
+    PartitionedHashIndex.RowGroup[] leftMatches = new PartitionedHashIndex.RowGroup[leftNumRows];
+    long[] chunkOutputSizes = new long[chunkCount];
+    boolean[] chunkHasFloats = new boolean[chunkCount];
+    ParallelTasks.forEachChunk(
+        leftNumRows,
+        chunkCount,
+        (chunk, start, end) -> {
+          long outputSize = 0;
+          boolean hasFloats = false;
+          for (int leftRow = start; leftRow < end; leftRow++) {
+            var leftKey = new UnorderedMultiValueKey(storage, leftRow, textFoldingStrategies);
+            hasFloats = hasFloats || leftKey.hasFloatValues();
+            // If any field of the key is null, it cannot match anything.
+            var rightGroup = leftKey.hasAnyNulls() ? null : rightIndex.get(leftKey);
+            if (rightGroup != null) {
+              leftMatches[leftRow] = rightGroup;
+              if (joinKind.wantsCommon) {
+                outputSize += rightGroup.size();
+              }
+              if (joinKind.wantsRightUnmatched) {
+                rightGroup.markMatched();
+              }
+            } else if (joinKind.wantsLeftUnmatched) {
+              outputSize++;
+            }
+          }
+          chunkOutputSizes[chunk] = outputSize;
+          chunkHasFloats[chunk] = hasFloats;
+        });
+
+    Context context = Context.getCurrent();
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      if (chunkHasFloats[chunk]) {
+        int end = ParallelTasks.chunkStart(leftNumRows, chunkCount, chunk + 1);
+        for (int leftRow = ParallelTasks.chunkStart(leftNumRows, chunkCount, chunk);
+            leftRow < end;
+            leftRow++) {
+          makeLeftKey(storage, leftRow, groupingProblemAggregator);
+          context.safepoint();
+        }
+      }
+    }
+
+    BitSet unmatchedRightRows = new BitSet();
+    if (joinKind.wantsRightUnmatched) {
+      for (var rightGroup : rightIndex.groupsInOrderOfAppearance()) {
+        if (!rightGroup.wasMatched()) {
+          for (int i = 0; i < rightGroup.size(); i++) {
+            unmatchedRightRows.set(rightGroup.row(i));
+          }
+        }
+        context.safepoint();
+      }
+    }
+
+    LeftRowMatches matches =
+        new LeftRowMatches() {
+          @Override
+          public int count(int leftRow) {
+            var rightGroup = leftMatches[leftRow];
+            return rightGroup == null ? 0 : rightGroup.size();
+          }
+
+          @Override
+          public int rightRow(int leftRow, int i) {
+            return leftMatches[leftRow].row(i);
+          }
+        };
+    return writeResult(leftNumRows, chunkCount, chunkOutputSizes, matches, unmatchedRightRows);
+  }
+
+  /** Gives access to the right rows matched by each left row, as found while probing. */
+  private interface LeftRowMatches {
+    /** Returns the number of right rows matching the given left row, or 0 if it was unmatched. */
+    int count(int leftRow);
+
+    int rightRow(int leftRow, int i);
+  }
+
+  /** A chunk of work that may run on a worker thread, where {@code context} is null. */
+  private interface ChunkTask {
+    void run(int chunk, int start, int end, Context context);
+  }
+
+  private static int chunkCountForProbing(int leftNumRows) {
+    return ParallelTasks.shouldRunInParallel(leftNumRows, PartitionedHashIndex.PARALLEL_THRESHOLD)
+        ? ParallelTasks.chunkCount(leftNumRows)
+        : 1;
+  }
+
+  /**
+   * Runs the task on the calling thread if there is a single chunk, so that it can reach
+   * safepoints, or on the worker threads otherwise.
+   */
+  private static void runChunks(int size, int chunkCount, ChunkTask task) {
+    if (chunkCount == 1) {
+      task.run(0, 0, size, Context.getCurrent());
+    } else {
+      ParallelTasks.forEachChunk(
+          size, chunkCount, (chunk, start, end) -> task.run(chunk, start, end, null));
+    }
+  }
+
+  /**
+   * Writes the join result into preallocated arrays, by chunks of left rows.
+   *
+   * <p>Matched and unmatched left rows end up in the same order as in the sequential variant. The
+   * right rows that were not matched are appended at the end, in ascending order.
+   */
+  private JoinResult writeResult(
+      int leftNumRows,
+      int chunkCount,
+      long[] chunkOutputSizes,
+      LeftRowMatches matches,
+      BitSet unmatchedRightRows) {
+    long[] chunkOffsets = new long[chunkCount];
+    long totalSize = 0;
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      chunkOffsets[chunk] = totalSize;
+      totalSize += chunkOutputSizes[chunk];
+    }
+    int length = Math.toIntExact(totalSize + unmatchedRightRows.cardinality());
+    int[] leftIndices = new int[length];
+    int[] rightIndices = new int[length];
+
+    runChunks(
+        leftNumRows,
+        chunkCount,
+        (chunk, start, end, context) -> {
+          int position = (int) chunkOffsets[chunk];
+          for (int leftRow = start; leftRow < end; leftRow++) {
+            int count = matches.count(leftRow);
+            if (count > 0) {
+              if (joinKind.wantsCommon) {
+                for (int i = 0; i < count; i++) {
+                  leftIndices[position] = leftRow;
+                  rightIndices[position] = matches.rightRow(leftRow, i);
+                  position++;
+                }
+              }
+            } else if (joinKind.wantsLeftUnmatched) {
+              leftIndices[position] = leftRow;
+              rightIndices[position] = -1;
+              position++;
+            }
+
+            if (context != null) {
+              context.safepoint();
+            }
+          }
+        });
+
+    Context context = Context.getCurrent();
+    int position = (int) totalSize;
+    for (int rightRow = unmatchedRightRows.nextSetBit(0);
+        rightRow >= 0;
+        rightRow = unmatchedRightRows.nextSetBit(rightRow + 1)) {
+      leftIndices[position] = -1;
+      rightIndices[position] = rightRow;
+      position++;
+      context.safepoint();
+    }
+
+    return resultBuilder.flipLeftAndRight
+        ? new JoinResult(rightIndices, leftIndices, length)
+        : new JoinResult(leftIndices, rightIndices, length);
+  }
+
   private void addUnmatchedRightRows(
       MultiValueIndex<UnorderedMultiValueKey> rightIndex,
       Set<UnorderedMultiValueKey> matchedRightKeys) {
@@ -8,18 +8,20 @@ import java.io.OutputStream;
 import java.nio.file.AccessMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.function.Function;
 import org.apache.poi.UnsupportedFileFormatException;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
-import org.apache.poi.openxml4j.exceptions.OpenXML4JRuntimeException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.enso.table.excel.xssfreader.XSSFReaderWorkbook;
 
 public class ExcelConnectionPool {
   public static final ExcelConnectionPool INSTANCE = new ExcelConnectionPool();
@@ -71,16 +73,67 @@ public class ExcelConnectionPool {
     }
   }
 
+  /**
+   * Opens an XLSX file for streaming its sheets row by row, without loading the whole workbook into
+   * memory.
+   *
+   * <p>If the file is already open in the pool, its workbook is already loaded, so no new reader is
+   * opened and null is returned. The caller should then use {@link #openReadOnlyConnection}
+   * instead.
+   *
+   * <p>The returned workbook is not tracked by the pool, so it must be closed as soon as the read
+   * is finished.
+   */
+  public XSSFReaderWorkbook openStreamingWorkbook(File file) throws IOException {
+    synchronized (this) {
+      if (isCurrentlyWriting) {
+        throw new IllegalStateException(
+            "Cannot open a read-only Excel connection while an Excel file is being "
+                + "written to. This is a bug in the Table library.");
+      }
+
+      if (!file.exists()) {
+        throw new FileNotFoundException(file.toString());
+      }
+
+      if (records.containsKey(getKeyForFile(file))) {
+        return null;
+      }
+    }
+
+    return XSSFReaderWorkbook.open(file);
+  }
+
   public static class WriteHelper {
+    /**
+     * The number of most recently written rows of a streamed sheet that are kept in memory. Older
+     * rows are flushed to a temporary file and can no longer be accessed.
+     */
+    public static final int STREAMING_ROW_WINDOW_SIZE = 100;
+
     private final ExcelFileFormat format;
 
     public WriteHelper(ExcelFileFormat format) {
       this.format = format;
     }
 
+    /**
+     * Opens the workbook stored in the file, or creates a new one if the file is missing or empty,
+     * applies the write action to it and saves the result back to the file.
+     *
+     * <p>XLSX workbooks are given to the action as a {@link SXSSFWorkbook}, so that any sheet
+     * created by the action is streamed to disk row by row. Sheets already present in the file are
+     * still loaded into memory and should be modified through {@link
+     * SXSSFWorkbook#getXSSFWorkbook()}. XLS workbooks have no streaming variant and are always
+     * loaded fully.
+     */
     public <R> R writeWorkbook(File file, Function<Workbook, R> writeAction) throws IOException {
       boolean preExistingFile = file.exists() && Files.size(file.toPath()) > 0;
 
+      if (format == ExcelFileFormat.XLSX) {
+        return writeStreamingWorkbook(file, preExistingFile, writeAction);
+      }
+
       try (Workbook workbook =
           preExistingFile
               ? ExcelConnectionPool.openWorkbook(file, format, true)
@@ -93,25 +146,64 @@ public class ExcelConnectionPool {
             case HSSFWorkbook wb -> {
               wb.write();
             }
-            case XSSFWorkbook wb -> {
-              try {
-                wb.write(null);
-              } catch (OpenXML4JRuntimeException e) {
-                // Ignore: Workaround for bug https://bz.apache.org/bugzilla/show_bug.cgi?id=59252
-              }
-            }
             default -> throw new IllegalStateException(
                 "Unknown workbook type: " + workbook.getClass());
           }
         } else {
-          try (OutputStream fileOut = Files.newOutputStream(file.toPath())) {
-            try (BufferedOutputStream workbookOut = new BufferedOutputStream(fileOut)) {
-              workbook.write(workbookOut);
-            }
+          writeToFile(workbook, file.toPath());
+        }
+
+        return result;
+      }
+    }
+
+    private <R> R writeStreamingWorkbook(
+        File file, boolean preExistingFile, Function<Workbook, R> writeAction) throws IOException {
+      XSSFWorkbook template =
+          preExistingFile
+              ? (XSSFWorkbook) ExcelConnectionPool.openWorkbook(file, format, true)
+              : new XSSFWorkbook();
+      SXSSFWorkbook workbook = new SXSSFWorkbook(template, STREAMING_ROW_WINDOW_SIZE);
+
+      // The streamed rows are merged into the sheets of the template as it is written out, so an
+      // existing file cannot be saved in place - it is written next to it and then replaced.
+      Path output =
+          preExistingFile
+              ? Files.createTempFile(
+                  file.getAbsoluteFile().getParentFile().toPath(), file.getName(), ".tmp")
+              : file.toPath();
+      try {
+        R result;
+        try {
+          result = writeAction.apply(workbook);
+          writeToFile(workbook, output);
+        } finally {
+          workbook.dispose();
+          if (preExistingFile) {
+            // The package is opened for writing, so it is reverted to not save it over the file.
+            template.getPackage().revert();
+          } else {
+            template.close();
           }
         }
 
+        if (preExistingFile) {
+          Files.move(output, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
         return result;
+      } catch (IOException | RuntimeException e) {
+        if (preExistingFile) {
+          Files.deleteIfExists(output);
+        }
+        throw e;
+      }
+    }
+
+    private static void writeToFile(Workbook workbook, Path path) throws IOException {
+      try (OutputStream fileOut = Files.newOutputStream(path)) {
+        try (BufferedOutputStream workbookOut = new BufferedOutputStream(fileOut)) {
+          workbook.write(workbookOut);
+        }
       }
     }
   }
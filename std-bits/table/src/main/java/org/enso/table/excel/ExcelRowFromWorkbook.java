@@ -0,0 +1,121 @@
+package org.enso.table.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.ExcelNumberFormat;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.graalvm.polyglot.Context;
+
+/** An {@link ExcelRow} backed by a row of a workbook loaded into memory. */
+public class ExcelRowFromWorkbook implements ExcelRow {
+  private final Row row;
+  private final int firstColumn;
+  private final int lastColumn;
+  private final boolean use1904Format;
+
+  public ExcelRowFromWorkbook(Row row, boolean use1904Format) {
+    this.row = row;
+    this.firstColumn = row.getFirstCellNum() + 1;
+    this.lastColumn = row.getLastCellNum();
+    this.use1904Format = use1904Format;
+  }
+
+  @Override
+  public int getFirstColumn() {
+    return firstColumn;
+  }
+
+  @Override
+  public int getLastColumn() {
+    return lastColumn;
+  }
+
+  public Cell get(int column) {
+    return (column < firstColumn || column > lastColumn) ? null : row.getCell(column - 1);
+  }
+
+  @Override
+  public Object getCellValue(int column) {
+    Cell cell = get(column);
+    CellType cellType = getCellType(cell);
+    switch (cellType) {
+      case NUMERIC:
+        return ExcelUtils.fromNumericCell(
+            cell.getNumericCellValue(), ExcelNumberFormat.from(cell, null), use1904Format);
+      case STRING:
+        return cell.getStringCellValue();
+      case BOOLEAN:
+        return cell.getBooleanCellValue();
+      default:
+        return null;
+    }
+  }
+
+  public static CellType getCellType(Cell cell) {
+    if (cell == null) {
+      return CellType._NONE;
+    }
+
+    CellType cellType = cell.getCellType();
+    if (cellType == CellType.FORMULA) {
+      cellType = cell.getCachedFormulaResultType();
+    }
+
+    return cellType;
+  }
+
+  @Override
+  public boolean isEmpty(int column) {
+    CellType cellType = getCellType(get(column));
+    return (cellType == CellType._NONE) || (cellType == CellType.BLANK);
+  }
+
+  @Override
+  public String getFormattedCell(int col) {
+    var cell = get(col);
+    if (cell == null) {
+      return "";
+    }
+
+    var rawCellType = cell.getCellType();
+    var cellType =
+        rawCellType == CellType.FORMULA ? cell.getCachedFormulaResultType() : rawCellType;
+
+    return switch (cellType) {
+      case ERROR ->
+      // Want to show the error message rather than empty.
+      FormulaError.forInt(cell.getErrorCellValue()).getString();
+      case NUMERIC -> {
+        // Special handling for Number or Date cells as want to keep formatting.
+        yield ExcelUtils.formatNumericCell(
+            cell.getNumericCellValue(), ExcelNumberFormat.from(cell, null));
+      }
+      default -> {
+        // Use the default read and then toString.
+        var value = getCellValue(col);
+        yield value == null ? "" : value.toString();
+      }
+    };
+  }
+
+  @Override
+  public String[] getCellsAsText(int startCol, int endCol) {
+    Context context = Context.getCurrent();
+    int currentEndCol = endCol == -1 ? getLastColumn() : endCol;
+
+    String[] output = new String[currentEndCol - startCol + 1];
+    for (int col = startCol; col <= currentEndCol; col++) {
+      Cell cell = get(col);
+      CellType type = getCellType(cell);
+      if (type != CellType._NONE && type != CellType.BLANK && type != CellType.STRING) {
+        return null;
+      }
+      output[col - startCol] =
+          type == CellType.STRING && cell != null ? cell.getStringCellValue() : "";
+      context.safepoint();
+    }
+
+    return output;
+  }
+}
@@ -1,37 +1,29 @@
 package org.enso.table.excel;
 
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
 /** Wrapper class to handle Excel sheets. */
-public class ExcelSheet {
-  private final Sheet sheet;
-  private final int firstRow;
-  private final int lastRow;
-  private final boolean use1904Format;
+public interface ExcelSheet {
+  /** Returns the 1-based index of the first row of the sheet, or 0 if the sheet has no rows. */
+  int getFirstRow();
 
-  public ExcelSheet(Workbook workbook, int sheetIndex) {
-    this.sheet = workbook.getSheetAt(sheetIndex);
-    this.firstRow = sheet.getFirstRowNum() + 1;
-    this.lastRow = sheet.getLastRowNum() + 1;
-    this.use1904Format = ExcelUtils.is1904DateSystem(workbook);
-  }
-
-  public int getLastRow() {
-    return lastRow;
-  }
+  /**
+   * Returns the 1-based index of the last row of the sheet, or 0 if the sheet has no rows.
+   *
+   * <p>For a streamed sheet this may need to read through the rest of the sheet, so {@link
+   * #hasRowsAfter(int)} should be preferred when reading rows one after another.
+   */
+  int getLastRow();
 
-  public int getFirstRow() {
-    return firstRow;
-  }
+  /** Returns the row at the given 1-based index, or null if the row is not present. */
+  ExcelRow get(int row);
 
-  public ExcelRow get(int row) {
-    Row underlyingRow = row < firstRow || row > lastRow ? null : sheet.getRow(row - 1);
-    return underlyingRow == null ? null : new ExcelRow(underlyingRow, use1904Format);
+  /** Checks if the sheet has any rows after the given 1-based row index. */
+  default boolean hasRowsAfter(int row) {
+    return row < getLastRow();
   }
 
-  public Sheet getSheet() {
-    return sheet;
+  static ExcelSheet forPOIUserModel(Workbook workbook, int sheetIndex) {
+    return new ExcelSheetFromWorkbook(workbook, sheetIndex);
   }
 }
@@ -3,7 +3,11 @@ package org.enso.table.excel;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.ExcelNumberFormat;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 public class ExcelUtils {
@@ -15,15 +19,69 @@ public class ExcelUtils {
   // mode. Times and 1-Jan-1904 are the same.
   private static final LocalDate EPOCH_1904 = LocalDate.of(1904, 1, 1);
   private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+  private static final DataFormatter formatter = new DataFormatter();
 
   public static boolean is1904DateSystem(Workbook workbook) {
     boolean use1904Dates = false;
     if (workbook instanceof XSSFWorkbook xssfWorkbook) {
       use1904Dates = xssfWorkbook.isDate1904();
+    } else if (workbook instanceof SXSSFWorkbook streamingWorkbook) {
+      use1904Dates = streamingWorkbook.getXSSFWorkbook().isDate1904();
     }
     return use1904Dates;
   }
 
+  /**
+   * Converts the value of a numeric cell. If the cell has a date format, the value is converted to
+   * a date, time or date-time, otherwise it is returned as an integer if it is whole, or as a
+   * double.
+   *
+   * @param value the numeric value of the cell
+   * @param format the number format of the cell, or null if it has no style
+   * @param use1904Format whether the workbook uses the 1904 date system
+   */
+  public static Object fromNumericCell(
+      double value, ExcelNumberFormat format, boolean use1904Format) {
+    if (format == null || !DateUtil.isADateFormat(format.getIdx(), format.getFormat())) {
+      if (value == (long) value) {
+        return (long) value;
+      } else {
+        return value;
+      }
+    }
+
+    var temporal = use1904Format ? fromExcelDateTime1904(value) : fromExcelDateTime(value);
+    if (temporal == null) {
+      return null;
+    }
+
+    return switch (temporal) {
+      case LocalDate date -> {
+        var dateFormat = format.getFormat();
+        yield (dateFormat.contains("h") || dateFormat.contains("H"))
+            ? date.atStartOfDay(ZoneId.systemDefault())
+            : date;
+      }
+      case ZonedDateTime zdt -> {
+        if (!use1904Format || zdt.getYear() != 1904 || zdt.getDayOfYear() != 1) {
+          yield temporal;
+        }
+        var dateFormat = format.getFormat();
+        yield (dateFormat.contains("y") || dateFormat.contains("M") || dateFormat.contains("d"))
+            ? zdt
+            : zdt.toLocalTime();
+      }
+      default -> temporal;
+    };
+  }
+
+  /** Formats the value of a numeric cell using its number format, if it has one. */
+  public static String formatNumericCell(double value, ExcelNumberFormat format) {
+    return format == null
+        ? Double.toString(value)
+        : formatter.formatRawCellContents(value, format.getIdx(), format.getFormat());
+  }
+
   /** Converts an Excel date-time value to a {@link Temporal}. */
   public static Temporal fromExcelDateTime(double value) {
     // Excel treats 1900-02-29 as a valid date, which it is not a valid date.
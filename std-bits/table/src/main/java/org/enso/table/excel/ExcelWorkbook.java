@@ -0,0 +1,46 @@
+package org.enso.table.excel;
+
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/** The parts of a workbook needed to locate and read a sheet. */
+public interface ExcelWorkbook {
+  /** Returns the number of sheets in the workbook. */
+  int getNumberOfSheets();
+
+  /**
+   * Returns the 0-based index of the sheet with the given name, or -1 if there is no such sheet.
+   */
+  int getSheetIndex(String name);
+
+  /** Returns the formula the named range refers to, or null if there is no such name. */
+  String getNameFormula(String name);
+
+  /** Returns the sheet at the given 0-based index. */
+  ExcelSheet getSheetAt(int sheetIndex);
+
+  static ExcelWorkbook forPOIUserModel(Workbook workbook) {
+    return new ExcelWorkbook() {
+      @Override
+      public int getNumberOfSheets() {
+        return workbook.getNumberOfSheets();
+      }
+
+      @Override
+      public int getSheetIndex(String name) {
+        return workbook.getSheetIndex(name);
+      }
+
+      @Override
+      public String getNameFormula(String name) {
+        Name namedRange = workbook.getName(name);
+        return namedRange == null ? null : namedRange.getRefersToFormula();
+      }
+
+      @Override
+      public ExcelSheet getSheetAt(int sheetIndex) {
+        return ExcelSheet.forPOIUserModel(workbook, sheetIndex);
+      }
+    };
+  }
+}
@@ -0,0 +1,119 @@
+package org.enso.table.excel.xssfreader;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.enso.table.excel.ExcelRow;
+import org.enso.table.excel.ExcelUtils;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A row parsed from the XML of a streamed sheet.
+ *
+ * <p>The cells are kept as the raw text stored in the file, with shared strings already resolved,
+ * and are converted to values only when requested.
+ */
+public final class XSSFReaderRow implements ExcelRow {
+  private final XSSFReaderWorkbook workbook;
+  private final int rowIndex;
+  private final int firstColumn;
+  private final int lastColumn;
+  private final CellType[] types;
+  private final String[] values;
+  private final int[] styles;
+
+  XSSFReaderRow(
+      XSSFReaderWorkbook workbook,
+      int rowIndex,
+      int firstColumn,
+      CellType[] types,
+      String[] values,
+      int[] styles) {
+    this.workbook = workbook;
+    this.rowIndex = rowIndex;
+    this.firstColumn = types.length == 0 ? 0 : firstColumn;
+    this.lastColumn = types.length == 0 ? -1 : firstColumn + types.length - 1;
+    this.types = types;
+    this.values = values;
+    this.styles = styles;
+  }
+
+  /** Returns the 1-based index of this row in the sheet. */
+  public int getRowIndex() {
+    return rowIndex;
+  }
+
+  @Override
+  public int getFirstColumn() {
+    return firstColumn;
+  }
+
+  @Override
+  public int getLastColumn() {
+    return lastColumn;
+  }
+
+  private CellType getCellType(int column) {
+    if (column < firstColumn || column > lastColumn) {
+      return CellType._NONE;
+    }
+
+    CellType type = types[column - firstColumn];
+    return type == null ? CellType._NONE : type;
+  }
+
+  private double getNumericValue(int column) {
+    String value = values[column - firstColumn];
+    return value.isEmpty() ? 0.0 : Double.parseDouble(value);
+  }
+
+  @Override
+  public Object getCellValue(int column) {
+    return switch (getCellType(column)) {
+      case NUMERIC -> ExcelUtils.fromNumericCell(
+          getNumericValue(column),
+          workbook.getNumberFormat(styles[column - firstColumn]),
+          workbook.use1904Format());
+      case STRING -> values[column - firstColumn];
+      case BOOLEAN -> "1".equals(values[column - firstColumn]);
+      default -> null;
+    };
+  }
+
+  @Override
+  public boolean isEmpty(int column) {
+    CellType cellType = getCellType(column);
+    return (cellType == CellType._NONE) || (cellType == CellType.BLANK);
+  }
+
+  @Override
+  public String getFormattedCell(int column) {
+    // Errors are stored as their text, e.g. #DIV/0!, so it is shown as is.
+    return switch (getCellType(column)) {
+      case _NONE -> "";
+      case ERROR -> values[column - firstColumn];
+      case NUMERIC -> ExcelUtils.formatNumericCell(
+          getNumericValue(column), workbook.getNumberFormat(styles[column - firstColumn]));
+      default -> {
+        var value = getCellValue(column);
+        yield value == null ? "" : value.toString();
+      }
+    };
+  }
+
+  @Override
+  public String[] getCellsAsText(int startCol, int endCol) {
+    Context context = Context.getCurrent();
+    int currentEndCol = endCol == -1 ? getLastColumn() : endCol;
+
+    String[] output = new String[currentEndCol - startCol + 1];
+    for (int col = startCol; col <= currentEndCol; col++) {
+      CellType type = getCellType(col);
+      if (type != CellType._NONE && type != CellType.BLANK && type != CellType.STRING) {
+        return null;
+      }
+      output[col - startCol] = type == CellType.STRING ? values[col - firstColumn] : "";
+      context.safepoint();
+    }
+
+    return output;
+  }
+}
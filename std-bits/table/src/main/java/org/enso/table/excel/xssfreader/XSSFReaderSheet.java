@@ -0,0 +1,329 @@
+package org.enso.table.excel.xssfreader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.ss.usermodel.CellType;
+import org.enso.table.excel.ExcelSheet;
+
+/**
+ * A sheet of an {@link XSSFReaderWorkbook}, whose rows are parsed from the sheet XML one at a time.
+ *
+ * <p>Only the most recently parsed rows and the first row of the sheet are kept in memory, so rows
+ * should be requested in increasing order. Requesting an earlier row is supported, but restarts the
+ * parsing from the beginning of the sheet.
+ */
+public final class XSSFReaderSheet implements ExcelSheet {
+  private final XSSFReaderWorkbook workbook;
+  private final String relationId;
+
+  private InputStream input;
+  private XMLStreamReader reader;
+  private boolean finished = false;
+
+  private XSSFReaderRow firstRow;
+  private XSSFReaderRow previousRow;
+  private XSSFReaderRow currentRow;
+  private int lastRow = -1;
+
+  // Buffers for the cells of the row being parsed, reused between rows.
+  private int[] cellColumns = new int[16];
+  private CellType[] cellTypes = new CellType[16];
+  private String[] cellValues = new String[16];
+  private int[] cellStyles = new int[16];
+
+  XSSFReaderSheet(XSSFReaderWorkbook workbook, String relationId) {
+    this.workbook = workbook;
+    this.relationId = relationId;
+  }
+
+  @Override
+  public int getFirstRow() {
+    if (firstRow == null && currentRow == null && !finished) {
+      readNextRow();
+    }
+    return firstRow == null ? 0 : firstRow.getRowIndex();
+  }
+
+  /**
+   * Returns the last row of the sheet. Unless the whole sheet has already been read, the remaining
+   * rows are parsed to find it.
+   */
+  @Override
+  public int getLastRow() {
+    while (lastRow == -1) {
+      readNextRow();
+    }
+    return lastRow;
+  }
+
+  @Override
+  public boolean hasRowsAfter(int row) {
+    if (lastRow != -1) {
+      return row < lastRow;
+    }
+
+    while (!finished && (currentRow == null || currentRow.getRowIndex() <= row)) {
+      readNextRow();
+    }
+    return currentRow != null && currentRow.getRowIndex() > row;
+  }
+
+  @Override
+  public XSSFReaderRow get(int row) {
+    if (firstRow != null && firstRow.getRowIndex() == row) {
+      return firstRow;
+    }
+
+    if (currentRow != null && row <= currentRow.getRowIndex()) {
+      if (row == currentRow.getRowIndex()) {
+        return currentRow;
+      }
+
+      // All rows between the previous and the current row are missing from the sheet.
+      if (previousRow == null || row > previousRow.getRowIndex()) {
+        return null;
+      } else if (row == previousRow.getRowIndex()) {
+        return previousRow;
+      }
+
+      restart();
+    }
+
+    while (!finished && (currentRow == null || currentRow.getRowIndex() < row)) {
+      readNextRow();
+    }
+    return currentRow != null && currentRow.getRowIndex() == row ? currentRow : null;
+  }
+
+  /** Stops reading the sheet, releasing the underlying stream. */
+  void close() {
+    try {
+      if (reader != null) {
+        reader.close();
+      }
+      if (input != null) {
+        input.close();
+      }
+    } catch (XMLStreamException | IOException e) {
+      // Nothing more is read from the stream, so a failure to close it can be ignored.
+    } finally {
+      reader = null;
+      input = null;
+    }
+  }
+
+  private void restart() {
+    close();
+    finished = false;
+    previousRow = null;
+    currentRow = null;
+  }
+
+  private void readNextRow() {
+    try {
+      if (reader == null) {
+        input = workbook.openSheetData(relationId);
+        reader = workbook.getXmlInputFactory().createXMLStreamReader(input);
+      }
+
+      XSSFReaderRow row = parseNextRow();
+      if (row == null) {
+        finished = true;
+        lastRow = currentRow == null ? 0 : currentRow.getRowIndex();
+        close();
+      } else {
+        previousRow = currentRow;
+        currentRow = row;
+        if (firstRow == null) {
+          firstRow = row;
+        }
+      }
+    } catch (XMLStreamException e) {
+      close();
+      throw new POIXMLException("Unable to parse the sheet data: " + e.getMessage(), e);
+    } catch (IOException e) {
+      close();
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private XSSFReaderRow parseNextRow() throws XMLStreamException {
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("row")) {
+        return parseRow();
+      } else if (event == XMLStreamConstants.END_ELEMENT
+          && reader.getLocalName().equals("sheetData")) {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private XSSFReaderRow parseRow() throws XMLStreamException {
+    String reference = reader.getAttributeValue(null, "r");
+    int rowIndex =
+        reference == null
+            ? (currentRow == null ? 1 : currentRow.getRowIndex() + 1)
+            : Integer.parseInt(reference);
+
+    int cellCount = 0;
+    int column = 0;
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("c")) {
+        String cellReference = reader.getAttributeValue(null, "r");
+        column = cellReference == null ? column + 1 : parseColumn(cellReference);
+        if (cellCount == cellColumns.length) {
+          growCellBuffers();
+        }
+        cellColumns[cellCount] = column;
+        parseCell(cellCount);
+        cellCount++;
+      } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("row")) {
+        break;
+      }
+    }
+
+    if (cellCount == 0) {
+      return new XSSFReaderRow(workbook, rowIndex, 0, new CellType[0], new String[0], new int[0]);
+    }
+
+    // Cells are stored in the order of their columns, but are placed by column to be safe.
+    int firstColumn = Integer.MAX_VALUE;
+    int lastColumn = 0;
+    for (int i = 0; i < cellCount; i++) {
+      firstColumn = Math.min(firstColumn, cellColumns[i]);
+      lastColumn = Math.max(lastColumn, cellColumns[i]);
+    }
+
+    int width = lastColumn - firstColumn + 1;
+    CellType[] types = new CellType[width];
+    String[] values = new String[width];
+    int[] styles = new int[width];
+    for (int i = 0; i < cellCount; i++) {
+      int offset = cellColumns[i] - firstColumn;
+      types[offset] = cellTypes[i];
+      values[offset] = cellValues[i];
+      styles[offset] = cellStyles[i];
+      cellValues[i] = null;
+    }
+    return new XSSFReaderRow(workbook, rowIndex, firstColumn, types, values, styles);
+  }
+
+  /**
+   * Parses a {@code c} element into the cell buffers at the given position. The types follow the
+   * ones reported by {@link org.apache.poi.xssf.usermodel.XSSFCell}, using the cached result for
+   * formulas.
+   */
+  private void parseCell(int position) throws XMLStreamException {
+    String type = reader.getAttributeValue(null, "t");
+    String style = reader.getAttributeValue(null, "s");
+
+    String value = null;
+    boolean hasFormula = false;
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        switch (reader.getLocalName()) {
+          case "v" -> value = reader.getElementText();
+          case "f" -> {
+            hasFormula = true;
+            reader.getElementText();
+          }
+          case "is" -> value = parseInlineString();
+          default -> {}
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("c")) {
+        break;
+      }
+    }
+
+    CellType cellType;
+    if (type == null || type.equals("n")) {
+      if (value == null && !hasFormula) {
+        cellType = CellType.BLANK;
+      } else {
+        cellType = CellType.NUMERIC;
+        value = value == null ? "" : value;
+      }
+    } else {
+      switch (type) {
+        case "s" -> {
+          cellType = CellType.STRING;
+          value = value == null ? "" : workbook.getSharedString(Integer.parseInt(value));
+        }
+        case "b" -> cellType = CellType.BOOLEAN;
+        case "e" -> cellType = CellType.ERROR;
+        default -> {
+          cellType = CellType.STRING;
+          value = value == null ? "" : value;
+        }
+      }
+    }
+
+    cellTypes[position] = cellType;
+    cellValues[position] = value;
+    cellStyles[position] = style == null ? 0 : Integer.parseInt(style);
+  }
+
+  /** Parses the text of an {@code is} element, skipping any phonetic runs. */
+  private String parseInlineString() throws XMLStreamException {
+    StringBuilder text = new StringBuilder();
+    boolean inPhoneticRun = false;
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        switch (reader.getLocalName()) {
+          case "rPh" -> inPhoneticRun = true;
+          case "t" -> {
+            String runText = reader.getElementText();
+            if (!inPhoneticRun) {
+              text.append(runText);
+            }
+          }
+          default -> {}
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        switch (reader.getLocalName()) {
+          case "rPh" -> inPhoneticRun = false;
+          case "is" -> {
+            return text.toString();
+          }
+          default -> {}
+        }
+      }
+    }
+    return text.toString();
+  }
+
+  /** Parses the 1-based column index from a cell reference such as {@code AB12}. */
+  private static int parseColumn(String cellReference) {
+    int column = 0;
+    for (int i = 0; i < cellReference.length(); i++) {
+      char c = cellReference.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        column = column * 26 + (c - 'A' + 1);
+      } else if (c >= 'a' && c <= 'z') {
+        column = column * 26 + (c - 'a' + 1);
+      } else if (c != '$') {
+        break;
+      }
+    }
+    return column;
+  }
+
+  private void growCellBuffers() {
+    int newLength = cellColumns.length * 2;
+    cellColumns = Arrays.copyOf(cellColumns, newLength);
+    cellTypes = Arrays.copyOf(cellTypes, newLength);
+    cellValues = Arrays.copyOf(cellValues, newLength);
+    cellStyles = Arrays.copyOf(cellStyles, newLength);
+  }
+}
@@ -0,0 +1,200 @@
+package org.enso.table.excel.xssfreader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import org.apache.poi.ooxml.POIXMLTypeLoader;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.ExcelNumberFormat;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.xmlbeans.XmlException;
+import org.enso.table.excel.ExcelSheet;
+import org.enso.table.excel.ExcelWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTDefinedName;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTSheet;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.WorkbookDocument;
+import org.xml.sax.SAXException;
+
+/**
+ * A read-only XLSX workbook whose sheets are streamed from the file row by row.
+ *
+ * <p>Unlike {@link org.apache.poi.xssf.usermodel.XSSFWorkbook}, which keeps every cell of every
+ * sheet in memory, only the workbook structure, the shared strings and the styles are loaded when
+ * the workbook is opened. The cells of a sheet are parsed as its rows are requested.
+ */
+public final class XSSFReaderWorkbook implements ExcelWorkbook, AutoCloseable {
+  private final OPCPackage pkg;
+  private final XSSFReader reader;
+  private final List<String> sheetNames;
+  private final List<String> sheetRelationIds;
+  private final Map<String, String> nameFormulas;
+  private final boolean use1904Format;
+  private final ReadOnlySharedStringsTable sharedStrings;
+  private final StylesTable stylesTable;
+  private final ExcelNumberFormat[] numberFormats;
+  private final XMLInputFactory xmlInputFactory = XMLHelper.newXMLInputFactory();
+  private final List<XSSFReaderSheet> openedSheets = new ArrayList<>();
+
+  private XSSFReaderWorkbook(OPCPackage pkg) throws IOException, OpenXML4JException {
+    this.pkg = pkg;
+    this.reader = new XSSFReader(pkg);
+
+    CTWorkbook workbook;
+    try (InputStream workbookData = reader.getWorkbookData()) {
+      workbook =
+          WorkbookDocument.Factory.parse(workbookData, POIXMLTypeLoader.DEFAULT_XML_OPTIONS)
+              .getWorkbook();
+    } catch (XmlException e) {
+      throw new OpenXML4JException(e.getMessage(), e);
+    }
+
+    sheetNames = new ArrayList<>();
+    sheetRelationIds = new ArrayList<>();
+    for (CTSheet sheet : workbook.getSheets().getSheetArray()) {
+      sheetNames.add(sheet.getName());
+      sheetRelationIds.add(sheet.getId());
+    }
+
+    // As in the loaded workbook, if a name is defined more than once the first definition is used.
+    nameFormulas = new HashMap<>();
+    if (workbook.isSetDefinedNames()) {
+      for (CTDefinedName name : workbook.getDefinedNames().getDefinedNameArray()) {
+        nameFormulas.putIfAbsent(name.getName().toLowerCase(Locale.ROOT), name.getStringValue());
+      }
+    }
+
+    use1904Format = workbook.isSetWorkbookPr() && workbook.getWorkbookPr().getDate1904();
+
+    try {
+      sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+    } catch (SAXException e) {
+      throw new OpenXML4JException(e.getMessage(), e);
+    }
+
+    stylesTable = reader.getStylesTable();
+    numberFormats = new ExcelNumberFormat[stylesTable == null ? 0 : stylesTable.getNumCellStyles()];
+  }
+
+  /**
+   * Opens the XLSX file for reading.
+   *
+   * @param file the file to open
+   * @return the opened workbook, which must be closed once reading is finished
+   * @throws IOException if the file cannot be read or is not a valid XLSX file
+   */
+  public static XSSFReaderWorkbook open(File file) throws IOException {
+    OPCPackage pkg;
+    try {
+      pkg = OPCPackage.open(file, PackageAccess.READ);
+    } catch (OpenXML4JException e) {
+      throw invalidFormat(file, e);
+    }
+
+    try {
+      return new XSSFReaderWorkbook(pkg);
+    } catch (OpenXML4JException e) {
+      pkg.revert();
+      throw invalidFormat(file, e);
+    } catch (IOException | RuntimeException e) {
+      pkg.revert();
+      throw e;
+    }
+  }
+
+  private static IOException invalidFormat(File file, Exception cause) {
+    return new IOException(
+        "Invalid format encountered when opening the file " + file + " as XLSX.", cause);
+  }
+
+  @Override
+  public int getNumberOfSheets() {
+    return sheetNames.size();
+  }
+
+  /** Returns the name of the sheet at the given 0-based index. */
+  public String getSheetName(int sheetIndex) {
+    return sheetNames.get(sheetIndex);
+  }
+
+  @Override
+  public int getSheetIndex(String name) {
+    for (int i = 0; i < sheetNames.size(); i++) {
+      if (sheetNames.get(i).equalsIgnoreCase(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String getNameFormula(String name) {
+    return nameFormulas.get(name.toLowerCase(Locale.ROOT));
+  }
+
+  @Override
+  public ExcelSheet getSheetAt(int sheetIndex) {
+    XSSFReaderSheet sheet = new XSSFReaderSheet(this, sheetRelationIds.get(sheetIndex));
+    openedSheets.add(sheet);
+    return sheet;
+  }
+
+  @Override
+  public void close() {
+    for (XSSFReaderSheet sheet : openedSheets) {
+      sheet.close();
+    }
+    openedSheets.clear();
+
+    // The package is opened read-only, so it is reverted rather than closed, to not save it.
+    pkg.revert();
+  }
+
+  boolean use1904Format() {
+    return use1904Format;
+  }
+
+  XMLInputFactory getXmlInputFactory() {
+    return xmlInputFactory;
+  }
+
+  InputStream openSheetData(String relationId) throws IOException {
+    try {
+      return reader.getSheet(relationId);
+    } catch (OpenXML4JException e) {
+      throw new IOException("Unable to read the sheet data.", e);
+    }
+  }
+
+  String getSharedString(int index) {
+    return sharedStrings.getItemAt(index).getString();
+  }
+
+  /**
+   * Returns the number format of the cell style with the given index, or null if the workbook has
+   * no such style. The formats are looked up once and cached, as most cells share a few styles.
+   */
+  ExcelNumberFormat getNumberFormat(int styleIndex) {
+    if (styleIndex < 0 || styleIndex >= numberFormats.length) {
+      return null;
+    }
+
+    ExcelNumberFormat format = numberFormats[styleIndex];
+    if (format == null) {
+      format = ExcelNumberFormat.from(stylesTable.getStyleAt(styleIndex));
+      numberFormats[styleIndex] = format;
+    }
+    return format;
+  }
+}
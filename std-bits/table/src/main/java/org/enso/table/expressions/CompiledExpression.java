@@ -0,0 +1,54 @@
+package org.enso.table.expressions;
+
+import org.enso.table.data.column.operation.map.lazy.LazyColumnExpression;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.enso.table.problems.ProblemAggregator;
+
+/**
+ * An expression compiled into a single fused kernel over the columns of an in-memory table.
+ *
+ * <p>The kernel computes each row of the whole expression at once, so {@code [a] * 2 + [b] > 10}
+ * is evaluated in one pass without materializing the intermediate columns. The results and the
+ * reported problems are the same as if each operation were run as a separate vectorized column
+ * operation.
+ */
+public final class CompiledExpression {
+  private final LazyColumnExpression expression;
+
+  private CompiledExpression(LazyColumnExpression expression) {
+    this.expression = expression;
+  }
+
+  /**
+   * Tries to compile an expression against the columns of a table.
+   *
+   * @param expression the expression to compile
+   * @param table the table providing the columns
+   * @return the compiled expression, or {@code null} if the expression (or a column it refers to)
+   *     is not supported by the compiler, or if it is not valid; such expressions should be
+   *     evaluated with {@link ExpressionVisitorImpl}, which also reports the errors
+   */
+  public static CompiledExpression tryCompile(String expression, Table table) {
+    ExpressionParser.ProgContext program;
+    try {
+      program = ExpressionVisitorImpl.parse(expression);
+    } catch (ExpressionVisitorImpl.SyntaxErrorException e) {
+      return null;
+    }
+
+    var compiled = new ExpressionCompiler(table::getColumnByName).visit(program);
+    return compiled == null ? null : new CompiledExpression(compiled);
+  }
+
+  /**
+   * Evaluates the expression.
+   *
+   * @param name the name of the resulting column
+   * @param problemAggregator the aggregator receiving the problems of all operations
+   * @return the resulting column
+   */
+  public Column evaluate(String name, ProblemAggregator problemAggregator) {
+    return new Column(name, expression.materialize(problemAggregator));
+  }
+}
@@ -0,0 +1,158 @@
+package org.enso.table.expressions;
+
+import java.util.function.Function;
+import org.antlr.v4.runtime.tree.RuleNode;
+import org.enso.table.data.column.operation.map.lazy.LazyColumnExpression;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.table.Column;
+
+/**
+ * Lowers a parsed expression into a {@link LazyColumnExpression}.
+ *
+ * <p>Only arithmetic, comparisons and boolean logic over Integer, Float and Boolean columns are
+ * supported. Every visit returns {@code null} for anything else, which makes the whole expression
+ * fall back to {@link ExpressionVisitorImpl}. The left operand of every operation must be derived
+ * from a column, as only then the operation is dispatched to the vectorized column operations.
+ */
+class ExpressionCompiler extends ExpressionBaseVisitor<LazyColumnExpression> {
+  private final Function<String, Column> getColumn;
+
+  ExpressionCompiler(Function<String, Column> getColumn) {
+    this.getColumn = getColumn;
+  }
+
+  @Override
+  public LazyColumnExpression visitChildren(RuleNode node) {
+    return null;
+  }
+
+  @Override
+  public LazyColumnExpression visitProg(ExpressionParser.ProgContext ctx) {
+    var result = visit(ctx.expr());
+    // A bare column or constant does not need a kernel.
+    return result != null && result.isColumn() && !result.isPlainColumn() ? result : null;
+  }
+
+  @Override
+  public LazyColumnExpression visitParen(ExpressionParser.ParenContext ctx) {
+    return visit(ctx.expr());
+  }
+
+  @Override
+  public LazyColumnExpression visitColumn(ExpressionParser.ColumnContext ctx) {
+    var text = ctx.getText();
+    var name = text.substring(1, text.length() - 1).replace("]]", "]");
+    var column = getColumn.apply(name);
+    return column == null ? null : LazyColumnExpression.fromStorage(name, column.getStorage());
+  }
+
+  @Override
+  public LazyColumnExpression visitLiteral(ExpressionParser.LiteralContext ctx) {
+    return visit(ctx.value());
+  }
+
+  @Override
+  public LazyColumnExpression visitBoolean(ExpressionParser.BooleanContext ctx) {
+    return LazyColumnExpression.constant(ctx.TRUE() != null);
+  }
+
+  @Override
+  public LazyColumnExpression visitNumber(ExpressionParser.NumberContext ctx) {
+    var text = ctx.getText().replace("_", "");
+    try {
+      if (text.contains(".")) {
+        return LazyColumnExpression.constant(Double.parseDouble(text));
+      } else {
+        return LazyColumnExpression.constant(Long.parseLong(text));
+      }
+    } catch (NumberFormatException e) {
+      // Integers beyond the 64-bit range are handled by the BigInteger storage.
+      return null;
+    }
+  }
+
+  @Override
+  public LazyColumnExpression visitPower(ExpressionParser.PowerContext ctx) {
+    return binary(visit(ctx.expr(0)), Storage.Maps.POWER, visit(ctx.expr(1)));
+  }
+
+  @Override
+  public LazyColumnExpression visitMultDivMod(ExpressionParser.MultDivModContext ctx) {
+    return binary(visit(ctx.expr(0)), ctx.op.getText(), visit(ctx.expr(1)));
+  }
+
+  @Override
+  public LazyColumnExpression visitAddSub(ExpressionParser.AddSubContext ctx) {
+    return binary(visit(ctx.expr(0)), ctx.op.getText(), visit(ctx.expr(1)));
+  }
+
+  @Override
+  public LazyColumnExpression visitUnaryMinus(ExpressionParser.UnaryMinusContext ctx) {
+    return binary(visit(ctx.expr()), Storage.Maps.MUL, LazyColumnExpression.constant(-1L));
+  }
+
+  @Override
+  public LazyColumnExpression visitCompare(ExpressionParser.CompareContext ctx) {
+    var left = visit(ctx.expr(0));
+    var right = visit(ctx.expr(1));
+    return switch (ctx.op.getText()) {
+      case "=", "==" -> binary(left, Storage.Maps.EQ, right);
+      case "!=", "<>" -> {
+        // `!=` is computed as the negation of `==`, see `Column.!=`.
+        var equals = binary(left, Storage.Maps.EQ, right);
+        yield equals == null
+            ? null
+            : equals.not(left.toExpressionText() + " != " + right.toExpressionText());
+      }
+      default -> binary(left, ctx.op.getText(), right);
+    };
+  }
+
+  @Override
+  public LazyColumnExpression visitBetween(ExpressionParser.BetweenContext ctx) {
+    var self = visit(ctx.expr(0));
+    var lower = visit(ctx.expr(1));
+    var upper = visit(ctx.expr(2));
+    var condition =
+        binary(
+            binary(self, Storage.Maps.GTE, lower),
+            Storage.Maps.AND,
+            binary(self, Storage.Maps.LTE, upper));
+    if (condition == null) {
+      return null;
+    }
+
+    condition =
+        condition.renamed(
+            self.toExpressionText()
+                + " between "
+                + lower.toExpressionText()
+                + " and "
+                + upper.toExpressionText());
+    return ctx.NOT_BETWEEN() != null ? negate(condition) : condition;
+  }
+
+  @Override
+  public LazyColumnExpression visitAnd(ExpressionParser.AndContext ctx) {
+    return binary(visit(ctx.expr(0)), Storage.Maps.AND, visit(ctx.expr(1)));
+  }
+
+  @Override
+  public LazyColumnExpression visitOr(ExpressionParser.OrContext ctx) {
+    return binary(visit(ctx.expr(0)), Storage.Maps.OR, visit(ctx.expr(1)));
+  }
+
+  @Override
+  public LazyColumnExpression visitUnaryNot(ExpressionParser.UnaryNotContext ctx) {
+    return negate(visit(ctx.expr()));
+  }
+
+  private static LazyColumnExpression negate(LazyColumnExpression operand) {
+    return operand == null ? null : operand.not("not " + operand.toExpressionText());
+  }
+
+  private static LazyColumnExpression binary(
+      LazyColumnExpression left, String name, LazyColumnExpression right) {
+    return left == null ? null : left.binary(name, right);
+  }
+}
@@ -64,6 +64,20 @@ public class ExpressionVisitorImpl extends ExpressionBaseVisitor<Value> {
       String typeName,
       String[] variableArgumentFunctions)
       throws UnsupportedOperationException, IllegalArgumentException {
+    var expr = parse(expression);
+    var visitor =
+        new ExpressionVisitorImpl(
+            getColumn, makeConstantColumn, moduleName, typeName, variableArgumentFunctions);
+    return visitor.visit(expr);
+  }
+
+  /**
+   * Parses the expression, throwing a {@link SyntaxErrorException} if it is not valid.
+   *
+   * @param expression the expression to parse
+   * @return the parsed program
+   */
+  static ExpressionParser.ProgContext parse(String expression) throws SyntaxErrorException {
     var lexer = new ExpressionLexer(CharStreams.fromString(expression));
     lexer.removeErrorListeners();
     lexer.addErrorListener(ThrowOnErrorListener.INSTANCE);
@@ -72,13 +86,7 @@ public class ExpressionVisitorImpl extends ExpressionBaseVisitor<Value> {
     var parser = new ExpressionParser(tokens);
     parser.removeErrorListeners();
     parser.addErrorListener(ThrowOnErrorListener.INSTANCE);
-
-    var visitor =
-        new ExpressionVisitorImpl(
-            getColumn, makeConstantColumn, moduleName, typeName, variableArgumentFunctions);
-
-    var expr = parser.prog();
-    return visitor.visit(expr);
+    return parser.prog();
   }
 
   private final Function<String, Value> getColumn;
@@ -0,0 +1,27 @@
+package org.enso.table.operations;
+
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.table.Column;
+import org.enso.table.operations.window.WindowFunctions;
+import org.enso.table.operations.window.WindowPartitioning;
+import org.enso.table.problems.ProblemAggregator;
+
+public class AddOffset {
+
+  public static Storage<?> create_offset(
+      Column sourceColumn,
+      long offset,
+      Column[] groupingColumns,
+      Column[] orderingColumns,
+      int[] directions,
+      ProblemAggregator problemAggregator) {
+    WindowPartitioning partitioning =
+        WindowPartitioning.build(
+            groupingColumns,
+            orderingColumns,
+            directions,
+            sourceColumn.getSize(),
+            problemAggregator);
+    return WindowFunctions.shift(sourceColumn, offset, partitioning);
+  }
+}
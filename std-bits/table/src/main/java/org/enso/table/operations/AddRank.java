@@ -0,0 +1,25 @@
+package org.enso.table.operations;
+
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.table.Column;
+import org.enso.table.operations.window.WindowFunctions;
+import org.enso.table.operations.window.WindowPartitioning;
+import org.enso.table.problems.ProblemAggregator;
+
+public class AddRank {
+
+  public static Storage<?> create_ranking(
+      boolean dense,
+      int rowCount,
+      Column[] groupingColumns,
+      Column[] orderingColumns,
+      int[] directions,
+      ProblemAggregator problemAggregator) {
+    WindowPartitioning partitioning =
+        WindowPartitioning.build(
+            groupingColumns, orderingColumns, directions, rowCount, problemAggregator);
+    WindowFunctions.RankMethod method =
+        dense ? WindowFunctions.RankMethod.DENSE_RANK : WindowFunctions.RankMethod.RANK;
+    return WindowFunctions.rank(method, partitioning);
+  }
+}
@@ -9,6 +9,7 @@ import java.util.Map;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.index.MultiValueKeyBase;
+import org.enso.table.data.index.SingleKeyIndex;
 import org.enso.table.data.index.UnorderedMultiValueKey;
 import org.enso.table.data.table.Column;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
@@ -28,7 +29,14 @@ public class Distinct {
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     var mask = new BitSet();
-    if (keyColumns.length != 0) {
+    if (SingleKeyIndex.isSupported(keyColumns)) {
+      var index =
+          SingleKeyIndex.build(keyColumns[0], textFoldingStrategy, groupingProblemAggregator);
+      for (int group = 0; group < index.groupCount(); group++) {
+        mask.set(index.firstRow(group));
+        context.safepoint();
+      }
+    } else if (keyColumns.length != 0) {
       HashSet<MultiValueKeyBase> visitedRows = new HashSet<>();
       int size = keyColumns[0].getSize();
       Storage<?>[] storage =
@@ -63,7 +71,19 @@ public class Distinct {
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     var mask = new BitSet();
-    if (keyColumns.length != 0) {
+    if (SingleKeyIndex.isSupported(keyColumns)) {
+      var index =
+          SingleKeyIndex.build(keyColumns[0], textFoldingStrategy, groupingProblemAggregator);
+      for (int group = 0; group < index.groupCount(); group++) {
+        int groupSize = index.groupSize(group);
+        if (groupSize > 1) {
+          for (int i = 0; i < groupSize; i++) {
+            mask.set(index.groupRow(group, i));
+          }
+        }
+        context.safepoint();
+      }
+    } else if (keyColumns.length != 0) {
       Map<MultiValueKeyBase, Integer> visitedRows = new HashMap<>();
       int size = keyColumns[0].getSize();
       Storage<?>[] storage =
@@ -0,0 +1,384 @@
+package org.enso.table.operations;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import org.enso.base.ObjectComparator;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.DateTimeStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.index.OrderedMultiValueKey;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.util.ParallelTasks;
+
+/**
+ * Sorts the rows of a table by a set of columns without creating a key object per row.
+ *
+ * <p>The values of each column are first extracted into arrays of sort keys: integers as they are,
+ * floating point values as their bits rearranged so that they compare like {@link Double#compare},
+ * dates and times as their epoch day or nano of day, and text as its normalized (and possibly
+ * case-folded) form, which can be compared with {@link String#compareTo}. For dictionary-encoded
+ * text, the rank of each value in the dictionary is used instead. The row indices are then sorted
+ * with a merge sort: chunks of rows are sorted in parallel and then merged pairwise.
+ *
+ * <p>The resulting order is the same as when sorting {@link OrderedMultiValueKey}s with an {@link
+ * ObjectComparator}. Rows with equal keys keep their original order. Only columns whose values can
+ * be compared without calling back into Enso are supported, so that the work can be done on worker
+ * threads.
+ */
+public final class MultiColumnSorter {
+  private MultiColumnSorter() {}
+
+  /** Ranges shorter than this are sorted by insertion before being merged. */
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+
+  /** Checks if rows can be sorted by the given columns using the given comparator. */
+  public static boolean isSupported(Storage<?>[] storages, Comparator<Object> comparator) {
+    if (!(comparator instanceof ObjectComparator objectComparator)) {
+      return false;
+    }
+
+    for (Storage<?> storage : storages) {
+      boolean supported =
+          switch (storage) {
+            case AbstractLongStorage longStorage -> true;
+            case DoubleStorage doubleStorage -> true;
+            case BoolStorage boolStorage -> true;
+            case DateStorage dateStorage -> true;
+            case TimeOfDayStorage timeOfDayStorage -> true;
+            case DateTimeStorage dateTimeStorage -> true;
+            case StringStorage stringStorage -> objectComparator.getTextSortKey() != null;
+            default -> false;
+          };
+      if (!supported) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Builds an order mask sorting the rows by the given columns.
+   *
+   * @param storages the columns to sort by, in the order of their priority
+   * @param directions for each column, 1 to sort in ascending and -1 to sort in descending order
+   * @param missingLast for each column, whether missing values are placed after all other values
+   * @param comparator the comparator defining the order of values, which must be supported as
+   *     checked by {@link #isSupported}
+   * @return an order mask that sorts the rows
+   */
+  public static OrderMask buildOrderMask(
+      Storage<?>[] storages,
+      int[] directions,
+      boolean[] missingLast,
+      Comparator<Object> comparator) {
+    ObjectComparator objectComparator = (ObjectComparator) comparator;
+    int size = storages.length == 0 ? 0 : storages[0].size();
+    int chunkCount = ParallelTasks.chunkCount(size);
+
+    KeyColumn[] keyColumns = new KeyColumn[storages.length];
+    for (int i = 0; i < storages.length; i++) {
+      int missingOrder = missingLast[i] ? 1 : -1;
+      keyColumns[i] =
+          extractKeys(storages[i], size, directions[i], missingOrder, objectComparator, chunkCount);
+    }
+
+    return OrderMask.fromArray(sort(size, new RowComparator(keyColumns), chunkCount));
+  }
+
+  /** The sort keys of a single column, comparing two rows. */
+  private interface KeyColumn {
+    int compare(int a, int b);
+  }
+
+  /** Keys of a column of integers, floating point values, booleans, dates or times. */
+  private record LongKeys(long[] keys, boolean[] missing, int direction, int missingOrder)
+      implements KeyColumn {
+    @Override
+    public int compare(int a, int b) {
+      boolean aMissing = missing[a];
+      boolean bMissing = missing[b];
+      if (aMissing || bMissing) {
+        return aMissing == bMissing ? 0 : aMissing ? missingOrder : -missingOrder;
+      }
+      return direction * Long.compare(keys[a], keys[b]);
+    }
+  }
+
+  /** Keys compared by their natural order, with {@code null} marking missing values. */
+  private record ObjectKeys<T extends Comparable<? super T>>(
+      T[] keys, int direction, int missingOrder) implements KeyColumn {
+    @Override
+    public int compare(int a, int b) {
+      T aKey = keys[a];
+      T bKey = keys[b];
+      if (aKey == null || bKey == null) {
+        return aKey == bKey ? 0 : aKey == null ? missingOrder : -missingOrder;
+      }
+      return direction * aKey.compareTo(bKey);
+    }
+  }
+
+  /** Keys of a dictionary-encoded text column, comparing the ranks of the values. */
+  private record RankKeys(int[] codes, int[] ranks, int direction, int missingOrder)
+      implements KeyColumn {
+    @Override
+    public int compare(int a, int b) {
+      int aCode = codes[a];
+      int bCode = codes[b];
+      if (aCode == StringStorage.NOTHING_CODE || bCode == StringStorage.NOTHING_CODE) {
+        return aCode == bCode
+            ? 0
+            : aCode == StringStorage.NOTHING_CODE ? missingOrder : -missingOrder;
+      }
+      return direction * Integer.compare(ranks[aCode], ranks[bCode]);
+    }
+  }
+
+  /** Compares rows by all key columns, falling back to the row index to keep the sort stable. */
+  private record RowComparator(KeyColumn[] columns) {
+    int compare(int a, int b) {
+      for (KeyColumn column : columns) {
+        int result = column.compare(a, b);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return Integer.compare(a, b);
+    }
+  }
+
+  private interface LongKeyExtractor {
+    long key(int row);
+  }
+
+  private static KeyColumn extractKeys(
+      Storage<?> storage,
+      int size,
+      int direction,
+      int missingOrder,
+      ObjectComparator comparator,
+      int chunkCount) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> extractLongKeys(
+          storage, size, longStorage::getItem, direction, missingOrder, chunkCount);
+      case DoubleStorage doubleStorage -> extractLongKeys(
+          storage,
+          size,
+          row -> sortableBits(doubleStorage.getItemAsDouble(row)),
+          direction,
+          missingOrder,
+          chunkCount);
+      case BoolStorage boolStorage -> extractLongKeys(
+          storage,
+          size,
+          row -> boolStorage.getItem(row) ? 1 : 0,
+          direction,
+          missingOrder,
+          chunkCount);
+      case DateStorage dateStorage -> extractLongKeys(
+          storage,
+          size,
+          row -> dateStorage.getItem(row).toEpochDay(),
+          direction,
+          missingOrder,
+          chunkCount);
+      case TimeOfDayStorage timeStorage -> extractLongKeys(
+          storage,
+          size,
+          row -> timeStorage.getItem(row).toNanoOfDay(),
+          direction,
+          missingOrder,
+          chunkCount);
+      case DateTimeStorage dateTimeStorage -> {
+        ZonedDateTime[] keys = new ZonedDateTime[size];
+        ParallelTasks.forEachChunk(
+            size,
+            chunkCount,
+            (chunkIndex, start, end) -> {
+              for (int row = start; row < end; row++) {
+                keys[row] = dateTimeStorage.getItem(row);
+              }
+            });
+        yield new ObjectKeys<>(keys, direction, missingOrder);
+      }
+      case StringStorage stringStorage -> stringStorage.isDictionaryEncoded()
+          ? new RankKeys(
+              stringStorage.getCodes(),
+              stringStorage.getDictionaryRanks(comparator),
+              direction,
+              missingOrder)
+          : extractTextKeys(
+              stringStorage,
+              size,
+              comparator.getTextSortKey(),
+              direction,
+              missingOrder,
+              chunkCount);
+      default -> throw new IllegalArgumentException(
+          "Unsupported storage for sorting: " + storage.getClass().getName() + ".");
+    };
+  }
+
+  private static KeyColumn extractLongKeys(
+      Storage<?> storage,
+      int size,
+      LongKeyExtractor extractor,
+      int direction,
+      int missingOrder,
+      int chunkCount) {
+    long[] keys = new long[size];
+    boolean[] missing = new boolean[size];
+    ParallelTasks.forEachChunk(
+        size,
+        chunkCount,
+        (chunkIndex, start, end) -> {
+          for (int row = start; row < end; row++) {
+            if (storage.isNothing(row)) {
+              missing[row] = true;
+            } else {
+              keys[row] = extractor.key(row);
+            }
+          }
+        });
+    return new LongKeys(keys, missing, direction, missingOrder);
+  }
+
+  private static KeyColumn extractTextKeys(
+      StringStorage storage,
+      int size,
+      Function<String, String> sortKey,
+      int direction,
+      int missingOrder,
+      int chunkCount) {
+    String[] keys = new String[size];
+    ParallelTasks.forEachChunk(
+        size,
+        chunkCount,
+        (chunkIndex, start, end) -> {
+          for (int row = start; row < end; row++) {
+            String value = storage.getItem(row);
+            keys[row] = value == null ? null : sortKey.apply(value);
+          }
+        });
+    return new ObjectKeys<>(keys, direction, missingOrder);
+  }
+
+  /**
+   * Rearranges the bits of a floating point value, so that comparing them as signed integers gives
+   * the same result as {@link Double#compare}.
+   */
+  public static long sortableBits(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  /** Sorts the row indices, sorting chunks of rows in parallel and then merging them pairwise. */
+  private static int[] sort(int size, RowComparator comparator, int chunkCount) {
+    int[] rows = new int[size];
+    for (int i = 0; i < size; i++) {
+      rows[i] = i;
+    }
+    int[] buffer = new int[size];
+
+    ParallelTasks.forEachChunk(
+        size,
+        chunkCount,
+        (chunkIndex, start, end) -> mergeSort(rows, buffer, start, end, comparator));
+
+    int[] bounds = new int[chunkCount + 1];
+    for (int i = 0; i <= chunkCount; i++) {
+      bounds[i] = ParallelTasks.chunkStart(size, chunkCount, i);
+    }
+
+    int[] source = rows;
+    int[] target = buffer;
+    while (bounds.length > 2) {
+      int runs = bounds.length - 1;
+      int[] newBounds = new int[(runs + 1) / 2 + 1];
+      List<Runnable> tasks = new ArrayList<>(newBounds.length - 1);
+      for (int i = 0; i < runs; i += 2) {
+        final int[] from = source;
+        final int[] to = target;
+        final int start = bounds[i];
+        final int middle = bounds[i + 1];
+        final int end = i + 2 <= runs ? bounds[i + 2] : middle;
+        tasks.add(() -> merge(from, to, start, middle, end, comparator));
+        newBounds[i / 2] = start;
+      }
+      newBounds[newBounds.length - 1] = size;
+      ParallelTasks.runAll(tasks);
+
+      int[] swap = source;
+      source = target;
+      target = swap;
+      bounds = newBounds;
+    }
+    return source;
+  }
+
+  /** Sorts the range {@code [start, end)} of the rows, using the same range of the buffer. */
+  private static void mergeSort(
+      int[] rows, int[] buffer, int start, int end, RowComparator comparator) {
+    for (int runStart = start; runStart < end; runStart += INSERTION_SORT_THRESHOLD) {
+      insertionSort(rows, runStart, Math.min(end, runStart + INSERTION_SORT_THRESHOLD), comparator);
+    }
+
+    int[] source = rows;
+    int[] target = buffer;
+    for (int width = INSERTION_SORT_THRESHOLD; width < end - start; width *= 2) {
+      for (int runStart = start; runStart < end; runStart += 2 * width) {
+        int middle = Math.min(end, runStart + width);
+        int runEnd = Math.min(end, runStart + 2 * width);
+        merge(source, target, runStart, middle, runEnd, comparator);
+      }
+      int[] swap = source;
+      source = target;
+      target = swap;
+    }
+
+    if (source != rows) {
+      System.arraycopy(source, start, rows, start, end - start);
+    }
+  }
+
+  private static void insertionSort(int[] rows, int start, int end, RowComparator comparator) {
+    for (int i = start + 1; i < end; i++) {
+      int row = rows[i];
+      int j = i - 1;
+      while (j >= start && comparator.compare(rows[j], row) > 0) {
+        rows[j + 1] = rows[j];
+        j--;
+      }
+      rows[j + 1] = row;
+    }
+  }
+
+  /**
+   * Merges the sorted ranges {@code [start, middle)} and {@code [middle, end)} of {@code source}
+   * into the range {@code [start, end)} of {@code target}.
+   */
+  private static void merge(
+      int[] source, int[] target, int start, int middle, int end, RowComparator comparator) {
+    int left = start;
+    int right = middle;
+    int out = start;
+    while (left < middle && right < end) {
+      if (comparator.compare(source[left], source[right]) <= 0) {
+        target[out++] = source[left++];
+      } else {
+        target[out++] = source[right++];
+      }
+    }
+    System.arraycopy(source, left, target, out, middle - left);
+    out += middle - left;
+    System.arraycopy(source, right, target, out, end - right);
+  }
+}
@@ -65,6 +65,20 @@ public class OrderBuilder {
    * @return an order mask that will result in sorting any storage according to the specified rules.
    */
   public static OrderMask buildOrderMask(List<OrderRule> rules) {
+    Storage<?>[] storages = new Storage<?>[rules.size()];
+    int[] directions = new int[rules.size()];
+    boolean[] missingLast = new boolean[rules.size()];
+    for (int i = 0; i < storages.length; i++) {
+      OrderRule rule = rules.get(i);
+      storages[i] = rule.column.getStorage();
+      directions[i] = rule.ascending ? 1 : -1;
+      missingLast[i] = rule.missingLast;
+    }
+    if (MultiColumnSorter.isSupported(storages, ObjectComparator.DEFAULT)) {
+      return MultiColumnSorter.buildOrderMask(
+          storages, directions, missingLast, ObjectComparator.DEFAULT);
+    }
+
     int size = rules.get(0).column.getSize();
     Comparator<Integer> comparator =
         rules.stream().map(OrderRule::toComparator).reduce(Comparator::thenComparing).get();
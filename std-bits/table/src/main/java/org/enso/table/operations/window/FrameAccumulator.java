@@ -0,0 +1,742 @@
+package org.enso.table.operations.window;
+
+import org.enso.base.statistics.Statistic;
+
+/**
+ * Computes an aggregate over the rows of a window frame, which slides forward through a partition.
+ *
+ * <p>Rows enter the frame in the order of the partition and leave it in the same order. Rows that
+ * are marked as skipped (missing values or NaNs) are ignored. If the frame never loses rows (its
+ * start is unbounded), the values are accumulated in exactly the same way as by a running
+ * statistic.
+ *
+ * <p>The results are written as raw bits into an array shared by all accumulators of an operation,
+ * each of which writes distinct rows. An accumulator is not thread safe.
+ */
+abstract class FrameAccumulator {
+  protected final boolean[] skipped;
+  private final long[] result;
+  private final boolean[] isNothing;
+
+  FrameAccumulator(boolean[] skipped, long[] result, boolean[] isNothing) {
+    this.skipped = skipped;
+    this.result = result;
+    this.isNothing = isNothing;
+  }
+
+  /** Empties the frame. */
+  abstract void reset();
+
+  /** Adds a row at the end of the frame. */
+  abstract void add(int row);
+
+  /** Removes the row at the start of the frame. */
+  abstract void remove(int row);
+
+  /** Checks if the frame contains any non-skipped rows. */
+  abstract boolean isEmpty();
+
+  /** Returns the raw bits of the aggregate of a non-empty frame. */
+  abstract long currentBits();
+
+  /** Writes the aggregate of the current frame as the result of the given row. */
+  final void writeResult(int row) {
+    if (isEmpty()) {
+      isNothing[row] = true;
+    } else {
+      result[row] = currentBits();
+    }
+  }
+
+  /**
+   * Creates an accumulator computing the given statistic over floating point values.
+   *
+   * @param removesRows whether rows will be removed from the frame
+   */
+  static FrameAccumulator forDoubles(
+      Statistic statistic,
+      double[] values,
+      boolean[] skipped,
+      long[] result,
+      boolean[] isNothing,
+      boolean removesRows) {
+    return switch (statistic) {
+      case Sum,
+          Mean,
+          VariancePopulation,
+          VarianceSample,
+          StandardDeviationPopulation,
+          StandardDeviationSample,
+          SkewPopulation,
+          SkewSample,
+          Kurtosis -> removesRows
+          ? new SlidingMomentsAccumulator(statistic, values, skipped, result, isNothing)
+          : new MomentsAccumulator(statistic, values, skipped, result, isNothing);
+      case Product -> removesRows
+          ? new SlidingProductAccumulator(values, skipped, result, isNothing)
+          : new ProductAccumulator(values, skipped, result, isNothing);
+      case Minimum, Maximum -> {
+        boolean isMinimum = statistic == Statistic.Minimum;
+        yield removesRows
+            ? new SlidingDoubleExtremumAccumulator(isMinimum, values, skipped, result, isNothing)
+            : new DoubleExtremumAccumulator(isMinimum, values, skipped, result, isNothing);
+      }
+      default -> throw new IllegalArgumentException("Unsupported statistic: " + statistic);
+    };
+  }
+
+  /**
+   * Creates an accumulator computing the minimum or maximum of integer values.
+   *
+   * @param removesRows whether rows will be removed from the frame
+   */
+  static FrameAccumulator forLongs(
+      Statistic statistic,
+      long[] values,
+      boolean[] skipped,
+      long[] result,
+      boolean[] isNothing,
+      boolean removesRows) {
+    boolean isMinimum =
+        switch (statistic) {
+          case Minimum -> true;
+          case Maximum -> false;
+          default -> throw new IllegalArgumentException("Unsupported statistic: " + statistic);
+        };
+    return removesRows
+        ? new SlidingLongExtremumAccumulator(isMinimum, values, skipped, result, isNothing)
+        : new LongExtremumAccumulator(isMinimum, values, skipped, result, isNothing);
+  }
+
+  /** Computes a moment based statistic from the count and the sums of powers of the values. */
+  private static double momentStatistic(
+      Statistic statistic,
+      long count,
+      double sum,
+      double sumSquares,
+      double sumCubes,
+      double sumQuads) {
+    return switch (statistic) {
+      case Sum -> sum;
+      case Mean -> sum / count;
+      case VariancePopulation -> variance(true, count, sum, sumSquares);
+      case VarianceSample -> variance(false, count, sum, sumSquares);
+      case StandardDeviationPopulation -> Math.sqrt(variance(true, count, sum, sumSquares));
+      case StandardDeviationSample -> Math.sqrt(variance(false, count, sum, sumSquares));
+      case SkewPopulation -> skew(true, count, sum, sumSquares, sumCubes);
+      case SkewSample -> skew(false, count, sum, sumSquares, sumCubes);
+      case Kurtosis -> kurtosis(count, sum, sumSquares, sumCubes, sumQuads);
+      default -> throw new IllegalStateException("Unexpected statistic: " + statistic);
+    };
+  }
+
+  private static double variance(boolean isPopulation, long count, double sum, double sumSquares) {
+    double mean = sum / count;
+    double denominator = isPopulation ? count : count - 1;
+    return (sumSquares - 2 * mean * sum + count * mean * mean) / denominator;
+  }
+
+  private static double skew(
+      boolean isPopulation, long count, double sum, double sumSquares, double sumCubes) {
+    if (count <= 2) {
+      return Double.NaN;
+    }
+    double mean = sum / count;
+    double standardDeviation = Math.sqrt(variance(isPopulation, count, sum, sumSquares));
+    double denominator =
+        isPopulation ? count : ((double) ((count - 1) * (count - 2)) / (double) count);
+    double scale = 1.0 / (standardDeviation * standardDeviation * standardDeviation) / denominator;
+    return (sumCubes - 3 * mean * sumSquares + 2 * mean * mean * sum) * scale;
+  }
+
+  private static double kurtosis(
+      long count, double sum, double sumSquares, double sumCubes, double sumQuads) {
+    if (count <= 3) {
+      return Double.NaN;
+    }
+    double mean = sum / count;
+    double variance = variance(false, count, sum, sumSquares);
+    double scale =
+        (double) (count * (count + 1))
+            / (double) ((count - 1) * (count - 2) * (count - 3) * variance * variance);
+    double shift = (double) (3 * (count - 1) * (count - 1)) / (double) ((count - 2) * (count - 3));
+    return (sumQuads
+                - 4 * mean * sumCubes
+                + 6 * mean * mean * sumSquares
+                - 3 * mean * mean * mean * sum)
+            * scale
+        - shift;
+  }
+
+  /** Keeps the sums of powers of the values of a frame that never loses rows. */
+  private static final class MomentsAccumulator extends FrameAccumulator {
+    private final Statistic statistic;
+    private final double[] values;
+    private long count;
+    private double sum;
+    private double sumSquares;
+    private double sumCubes;
+    private double sumQuads;
+
+    MomentsAccumulator(
+        Statistic statistic,
+        double[] values,
+        boolean[] skipped,
+        long[] result,
+        boolean[] isNothing) {
+      super(skipped, result, isNothing);
+      this.statistic = statistic;
+      this.values = values;
+    }
+
+    @Override
+    void reset() {
+      count = 0;
+    }
+
+    @Override
+    void add(int row) {
+      if (skipped[row]) {
+        return;
+      }
+
+      double value = values[row];
+      if (count == 0) {
+        sum = value;
+        sumSquares = value * value;
+        sumCubes = value * value * value;
+        sumQuads = value * value * value * value;
+      } else {
+        sum += value;
+        sumSquares += value * value;
+        sumCubes += value * value * value;
+        sumQuads += value * value * value * value;
+      }
+      count++;
+    }
+
+    @Override
+    void remove(int row) {
+      throw new IllegalStateException("A running statistic does not support removing rows.");
+    }
+
+    @Override
+    boolean isEmpty() {
+      return count == 0;
+    }
+
+    @Override
+    long currentBits() {
+      return Double.doubleToRawLongBits(
+          momentStatistic(statistic, count, sum, sumSquares, sumCubes, sumQuads));
+    }
+  }
+
+  /** A product over a frame that never loses rows. */
+  private static final class ProductAccumulator extends FrameAccumulator {
+    private final double[] values;
+    private boolean hasValue;
+    private double product;
+
+    ProductAccumulator(double[] values, boolean[] skipped, long[] result, boolean[] isNothing) {
+      super(skipped, result, isNothing);
+      this.values = values;
+    }
+
+    @Override
+    void reset() {
+      hasValue = false;
+    }
+
+    @Override
+    void add(int row) {
+      if (skipped[row]) {
+        return;
+      }
+
+      if (hasValue) {
+        product *= values[row];
+      } else {
+        product = values[row];
+        hasValue = true;
+      }
+    }
+
+    @Override
+    void remove(int row) {
+      throw new IllegalStateException("A running product does not support removing rows.");
+    }
+
+    @Override
+    boolean isEmpty() {
+      return !hasValue;
+    }
+
+    @Override
+    long currentBits() {
+      return Double.doubleToRawLongBits(product);
+    }
+  }
+
+  /**
+   * An aggregate over a sliding frame, which is never updated by subtracting the values of removed
+   * rows - that would leave rounding errors behind, and does not work for products with zeros.
+   *
+   * <p>Instead the frame is split in two stacks. Added rows are pushed onto the back stack, whose
+   * aggregate is kept as a running total. The front stack holds the older rows, each with the
+   * aggregate of itself and all rows after it in the front, so the first row can be removed by
+   * popping it. When the front runs out, all rows of the back are moved there. Every row is moved
+   * at most once, so the amortized cost of each operation is constant.
+   *
+   * <p>An aggregate is a tuple of {@code width} doubles, combined by an associative operation.
+   */
+  private abstract static class TwoStackAccumulator extends FrameAccumulator {
+    private final int width;
+    private final RowQueue back = new RowQueue();
+    private final double[] backTotal;
+    private int[] frontRows = new int[16];
+    private double[] frontTotals;
+    private int frontSize;
+    protected final double[] current;
+
+    TwoStackAccumulator(int width, boolean[] skipped, long[] result, boolean[] isNothing) {
+      super(skipped, result, isNothing);
+      this.width = width;
+      this.backTotal = new double[width];
+      this.frontTotals = new double[frontRows.length * width];
+      this.current = new double[width];
+    }
+
+    /** Writes the aggregate of the single row into the target at the given offset. */
+    abstract void lift(int row, double[] target, int offset);
+
+    /**
+     * Combines the aggregates of earlier rows (at {@code left}) and later rows (at {@code right})
+     * into the target, which may be the same as one of the inputs.
+     */
+    abstract void combine(
+        double[] left,
+        int leftOffset,
+        double[] right,
+        int rightOffset,
+        double[] target,
+        int offset);
+
+    /** Computes the statistic from the aggregate of the whole frame, stored in {@link #current}. */
+    abstract long resultBits();
+
+    @Override
+    void reset() {
+      back.clear();
+      frontSize = 0;
+    }
+
+    @Override
+    void add(int row) {
+      if (skipped[row]) {
+        return;
+      }
+
+      if (back.isEmpty()) {
+        lift(row, backTotal, 0);
+      } else {
+        lift(row, current, 0);
+        combine(backTotal, 0, current, 0, backTotal, 0);
+      }
+      back.addLast(row);
+    }
+
+    @Override
+    void remove(int row) {
+      if (frontSize == 0) {
+        moveBackToFront();
+      }
+      if (frontSize > 0 && frontRows[frontSize - 1] == row) {
+        frontSize--;
+      }
+    }
+
+    private void moveBackToFront() {
+      if (frontRows.length < back.size()) {
+        frontRows = new int[Integer.highestOneBit(back.size()) * 2];
+        frontTotals = new double[frontRows.length * width];
+      }
+      for (int i = back.size() - 1; i >= 0; i--) {
+        int row = back.get(i);
+        int offset = frontSize * width;
+        lift(row, frontTotals, offset);
+        if (frontSize > 0) {
+          combine(frontTotals, offset, frontTotals, offset - width, frontTotals, offset);
+        }
+        frontRows[frontSize++] = row;
+      }
+      back.clear();
+    }
+
+    @Override
+    boolean isEmpty() {
+      return frontSize == 0 && back.isEmpty();
+    }
+
+    @Override
+    long currentBits() {
+      if (frontSize == 0) {
+        System.arraycopy(backTotal, 0, current, 0, width);
+      } else if (back.isEmpty()) {
+        System.arraycopy(frontTotals, (frontSize - 1) * width, current, 0, width);
+      } else {
+        combine(frontTotals, (frontSize - 1) * width, backTotal, 0, current, 0);
+      }
+      return resultBits();
+    }
+  }
+
+  /** Keeps the count and the sums of powers of the values of a sliding frame. */
+  private static final class SlidingMomentsAccumulator extends TwoStackAccumulator {
+    private final Statistic statistic;
+    private final double[] values;
+
+    SlidingMomentsAccumulator(
+        Statistic statistic,
+        double[] values,
+        boolean[] skipped,
+        long[] result,
+        boolean[] isNothing) {
+      super(5, skipped, result, isNothing);
+      this.statistic = statistic;
+      this.values = values;
+    }
+
+    @Override
+    void lift(int row, double[] target, int offset) {
+      double value = values[row];
+      target[offset] = 1;
+      target[offset + 1] = value;
+      target[offset + 2] = value * value;
+      target[offset + 3] = value * value * value;
+      target[offset + 4] = value * value * value * value;
+    }
+
+    @Override
+    void combine(
+        double[] left,
+        int leftOffset,
+        double[] right,
+        int rightOffset,
+        double[] target,
+        int offset) {
+      for (int i = 0; i < 5; i++) {
+        target[offset + i] = left[leftOffset + i] + right[rightOffset + i];
+      }
+    }
+
+    @Override
+    long resultBits() {
+      return Double.doubleToRawLongBits(
+          momentStatistic(
+              statistic, (long) current[0], current[1], current[2], current[3], current[4]));
+    }
+  }
+
+  /**
+   * A product over a sliding frame.
+   *
+   * <p>Zeros are counted separately from the product of the other values, so that the result of a
+   * frame containing a zero does not depend on the order in which the partial products overflowed.
+   */
+  private static final class SlidingProductAccumulator extends TwoStackAccumulator {
+    private final double[] values;
+
+    SlidingProductAccumulator(
+        double[] values, boolean[] skipped, long[] result, boolean[] isNothing) {
+      super(2, skipped, result, isNothing);
+      this.values = values;
+    }
+
+    @Override
+    void lift(int row, double[] target, int offset) {
+      double value = values[row];
+      boolean isZero = value == 0.0;
+      target[offset] = isZero ? 1 : 0;
+      target[offset + 1] = isZero ? Math.copySign(1.0, value) : value;
+    }
+
+    @Override
+    void combine(
+        double[] left,
+        int leftOffset,
+        double[] right,
+        int rightOffset,
+        double[] target,
+        int offset) {
+      target[offset] = left[leftOffset] + right[rightOffset];
+      target[offset + 1] = left[leftOffset + 1] * right[rightOffset + 1];
+    }
+
+    @Override
+    long resultBits() {
+      double product = current[0] > 0 ? Math.copySign(0.0, current[1]) : current[1];
+      return Double.doubleToRawLongBits(product);
+    }
+  }
+
+  /** A minimum or maximum over a frame that never loses rows. */
+  private static final class DoubleExtremumAccumulator extends FrameAccumulator {
+    private final boolean isMinimum;
+    private final double[] values;
+    private boolean hasValue;
+    private double current;
+
+    DoubleExtremumAccumulator(
+        boolean isMinimum, double[] values, boolean[] skipped, long[] result, boolean[] isNothing) {
+      super(skipped, result, isNothing);
+      this.isMinimum = isMinimum;
+      this.values = values;
+    }
+
+    @Override
+    void reset() {
+      hasValue = false;
+    }
+
+    @Override
+    void add(int row) {
+      if (skipped[row]) {
+        return;
+      }
+
+      double value = values[row];
+      if (!hasValue) {
+        current = value;
+        hasValue = true;
+      } else {
+        current = isMinimum ? Math.min(current, value) : Math.max(current, value);
+      }
+    }
+
+    @Override
+    void remove(int row) {
+      throw new IllegalStateException("A running extremum does not support removing rows.");
+    }
+
+    @Override
+    boolean isEmpty() {
+      return !hasValue;
+    }
+
+    @Override
+    long currentBits() {
+      return Double.doubleToRawLongBits(current);
+    }
+  }
+
+  /**
+   * A minimum or maximum over a sliding frame.
+   *
+   * <p>Keeps a queue of the rows that may still become the extremum: each row is followed only by
+   * strictly better values, so the extremum of the frame is the first row of the queue. Values are
+   * compared with {@link Double#compare}, which orders signed zeros in the same way as {@link
+   * Math#min} and {@link Math#max}.
+   */
+  private static final class SlidingDoubleExtremumAccumulator extends FrameAccumulator {
+    private final int sign;
+    private final double[] values;
+    private final RowQueue candidates = new RowQueue();
+
+    SlidingDoubleExtremumAccumulator(
+        boolean isMinimum, double[] values, boolean[] skipped, long[] result, boolean[] isNothing) {
+      super(skipped, result, isNothing);
+      this.sign = isMinimum ? 1 : -1;
+      this.values = values;
+    }
+
+    @Override
+    void reset() {
+      candidates.clear();
+    }
+
+    @Override
+    void add(int row) {
+      if (skipped[row]) {
+        return;
+      }
+
+      double value = values[row];
+      while (!candidates.isEmpty()
+          && sign * Double.compare(value, values[candidates.last()]) <= 0) {
+        candidates.removeLast();
+      }
+      candidates.addLast(row);
+    }
+
+    @Override
+    void remove(int row) {
+      if (!candidates.isEmpty() && candidates.first() == row) {
+        candidates.removeFirst();
+      }
+    }
+
+    @Override
+    boolean isEmpty() {
+      return candidates.isEmpty();
+    }
+
+    @Override
+    long currentBits() {
+      return Double.doubleToRawLongBits(values[candidates.first()]);
+    }
+  }
+
+  /** A minimum or maximum of integers over a frame that never loses rows. */
+  private static final class LongExtremumAccumulator extends FrameAccumulator {
+    private final boolean isMinimum;
+    private final long[] values;
+    private boolean hasValue;
+    private long current;
+
+    LongExtremumAccumulator(
+        boolean isMinimum, long[] values, boolean[] skipped, long[] result, boolean[] isNothing) {
+      super(skipped, result, isNothing);
+      this.isMinimum = isMinimum;
+      this.values = values;
+    }
+
+    @Override
+    void reset() {
+      hasValue = false;
+    }
+
+    @Override
+    void add(int row) {
+      if (skipped[row]) {
+        return;
+      }
+
+      long value = values[row];
+      if (!hasValue) {
+        current = value;
+        hasValue = true;
+      } else {
+        current = isMinimum ? Math.min(current, value) : Math.max(current, value);
+      }
+    }
+
+    @Override
+    void remove(int row) {
+      throw new IllegalStateException("A running extremum does not support removing rows.");
+    }
+
+    @Override
+    boolean isEmpty() {
+      return !hasValue;
+    }
+
+    @Override
+    long currentBits() {
+      return current;
+    }
+  }
+
+  /** A minimum or maximum of integers over a sliding frame, see the floating point variant. */
+  private static final class SlidingLongExtremumAccumulator extends FrameAccumulator {
+    private final int sign;
+    private final long[] values;
+    private final RowQueue candidates = new RowQueue();
+
+    SlidingLongExtremumAccumulator(
+        boolean isMinimum, long[] values, boolean[] skipped, long[] result, boolean[] isNothing) {
+      super(skipped, result, isNothing);
+      this.sign = isMinimum ? 1 : -1;
+      this.values = values;
+    }
+
+    @Override
+    void reset() {
+      candidates.clear();
+    }
+
+    @Override
+    void add(int row) {
+      if (skipped[row]) {
+        return;
+      }
+
+      long value = values[row];
+      while (!candidates.isEmpty() && sign * Long.compare(value, values[candidates.last()]) <= 0) {
+        candidates.removeLast();
+      }
+      candidates.addLast(row);
+    }
+
+    @Override
+    void remove(int row) {
+      if (!candidates.isEmpty() && candidates.first() == row) {
+        candidates.removeFirst();
+      }
+    }
+
+    @Override
+    boolean isEmpty() {
+      return candidates.isEmpty();
+    }
+
+    @Override
+    long currentBits() {
+      return values[candidates.first()];
+    }
+  }
+
+  /** A growable queue of row indices, backed by a circular buffer. */
+  private static final class RowQueue {
+    private int[] buffer = new int[16];
+    private int head;
+    private int size;
+
+    void clear() {
+      head = 0;
+      size = 0;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    int get(int i) {
+      return buffer[(head + i) & (buffer.length - 1)];
+    }
+
+    int first() {
+      return buffer[head];
+    }
+
+    int last() {
+      return get(size - 1);
+    }
+
+    void addLast(int row) {
+      if (size == buffer.length) {
+        int[] grown = new int[buffer.length * 2];
+        for (int i = 0; i < size; i++) {
+          grown[i] = get(i);
+        }
+        buffer = grown;
+        head = 0;
+      }
+      buffer[(head + size) & (buffer.length - 1)] = row;
+      size++;
+    }
+
+    void removeFirst() {
+      head = (head + 1) & (buffer.length - 1);
+      size--;
+    }
+
+    void removeLast() {
+      size--;
+    }
+  }
+}
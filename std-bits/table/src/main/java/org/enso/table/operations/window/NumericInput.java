@@ -0,0 +1,91 @@
+package org.enso.table.operations.window;
+
+import org.enso.base.polyglot.NumericConverter;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.problems.IgnoredNaN;
+import org.enso.table.data.table.problems.IgnoredNothing;
+import org.enso.table.problems.ColumnAggregatedProblemAggregator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * The values of a numeric column extracted into a primitive array, together with a mask of the rows
+ * that are ignored by window aggregates.
+ *
+ * <p>The values are extracted on the calling thread, which also reports the ignored missing values
+ * and NaNs, in the order of the rows. Values that cannot be converted to the requested type are
+ * ignored without a warning.
+ */
+final class NumericInput {
+  private NumericInput() {}
+
+  /** Extracts the values of the column as floating point numbers. */
+  static double[] extractDoubles(
+      Column column, boolean[] skipped, ColumnAggregatedProblemAggregator problemAggregator) {
+    Storage<?> storage = column.getStorage();
+    int size = column.getSize();
+    double[] values = new double[size];
+    Context context = Context.getCurrent();
+    for (int row = 0; row < size; row++) {
+      if (storage.isNothing(row)) {
+        problemAggregator.reportColumnAggregatedProblem(new IgnoredNothing(column.getName(), row));
+        skipped[row] = true;
+        continue;
+      }
+
+      double value;
+      switch (storage) {
+        case DoubleStorage doubleStorage -> value = doubleStorage.getItemAsDouble(row);
+        case AbstractLongStorage longStorage -> value = (double) longStorage.getItem(row);
+        default -> {
+          Double converted = NumericConverter.tryConvertingToDouble(storage.getItemBoxed(row));
+          if (converted == null) {
+            skipped[row] = true;
+            continue;
+          }
+          value = converted;
+        }
+      }
+
+      if (Double.isNaN(value)) {
+        problemAggregator.reportColumnAggregatedProblem(new IgnoredNaN(column.getName(), row));
+        skipped[row] = true;
+      } else {
+        values[row] = value;
+      }
+      context.safepoint();
+    }
+    return values;
+  }
+
+  /** Extracts the values of the column as integers. */
+  static long[] extractLongs(
+      Column column, boolean[] skipped, ColumnAggregatedProblemAggregator problemAggregator) {
+    Storage<?> storage = column.getStorage();
+    int size = column.getSize();
+    long[] values = new long[size];
+    Context context = Context.getCurrent();
+    for (int row = 0; row < size; row++) {
+      if (storage.isNothing(row)) {
+        problemAggregator.reportColumnAggregatedProblem(new IgnoredNothing(column.getName(), row));
+        skipped[row] = true;
+        continue;
+      }
+
+      if (storage instanceof AbstractLongStorage longStorage) {
+        values[row] = longStorage.getItem(row);
+      } else {
+        Long converted = NumericConverter.tryConvertingToLong(storage.getItemBoxed(row));
+        if (converted == null) {
+          skipped[row] = true;
+        } else {
+          values[row] = converted;
+        }
+      }
+      context.safepoint();
+    }
+    return values;
+  }
+}
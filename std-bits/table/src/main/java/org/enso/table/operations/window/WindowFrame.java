@@ -0,0 +1,231 @@
+package org.enso.table.operations.window;
+
+import java.util.function.Supplier;
+
+/**
+ * Describes which rows of a partition are used to compute the value of a window function for a
+ * given row.
+ *
+ * <p>A {@code ROWS} frame spans the given number of rows before and after the current one. A {@code
+ * RANGE} frame spans all rows whose value in the (single) ordering column is within the given
+ * distance of the value of the current row, in the direction of the ordering - so it also contains
+ * all peers of the current row. Rows with a missing or NaN ordering value are only in the frame of
+ * each other, and in the frames of rows with an unbounded side reaching them.
+ *
+ * <p>Negative offsets are allowed, for example a {@code ROWS} frame with 3 preceding and -1
+ * following rows contains the 3 rows before the current one. A frame that contains no rows gives a
+ * missing result.
+ */
+public final class WindowFrame {
+  /** The unit in which the bounds of a frame are expressed. */
+  public enum Unit {
+    ROWS,
+    RANGE
+  }
+
+  private final Unit unit;
+  private final double preceding;
+  private final double following;
+
+  private WindowFrame(Unit unit, double preceding, double following) {
+    if (Double.isNaN(preceding) || Double.isNaN(following)) {
+      throw new IllegalArgumentException("The bounds of a window frame must not be NaN.");
+    }
+    this.unit = unit;
+    this.preceding = preceding;
+    this.following = following;
+  }
+
+  /** The frame of a running statistic: all rows from the start of the partition to the current. */
+  public static WindowFrame running() {
+    return new WindowFrame(Unit.ROWS, Double.POSITIVE_INFINITY, 0);
+  }
+
+  /**
+   * A frame spanning a number of rows around the current row.
+   *
+   * @param preceding the number of rows before the current one, or {@code null} for all of them
+   * @param following the number of rows after the current one, or {@code null} for all of them
+   */
+  public static WindowFrame rows(Long preceding, Long following) {
+    return new WindowFrame(Unit.ROWS, boundOrUnbounded(preceding), boundOrUnbounded(following));
+  }
+
+  /**
+   * A frame spanning the rows whose ordering value is close to the value of the current row.
+   *
+   * @param preceding the distance before the current value, or {@code null} for no limit
+   * @param following the distance after the current value, or {@code null} for no limit
+   */
+  public static WindowFrame range(Double preceding, Double following) {
+    return new WindowFrame(Unit.RANGE, boundOrUnbounded(preceding), boundOrUnbounded(following));
+  }
+
+  private static double boundOrUnbounded(Number bound) {
+    return bound == null ? Double.POSITIVE_INFINITY : bound.doubleValue();
+  }
+
+  public Unit getUnit() {
+    return unit;
+  }
+
+  /** The extent of the frame before the current row, or positive infinity if it is unbounded. */
+  public double getPreceding() {
+    return preceding;
+  }
+
+  /** The extent of the frame after the current row, or positive infinity if it is unbounded. */
+  public double getFollowing() {
+    return following;
+  }
+
+  /** Checks if the frame always starts at the beginning of the partition. */
+  boolean isStartUnbounded() {
+    return preceding == Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Prepares the creation of cursors computing the frames of the rows of the given partitioning.
+   *
+   * <p>This must be called on a thread entered into the context, while the returned factory can be
+   * used on any thread.
+   */
+  Supplier<FrameCursor> cursors(WindowPartitioning partitioning) {
+    return switch (unit) {
+      case ROWS -> () -> new RowsCursor(preceding, following);
+      case RANGE -> {
+        WindowPartitioning.RangeKeys keys = partitioning.rangeKeys();
+        yield () -> new RangeCursor(preceding, following, keys);
+      }
+    };
+  }
+
+  /**
+   * Computes the frames of consecutive positions of a partition.
+   *
+   * <p>Both bounds of the frame never decrease while moving forward through a partition, which
+   * allows the frames to be computed with a sliding window. A cursor is not thread safe.
+   */
+  abstract static class FrameCursor {
+    protected int partitionStart;
+    protected int partitionEnd;
+    protected int frameStart;
+    protected int frameEnd;
+
+    /** Starts processing the partition spanning the positions {@code [start, end)}. */
+    void reset(int start, int end) {
+      partitionStart = start;
+      partitionEnd = end;
+    }
+
+    /** Computes the frame of the given position, which must be after the previous one. */
+    abstract void moveTo(int position);
+
+    /** The first position of the current frame. */
+    int frameStart() {
+      return frameStart;
+    }
+
+    /** The position after the last one of the current frame. */
+    int frameEnd() {
+      return frameEnd;
+    }
+  }
+
+  private static final class RowsCursor extends FrameCursor {
+    private final double preceding;
+    private final double following;
+
+    RowsCursor(double preceding, double following) {
+      this.preceding = preceding;
+      this.following = following;
+    }
+
+    @Override
+    void moveTo(int position) {
+      frameStart = (int) Math.max(partitionStart, Math.min(partitionEnd, position - preceding));
+      frameEnd = (int) Math.max(partitionStart, Math.min(partitionEnd, position + following + 1));
+    }
+  }
+
+  private static final class RangeCursor extends FrameCursor {
+    private final double preceding;
+    private final double following;
+    private final double[] keys;
+    private final boolean[] isNothing;
+    private int keysStart;
+    private int keysEnd;
+    private int missingRunStart;
+    private int missingRunEnd;
+
+    RangeCursor(double preceding, double following, WindowPartitioning.RangeKeys keys) {
+      this.preceding = preceding;
+      this.following = following;
+      this.keys = keys.values();
+      this.isNothing = keys.isNothing();
+    }
+
+    @Override
+    void reset(int start, int end) {
+      super.reset(start, end);
+      // Missing values and NaNs are sorted to the opposite ends of the partition, so the rows with
+      // proper keys are a contiguous run in the middle of it.
+      keysStart = start;
+      while (keysStart < end && Double.isNaN(keys[keysStart])) {
+        keysStart++;
+      }
+      keysEnd = keysStart;
+      while (keysEnd < end && !Double.isNaN(keys[keysEnd])) {
+        keysEnd++;
+      }
+      frameStart = keysStart;
+      frameEnd = keysStart;
+      missingRunStart = start;
+      missingRunEnd = start;
+    }
+
+    @Override
+    void moveTo(int position) {
+      boolean unboundedStart = preceding == Double.POSITIVE_INFINITY;
+      boolean unboundedEnd = following == Double.POSITIVE_INFINITY;
+      if (position < keysStart || position >= keysEnd) {
+        // The missing values and the NaNs are separate runs of peers, which are next to each other
+        // if the partition has no proper keys.
+        if (position >= missingRunEnd) {
+          int limit = position < keysStart ? keysStart : partitionEnd;
+          missingRunStart = position;
+          missingRunEnd = position + 1;
+          while (missingRunEnd < limit && isNothing[missingRunEnd] == isNothing[position]) {
+            missingRunEnd++;
+          }
+        }
+        frameStart = unboundedStart ? partitionStart : missingRunStart;
+        frameEnd = unboundedEnd ? partitionEnd : missingRunEnd;
+        return;
+      }
+
+      double key = keys[position];
+      if (unboundedStart) {
+        frameStart = partitionStart;
+      } else {
+        double lowest = key - preceding;
+        int start = Math.max(frameStart, keysStart);
+        while (start < keysEnd && keys[start] < lowest) {
+          start++;
+        }
+        frameStart = start;
+      }
+
+      if (unboundedEnd) {
+        frameEnd = partitionEnd;
+      } else {
+        double highest = key + following;
+        int end = Math.max(frameEnd, keysStart);
+        while (end < keysEnd && keys[end] <= highest) {
+          end++;
+        }
+        frameEnd = end;
+      }
+    }
+  }
+}
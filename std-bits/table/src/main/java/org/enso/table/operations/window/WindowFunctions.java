@@ -0,0 +1,202 @@
+package org.enso.table.operations.window;
+
+import java.util.BitSet;
+import java.util.function.Supplier;
+import org.enso.base.statistics.Statistic;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.table.Column;
+import org.enso.table.problems.ColumnAggregatedProblemAggregator;
+import org.enso.table.problems.ProblemAggregator;
+
+/**
+ * Window functions computed over a {@link WindowPartitioning}.
+ *
+ * <p>Each function produces a value for every row of the table, computed from the rows of its
+ * partition. The inputs are extracted into primitive arrays on the calling thread, then the
+ * partitions are processed in parallel.
+ */
+public final class WindowFunctions {
+  private WindowFunctions() {}
+
+  /** The ways in which rows with equal ordering keys can be ranked. */
+  public enum RankMethod {
+    /** Peers get the same rank, and the next rank skips the amount of peers. */
+    RANK,
+    /** Peers get the same rank, and the next rank is the following integer. */
+    DENSE_RANK
+  }
+
+  /**
+   * Computes a statistic of the numeric column over a frame around each row.
+   *
+   * <p>Missing values and NaNs are ignored and reported as problems. If the frame contains no other
+   * values, the result is missing. The minimum and maximum of an integer column are integers, all
+   * other statistics are floating point numbers.
+   */
+  public static Storage<?> aggregate(
+      Statistic statistic,
+      Column sourceColumn,
+      WindowPartitioning partitioning,
+      WindowFrame frame,
+      ProblemAggregator problemAggregator) {
+    ColumnAggregatedProblemAggregator columnProblems =
+        new ColumnAggregatedProblemAggregator(problemAggregator);
+    int size = partitioning.size();
+    boolean[] skipped = new boolean[size];
+    long[] result = new long[size];
+    boolean[] isNothing = new boolean[size];
+    boolean removesRows = !frame.isStartUnbounded();
+
+    boolean isIntegerExtremum =
+        (statistic == Statistic.Minimum || statistic == Statistic.Maximum)
+            && sourceColumn.getStorage().getType() instanceof IntegerType;
+    if (isIntegerExtremum) {
+      long[] values = NumericInput.extractLongs(sourceColumn, skipped, columnProblems);
+      slide(
+          partitioning,
+          frame,
+          () ->
+              FrameAccumulator.forLongs(
+                  statistic, values, skipped, result, isNothing, removesRows));
+      IntegerType type = (IntegerType) sourceColumn.getStorage().getType();
+      return new LongStorage(result, size, toBitSet(isNothing), type);
+    }
+
+    double[] values = NumericInput.extractDoubles(sourceColumn, skipped, columnProblems);
+    slide(
+        partitioning,
+        frame,
+        () ->
+            FrameAccumulator.forDoubles(
+                statistic, values, skipped, result, isNothing, removesRows));
+    return new DoubleStorage(result, size, toBitSet(isNothing));
+  }
+
+  /** Moves the frame through every partition, writing the aggregate of each row. */
+  private static void slide(
+      WindowPartitioning partitioning, WindowFrame frame, Supplier<FrameAccumulator> accumulators) {
+    Supplier<WindowFrame.FrameCursor> cursors = frame.cursors(partitioning);
+    partitioning.forEachPartitionRange(
+        (firstPartition, endPartition) -> {
+          WindowFrame.FrameCursor cursor = cursors.get();
+          FrameAccumulator accumulator = accumulators.get();
+          for (int partition = firstPartition; partition < endPartition; partition++) {
+            int start = partitioning.partitionStart(partition);
+            int end = partitioning.partitionEnd(partition);
+            cursor.reset(start, end);
+            accumulator.reset();
+            int frameStart = start;
+            int frameEnd = start;
+            for (int position = start; position < end; position++) {
+              cursor.moveTo(position);
+              int newStart = cursor.frameStart();
+              int newEnd = cursor.frameEnd();
+              if (newStart >= frameEnd) {
+                accumulator.reset();
+                frameStart = newStart;
+                frameEnd = newStart;
+              }
+              while (frameEnd < newEnd) {
+                accumulator.add(partitioning.rowAt(frameEnd++));
+              }
+              while (frameStart < newStart) {
+                accumulator.remove(partitioning.rowAt(frameStart++));
+              }
+              accumulator.writeResult(partitioning.rowAt(position));
+            }
+          }
+        });
+  }
+
+  /**
+   * Numbers the rows of each partition in order, starting from {@code start} and incrementing by
+   * {@code step}.
+   *
+   * @throws ArithmeticException if a number exceeds the 64-bit integer range
+   */
+  public static Storage<Long> rowNumber(long start, long step, WindowPartitioning partitioning) {
+    long[] numbers = new long[partitioning.size()];
+    partitioning.forEachPartitionRange(
+        (firstPartition, endPartition) -> {
+          for (int partition = firstPartition; partition < endPartition; partition++) {
+            int partitionStart = partitioning.partitionStart(partition);
+            int partitionEnd = partitioning.partitionEnd(partition);
+            long current = start;
+            for (int position = partitionStart; position < partitionEnd; position++) {
+              if (position > partitionStart) {
+                current = Math.addExact(current, step);
+              }
+              numbers[partitioning.rowAt(position)] = current;
+            }
+          }
+        });
+    return new LongStorage(numbers, IntegerType.INT_64);
+  }
+
+  /** Ranks the rows of each partition by the ordering columns, starting from 1. */
+  public static Storage<Long> rank(RankMethod method, WindowPartitioning partitioning) {
+    int[] peerStarts = partitioning.peerStarts();
+    long[] ranks = new long[partitioning.size()];
+    partitioning.forEachPartitionRange(
+        (firstPartition, endPartition) -> {
+          for (int partition = firstPartition; partition < endPartition; partition++) {
+            int partitionStart = partitioning.partitionStart(partition);
+            int partitionEnd = partitioning.partitionEnd(partition);
+            long denseRank = 0;
+            for (int position = partitionStart; position < partitionEnd; position++) {
+              int peerStart = peerStarts[position];
+              if (peerStart == position) {
+                denseRank++;
+              }
+              ranks[partitioning.rowAt(position)] =
+                  switch (method) {
+                    case RANK -> peerStart - partitionStart + 1;
+                    case DENSE_RANK -> denseRank;
+                  };
+            }
+          }
+        });
+    return new LongStorage(ranks, IntegerType.INT_64);
+  }
+
+  /**
+   * Takes the value of the column from the row {@code offset} positions later in the same
+   * partition, or a missing value if there is no such row.
+   *
+   * <p>A negative offset takes values from earlier rows, so {@code shift(column, -1, ...)} is the
+   * {@code LAG} and {@code shift(column, 1, ...)} the {@code LEAD} of the column.
+   */
+  public static Storage<?> shift(
+      Column sourceColumn, long offset, WindowPartitioning partitioning) {
+    int[] sourceRows = new int[partitioning.size()];
+    partitioning.forEachPartitionRange(
+        (firstPartition, endPartition) -> {
+          for (int partition = firstPartition; partition < endPartition; partition++) {
+            int partitionStart = partitioning.partitionStart(partition);
+            int partitionEnd = partitioning.partitionEnd(partition);
+            for (int position = partitionStart; position < partitionEnd; position++) {
+              long source = position + offset;
+              sourceRows[partitioning.rowAt(position)] =
+                  source >= partitionStart && source < partitionEnd
+                      ? partitioning.rowAt((int) source)
+                      : Storage.NOT_FOUND_INDEX;
+            }
+          }
+        });
+    return sourceColumn.getStorage().applyMask(OrderMask.fromArray(sourceRows));
+  }
+
+  private static BitSet toBitSet(boolean[] flags) {
+    BitSet bitSet = new BitSet();
+    for (int i = 0; i < flags.length; i++) {
+      if (flags[i]) {
+        bitSet.set(i);
+      }
+    }
+    return bitSet;
+  }
+}
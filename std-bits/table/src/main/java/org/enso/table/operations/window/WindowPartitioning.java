@@ -0,0 +1,303 @@
+package org.enso.table.operations.window;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.enso.base.ObjectComparator;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.DateTimeStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.index.MultiValueIndex;
+import org.enso.table.data.index.OrderedMultiValueKey;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.table.Column;
+import org.enso.table.operations.MultiColumnSorter;
+import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.ParallelTasks;
+import org.graalvm.polyglot.Context;
+
+/**
+ * The rows of a table split into partitions by a set of grouping columns and sorted within each
+ * partition by a set of ordering columns.
+ *
+ * <p>The rows are sorted only once, into a single permutation in which every partition is a
+ * contiguous run of positions. Rows with equal ordering keys keep their original order, so the
+ * order within a partition is the same as if its rows were sorted separately. Window functions then
+ * work on ranges of positions of that permutation, reading their inputs from primitive arrays,
+ * which allows the partitions to be processed in parallel.
+ */
+public final class WindowPartitioning {
+  private final Storage<?>[] orderingStorages;
+  private final int[] directions;
+  private final int[] rows;
+  private final int[] partitionStarts;
+  private int[] peerStarts;
+
+  private WindowPartitioning(
+      Storage<?>[] orderingStorages, int[] directions, int[] rows, int[] partitionStarts) {
+    this.orderingStorages = orderingStorages;
+    this.directions = directions;
+    this.rows = rows;
+    this.partitionStarts = partitionStarts;
+  }
+
+  /**
+   * Partitions and sorts the rows of a table.
+   *
+   * @param groupingColumns the columns defining the partitions, may be empty
+   * @param orderingColumns the columns defining the order of rows within each partition, may be
+   *     empty in which case the rows keep their original order
+   * @param directions for each ordering column, 1 to sort in ascending and -1 to sort in descending
+   *     order
+   * @param rowCount the number of rows of the table
+   * @param problemAggregator an aggregator for problems reported while grouping
+   */
+  public static WindowPartitioning build(
+      Column[] groupingColumns,
+      Column[] orderingColumns,
+      int[] directions,
+      int rowCount,
+      ProblemAggregator problemAggregator) {
+    if (orderingColumns.length != directions.length) {
+      throw new IllegalArgumentException(
+          "The number of ordering columns and directions must be the same.");
+    }
+
+    Storage<?>[] orderingStorages =
+        Arrays.stream(orderingColumns).map(Column::getStorage).toArray(Storage[]::new);
+    int[] orderedRows = sortRows(orderingStorages, directions, rowCount);
+
+    if (groupingColumns.length == 0) {
+      int[] partitionStarts = rowCount == 0 ? new int[] {0} : new int[] {0, rowCount};
+      return new WindowPartitioning(orderingStorages, directions, orderedRows, partitionStarts);
+    }
+
+    MultiValueIndex<?> index =
+        MultiValueIndex.makeUnorderedIndex(
+            groupingColumns,
+            rowCount,
+            TextFoldingStrategy.unicodeNormalizedFold,
+            problemAggregator);
+    int[] groupOfRow = index.computeGroupOfRow();
+    int groupCount = index.size();
+
+    // A stable counting sort of the ordered rows by their group.
+    int[] partitionStarts = new int[groupCount + 1];
+    for (int row = 0; row < rowCount; row++) {
+      partitionStarts[groupOfRow[row] + 1]++;
+    }
+    for (int group = 0; group < groupCount; group++) {
+      partitionStarts[group + 1] += partitionStarts[group];
+    }
+    int[] next = Arrays.copyOf(partitionStarts, groupCount);
+    int[] rows = new int[rowCount];
+    for (int row : orderedRows) {
+      rows[next[groupOfRow[row]]++] = row;
+    }
+    return new WindowPartitioning(orderingStorages, directions, rows, partitionStarts);
+  }
+
+  /** Sorts the rows by the ordering columns, in the same way as {@code Table.orderBy}. */
+  private static int[] sortRows(Storage<?>[] storages, int[] directions, int rowCount) {
+    int[] rows = new int[rowCount];
+    if (storages.length == 0) {
+      Arrays.setAll(rows, i -> i);
+      return rows;
+    }
+
+    if (MultiColumnSorter.isSupported(storages, ObjectComparator.DEFAULT)) {
+      // Missing values are the smallest, so they come last only in descending order.
+      boolean[] missingLast = new boolean[directions.length];
+      for (int i = 0; i < directions.length; i++) {
+        missingLast[i] = directions[i] < 0;
+      }
+      OrderMask mask =
+          MultiColumnSorter.buildOrderMask(
+              storages, directions, missingLast, ObjectComparator.DEFAULT);
+      for (int i = 0; i < rowCount; i++) {
+        rows[i] = mask.get(i);
+      }
+      return rows;
+    }
+
+    Context context = Context.getCurrent();
+    OrderedMultiValueKey[] keys = new OrderedMultiValueKey[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      keys[i] = new OrderedMultiValueKey(storages, i, directions);
+      context.safepoint();
+    }
+    Arrays.sort(keys);
+    for (int i = 0; i < rowCount; i++) {
+      rows[i] = keys[i].getRowIndex();
+    }
+    return rows;
+  }
+
+  /** Returns the number of rows. */
+  public int size() {
+    return rows.length;
+  }
+
+  /** Returns the number of partitions. */
+  public int partitionCount() {
+    return partitionStarts.length - 1;
+  }
+
+  /** Returns the position at which the given partition starts. */
+  int partitionStart(int partition) {
+    return partitionStarts[partition];
+  }
+
+  /** Returns the position after the last row of the given partition. */
+  int partitionEnd(int partition) {
+    return partitionStarts[partition + 1];
+  }
+
+  /** Returns the row at the given position of the permutation. */
+  int rowAt(int position) {
+    return rows[position];
+  }
+
+  /**
+   * Returns, for every position, the position of the first row of its peer group - the rows of the
+   * same partition that have equal ordering keys.
+   *
+   * <p>If there are no ordering columns, all rows of a partition are peers. The peer groups are
+   * computed on the first call, which must happen on a thread entered into the context.
+   */
+  int[] peerStarts() {
+    if (peerStarts == null) {
+      peerStarts = computePeerStarts();
+    }
+    return peerStarts;
+  }
+
+  private int[] computePeerStarts() {
+    int[] starts = new int[rows.length];
+    Context context = Context.getCurrent();
+    for (int partition = 0; partition < partitionCount(); partition++) {
+      int start = partitionStart(partition);
+      int end = partitionEnd(partition);
+      if (end == start) {
+        continue;
+      }
+
+      starts[start] = start;
+      OrderedMultiValueKey previous =
+          new OrderedMultiValueKey(orderingStorages, rows[start], directions);
+      for (int position = start + 1; position < end; position++) {
+        OrderedMultiValueKey current =
+            new OrderedMultiValueKey(orderingStorages, rows[position], directions);
+        starts[position] = previous.compareTo(current) == 0 ? starts[position - 1] : position;
+        previous = current;
+        context.safepoint();
+      }
+    }
+    return starts;
+  }
+
+  /**
+   * Returns the value of the ordering column for every position, so that the values are
+   * non-decreasing within each partition.
+   *
+   * <p>This requires a single ordering column of numbers, dates or date-times. Dates are
+   * represented as days since the epoch and date-times as seconds since the epoch. The values of a
+   * column sorted in descending order are negated. Missing values and NaNs are represented as NaN,
+   * and the missing values are also marked in {@link RangeKeys#isNothing()}.
+   */
+  RangeKeys rangeKeys() {
+    if (orderingStorages.length != 1) {
+      throw new IllegalArgumentException(
+          "A RANGE window frame requires exactly one ordering column.");
+    }
+
+    Storage<?> storage = orderingStorages[0];
+    double direction = directions[0];
+    double[] keys = new double[rows.length];
+    boolean[] isNothing = new boolean[rows.length];
+    Context context = Context.getCurrent();
+    for (int position = 0; position < rows.length; position++) {
+      int row = rows[position];
+      double key;
+      if (storage.isNothing(row)) {
+        isNothing[position] = true;
+        key = Double.NaN;
+      } else {
+        key =
+            switch (storage) {
+              case AbstractLongStorage longStorage -> (double) longStorage.getItem(row);
+              case DoubleStorage doubleStorage -> doubleStorage.getItemAsDouble(row);
+              case DateStorage dateStorage -> {
+                LocalDate date = dateStorage.getItem(row);
+                yield (double) date.toEpochDay();
+              }
+              case DateTimeStorage dateTimeStorage -> {
+                ZonedDateTime dateTime = dateTimeStorage.getItem(row);
+                yield dateTime.toEpochSecond() + dateTime.getNano() / 1e9;
+              }
+              default -> throw new IllegalArgumentException(
+                  "A RANGE window frame requires a numeric, date or date-time ordering column.");
+            };
+      }
+      keys[position] = direction * key;
+      context.safepoint();
+    }
+    return new RangeKeys(keys, isNothing);
+  }
+
+  /** The values of the ordering column of a {@code RANGE} frame, indexed by position. */
+  record RangeKeys(double[] values, boolean[] isNothing) {}
+
+  /** Processes the partitions in the range {@code [firstPartition, endPartition)}. */
+  interface PartitionRangeTask {
+    void run(int firstPartition, int endPartition);
+  }
+
+  /**
+   * Splits the partitions into chunks of a similar amount of rows and runs the task on each of
+   * them, in parallel if there are enough rows.
+   *
+   * <p>A partition is never split between chunks, so a table with a single large partition is
+   * processed on the calling thread. The task must only access primitive data, see {@link
+   * ParallelTasks}.
+   */
+  void forEachPartitionRange(PartitionRangeTask task) {
+    int partitions = partitionCount();
+    int chunkCount = Math.min(partitions, ParallelTasks.chunkCount(rows.length));
+    if (chunkCount <= 1) {
+      task.run(0, partitions);
+      return;
+    }
+
+    List<Runnable> tasks = new ArrayList<>(chunkCount);
+    int first = 0;
+    for (int chunk = 1; chunk <= chunkCount && first < partitions; chunk++) {
+      int end =
+          chunk == chunkCount
+              ? partitions
+              : firstPartitionStartingAtOrAfter(
+                  ParallelTasks.chunkStart(rows.length, chunkCount, chunk));
+      if (end > first) {
+        final int chunkFirst = first;
+        final int chunkEnd = end;
+        tasks.add(() -> task.run(chunkFirst, chunkEnd));
+        first = end;
+      }
+    }
+    ParallelTasks.runAll(tasks);
+  }
+
+  private int firstPartitionStartingAtOrAfter(int position) {
+    int found = Arrays.binarySearch(partitionStarts, 0, partitionStarts.length - 1, position);
+    if (found >= 0) {
+      // Empty partitions do not exist, so the starts are distinct.
+      return found;
+    }
+    return -found - 1;
+  }
+}
@@ -0,0 +1,340 @@
+package org.enso.table.read;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.util.ParallelTasks;
+
+/**
+ * Builds the columns of a table from rows tokenized by {@link DelimitedByteTokenizer}.
+ *
+ * <p>Only references to the rows are collected. Once all rows are known, the columns are built in
+ * parallel. If enabled, columns consisting only of plain integers, plain decimals or booleans are
+ * parsed directly from their bytes, without creating the text of any of their cells. All other
+ * columns are returned as text, to be parsed by the regular value parser.
+ *
+ * <p>The plain values are parsed exactly as the value parser with the default formats would parse
+ * them: integers are an optional minus sign followed by at most 18 digits without leading zeroes,
+ * decimals additionally have a dot followed by at least one digit and the booleans are {@code
+ * True}, {@code true} and {@code TRUE} (and likewise for {@code False}). Quoted cells are never
+ * plain values, as the type inference does not strip quotes.
+ */
+final class ByteColumnsBuilder {
+  private static final int MAX_INTEGER_DIGITS = 18;
+
+  /** The largest number of digits for which a decimal is always exactly converted by division. */
+  private static final int MAX_EXACT_DECIMAL_DIGITS = 15;
+
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+  };
+
+  private static final String[] TRUE_VALUES = {"True", "true", "TRUE"};
+  private static final String[] FALSE_VALUES = {"False", "false", "FALSE"};
+
+  private enum PlainKind {
+    NONE,
+    INTEGER,
+    DECIMAL,
+    TRUE,
+    FALSE,
+    OTHER
+  }
+
+  private final int columnCount;
+  private final boolean parsePlainValues;
+  private final List<ByteRows> chunks = new ArrayList<>();
+  private int[] rowChunks = new int[1024];
+  private int[] rowIndices = new int[1024];
+  private int size = 0;
+
+  /**
+   * Creates a new builder.
+   *
+   * @param columnCount the number of columns of the table
+   * @param parsePlainValues whether plain values should be parsed directly from bytes
+   */
+  ByteColumnsBuilder(int columnCount, boolean parsePlainValues) {
+    this.columnCount = columnCount;
+    this.parsePlainValues = parsePlainValues;
+  }
+
+  /**
+   * Appends the given row to the table.
+   *
+   * <p>If the row has fewer cells than there are columns, the missing cells are null. Any excess
+   * cells are ignored.
+   */
+  void appendRow(ByteRows rows, int row) {
+    if (chunks.isEmpty() || chunks.get(chunks.size() - 1) != rows) {
+      chunks.add(rows);
+    }
+
+    if (size == rowIndices.length) {
+      rowChunks = Arrays.copyOf(rowChunks, size * 2);
+      rowIndices = Arrays.copyOf(rowIndices, size * 2);
+    }
+
+    rowChunks[size] = chunks.size() - 1;
+    rowIndices[size] = row;
+    size++;
+  }
+
+  /**
+   * Builds the storages of all columns.
+   *
+   * <p>Columns of plain values are already parsed, the remaining ones are text storages.
+   */
+  Storage<?>[] seal() {
+    Storage<?>[] storages = new Storage<?>[columnCount];
+    List<Runnable> tasks = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      final int column = i;
+      tasks.add(() -> storages[column] = buildColumn(column));
+    }
+    ParallelTasks.runAll(tasks);
+    return storages;
+  }
+
+  private Storage<?> buildColumn(int column) {
+    if (parsePlainValues) {
+      Storage<?> parsed = parsePlainColumn(column);
+      if (parsed != null) {
+        return parsed;
+      }
+    }
+
+    String[] texts = new String[size];
+    for (int i = 0; i < size; i++) {
+      ByteRows rows = chunks.get(rowChunks[i]);
+      int cell = rows.cellIndex(rowIndices[i], column);
+      texts[i] = cell < 0 ? null : rows.cellText(cell);
+    }
+    return StringStorage.encodeIfLowCardinality(texts, size, TextType.VARIABLE_LENGTH);
+  }
+
+  /**
+   * Parses the column if all of its cells are plain values of a single type.
+   *
+   * <p>Returns {@code null} if the column should be parsed from its text instead.
+   */
+  private Storage<?> parsePlainColumn(int column) {
+    boolean hasIntegers = false;
+    boolean hasDecimals = false;
+    boolean hasBooleans = false;
+    for (int i = 0; i < size; i++) {
+      ByteRows rows = chunks.get(rowChunks[i]);
+      int cell = rows.cellIndex(rowIndices[i], column);
+      switch (classify(rows, cell)) {
+        case NONE -> {}
+        case INTEGER -> hasIntegers = true;
+        case DECIMAL -> hasDecimals = true;
+        case TRUE, FALSE -> hasBooleans = true;
+        case OTHER -> {
+          return null;
+        }
+      }
+    }
+
+    if (hasBooleans) {
+      return hasIntegers || hasDecimals ? null : buildBooleans(column);
+    } else if (hasDecimals) {
+      return buildDecimals(column);
+    } else if (hasIntegers) {
+      return buildIntegers(column);
+    } else {
+      // A column with no values is left to the value parser.
+      return null;
+    }
+  }
+
+  private Storage<?> buildIntegers(int column) {
+    long[] data = new long[size];
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      ByteRows rows = chunks.get(rowChunks[i]);
+      int cell = rows.cellIndex(rowIndices[i], column);
+      if (cell < 0 || rows.isNull(cell)) {
+        isNothing.set(i);
+      } else {
+        data[i] = parseLong(rows, rows.cellStart(cell), rows.cellEnd(cell));
+      }
+    }
+    return new LongStorage(data, size, isNothing, IntegerType.INT_64);
+  }
+
+  private Storage<?> buildDecimals(int column) {
+    long[] data = new long[size];
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      ByteRows rows = chunks.get(rowChunks[i]);
+      int cell = rows.cellIndex(rowIndices[i], column);
+      if (cell < 0 || rows.isNull(cell)) {
+        isNothing.set(i);
+        continue;
+      }
+
+      int start = rows.cellStart(cell);
+      int end = rows.cellEnd(cell);
+      double value;
+      if (classify(rows, cell) == PlainKind.INTEGER) {
+        long integer = parseLong(rows, start, end);
+        value = (double) integer;
+        if ((long) value != integer) {
+          // The value parser would report a loss of precision, so it must handle this column.
+          return null;
+        }
+        if (integer == 0 && rows.byteAt(start) == '-') {
+          value = -0.0;
+        }
+      } else {
+        value = parseDouble(rows, start, end);
+      }
+      data[i] = Double.doubleToRawLongBits(value);
+    }
+    return new DoubleStorage(data, size, isNothing);
+  }
+
+  private Storage<?> buildBooleans(int column) {
+    BitSet values = new BitSet();
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < size; i++) {
+      ByteRows rows = chunks.get(rowChunks[i]);
+      int cell = rows.cellIndex(rowIndices[i], column);
+      PlainKind kind = classify(rows, cell);
+      if (kind == PlainKind.NONE) {
+        isNothing.set(i);
+      } else if (kind == PlainKind.TRUE) {
+        values.set(i);
+      }
+    }
+    return new BoolStorage(values, isNothing, size, false);
+  }
+
+  private static PlainKind classify(ByteRows rows, int cell) {
+    if (cell < 0 || rows.isNull(cell)) {
+      return PlainKind.NONE;
+    } else if (rows.isQuoted(cell)) {
+      return PlainKind.OTHER;
+    }
+
+    int start = rows.cellStart(cell);
+    int end = rows.cellEnd(cell);
+    byte first = rows.byteAt(start);
+    if (first == '-' || (first >= '0' && first <= '9')) {
+      return classifyNumber(rows, start, end);
+    } else if (matchesAny(rows, start, end, TRUE_VALUES)) {
+      return PlainKind.TRUE;
+    } else if (matchesAny(rows, start, end, FALSE_VALUES)) {
+      return PlainKind.FALSE;
+    } else {
+      return PlainKind.OTHER;
+    }
+  }
+
+  private static PlainKind classifyNumber(ByteRows rows, int start, int end) {
+    int position = rows.byteAt(start) == '-' ? start + 1 : start;
+    int integerStart = position;
+    while (position < end && isDigit(rows.byteAt(position))) {
+      position++;
+    }
+
+    int integerDigits = position - integerStart;
+    boolean hasLeadingZero = integerDigits > 1 && rows.byteAt(integerStart) == '0';
+    if (integerDigits == 0 || hasLeadingZero) {
+      return PlainKind.OTHER;
+    } else if (position == end) {
+      return integerDigits <= MAX_INTEGER_DIGITS ? PlainKind.INTEGER : PlainKind.OTHER;
+    } else if (rows.byteAt(position) != '.') {
+      return PlainKind.OTHER;
+    }
+
+    position++;
+    int fractionStart = position;
+    while (position < end && isDigit(rows.byteAt(position))) {
+      position++;
+    }
+    return position == end && position > fractionStart ? PlainKind.DECIMAL : PlainKind.OTHER;
+  }
+
+  private static long parseLong(ByteRows rows, int start, int end) {
+    boolean negative = rows.byteAt(start) == '-';
+    long value = 0;
+    for (int position = negative ? start + 1 : start; position < end; position++) {
+      value = value * 10 + (rows.byteAt(position) - '0');
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a plain decimal.
+   *
+   * <p>If all digits fit into the exactly representable range of a double, the result of dividing
+   * them by a power of ten is correctly rounded, so it is the same as the result of {@link
+   * Double#parseDouble}, which is used for any longer numbers.
+   */
+  private static double parseDouble(ByteRows rows, int start, int end) {
+    boolean negative = rows.byteAt(start) == '-';
+    long digits = 0;
+    int digitCount = 0;
+    int fractionDigits = -1;
+    for (int position = negative ? start + 1 : start; position < end; position++) {
+      byte b = rows.byteAt(position);
+      if (b == '.') {
+        fractionDigits = 0;
+      } else {
+        digits = digits * 10 + (b - '0');
+        digitCount++;
+        if (fractionDigits >= 0) {
+          fractionDigits++;
+        }
+      }
+    }
+
+    double value;
+    if (digitCount <= MAX_EXACT_DECIMAL_DIGITS) {
+      value = digits / POWERS_OF_TEN[fractionDigits];
+    } else {
+      char[] text = new char[end - start];
+      for (int i = 0; i < text.length; i++) {
+        text[i] = (char) rows.byteAt(start + i);
+      }
+      return Double.parseDouble(new String(text));
+    }
+    return negative ? -value : value;
+  }
+
+  private static boolean matchesAny(ByteRows rows, int start, int end, String[] values) {
+    for (String value : values) {
+      if (matches(rows, start, end, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean matches(ByteRows rows, int start, int end, String value) {
+    if (end - start != value.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < value.length(); i++) {
+      if (rows.byteAt(start + i) != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+}
@@ -0,0 +1,175 @@
+package org.enso.table.read;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Rows of a part of a delimited file, tokenized directly from its bytes.
+ *
+ * <p>Only the positions of the cells within the buffer are stored. The text of a cell is decoded
+ * only when it is requested, so cells that are parsed directly from their bytes never allocate a
+ * {@code String}.
+ */
+final class ByteRows {
+  private static final int INITIAL_ROW_CAPACITY = 1024;
+
+  private final ByteBuffer bytes;
+  private final Charset charset;
+  private final String quote;
+  private final boolean crlf;
+
+  private int rowCount = 0;
+  private long[] rowLines = new long[INITIAL_ROW_CAPACITY];
+  private int[] rowFirstCells = new int[INITIAL_ROW_CAPACITY + 1];
+
+  private int cellCount = 0;
+
+  /** The start of each cell in the buffer, or -1 if the cell is null. */
+  private int[] cellStarts = new int[INITIAL_ROW_CAPACITY];
+
+  private int[] cellEnds = new int[INITIAL_ROW_CAPACITY];
+  private final BitSet quotedCells = new BitSet();
+  private boolean hasOpenBracket = false;
+
+  /**
+   * Creates an empty set of rows.
+   *
+   * @param bytes the buffer containing the part of the file
+   * @param charset the encoding of the file
+   * @param quote the quote character, or {@link DelimitedFileSplitter#NONE}
+   * @param crlf whether lines are separated by {@code \r\n}
+   */
+  ByteRows(ByteBuffer bytes, Charset charset, int quote, boolean crlf) {
+    this.bytes = bytes;
+    this.charset = charset;
+    this.quote = quote == DelimitedFileSplitter.NONE ? null : String.valueOf((char) quote);
+    this.crlf = crlf;
+  }
+
+  /** Starts a new row, beginning at the given line. */
+  void startRow(long line) {
+    if (rowCount == rowLines.length) {
+      rowLines = Arrays.copyOf(rowLines, rowLines.length * 2);
+      rowFirstCells = Arrays.copyOf(rowFirstCells, rowLines.length + 1);
+    }
+
+    rowLines[rowCount] = line;
+    rowFirstCells[rowCount] = cellCount;
+    rowCount++;
+    rowFirstCells[rowCount] = cellCount;
+  }
+
+  /**
+   * Adds a cell spanning the bytes {@code [start, end)} to the current row.
+   *
+   * <p>An empty unquoted cell is null. Quoted cells include their enclosing quotes.
+   */
+  void addCell(int start, int end, boolean quoted) {
+    if (cellCount == cellStarts.length) {
+      cellStarts = Arrays.copyOf(cellStarts, cellStarts.length * 2);
+      cellEnds = Arrays.copyOf(cellEnds, cellEnds.length * 2);
+    }
+
+    boolean isNull = !quoted && start == end;
+    cellStarts[cellCount] = isNull ? -1 : start;
+    cellEnds[cellCount] = end;
+    if (quoted) {
+      quotedCells.set(cellCount);
+    }
+    cellCount++;
+    rowFirstCells[rowCount] = cellCount;
+  }
+
+  void setHasOpenBracket(boolean hasOpenBracket) {
+    this.hasOpenBracket = hasOpenBracket;
+  }
+
+  /**
+   * Checks if any cell contains an opening bracket, which may mark a negative number and affects
+   * how the signs of any further numbers are inferred.
+   */
+  boolean hasOpenBracket() {
+    return hasOpenBracket;
+  }
+
+  int rowCount() {
+    return rowCount;
+  }
+
+  /** The line on which the row starts, counted in the same way as by the parser. */
+  long lineNumber(int row) {
+    return rowLines[row];
+  }
+
+  int cellCount(int row) {
+    return rowFirstCells[row + 1] - rowFirstCells[row];
+  }
+
+  /**
+   * Returns the index of the cell in the given column of the row, or -1 if the row is too short to
+   * have that column.
+   */
+  int cellIndex(int row, int column) {
+    return column < cellCount(row) ? rowFirstCells[row] + column : -1;
+  }
+
+  boolean isNull(int cell) {
+    return cellStarts[cell] < 0;
+  }
+
+  boolean isQuoted(int cell) {
+    return quotedCells.get(cell);
+  }
+
+  int cellStart(int cell) {
+    return cellStarts[cell];
+  }
+
+  int cellEnd(int cell) {
+    return cellEnds[cell];
+  }
+
+  byte byteAt(int position) {
+    return bytes.get(position);
+  }
+
+  /** Returns the text of all cells of the row. */
+  String[] cells(int row) {
+    String[] cells = new String[cellCount(row)];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = cellText(rowFirstCells[row] + i);
+    }
+    return cells;
+  }
+
+  /**
+   * Decodes the text of the cell, exactly as it would be returned by the parser.
+   *
+   * <p>Quoted cells keep their enclosing quotes, but escaped quotes inside of them are unescaped
+   * and {@code \r\n} newlines are normalized to {@code \n}.
+   */
+  String cellText(int cell) {
+    if (isNull(cell)) {
+      return null;
+    }
+
+    String text = decode(cellStarts[cell], cellEnds[cell]);
+    if (!isQuoted(cell)) {
+      return text;
+    }
+
+    String inner = text.substring(1, text.length() - 1).replace(quote + quote, quote);
+    if (crlf) {
+      inner = inner.replace("\r\n", "\n");
+    }
+    return quote + inner + quote;
+  }
+
+  private String decode(int start, int end) {
+    byte[] cellBytes = new byte[end - start];
+    bytes.get(start, cellBytes);
+    return new String(cellBytes, charset);
+  }
+}
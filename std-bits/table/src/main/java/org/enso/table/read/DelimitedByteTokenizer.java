@@ -0,0 +1,228 @@
+package org.enso.table.read;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tokenizes a part of a delimited file directly from its bytes.
+ *
+ * <p>It is only used on parts found by {@link DelimitedFileSplitter}, so it can rely on the input
+ * being well-formed - every quoted cell is closed and followed only by whitespace and a delimiter
+ * or a newline. It reproduces the behaviour of the parser used by {@link DelimitedReader}:
+ * whitespace surrounding the cells is trimmed, empty cells are null, quoted cells keep their
+ * enclosing quotes and lines starting with the comment character are skipped.
+ *
+ * <p>Only quotes that are escaped by doubling them are supported. The input is validated to be
+ * correctly encoded, so that the decoding of cells later on can never fail.
+ */
+final class DelimitedByteTokenizer {
+  private final int delimiter;
+  private final int quote;
+  private final int comment;
+  private final boolean crlf;
+  private final int maxColumns;
+  private final Charset charset;
+
+  /**
+   * Creates a new tokenizer.
+   *
+   * @param delimiter the delimiter byte, or {@link DelimitedFileSplitter#NONE}
+   * @param quote the quote byte, also used for escaping quotes, or {@link
+   *     DelimitedFileSplitter#NONE}
+   * @param comment the byte starting a comment line, or {@link DelimitedFileSplitter#NONE}
+   * @param crlf whether lines are separated by {@code \r\n} instead of {@code \n}
+   * @param maxColumns the maximum number of cells in a row
+   * @param charset the encoding of the file, must be UTF-8, ASCII or ISO-8859-1
+   */
+  DelimitedByteTokenizer(
+      int delimiter, int quote, int comment, boolean crlf, int maxColumns, Charset charset) {
+    this.delimiter = delimiter;
+    this.quote = quote;
+    this.comment = comment;
+    this.crlf = crlf;
+    this.maxColumns = maxColumns;
+    this.charset = charset;
+  }
+
+  /**
+   * Tokenizes the given part of the file.
+   *
+   * @param bytes the bytes of the part, which must start at the beginning of a record
+   * @param firstLine the number of lines preceding the part
+   * @return the tokenized rows, or {@code null} if the part contains input that cannot be handled
+   *     by this tokenizer
+   */
+  ByteRows tokenize(ByteBuffer bytes, long firstLine) {
+    ByteRows rows = new ByteRows(bytes, charset, quote, crlf);
+    int end = bytes.limit();
+    int position = 0;
+    long lines = 0;
+
+    // The parser counts the line of a row from the end of the previous row, so comment lines
+    // directly preceding a row are not included.
+    long linesBeforeRow = 0;
+    boolean hasOpenBracket = false;
+
+    while (position < end) {
+      int b = bytes.get(position) & 0xFF;
+      if (b == comment) {
+        while (position < end && bytes.get(position) != '\n') {
+          position++;
+        }
+        if (position < end) {
+          position++;
+          lines++;
+        }
+        continue;
+      }
+
+      rows.startRow(firstLine + linesBeforeRow + 1);
+      int cellCount = 0;
+      while (true) {
+        while (position < end && isWhitespace(b = bytes.get(position) & 0xFF)) {
+          position++;
+        }
+
+        if (position < end && b == quote) {
+          int cellStart = position++;
+          while (true) {
+            if (position >= end) {
+              return null;
+            }
+
+            b = bytes.get(position) & 0xFF;
+            if (b == quote) {
+              if (position + 1 < end && (bytes.get(position + 1) & 0xFF) == quote) {
+                position += 2;
+                continue;
+              }
+              break;
+            }
+
+            if (b == '\n') {
+              lines++;
+            }
+            hasOpenBracket |= b == '(';
+            position = b < 0x80 ? position + 1 : skipEncodedCharacter(bytes, position, end);
+            if (position < 0) {
+              return null;
+            }
+          }
+
+          position++;
+          rows.addCell(cellStart, position, true);
+          while (position < end && isWhitespace(bytes.get(position) & 0xFF)) {
+            position++;
+          }
+        } else {
+          int cellStart = position;
+          int cellEnd = position;
+          while (position < end) {
+            b = bytes.get(position) & 0xFF;
+            if (b == '\n' || b == delimiter) {
+              break;
+            } else if (b == quote) {
+              return null;
+            }
+
+            hasOpenBracket |= b == '(';
+            position = b < 0x80 ? position + 1 : skipEncodedCharacter(bytes, position, end);
+            if (position < 0) {
+              return null;
+            }
+            if (b > ' ') {
+              cellEnd = position;
+            }
+          }
+          rows.addCell(cellStart, cellEnd, false);
+        }
+
+        if (++cellCount > maxColumns) {
+          return null;
+        }
+
+        if (position >= end) {
+          break;
+        }
+
+        b = bytes.get(position++) & 0xFF;
+        if (b == '\n') {
+          lines++;
+          break;
+        } else if (b != delimiter) {
+          return null;
+        }
+      }
+
+      linesBeforeRow = lines;
+    }
+
+    rows.setHasOpenBracket(hasOpenBracket);
+    return rows;
+  }
+
+  /** Checks if the byte is whitespace that is trimmed from the cells. */
+  private boolean isWhitespace(int b) {
+    return b <= ' ' && b != '\n' && b != delimiter;
+  }
+
+  /**
+   * Validates a non-ASCII character starting at the given position.
+   *
+   * @return the position after the character, or -1 if it is not correctly encoded
+   */
+  private int skipEncodedCharacter(ByteBuffer bytes, int position, int end) {
+    if (charset.equals(StandardCharsets.ISO_8859_1)) {
+      return position + 1;
+    } else if (!charset.equals(StandardCharsets.UTF_8)) {
+      return -1;
+    }
+
+    int first = bytes.get(position) & 0xFF;
+    int length;
+    int secondMin = 0x80;
+    int secondMax = 0xBF;
+    if (first >= 0xC2 && first <= 0xDF) {
+      length = 2;
+    } else if (first >= 0xE0 && first <= 0xEF) {
+      length = 3;
+      if (first == 0xE0) {
+        // Overlong encoding.
+        secondMin = 0xA0;
+      } else if (first == 0xED) {
+        // Surrogate code points.
+        secondMax = 0x9F;
+      }
+    } else if (first >= 0xF0 && first <= 0xF4) {
+      length = 4;
+      if (first == 0xF0) {
+        // Overlong encoding.
+        secondMin = 0x90;
+      } else if (first == 0xF4) {
+        // Code points above U+10FFFF.
+        secondMax = 0x8F;
+      }
+    } else {
+      return -1;
+    }
+
+    if (position + length > end) {
+      return -1;
+    }
+
+    int second = bytes.get(position + 1) & 0xFF;
+    if (second < secondMin || second > secondMax) {
+      return -1;
+    }
+
+    for (int i = 2; i < length; i++) {
+      int next = bytes.get(position + i) & 0xFF;
+      if (next < 0x80 || next > 0xBF) {
+        return -1;
+      }
+    }
+
+    return position + length;
+  }
+}
@@ -0,0 +1,260 @@
+package org.enso.table.read;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Finds record boundaries in a delimited file, so that its parts can be parsed independently.
+ *
+ * <p>The file is scanned byte by byte, tracking whether the current position is inside a quoted
+ * cell, so that newlines within quotes are never chosen as a boundary. Only the delimiter, quote,
+ * escape, comment and newline characters are inspected, so the scan is valid for any encoding in
+ * which these ASCII characters are encoded as single bytes that never occur inside multi-byte
+ * sequences (like UTF-8 or ISO-8859-1).
+ *
+ * <p>The scanner is deliberately strict - whenever it encounters input whose interpretation could
+ * depend on details of the parser (like a quote inside of an unquoted cell, a quoted cell that is
+ * not terminated or a NUL character), it gives up, so that such files are read sequentially and any
+ * issues are reported in the usual way.
+ */
+final class DelimitedFileSplitter {
+  /** A part of the file spanning the bytes {@code [start, end)}. */
+  record Chunk(long start, long end, long firstLine) {
+    long length() {
+      return end - start;
+    }
+  }
+
+  /** Marks an unused special character. */
+  static final int NONE = -1;
+
+  /** How many bytes are mapped into memory at once while scanning. */
+  private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+  private enum State {
+    FIELD_START,
+    UNQUOTED,
+    QUOTED,
+    QUOTE_IN_QUOTED,
+    ESCAPE_IN_QUOTED,
+    AFTER_QUOTED,
+    COMMENT
+  }
+
+  private final int delimiter;
+  private final int quote;
+  private final int quoteEscape;
+  private final int comment;
+  private final boolean crlf;
+
+  /**
+   * Creates a new splitter.
+   *
+   * @param delimiter the delimiter byte, or {@link #NONE}
+   * @param quote the quote byte, or {@link #NONE} if quotes are disabled
+   * @param quoteEscape the quote escape byte, or {@link #NONE}
+   * @param comment the byte starting a comment line, or {@link #NONE}
+   * @param crlf whether lines are expected to be separated by {@code \r\n} instead of {@code \n}
+   */
+  DelimitedFileSplitter(int delimiter, int quote, int quoteEscape, int comment, boolean crlf) {
+    this.delimiter = delimiter;
+    this.quote = quote;
+    this.quoteEscape = quoteEscape;
+    this.comment = comment;
+    this.crlf = crlf;
+  }
+
+  /**
+   * Finds the position just after the first {@code lineCount} lines starting at {@code start}.
+   *
+   * <p>Lines are skipped regardless of any quotes or comments, consistently with how the parser
+   * skips rows.
+   *
+   * @return the position after the skipped lines, or -1 if the file does not have enough lines or
+   *     could not be safely split
+   */
+  long skipLines(FileChannel channel, long start, long size, long lineCount) throws IOException {
+    if (lineCount == 0) {
+      return start;
+    }
+
+    Context context = Context.getCurrent();
+    long lines = 0;
+    int previous = '\n';
+    for (long windowStart = start; windowStart < size; windowStart += WINDOW_SIZE) {
+      long windowLength = Math.min(WINDOW_SIZE, size - windowStart);
+      MappedByteBuffer window =
+          channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+      for (int i = 0; i < windowLength; i++) {
+        int b = window.get(i) & 0xFF;
+        if (b == 0 || (b == '\n' && crlf && previous != '\r')) {
+          return -1;
+        }
+
+        if (b == '\n' && ++lines == lineCount) {
+          return windowStart + i + 1;
+        }
+
+        previous = b;
+      }
+
+      context.safepoint();
+    }
+
+    return -1;
+  }
+
+  /**
+   * Splits the bytes {@code [start, size)} of the file into at most {@code chunkCount} chunks of
+   * similar size, each starting at the beginning of a record.
+   *
+   * @param firstLine the number of lines preceding {@code start}
+   * @return the chunks, or {@code null} if the file could not be safely split
+   */
+  List<Chunk> split(FileChannel channel, long start, long size, int chunkCount, long firstLine)
+      throws IOException {
+    Context context = Context.getCurrent();
+    List<Chunk> chunks = new ArrayList<>(chunkCount);
+    long chunkStart = start;
+    long chunkFirstLine = firstLine;
+    int nextBoundary = 1;
+    long nextTarget = targetOf(start, size, chunkCount, nextBoundary);
+
+    State state = State.FIELD_START;
+    boolean atRecordStart = true;
+    int previous = '\n';
+    long lines = firstLine;
+
+    for (long windowStart = start; windowStart < size; windowStart += WINDOW_SIZE) {
+      long windowLength = Math.min(WINDOW_SIZE, size - windowStart);
+      MappedByteBuffer window =
+          channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+      for (int i = 0; i < windowLength; i++) {
+        int b = window.get(i) & 0xFF;
+        if (b == 0) {
+          return null;
+        }
+
+        boolean recordEnded = false;
+        if (b == '\n') {
+          lines++;
+          if (crlf && previous != '\r') {
+            return null;
+          }
+        }
+
+        switch (state) {
+          case FIELD_START -> {
+            if (b == '\n') {
+              recordEnded = true;
+            } else if (b == comment && previous == '\n') {
+              state = State.COMMENT;
+            } else if (b == comment && atRecordStart) {
+              // A comment character preceded by whitespace - it is not clear if the line should be
+              // treated as a comment.
+              return null;
+            } else if (b == delimiter) {
+              atRecordStart = false;
+            } else if (b == quote) {
+              state = State.QUOTED;
+            } else if (b > ' ') {
+              state = State.UNQUOTED;
+            }
+          }
+          case UNQUOTED -> {
+            if (b == '\n') {
+              recordEnded = true;
+            } else if (b == delimiter) {
+              state = State.FIELD_START;
+              atRecordStart = false;
+            } else if (b == quote) {
+              return null;
+            }
+          }
+          case QUOTED -> {
+            if (b == quoteEscape && quoteEscape != quote) {
+              state = State.ESCAPE_IN_QUOTED;
+            } else if (b == quote) {
+              state = State.QUOTE_IN_QUOTED;
+            }
+          }
+          case ESCAPE_IN_QUOTED -> {
+            if (b == quoteEscape) {
+              return null;
+            }
+            state = State.QUOTED;
+          }
+          case QUOTE_IN_QUOTED -> {
+            if (b == quote && quoteEscape == quote) {
+              state = State.QUOTED;
+            } else {
+              state = afterQuoted(b);
+              if (state == null) {
+                return null;
+              }
+              recordEnded = b == '\n';
+              atRecordStart = atRecordStart && b != delimiter;
+            }
+          }
+          case AFTER_QUOTED -> {
+            state = afterQuoted(b);
+            if (state == null) {
+              return null;
+            }
+            recordEnded = b == '\n';
+            atRecordStart = atRecordStart && b != delimiter;
+          }
+          case COMMENT -> {
+            if (b == '\n') {
+              recordEnded = true;
+            }
+          }
+        }
+
+        if (recordEnded) {
+          state = State.FIELD_START;
+          atRecordStart = true;
+          long position = windowStart + i + 1;
+          if (nextBoundary < chunkCount && position >= nextTarget && position < size) {
+            chunks.add(new Chunk(chunkStart, position, chunkFirstLine));
+            chunkStart = position;
+            chunkFirstLine = lines;
+            nextBoundary++;
+            nextTarget = targetOf(start, size, chunkCount, nextBoundary);
+          }
+        }
+
+        previous = b;
+      }
+
+      context.safepoint();
+    }
+
+    if (state == State.QUOTED || state == State.ESCAPE_IN_QUOTED) {
+      // The last quote was never closed.
+      return null;
+    }
+
+    chunks.add(new Chunk(chunkStart, size, chunkFirstLine));
+    return chunks;
+  }
+
+  /** Handles a byte following a closed quoted cell, returns null if the input is malformed. */
+  private State afterQuoted(int b) {
+    if (b == '\n' || b == delimiter) {
+      return State.FIELD_START;
+    } else if (b <= ' ') {
+      return State.AFTER_QUOTED;
+    } else {
+      return null;
+    }
+  }
+
+  private static long targetOf(long start, long size, int chunkCount, int boundary) {
+    return start + (size - start) * boundary / chunkCount;
+  }
+}
@@ -3,7 +3,18 @@ package org.enso.table.read;
 import com.univocity.parsers.csv.CsvFormat;
 import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -23,6 +34,7 @@ import org.enso.table.parsing.problems.NoOpParseProblemAggregator;
 import org.enso.table.parsing.problems.ParseProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.util.NameDeduplicator;
+import org.enso.table.util.ParallelTasks;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 
@@ -59,7 +71,9 @@ public class DelimitedReader {
   private final CsvParser parser;
   private final DatatypeParser valueParser;
   private final TypeInferringParser cellTypeGuesser;
+  private final boolean hasDefaultValueFormats;
   private final boolean keepInvalidRows;
+  private final String commentCharacter;
   private String newlineSetting;
   private final NoOpParseProblemAggregator noOpProblemAggregator = new NoOpParseProblemAggregator();
   private long targetTableIndex = 0;
@@ -68,6 +82,10 @@ public class DelimitedReader {
   private long currentLine = 0;
 
   private StringBuilder[] builders = null;
+
+  /** Used instead of {@code builders} if the rows were tokenized directly from bytes. */
+  private ByteColumnsBuilder byteColumns = null;
+
   private final DelimitedReaderProblemAggregator problemAggregator;
 
   /**
@@ -90,6 +108,9 @@ public class DelimitedReader {
    *     specific datatype
    * @param cellTypeGuesser a helper used to guess cell types, used for the purpose of inferring the
    *     headers, it must not be null if {@code headerBehavior} is set to {@code INFER}.
+   * @param hasDefaultValueFormats specifies if the {@code valueParser} infers the types of values
+   *     using the default formats; only then can plain numbers and booleans be parsed directly from
+   *     the bytes of a file, without creating their text
    * @param keepInvalidRows specifies whether to keep rows that had an unexpected number of columns
    * @param newline specifies what newline character to assume; if set to null, the newline
    *     character is autodetected
@@ -110,6 +131,7 @@ public class DelimitedReader {
       int maxColumns,
       DatatypeParser valueParser,
       TypeInferringParser cellTypeGuesser,
+      boolean hasDefaultValueFormats,
       boolean keepInvalidRows,
       String newline,
       String commentCharacter,
@@ -169,15 +191,22 @@ public class DelimitedReader {
 
     this.valueParser = valueParser;
     this.cellTypeGuesser = cellTypeGuesser;
+    this.hasDefaultValueFormats = hasDefaultValueFormats;
     this.newlineSetting = newline;
+    this.commentCharacter = commentCharacter;
     this.problemAggregator =
         new DelimitedReaderProblemAggregator(
             problemAggregator, warningsAsErrors, quoteCharacter, invalidRowsLimit);
-    this.parser = setupCsvParser(commentCharacter);
+    this.parser = new CsvParser(setupParserSettings(skipRows, newlineSetting));
   }
 
-  /** Creates a {@code CsvParser} according to the settings specified at construction. */
-  private CsvParser setupCsvParser(String commentCharacter) {
+  /**
+   * Creates the {@code CsvParser} settings according to the settings specified at construction.
+   *
+   * @param rowsToSkip the amount of rows to skip at the beginning of the input
+   * @param newline the newline sequence, or {@code null} to detect it from the input
+   */
+  private CsvParserSettings setupParserSettings(long rowsToSkip, String newline) {
     CsvParserSettings settings = new CsvParserSettings();
     settings.setHeaderExtractionEnabled(false);
     CsvFormat format = new CsvFormat();
@@ -189,16 +218,16 @@ public class DelimitedReader {
     settings.setSkipEmptyLines(false);
     settings.setKeepQuotes(true);
 
-    if (newlineSetting == null) {
+    if (newline == null) {
       settings.setLineSeparatorDetectionEnabled(true);
     } else {
-      if (newlineSetting.length() > 2 || newlineSetting.isEmpty()) {
+      if (newline.length() > 2 || newline.isEmpty()) {
         throw new IllegalArgumentException(
             "The newline sequence should consist of at least 1 and at most 2 characters"
                 + " (codepoints).");
       }
       settings.setLineSeparatorDetectionEnabled(false);
-      format.setLineSeparator(newlineSetting);
+      format.setLineSeparator(newline);
     }
 
     if (commentCharacter == null) {
@@ -214,9 +243,9 @@ public class DelimitedReader {
     }
 
     settings.setFormat(format);
-    settings.setNumberOfRowsToSkip(skipRows);
+    settings.setNumberOfRowsToSkip(rowsToSkip);
 
-    return new CsvParser(settings);
+    return settings;
   }
 
   /** Parses a header cell, removing surrounding quotes (if applicable). */
@@ -233,16 +262,65 @@ public class DelimitedReader {
    * instead.
    */
   private Row loadNextRow() {
+    if (preparsedRows != null) {
+      return preparsedRows.next();
+    }
+
     long line = parser.getContext().currentLine() + 1;
     String[] cells = parser.parseNext();
     if (cells == null) return null;
-    return new Row(line, cells);
+    return new TextRow(line, cells);
   }
 
-  private record Row(long lineNumber, String[] cells) {}
+  /** A row of the input. */
+  private interface Row {
+    long lineNumber();
+
+    int cellCount();
+
+    /** Returns the text of the cells of the row. */
+    String[] cells();
+  }
+
+  private record TextRow(long lineNumber, String[] cells) implements Row {
+    @Override
+    public int cellCount() {
+      return cells.length;
+    }
+  }
+
+  /** A row tokenized directly from bytes, whose text is only created if it is needed. */
+  private record ByteRow(ByteRows rows, int index) implements Row {
+    @Override
+    public long lineNumber() {
+      return rows.lineNumber(index);
+    }
+
+    @Override
+    public int cellCount() {
+      return rows.cellCount(index);
+    }
+
+    @Override
+    public String[] cells() {
+      return rows.cells(index);
+    }
+  }
 
   private final Queue<Row> pendingRows = new ArrayDeque<>(2);
 
+  /**
+   * Rows that have already been tokenized in parallel, if the file is read using {@link
+   * #tryReadInParallel}.
+   */
+  private PreparsedRows preparsedRows = null;
+
+  /** Whether the parallel reading tokenized the file directly from its bytes. */
+  private boolean tokenizedFromBytes = false;
+
+  /** Whether plain numbers and booleans can be parsed directly from the bytes of the file. */
+  private boolean parsePlainValues = false;
+
   /**
    * Reads the next row and updates the current line accordingly. It takes into consideration the
    * pending rows that have already been loaded when inferring the headers but were still not
@@ -250,52 +328,59 @@ public class DelimitedReader {
    *
    * <p>Will return {@code null} if no more rows are available.
    */
-  private String[] readNextRow() {
+  private Row readNextRow() {
     Row row = pendingRows.isEmpty() ? loadNextRow() : pendingRows.remove();
     if (row == null) {
       return null;
     }
 
-    currentLine = row.lineNumber;
-    return row.cells;
+    currentLine = row.lineNumber();
+    return row;
   }
 
-  private void appendRow(String[] row) {
-    assert builders != null;
+  private void appendRow(Row row) {
+    assert builders != null || byteColumns != null;
     assert canFitMoreRows();
 
-    if (row.length != builders.length) {
+    int columnCount = getColumnCount();
+    if (row.cellCount() != columnCount) {
       problemAggregator.reportInvalidRow(
-          currentLine, keepInvalidRows ? targetTableIndex : null, row, builders.length);
+          currentLine, keepInvalidRows ? targetTableIndex : null, row.cells(), columnCount);
 
       if (keepInvalidRows) {
-        for (int i = 0; i < builders.length && i < row.length; i++) {
-          builders[i].append(row[i]);
-        }
-
-        // If the current row had fewer columns than expected, nulls are inserted for the missing
-        // values.
-        // If it had more columns, the excess columns are discarded.
-        for (int i = row.length; i < builders.length; i++) {
-          builders[i].append(null);
-        }
-
+        appendCells(row);
         targetTableIndex++;
       }
     } else {
-      for (int i = 0; i < builders.length; i++) {
-        builders[i].append(row[i]);
-      }
-
+      appendCells(row);
       targetTableIndex++;
     }
   }
 
+  private void appendCells(Row row) {
+    if (row instanceof ByteRow byteRow) {
+      byteColumns.appendRow(byteRow.rows(), byteRow.index());
+      return;
+    }
+
+    String[] cells = row.cells();
+    for (int i = 0; i < builders.length && i < cells.length; i++) {
+      builders[i].append(cells[i]);
+    }
+
+    // If the current row had fewer columns than expected, nulls are inserted for the missing
+    // values.
+    // If it had more columns, the excess columns are discarded.
+    for (int i = cells.length; i < builders.length; i++) {
+      builders[i].append(null);
+    }
+  }
+
   private boolean canFitMoreRows() {
     return rowLimit < 0 || targetTableIndex < rowLimit;
   }
 
-  private void appendRowIfLimitPermits(String[] row) {
+  private void appendRowIfLimitPermits(Row row) {
     if (canFitMoreRows()) {
       appendRow(row);
     }
@@ -390,7 +475,7 @@ public class DelimitedReader {
       return;
     }
 
-    int expectedColumnCount = firstRow.cells.length;
+    int expectedColumnCount = firstRow.cellCount();
     boolean wereHeadersDefined = false;
     List<String> headerNames;
 
@@ -404,11 +489,11 @@ public class DelimitedReader {
           pendingRows.add(firstRow);
         } else {
           assert cellTypeGuesser != null;
-          boolean firstAllText = Arrays.stream(firstRow.cells).allMatch(this::isPlainText);
-          boolean secondAllText = Arrays.stream(secondRow.cells).allMatch(this::isPlainText);
+          boolean firstAllText = Arrays.stream(firstRow.cells()).allMatch(this::isPlainText);
+          boolean secondAllText = Arrays.stream(secondRow.cells()).allMatch(this::isPlainText);
           boolean useFirstRowAsHeader = firstAllText && !secondAllText;
           if (useFirstRowAsHeader) {
-            headerNames = headersFromRow(firstRow.cells);
+            headerNames = headersFromRow(firstRow.cells());
             wereHeadersDefined = true;
             pendingRows.add(secondRow);
           } else {
@@ -419,7 +504,7 @@ public class DelimitedReader {
         }
       }
       case USE_FIRST_ROW_AS_HEADERS -> {
-        headerNames = headersFromRow(firstRow.cells);
+        headerNames = headersFromRow(firstRow.cells());
         wereHeadersDefined = true;
       }
       case GENERATE_HEADERS -> {
@@ -442,40 +527,95 @@ public class DelimitedReader {
    */
   public Table read(Reader input) {
     markUsed();
-    Context context = Context.getCurrent();
     try {
       parser.beginParsing(input);
-      detectHeaders();
-      int columnCount = getColumnCount();
-      if (columnCount == 0) {
-        throw new EmptyFileException();
-      }
-
-      initBuilders(columnCount);
-      while (canFitMoreRows()) {
-        var currentRow = readNextRow();
-        if (currentRow == null) break;
-        appendRow(currentRow);
-
-        context.safepoint();
-      }
+      readAllRows();
     } finally {
       // We ensure that parsing is stopped, even if the parsing has been interrupted.
       // That is to ensure that the other thread that is used for reading is also stopped quickly.
       parser.stopParsing();
     }
 
-    Column[] columns = new Column[builders.length];
-    for (int i = 0; i < builders.length; i++) {
+    return buildTable();
+  }
+
+  /**
+   * Tries to read a local file, tokenizing its parts in parallel.
+   *
+   * <p>The file is first scanned to find record boundaries at which it can be split. The parts are
+   * then tokenized in parallel and the resulting rows are processed in order, in the same way as in
+   * {@link #read}, so the headers, skipped rows, row limit and invalid rows are all handled
+   * identically.
+   *
+   * <p>Returns {@code null} without using the reader if the file is not suitable for parallel
+   * reading - it is too small, has an unsupported encoding, a row limit is set, it contains input
+   * that could make the splitting ambiguous (for example mismatched quotes) or it cannot be decoded
+   * without errors. In that case, the file should be read using {@link #read}, which reports any
+   * such issues in the usual way.
+   *
+   * @param file the file to read
+   * @param charset the encoding of the file; if {@code null}, UTF-8 is assumed, with an optional
+   *     BOM, and any file that is not valid UTF-8 is left to the sequential reader
+   */
+  public Table tryReadInParallel(File file, Charset charset) {
+    List<TokenizedChunk> chunks;
+    try {
+      chunks = tokenizeInParallel(file, charset);
+    } catch (IOException e) {
+      // Any errors are left to be reported by the regular reader.
+      return null;
+    }
+
+    if (chunks == null) {
+      return null;
+    }
+
+    markUsed();
+    preparsedRows = new PreparsedRows(chunks);
+    readAllRows();
+    return buildTable();
+  }
+
+  /** Reads all rows from the input into the builders. */
+  private void readAllRows() {
+    Context context = Context.getCurrent();
+    detectHeaders();
+    int columnCount = getColumnCount();
+    if (columnCount == 0) {
+      throw new EmptyFileException();
+    }
+
+    initBuilders(columnCount);
+    while (canFitMoreRows()) {
+      var currentRow = readNextRow();
+      if (currentRow == null) break;
+      appendRow(currentRow);
+
+      context.safepoint();
+    }
+  }
+
+  private Table buildTable() {
+    Context context = Context.getCurrent();
+    Storage<?>[] sealed = byteColumns != null ? byteColumns.seal() : sealBuilders();
+    Column[] columns = new Column[sealed.length];
+    for (int i = 0; i < sealed.length; i++) {
       String columnName = effectiveColumnNames[i];
-      Storage<String> col = builders[i].seal();
-
-      // We don't expect InvalidFormat to be propagated back to Enso, there is no particular type
-      // that we expect, so it can safely be null.
-      Value expectedEnsoValueType = Value.asValue(null);
-      CommonParseProblemAggregator parseProblemAggregator =
-          ParseProblemAggregator.make(problemAggregator, columnName, expectedEnsoValueType);
-      Storage<?> storage = valueParser.parseColumn(col, parseProblemAggregator);
+      Storage<?> storage = sealed[i];
+
+      // Columns of plain values tokenized directly from bytes are already parsed.
+      if (storage.getType() instanceof TextType) {
+        @SuppressWarnings("unchecked")
+        Storage<String> col = (Storage<String>) storage;
+
+        // We don't expect InvalidFormat to be propagated back to Enso, there is no particular type
+        // that we expect, so it can safely be null.
+        Value expectedEnsoValueType = Value.asValue(null);
+        CommonParseProblemAggregator parseProblemAggregator =
+            ParseProblemAggregator.make(problemAggregator, columnName, expectedEnsoValueType);
+        storage = valueParser.parseColumn(col, parseProblemAggregator);
+      }
+
       columns[i] = new Column(columnName, storage);
       context.safepoint();
     }
@@ -483,6 +623,317 @@ public class DelimitedReader {
     return new Table(columns);
   }
 
+  private Storage<?>[] sealBuilders() {
+    Storage<?>[] sealed = new Storage<?>[builders.length];
+    for (int i = 0; i < builders.length; i++) {
+      sealed[i] = builders[i].seal();
+    }
+    return sealed;
+  }
+
+  /** The minimum size of a part of the file that is worth to be tokenized separately. */
+  private static final long MIN_CHUNK_BYTES = 4L * 1024 * 1024;
+
+  /** The maximum size of a part of the file, limiting how much is mapped into memory at once. */
+  private static final long MAX_CHUNK_BYTES = 256L * 1024 * 1024;
+
+  /** How many bytes are inspected when detecting the newline sequence. */
+  private static final int NEWLINE_DETECTION_LIMIT = 1024 * 1024;
+
+  /**
+   * Splits the file and tokenizes its parts in parallel.
+   *
+   * <p>Returns {@code null} if the file should be read sequentially instead.
+   */
+  private List<TokenizedChunk> tokenizeInParallel(File file, Charset charset) throws IOException {
+    Charset effectiveCharset = charset == null ? StandardCharsets.UTF_8 : charset;
+    boolean isUtf8 = effectiveCharset.equals(StandardCharsets.UTF_8);
+    boolean isSupportedCharset =
+        isUtf8
+            || effectiveCharset.equals(StandardCharsets.US_ASCII)
+            || effectiveCharset.equals(StandardCharsets.ISO_8859_1);
+    // With a row limit, the sequential reader can stop early, which is usually much faster than
+    // tokenizing the whole file.
+    if (!isSupportedCharset || rowLimit >= 0) {
+      return null;
+    }
+
+    int delimiterByte = delimiter == UNUSED_CHARACTER ? DelimitedFileSplitter.NONE : delimiter;
+    int quoteByte =
+        quoteCharacter == noQuoteCharacter ? DelimitedFileSplitter.NONE : quoteCharacter;
+    int quoteEscapeByte =
+        quoteEscapeCharacter == noQuoteCharacter
+            ? DelimitedFileSplitter.NONE
+            : quoteEscapeCharacter;
+    int commentByte =
+        commentCharacter == null ? DelimitedFileSplitter.NONE : commentCharacter.charAt(0);
+    if (!isAsciiOrNone(delimiterByte)
+        || !isAsciiOrNone(quoteByte)
+        || !isAsciiOrNone(quoteEscapeByte)
+        || !isAsciiOrNone(commentByte)) {
+      return null;
+    }
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (!ParallelTasks.shouldRunInParallel(size, 2 * MIN_CHUNK_BYTES)) {
+        return null;
+      }
+
+      long start = isUtf8 ? skipUtf8ByteOrderMark(channel) : 0;
+      if (start < 0) {
+        return null;
+      }
+
+      String newline = newlineSetting != null ? newlineSetting : detectNewline(channel, start);
+      if (!"\n".equals(newline) && !"\r\n".equals(newline)) {
+        return null;
+      }
+
+      long chunkCount =
+          Math.max(
+              Math.min(ParallelTasks.parallelism() * 2L, size / MIN_CHUNK_BYTES),
+              (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+      var splitter =
+          new DelimitedFileSplitter(
+              delimiterByte, quoteByte, quoteEscapeByte, commentByte, newline.equals("\r\n"));
+      // The skipped rows are skipped as lines, regardless of quotes, so they are skipped before
+      // splitting the file, to ensure that the splitting is consistent with the parser.
+      long dataStart = splitter.skipLines(channel, start, size, skipRows);
+      if (dataStart < 0) {
+        return null;
+      }
+
+      List<DelimitedFileSplitter.Chunk> parts =
+          splitter.split(channel, dataStart, size, (int) chunkCount, skipRows);
+      if (parts == null || parts.size() < 2) {
+        return null;
+      }
+
+      // Quotes escaped in a different way are left to the parser, as the handling of escape
+      // characters outside of quotes is subtle.
+      DelimitedByteTokenizer byteTokenizer =
+          quoteEscapeByte == quoteByte || quoteByte == DelimitedFileSplitter.NONE
+              ? new DelimitedByteTokenizer(
+                  delimiterByte,
+                  quoteByte,
+                  commentByte,
+                  newline.equals("\r\n"),
+                  maxColumns,
+                  effectiveCharset)
+              : null;
+
+      TokenizedChunk[] results = new TokenizedChunk[parts.size()];
+      List<Runnable> tasks = new ArrayList<>(parts.size());
+      for (int i = 0; i < parts.size(); i++) {
+        final int chunkIndex = i;
+        final var part = parts.get(i);
+        tasks.add(
+            () ->
+                results[chunkIndex] =
+                    byteTokenizer != null
+                        ? tokenizeChunkBytes(channel, part, byteTokenizer)
+                        : tokenizeChunk(channel, part, newline, effectiveCharset));
+      }
+      ParallelTasks.runAll(tasks);
+
+      boolean hasOpenBracket = false;
+      for (TokenizedChunk result : results) {
+        if (result == null) {
+          return null;
+        }
+        if (result instanceof ByteChunk byteChunk) {
+          hasOpenBracket |= byteChunk.rows().hasOpenBracket();
+        }
+      }
+
+      newlineSetting = newline;
+      tokenizedFromBytes = byteTokenizer != null;
+      // An opening bracket may change how the signs of numbers are inferred, so then all values
+      // are left to the value parser.
+      parsePlainValues = tokenizedFromBytes && hasDefaultValueFormats && !hasOpenBracket;
+      return Arrays.asList(results);
+    }
+  }
+
+  /**
+   * Tokenizes a single part of the file directly from its bytes.
+   *
+   * <p>Like {@link #tokenizeChunk}, it runs on a worker thread and returns {@code null} if the part
+   * cannot be handled.
+   */
+  private static TokenizedChunk tokenizeChunkBytes(
+      FileChannel channel, DelimitedFileSplitter.Chunk part, DelimitedByteTokenizer tokenizer) {
+    try {
+      ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, part.start(), part.length());
+      ByteRows rows = tokenizer.tokenize(bytes, part.firstLine());
+      return rows == null ? null : new ByteChunk(rows);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Tokenizes a single part of the file.
+   *
+   * <p>It runs on a worker thread, so it must not report any problems. Returns {@code null} if the
+   * part could not be tokenized cleanly - the whole file is then read sequentially, reporting the
+   * issue.
+   */
+  private TokenizedChunk tokenizeChunk(
+      FileChannel channel, DelimitedFileSplitter.Chunk part, String newline, Charset charset) {
+    CsvParserSettings settings = setupParserSettings(0, newline);
+    settings.setReadInputOnSeparateThread(false);
+    CsvParser chunkParser = new CsvParser(settings);
+    CharsetDecoder decoder =
+        charset
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    List<Row> rows = new ArrayList<>();
+    try {
+      ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, part.start(), part.length());
+      chunkParser.beginParsing(new InputStreamReader(new ByteBufferInputStream(bytes), decoder));
+      while (true) {
+        long line = chunkParser.getContext().currentLine() + 1 + part.firstLine();
+        String[] cells = chunkParser.parseNext();
+        if (cells == null) break;
+        rows.add(new TextRow(line, cells));
+      }
+    } catch (IOException | RuntimeException e) {
+      return null;
+    } finally {
+      chunkParser.stopParsing();
+    }
+
+    return new ParsedChunk(rows);
+  }
+
+  private static boolean isAsciiOrNone(int character) {
+    return character == DelimitedFileSplitter.NONE || (character > 0 && character < 0x80);
+  }
+
+  /**
+   * Returns the position just after the UTF-8 BOM, or 0 if there is no BOM.
+   *
+   * <p>Returns -1 if a BOM of another Unicode encoding is present.
+   */
+  private static long skipUtf8ByteOrderMark(FileChannel channel) throws IOException {
+    ByteBuffer head = ByteBuffer.allocate(3);
+    channel.read(head, 0);
+    byte[] bytes = head.array();
+    if (head.position() >= 3
+        && bytes[0] == (byte) 0xEF
+        && bytes[1] == (byte) 0xBB
+        && bytes[2] == (byte) 0xBF) {
+      return 3;
+    }
+
+    boolean isUtf16Bom =
+        head.position() >= 2
+            && ((bytes[0] == (byte) 0xFE && bytes[1] == (byte) 0xFF)
+                || (bytes[0] == (byte) 0xFF && bytes[1] == (byte) 0xFE));
+    return isUtf16Bom ? -1 : 0;
+  }
+
+  /**
+   * Detects the newline sequence based on the first line break in the file, like the parser does.
+   *
+   * <p>Returns {@code null} if no line break was found near the beginning of the file.
+   */
+  private static String detectNewline(FileChannel channel, long start) throws IOException {
+    ByteBuffer head = ByteBuffer.allocate(NEWLINE_DETECTION_LIMIT);
+    channel.read(head, start);
+    head.flip();
+    while (head.hasRemaining()) {
+      byte b = head.get();
+      if (b == '\n') {
+        return "\n";
+      } else if (b == '\r') {
+        if (!head.hasRemaining()) {
+          return null;
+        }
+        return head.get() == '\n' ? "\r\n" : "\r";
+      }
+    }
+    return null;
+  }
+
+  /** The rows of a part of the file, tokenized in parallel. */
+  private interface TokenizedChunk {
+    /** Returns the row with the given index, or {@code null} if there are no more rows. */
+    Row row(int index);
+  }
+
+  /** A chunk tokenized by the parser, whose rows are released once they are returned. */
+  private record ParsedChunk(List<Row> rows) implements TokenizedChunk {
+    @Override
+    public Row row(int index) {
+      return index < rows.size() ? rows.set(index, null) : null;
+    }
+  }
+
+  /** A chunk tokenized directly from bytes. */
+  private record ByteChunk(ByteRows rows) implements TokenizedChunk {
+    @Override
+    public Row row(int index) {
+      return index < rows.rowCount() ? new ByteRow(rows, index) : null;
+    }
+  }
+
+  /** Iterates over rows of consecutive chunks. */
+  private static final class PreparsedRows {
+    private final List<TokenizedChunk> chunks;
+    private int chunkIndex = 0;
+    private int rowIndex = 0;
+
+    private PreparsedRows(List<TokenizedChunk> chunks) {
+      this.chunks = chunks;
+    }
+
+    private Row next() {
+      while (chunkIndex < chunks.size()) {
+        Row row = chunks.get(chunkIndex).row(rowIndex);
+        if (row != null) {
+          rowIndex++;
+          return row;
+        }
+
+        chunks.set(chunkIndex, null);
+        chunkIndex++;
+        rowIndex = 0;
+      }
+
+      return null;
+    }
+  }
+
+  /** An input stream reading the contents of a memory-mapped part of a file. */
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+
+      int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+  }
+
   private boolean wasAlreadyUsed = false;
 
   private void markUsed() {
@@ -497,6 +948,11 @@ public class DelimitedReader {
   private static final int INITIAL_ROW_CAPACITY = 100;
 
   private void initBuilders(int count) {
+    if (tokenizedFromBytes) {
+      byteColumns = new ByteColumnsBuilder(count, parsePlainValues);
+      return;
+    }
+
     builders = new StringBuilder[count];
     for (int i = 0; i < count; i++) {
       builders[i] = new StringBuilder(INITIAL_ROW_CAPACITY, TextType.VARIABLE_LENGTH);
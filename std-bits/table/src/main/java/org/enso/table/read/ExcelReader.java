@@ -24,12 +24,20 @@ import org.enso.table.excel.ExcelHeaders;
 import org.enso.table.excel.ExcelRange;
 import org.enso.table.excel.ExcelRow;
 import org.enso.table.excel.ExcelSheet;
+import org.enso.table.excel.ExcelWorkbook;
 import org.enso.table.excel.ReadOnlyExcelConnection;
+import org.enso.table.excel.xssfreader.XSSFReaderWorkbook;
 import org.enso.table.problems.ProblemAggregator;
 import org.graalvm.polyglot.Context;
 
 /** A table reader for MS Excel files. */
 public class ExcelReader {
+  /**
+   * The initial capacity of the builders when reading whole columns. The number of rows is not
+   * known before the sheet is read, so the builders grow as needed.
+   */
+  private static final int INITIAL_COLUMN_CAPACITY = 1024;
+
   /**
    * Reads a list of sheet names for the specified XLSX/XLS file into an array.
    *
@@ -105,7 +113,7 @@ public class ExcelReader {
       ExcelFileFormat format,
       ProblemAggregator problemAggregator)
       throws IOException, InvalidLocationException {
-    return withWorkbook(
+    return withSheets(
         file,
         format,
         workbook -> {
@@ -115,8 +123,7 @@ public class ExcelReader {
           }
 
           return readTable(
-              workbook,
-              sheetIndex,
+              workbook.getSheetAt(sheetIndex),
               null,
               headers,
               skip_rows,
@@ -146,7 +153,7 @@ public class ExcelReader {
       ExcelFileFormat format,
       ProblemAggregator problemAggregator)
       throws IOException, InvalidLocationException {
-    return withWorkbook(
+    return withSheets(
         file,
         format,
         workbook -> {
@@ -158,8 +165,7 @@ public class ExcelReader {
           }
 
           return readTable(
-              workbook,
-              index - 1,
+              workbook.getSheetAt(index - 1),
               null,
               headers,
               skip_rows,
@@ -191,7 +197,7 @@ public class ExcelReader {
       ExcelFileFormat format,
       ProblemAggregator problemAggregator)
       throws IOException, InvalidLocationException {
-    return withWorkbook(
+    return withSheets(
         file,
         format,
         workbook ->
@@ -218,11 +224,27 @@ public class ExcelReader {
       Integer row_limit,
       ProblemAggregator problemAggregator)
       throws InvalidLocationException {
+    return readRangeByName(
+        ExcelWorkbook.forPOIUserModel(workbook),
+        rangeNameOrAddress,
+        headers,
+        skip_rows,
+        row_limit,
+        problemAggregator);
+  }
+
+  private static Table readRangeByName(
+      ExcelWorkbook workbook,
+      String rangeNameOrAddress,
+      ExcelHeaders.HeaderBehavior headers,
+      int skip_rows,
+      Integer row_limit,
+      ProblemAggregator problemAggregator)
+      throws InvalidLocationException {
     int sheetIndex = workbook.getSheetIndex(rangeNameOrAddress);
     if (sheetIndex != -1) {
       return readTable(
-          workbook,
-          sheetIndex,
+          workbook.getSheetAt(sheetIndex),
           null,
           headers,
           skip_rows,
@@ -230,11 +252,11 @@ public class ExcelReader {
           problemAggregator);
     }
 
-    Name name = workbook.getName(rangeNameOrAddress);
+    String nameFormula = workbook.getNameFormula(rangeNameOrAddress);
 
     ExcelRange excelRange;
     try {
-      excelRange = new ExcelRange(name == null ? rangeNameOrAddress : name.getRefersToFormula());
+      excelRange = new ExcelRange(nameFormula == null ? rangeNameOrAddress : nameFormula);
     } catch (IllegalArgumentException e) {
       throw new InvalidLocationException(
           rangeNameOrAddress,
@@ -264,7 +286,7 @@ public class ExcelReader {
       ExcelFileFormat format,
       ProblemAggregator problemAggregator)
       throws IOException, InvalidLocationException {
-    return withWorkbook(
+    return withSheets(
         file,
         format,
         workbook ->
@@ -279,6 +301,27 @@ public class ExcelReader {
     }
   }
 
+  /**
+   * Runs an action reading sheets of the file.
+   *
+   * <p>XLSX files are streamed row by row, so that large sheets can be read without loading the
+   * whole workbook into memory. If the file is already open, for example by an {@code
+   * Excel_Workbook}, its loaded workbook is used instead.
+   */
+  private static <T> T withSheets(
+      File file, ExcelFileFormat format, Function<ExcelWorkbook, T> action) throws IOException {
+    if (format == ExcelFileFormat.XLSX) {
+      try (XSSFReaderWorkbook workbook = ExcelConnectionPool.INSTANCE.openStreamingWorkbook(file)) {
+        if (workbook != null) {
+          return action.apply(workbook);
+        }
+      }
+    }
+
+    return withWorkbook(
+        file, format, workbook -> action.apply(ExcelWorkbook.forPOIUserModel(workbook)));
+  }
+
   public static Table readRange(
       Workbook workbook,
       ExcelRange excelRange,
@@ -287,6 +330,23 @@ public class ExcelReader {
       Integer row_limit,
       ProblemAggregator problemAggregator)
       throws InvalidLocationException {
+    return readRange(
+        ExcelWorkbook.forPOIUserModel(workbook),
+        excelRange,
+        headers,
+        skip_rows,
+        row_limit,
+        problemAggregator);
+  }
+
+  private static Table readRange(
+      ExcelWorkbook workbook,
+      ExcelRange excelRange,
+      ExcelHeaders.HeaderBehavior headers,
+      int skip_rows,
+      Integer row_limit,
+      ProblemAggregator problemAggregator)
+      throws InvalidLocationException {
     int sheetIndex = workbook.getSheetIndex(excelRange.getSheetName());
     if (sheetIndex == -1) {
       throw new InvalidLocationException(
@@ -294,8 +354,7 @@ public class ExcelReader {
     }
 
     return readTable(
-        workbook,
-        sheetIndex,
+        workbook.getSheetAt(sheetIndex),
         excelRange,
         headers,
         skip_rows,
@@ -304,16 +363,13 @@ public class ExcelReader {
   }
 
   private static Table readTable(
-      Workbook workbook,
-      int sheetIndex,
+      ExcelSheet sheet,
       ExcelRange excelRange,
       ExcelHeaders.HeaderBehavior headers,
       int skipRows,
       int rowCount,
       ProblemAggregator problemAggregator) {
 
-    ExcelSheet sheet = new ExcelSheet(workbook, sheetIndex);
-
     // Expand Single Cell
     if (excelRange != null && excelRange.isSingleCell()) {
       ExcelRow currentRow = sheet.get(excelRange.getTopRow());
@@ -332,7 +388,9 @@ public class ExcelReader {
     // Row Range
     boolean wholeColumn = excelRange == null || excelRange.isWholeColumn();
     int startRow = (wholeColumn ? 1 : excelRange.getTopRow()) + skipRows;
-    int endRow = wholeColumn ? sheet.getLastRow() : excelRange.getBottomRow();
+    // For whole columns, the rows are read until the end of the sheet is reached, as finding the
+    // last row of a streamed sheet up front would require reading it twice.
+    int endRow = wholeColumn ? Integer.MAX_VALUE : excelRange.getBottomRow();
 
     // Column Range
     boolean wholeRow = excelRange == null || excelRange.isWholeRow();
@@ -351,7 +409,7 @@ public class ExcelReader {
     startRow += excelHeaders.getRowsUsed();
 
     // Set up Storage
-    int size = Math.min(rowCount, endRow - startRow + 1);
+    int size = Math.min(rowCount, wholeColumn ? INITIAL_COLUMN_CAPACITY : endRow - startRow + 1);
     List<Builder> builders =
         wholeRow
             ? new ArrayList<>()
@@ -364,6 +422,9 @@ public class ExcelReader {
     while (row <= endRow && (row - startRow) < rowCount) {
       ExcelRow currentRow = sheet.get(row);
       if (currentRow == null) {
+        if (wholeColumn && !sheet.hasRowsAfter(row)) {
+          break;
+        }
         builders.forEach(b -> b.append(null));
       } else {
         int currentEndCol =
@@ -385,7 +446,8 @@ public class ExcelReader {
     if (wholeRow && (rowCount == 0 || row < sheet.getFirstRow())) {
       ExcelRow currentRow = sheet.get(sheet.getFirstRow());
       int currentEndCol = currentRow.getLastColumn();
-      expandBuilders(builders, size, currentEndCol - startCol + 1, size, problemAggregator);
+      expandBuilders(
+          builders, size, currentEndCol - startCol + 1, row - startRow, problemAggregator);
     }
 
     // Create Table
@@ -0,0 +1,171 @@
+package org.enso.table.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.AnyObjectType;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Helpers for running CPU-bound table operations on the common {@link ForkJoinPool}.
+ *
+ * <p>The worker threads are not entered into the polyglot context, so the work they run must only
+ * touch plain Java data - no polyglot values, no calls back into Enso and no problem aggregators.
+ * Problems should be collected by the tasks and reported by the calling thread once all tasks are
+ * done.
+ *
+ * <p>While waiting for the tasks to complete, the calling thread keeps polling {@link
+ * Context#safepoint()}, so the operation can still be interrupted. If that happens, all tasks that
+ * have not started yet are cancelled and the interruption is propagated.
+ */
+public final class ParallelTasks {
+  private ParallelTasks() {}
+
+  /** The smallest amount of rows that is worth to be processed as a separate task. */
+  public static final int MIN_CHUNK_SIZE = 16 * 1024;
+
+  /** How many tasks per available thread are created, to balance uneven chunks. */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  /** How often the waiting thread checks for interrupts, in milliseconds. */
+  private static final long SAFEPOINT_POLL_INTERVAL_MS = 10;
+
+  /** A task processing a range {@code [start, end)} of rows. */
+  public interface RangeTask {
+    void run(int chunkIndex, int start, int end);
+  }
+
+  /** Returns the number of threads that can be used for running the tasks. */
+  public static int parallelism() {
+    return ForkJoinPool.getCommonPoolParallelism();
+  }
+
+  /**
+   * Checks if it is worth to process {@code size} rows in parallel.
+   *
+   * @param size the number of rows to process
+   * @param threshold the minimum amount of rows for which the parallel variant is beneficial
+   */
+  public static boolean shouldRunInParallel(long size, long threshold) {
+    return parallelism() > 1 && size >= threshold;
+  }
+
+  /**
+   * Checks if the storage can be safely read from worker threads.
+   *
+   * <p>Storages of the Mixed type may contain arbitrary Enso values, which can only be accessed
+   * from threads entered into the context.
+   */
+  public static boolean isSafeForParallelAccess(Storage<?> storage) {
+    return !(storage.getType() instanceof AnyObjectType);
+  }
+
+  /** Checks if all the storages can be safely read from worker threads. */
+  public static boolean areSafeForParallelAccess(Storage<?>[] storages) {
+    for (Storage<?> storage : storages) {
+      if (!isSafeForParallelAccess(storage)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes into how many chunks {@code size} rows should be split.
+   *
+   * <p>Each chunk has at least {@link #MIN_CHUNK_SIZE} rows (apart from the case where there are
+   * less rows in total), and there are at most a few chunks per available thread.
+   */
+  public static int chunkCount(int size) {
+    int maxChunks = Math.max(1, parallelism() * CHUNKS_PER_THREAD);
+    int chunksBySize = Math.max(1, size / MIN_CHUNK_SIZE);
+    return Math.min(maxChunks, chunksBySize);
+  }
+
+  /** Returns the start of the given chunk, when {@code size} rows are split into chunks. */
+  public static int chunkStart(int size, int chunkCount, int chunkIndex) {
+    return (int) ((long) size * chunkIndex / chunkCount);
+  }
+
+  /**
+   * Splits the range {@code [0, size)} into {@code chunkCount} contiguous chunks and runs the task
+   * on each of them in parallel.
+   *
+   * <p>The chunks are numbered in the order of the rows they contain, so results computed per chunk
+   * can be merged in a deterministic order.
+   */
+  public static void forEachChunk(int size, int chunkCount, RangeTask task) {
+    if (chunkCount <= 1) {
+      task.run(0, 0, size);
+      return;
+    }
+
+    List<Runnable> tasks = new ArrayList<>(chunkCount);
+    for (int i = 0; i < chunkCount; i++) {
+      final int chunkIndex = i;
+      final int start = chunkStart(size, chunkCount, i);
+      final int end = chunkStart(size, chunkCount, i + 1);
+      tasks.add(() -> task.run(chunkIndex, start, end));
+    }
+    runAll(tasks);
+  }
+
+  /**
+   * Runs all the given tasks on the common pool and waits for them to complete.
+   *
+   * <p>If any task fails, its exception is rethrown on the calling thread.
+   */
+  public static void runAll(List<Runnable> tasks) {
+    if (tasks.size() == 1) {
+      tasks.get(0).run();
+      return;
+    }
+
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    List<ForkJoinTask<?>> submitted = new ArrayList<>(tasks.size());
+    for (Runnable task : tasks) {
+      submitted.add(pool.submit(task));
+    }
+
+    Context context = Context.getCurrent();
+    try {
+      for (ForkJoinTask<?> task : submitted) {
+        awaitTask(task, context);
+      }
+    } catch (RuntimeException | Error e) {
+      for (ForkJoinTask<?> task : submitted) {
+        task.cancel(false);
+      }
+      throw e;
+    }
+  }
+
+  private static void awaitTask(ForkJoinTask<?> task, Context context) {
+    while (true) {
+      try {
+        task.get(SAFEPOINT_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        return;
+      } catch (TimeoutException e) {
+        context.safepoint();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while waiting for parallel tasks.");
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        } else if (cause instanceof Error error) {
+          throw error;
+        } else {
+          throw new IllegalStateException("A parallel task failed.", cause);
+        }
+      }
+    }
+  }
+}
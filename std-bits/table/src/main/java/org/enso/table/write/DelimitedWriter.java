@@ -6,14 +6,38 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.table.Column;
 import org.enso.table.data.table.Table;
 import org.enso.table.data.table.problems.UnquotedCharactersInOutput;
 import org.enso.table.formatting.DataFormatter;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.read.DelimitedReader;
-
+import org.enso.table.util.ParallelTasks;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Writes tables in a delimited format.
+ *
+ * <p>The rows can be written all at once, using {@link #write}, or streamed in consecutive parts,
+ * using {@link #writeRows} or {@link #writeChunk} followed by {@link #finish}. In both cases the
+ * rows are formatted and written in blocks of a limited number of cells, so the memory used for the
+ * formatted text does not depend on the size of the output. The columns of large blocks are
+ * formatted in parallel.
+ */
 public class DelimitedWriter {
+  /** The maximum number of cells that are formatted at once, before being written out. */
+  private static final int BLOCK_CELLS = 256 * 1024;
+
+  /** The minimum number of cells in a block for which the columns are formatted in parallel. */
+  private static final int PARALLEL_BLOCK_CELLS = 64 * 1024;
+
   private final String newline;
   private final Writer output;
   private final DataFormatter[] columnFormatters;
@@ -34,6 +58,10 @@ public class DelimitedWriter {
   private final boolean writeHeaders;
   private final ColumnAggregatedProblemAggregator problemAggregator;
 
+  private boolean headersWritten = false;
+  private int rowsWritten = 0;
+  private final StringBuilder blockText = new StringBuilder();
+
   public DelimitedWriter(
       Writer output,
       DataFormatter[] columnFormatters,
@@ -123,35 +151,196 @@ public class DelimitedWriter {
     emptyValue = this.quote + "" + this.quote;
   }
 
+  /** Writes all rows of the table and flushes the output. */
   public void write(Table table) throws IOException {
-    int numberOfColumns = table.getColumns().length;
-    assert numberOfColumns == columnFormatters.length;
-
-    if (writeHeaders) {
-      boolean quoteAllHeaders = writeQuoteBehavior == WriteQuoteBehavior.ALWAYS;
-      for (int col = 0; col < numberOfColumns; ++col) {
-        boolean isLast = col == numberOfColumns - 1;
-        String columnName = table.getColumns()[col].getName();
-        writeCell(columnName, isLast, quoteAllHeaders, columnName, -1);
-      }
+    writeChunk(table);
+    finish();
+  }
+
+  /**
+   * Writes all rows of the given table, as the next part of the output.
+   *
+   * @see #writeRows(Table, int, int)
+   */
+  public void writeChunk(Table chunk) throws IOException {
+    writeRows(chunk, 0, chunk.rowCount());
+  }
+
+  /**
+   * Writes the rows {@code [start, end)} of the table, as the next part of the output.
+   *
+   * <p>It can be called repeatedly, with tables having the same columns, to write a large result
+   * part by part, without holding all of it in memory. The headers are written before the first
+   * part. Rows in reported problems are numbered across all parts.
+   */
+  public void writeRows(Table table, int start, int end) throws IOException {
+    Column[] columns = table.getColumns();
+    if (columns.length != columnFormatters.length) {
+      throw new IllegalArgumentException(
+          "Expected "
+              + columnFormatters.length
+              + " columns, but the table has "
+              + columns.length
+              + ".");
     }
 
-    int numberOfRows = table.rowCount();
-    for (int row = 0; row < numberOfRows; ++row) {
-      for (int col = 0; col < numberOfColumns; ++col) {
-        boolean isLast = col == numberOfColumns - 1;
-        String columnName = table.getColumns()[col].getName();
-        Object cellValue = table.getColumns()[col].getStorage().getItemBoxed(row);
-        String formatted = columnFormatters[col].format(cellValue);
-        boolean wantsQuoting =
-            writeQuoteBehavior == WriteQuoteBehavior.ALWAYS && wantsQuotesInAlwaysMode(cellValue);
-        writeCell(formatted, isLast, wantsQuoting, columnName, row);
+    if (!headersWritten) {
+      if (writeHeaders) {
+        writeHeaderRow(columns);
       }
+      headersWritten = true;
+    }
+
+    Context context = Context.getCurrent();
+    int blockSize = Math.max(1, BLOCK_CELLS / Math.max(1, columns.length));
+    for (int blockStart = start; blockStart < end; blockStart += blockSize) {
+      int blockEnd = Math.min(end, blockStart + blockSize);
+      writeBlock(columns, blockStart, blockEnd);
+      rowsWritten += blockEnd - blockStart;
+      context.safepoint();
     }
+  }
 
+  /** Flushes the output, after all parts have been written. */
+  public void finish() throws IOException {
     output.flush();
   }
 
+  private void writeHeaderRow(Column[] columns) throws IOException {
+    boolean quoteAllHeaders = writeQuoteBehavior == WriteQuoteBehavior.ALWAYS;
+    BitSet hasProblem = new BitSet(1);
+    for (int col = 0; col < columns.length; ++col) {
+      boolean isLast = col == columns.length - 1;
+      String columnName = columns[col].getName();
+      hasProblem.clear();
+      output.write(quote(columnName, quoteAllHeaders, hasProblem, 0));
+      if (isLast) {
+        output.write(newline);
+      } else {
+        output.write(delimiter);
+      }
+      if (hasProblem.get(0)) {
+        problemAggregator.reportColumnAggregatedProblem(
+            new UnquotedCharactersInOutput(columnName, -1));
+      }
+    }
+  }
+
+  /** Formats the rows {@code [start, end)} and writes them to the output. */
+  private void writeBlock(Column[] columns, int start, int end) throws IOException {
+    int rowCount = end - start;
+    String[][] cells = new String[columns.length][];
+    BitSet[] problemRows = new BitSet[columns.length];
+    for (int col = 0; col < columns.length; ++col) {
+      cells[col] = new String[rowCount];
+      problemRows[col] = new BitSet();
+    }
+
+    boolean parallel =
+        columns.length > 1
+            && ParallelTasks.shouldRunInParallel(
+                (long) rowCount * columns.length, PARALLEL_BLOCK_CELLS);
+    if (parallel) {
+      formatColumnsInParallel(columns, start, end, cells, problemRows);
+    } else {
+      for (int col = 0; col < columns.length; ++col) {
+        formatColumn(col, columns[col].getStorage(), start, end, cells[col], problemRows[col]);
+      }
+    }
+
+    blockText.setLength(0);
+    for (int row = 0; row < rowCount; ++row) {
+      for (int col = 0; col < columns.length; ++col) {
+        blockText.append(cells[col][row]);
+        if (col == columns.length - 1) {
+          blockText.append(newline);
+        } else {
+          blockText.append(delimiter);
+        }
+      }
+    }
+    output.append(blockText);
+
+    reportProblems(columns, rowCount, problemRows);
+  }
+
+  /**
+   * Formats the columns on worker threads.
+   *
+   * <p>The formatters are not thread-safe, so columns sharing a formatter are formatted by the same
+   * task. Columns that may contain arbitrary Enso values are formatted on the current thread.
+   */
+  private void formatColumnsInParallel(
+      Column[] columns, int start, int end, String[][] cells, BitSet[] problemRows) {
+    Map<DataFormatter, List<Integer>> columnsByFormatter = new IdentityHashMap<>();
+    for (int col = 0; col < columns.length; ++col) {
+      columnsByFormatter
+          .computeIfAbsent(columnFormatters[col], formatter -> new ArrayList<>())
+          .add(col);
+    }
+
+    List<Runnable> tasks = new ArrayList<>();
+    for (List<Integer> group : columnsByFormatter.values()) {
+      Runnable task =
+          () -> {
+            for (int col : group) {
+              formatColumn(
+                  col, columns[col].getStorage(), start, end, cells[col], problemRows[col]);
+            }
+          };
+
+      boolean isSafe =
+          group.stream()
+              .allMatch(col -> ParallelTasks.isSafeForParallelAccess(columns[col].getStorage()));
+      if (isSafe) {
+        tasks.add(task);
+      } else {
+        task.run();
+      }
+    }
+
+    if (!tasks.isEmpty()) {
+      ParallelTasks.runAll(tasks);
+    }
+  }
+
+  /**
+   * Formats the rows {@code [start, end)} of a column into {@code cells}, marking the rows
+   * containing characters that would need quoting when quoting is disabled.
+   */
+  private void formatColumn(
+      int col, Storage<?> storage, int start, int end, String[] cells, BitSet problemRows) {
+    DataFormatter formatter = columnFormatters[col];
+    for (int row = start; row < end; ++row) {
+      Object cellValue = storage.getItemBoxed(row);
+      String formatted = formatter.format(cellValue);
+      boolean wantsQuoting =
+          writeQuoteBehavior == WriteQuoteBehavior.ALWAYS && wantsQuotesInAlwaysMode(cellValue);
+      cells[row - start] =
+          formatted == null ? "" : quote(formatted, wantsQuoting, problemRows, row - start);
+    }
+  }
+
+  /** Reports the problems found in a block, in the order in which the cells were written. */
+  private void reportProblems(Column[] columns, int rowCount, BitSet[] problemRows) {
+    boolean hasProblems = false;
+    for (BitSet rows : problemRows) {
+      hasProblems |= !rows.isEmpty();
+    }
+    if (!hasProblems) {
+      return;
+    }
+
+    for (int row = 0; row < rowCount; ++row) {
+      for (int col = 0; col < columns.length; ++col) {
+        if (problemRows[col].get(row)) {
+          problemAggregator.reportColumnAggregatedProblem(
+              new UnquotedCharactersInOutput(columns[col].getName(), rowsWritten + row));
+        }
+      }
+    }
+  }
+
   private boolean wantsQuotesInAlwaysMode(Object value) {
     return !isNonTextPrimitive(value);
   }
@@ -170,25 +359,17 @@ public class DelimitedWriter {
     return writeQuoteBehavior != WriteQuoteBehavior.NEVER;
   }
 
-  private void writeCell(
-      String value, boolean isLastInRow, boolean wantsQuoting, String columnName, int row)
-      throws IOException {
-    String processed = value == null ? "" : quote(value, wantsQuoting, columnName, row);
-    output.write(processed);
-    if (isLastInRow) {
-      output.write(newline);
-    } else {
-      output.write(delimiter);
-    }
-  }
-
   /**
    * Wraps the value in quotes, escaping any characters if necessary.
    *
    * <p>The {@code wantsQuoting} parameter allows to request quoting even if it wouldn't normally be
    * necessary. This is used to implement the `always_quote` mode for text and custom objects.
+   *
+   * <p>If quoting is disabled and the value contains characters that need quoting, the bit {@code
+   * row} of {@code problemRows} is set. The problem is not reported directly, as this may run on a
+   * worker thread.
    */
-  private String quote(String value, boolean wantsQuoting, String columnName, int row) {
+  private String quote(String value, boolean wantsQuoting, BitSet problemRows, int row) {
     if (value.isEmpty()) {
       return emptyValue;
     }
@@ -221,8 +402,7 @@ public class DelimitedWriter {
 
     if (!quotingEnabled()) {
       if (containsCharactersThatNeedQuoting) {
-        problemAggregator.reportColumnAggregatedProblem(
-            new UnquotedCharactersInOutput(columnName, row));
+        problemRows.set(row);
       }
 
       return value;
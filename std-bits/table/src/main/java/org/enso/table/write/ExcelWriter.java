@@ -12,6 +12,7 @@ import org.apache.poi.ss.usermodel.Name;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
@@ -77,7 +78,11 @@ public class ExcelWriter {
       headers =
           headers != ExcelHeaders.HeaderBehavior.INFER
               ? headers
-              : shouldWriteHeaders(new ExcelSheet(workbook, sheetIndex), firstRow + 1, 1, -1);
+              : shouldWriteHeaders(
+                  ExcelSheet.forPOIUserModel(getUserModel(workbook), sheetIndex),
+                  firstRow + 1,
+                  1,
+                  -1);
 
       String sheetName = workbook.getSheetName(sheetIndex - 1);
       workbook.removeSheetAt(sheetIndex - 1);
@@ -130,7 +135,11 @@ public class ExcelWriter {
       headers =
           headers != ExcelHeaders.HeaderBehavior.INFER
               ? headers
-              : shouldWriteHeaders(new ExcelSheet(workbook, sheetIndex), firstRow + 1, 1, -1);
+              : shouldWriteHeaders(
+                  ExcelSheet.forPOIUserModel(getUserModel(workbook), sheetIndex),
+                  firstRow + 1,
+                  1,
+                  -1);
 
       workbook.removeSheetAt(sheetIndex);
       Sheet sheet = workbook.createSheet(sheetName);
@@ -193,12 +202,15 @@ public class ExcelWriter {
           ExistingDataException,
           ColumnNameMismatchException,
           ColumnCountMismatchException {
+    // Ranges are written into existing sheets, so the cells are accessed through the in-memory
+    // model even if the workbook is streamed.
+    workbook = getUserModel(workbook);
     int sheetIndex = workbook.getSheetIndex(range.getSheetName());
     if (sheetIndex == -1) {
       throw new InvalidLocationException(
           range.getSheetName(), "Unknown sheet '" + range.getSheetName() + "'.");
     }
-    ExcelSheet sheet = new ExcelSheet(workbook, sheetIndex);
+    ExcelSheetFromWorkbook sheet = new ExcelSheetFromWorkbook(workbook, sheetIndex);
 
     if (skipRows != 0) {
       if (range.isWholeColumn()) {
@@ -249,6 +261,19 @@ public class ExcelWriter {
     }
   }
 
+  /**
+   * Returns the workbook through which the existing cells of the workbook can be read and modified.
+   *
+   * <p>A {@link SXSSFWorkbook} only keeps a window of the most recent rows of the sheets created
+   * through it, which is enough to write a new sheet. Sheets that were already in the file are
+   * accessed through the {@link org.apache.poi.xssf.usermodel.XSSFWorkbook} it wraps.
+   */
+  private static Workbook getUserModel(Workbook workbook) {
+    return workbook instanceof SXSSFWorkbook streamingWorkbook
+        ? streamingWorkbook.getXSSFWorkbook()
+        : workbook;
+  }
+
   private static void appendRangeWithTable(
       Workbook workbook,
       ExcelRange range,
@@ -256,7 +281,7 @@ public class ExcelWriter {
       Table table,
       Long rowLimit,
       ExcelHeaders.HeaderBehavior headers,
-      ExcelSheet sheet,
+      ExcelSheetFromWorkbook sheet,
       ExcelRange expanded)
       throws RangeExceededException,
           ExistingDataException,
@@ -330,7 +355,7 @@ public class ExcelWriter {
       Table table,
       Long rowLimit,
       ExcelHeaders.HeaderBehavior headers,
-      ExcelSheet sheet)
+      ExcelSheetFromWorkbook sheet)
       throws RangeExceededException, ExistingDataException {
     boolean writeHeaders = headers == ExcelHeaders.HeaderBehavior.USE_FIRST_ROW_AS_HEADERS;
     int requiredRows =
@@ -399,10 +424,11 @@ public class ExcelWriter {
    * @param range The range to clear.
    * @param sheet Sheet containing the range.
    */
-  private static void clearRange(Workbook workbook, ExcelRange range, ExcelSheet sheet) {
+  private static void clearRange(
+      Workbook workbook, ExcelRange range, ExcelSheetFromWorkbook sheet) {
     ExcelRange fullRange = range.getAbsoluteRange(workbook);
     for (int row = fullRange.getTopRow(); row <= fullRange.getBottomRow(); row++) {
-      ExcelRow excelRow = sheet.get(row);
+      ExcelRowFromWorkbook excelRow = sheet.get(row);
       if (excelRow != null) {
         for (int column = fullRange.getLeftColumn();
             column <= fullRange.getRightColumn();
@@ -0,0 +1,526 @@
+#!/usr/bin/env python3
+"""Generates the Arrow IPC fixtures used by `Arrow_Spec.enso`.
+
+Usage:
+    generate_fixtures.py [OUTPUT_DIRECTORY]
+        Writes the fixture files, by default into `test/Table_Tests/data/arrow`.
+        They are written with pyarrow if it is installed, otherwise with the
+        minimal encoder below, which follows the Arrow IPC file format
+        specification and lays the files out in the same way as pyarrow.
+
+    generate_fixtures.py --check FILE
+        Reads a file written by Enso with pyarrow and checks that it contains
+        the table written by the "should write files readable by other Arrow
+        implementations" spec. Used to validate `written_by_enso.arrow`.
+"""
+
+import datetime
+import os
+import struct
+import sys
+import zoneinfo
+
+WARSAW = zoneinfo.ZoneInfo("Europe/Warsaw")
+UTC = datetime.timezone.utc
+
+# Each fixture is a list of columns and the sizes of its record batches.
+# A column is a tuple of its name, its type and its values. The types are
+# named as in pyarrow, with a dictionary type given as the pair of its index
+# type and its values.
+FIXTURES = {
+    "all_types.arrow": {
+        "batches": [3, 3, 2],
+        "columns": [
+            ("i8", "int8", [1, None, -128, 127, 0, None, 5, -5]),
+            ("i16", "int16", [1000, -32768, None, 32767, 0, 1, None, 2]),
+            ("i32", "int32", [-2147483648, 2147483647, None, 0, 7, None, -7, 1]),
+            ("i64", "int64", [9223372036854775807, -9223372036854775808, None, 0, 1, -1, 42, None]),
+            ("u8", "uint8", [255, 0, None, 1, 128, None, 7, 200]),
+            ("u16", "uint16", [65535, 0, 1, None, 40000, 2, None, 3]),
+            ("u32", "uint32", [4294967295, 0, None, 1, 3000000000, 2, 3, None]),
+            ("f32", "float32", [1.5, -0.25, None, 3.0, 0.0, None, 2.5, -1.0]),
+            ("f64", "float64", [1.1, None, -2.5, 2.0 ** 100, 0.0, -0.0, None, 3.75]),
+            ("bools", "bool", [True, False, None, True, True, None, False, False]),
+            ("texts", "utf8", ["a", "", None, "żółw", "🚀", None, "text", "b,c"]),
+            ("large_texts", "large_utf8", [None, "x", "yy", "", "żółw", "z", None, "🚀"]),
+            ("dates", "date32", [datetime.date(2024, 2, 29), None, datetime.date(1900, 1, 1), datetime.date(1970, 1, 1), datetime.date(2262, 4, 11), datetime.date(1, 1, 1), None, datetime.date(1969, 12, 31)]),
+            ("dates64", "date64", [datetime.date(2024, 2, 29), datetime.date(1969, 12, 31), None, datetime.date(1970, 1, 2), None, datetime.date(2000, 1, 1), datetime.date(1900, 6, 15), datetime.date(2100, 12, 31)]),
+            ("times_ms", "time32[ms]", [datetime.time(12, 30, 15, 250000), None, datetime.time(0, 0), datetime.time(23, 59, 59, 999000), None, datetime.time(1, 2, 3), datetime.time(6), datetime.time(18, 45)]),
+            ("times_us", "time64[us]", [None, datetime.time(0, 0, 0, 1), datetime.time(12, 0), datetime.time(23, 59, 59, 999999), datetime.time(8, 15, 30, 500), None, datetime.time(9), datetime.time(10, 10, 10)]),
+            ("date_times", "timestamp[ns, tz=Europe/Warsaw]", [datetime.datetime(2024, 3, 31, 1, 30, tzinfo=WARSAW), datetime.datetime(2024, 3, 31, 3, 30, tzinfo=WARSAW), None, datetime.datetime(1970, 1, 1, 1, 0, tzinfo=WARSAW), datetime.datetime(2024, 10, 27, 2, 30, fold=1, tzinfo=WARSAW), None, datetime.datetime(2000, 6, 15, 12, 0, 0, 123456, tzinfo=WARSAW), datetime.datetime(1990, 1, 1, tzinfo=WARSAW)]),
+            ("utc_date_times", "timestamp[s, tz=UTC]", [datetime.datetime(2024, 1, 1, tzinfo=UTC), None, datetime.datetime(1969, 12, 31, 23, 59, 59, tzinfo=UTC), datetime.datetime(2038, 1, 19, 3, 14, 8, tzinfo=UTC), datetime.datetime(1900, 1, 1, tzinfo=UTC), datetime.datetime(2000, 2, 29, 12, tzinfo=UTC), None, datetime.datetime(1970, 1, 1, tzinfo=UTC)]),
+            ("local_date_times", "timestamp[us]", [datetime.datetime(2024, 3, 15, 2, 30), datetime.datetime(1999, 12, 31, 23, 59, 59, 999999), None, datetime.datetime(2000, 1, 1), datetime.datetime(1950, 5, 5, 5, 5, 5), None, datetime.datetime(2024, 7, 27, 2, 30), datetime.datetime(2099, 12, 31, 23, 59)]),
+            ("nulls", "null", [None] * 8),
+        ],
+    },
+    "dictionary.arrow": {
+        "batches": [4, 2],
+        "columns": [
+            ("colors", ("int32", ["red", "green", "blue"]), ["red", None, "blue", "red", "green", None]),
+            ("letters", ("int8", ["x", "y", "żółw"]), ["x", "y", None, "żółw", "x", "y"]),
+            ("ids", "int64", [1, 2, 3, 4, 5, 6]),
+        ],
+    },
+}
+
+# The table written by Enso into `written_by_enso.arrow`.
+WRITTEN_BY_ENSO = [
+    ("ints", "int64", [1, None, -3]),
+    ("floats", "double", [1.5, 2.25, None]),
+    ("bools", "bool", [True, None, False]),
+    ("texts", "string", ["a", "żółw", None]),
+    ("dates", "date32[day]", [datetime.date(2024, 2, 29), None, datetime.date(1900, 1, 1)]),
+    ("times", "time64[ns]", [datetime.time(12, 30, 15), datetime.time(0, 0), None]),
+    ("date_times", "timestamp[ns, tz=Europe/Warsaw]", [None, datetime.datetime(2024, 3, 31, 3, 30, tzinfo=WARSAW), datetime.datetime(1990, 1, 1, tzinfo=WARSAW)]),
+]
+
+
+def batch_ranges(fixture):
+    start = 0
+    for size in fixture["batches"]:
+        yield start, start + size
+        start += size
+
+
+# === Writing with pyarrow ===
+
+
+def pyarrow_type(pa, type_name):
+    if isinstance(type_name, tuple):
+        index_type, _ = type_name
+        return pa.dictionary(pyarrow_type(pa, index_type), pa.utf8())
+    if type_name.startswith("timestamp["):
+        unit, _, zone = type_name[len("timestamp["):-1].partition(", tz=")
+        return pa.timestamp(unit, tz=zone or None)
+    if type_name.startswith("time32["):
+        return pa.time32(type_name[len("time32["):-1])
+    if type_name.startswith("time64["):
+        return pa.time64(type_name[len("time64["):-1])
+    return getattr(pa, type_name)()
+
+
+def write_with_pyarrow(pa, path, fixture):
+    fields = [pa.field(name, pyarrow_type(pa, type_name)) for name, type_name, _ in fixture["columns"]]
+    schema = pa.schema(fields)
+    dictionaries = {}
+    for name, type_name, _ in fixture["columns"]:
+        if isinstance(type_name, tuple):
+            dictionaries[name] = pa.array(type_name[1], type=pa.utf8())
+
+    with pa.ipc.new_file(path, schema) as writer:
+        for start, end in batch_ranges(fixture):
+            arrays = []
+            for name, type_name, values in fixture["columns"]:
+                part = values[start:end]
+                if isinstance(type_name, tuple):
+                    dictionary = type_name[1]
+                    indices = pa.array([None if v is None else dictionary.index(v) for v in part], type=pyarrow_type(pa, type_name[0]))
+                    arrays.append(pa.DictionaryArray.from_arrays(indices, dictionaries[name]))
+                else:
+                    arrays.append(pa.array(part, type=pyarrow_type(pa, type_name)))
+            writer.write_batch(pa.record_batch(arrays, schema=schema))
+
+
+# === Writing without pyarrow ===
+
+
+class FlatBufferBuilder:
+    """Builds a FlatBuffers buffer from its end, like the reference implementation."""
+
+    def __init__(self):
+        self.data = bytearray()
+        self.min_alignment = 1
+        self.fields = None
+        self.table_start = 0
+
+    def offset(self):
+        return len(self.data)
+
+    def prepend(self, raw):
+        self.data[0:0] = raw
+
+    def prepare(self, size, additional_bytes):
+        self.min_alignment = max(self.min_alignment, size)
+        self.prepend(bytes((-(self.offset() + additional_bytes)) % size))
+
+    def put(self, fmt, value):
+        self.prepend(struct.pack("<" + fmt, value))
+
+    def reference(self, target):
+        self.prepare(4, 0)
+        self.put("I", self.offset() + 4 - target)
+
+    def string(self, value):
+        encoded = value.encode("utf-8")
+        self.prepare(4, len(encoded) + 1)
+        self.prepend(encoded + b"\0")
+        self.put("I", len(encoded))
+        return self.offset()
+
+    def table_vector(self, tables):
+        self.prepare(4, 4 * len(tables))
+        for table in reversed(tables):
+            self.reference(table)
+        self.put("I", len(tables))
+        return self.offset()
+
+    def struct_vector(self, structs):
+        """Creates a vector of structs, each given as its little-endian bytes."""
+        size = sum(len(s) for s in structs)
+        self.prepare(4, size)
+        self.prepare(8, size)
+        for raw in reversed(structs):
+            self.prepend(raw)
+        self.put("I", len(structs))
+        return self.offset()
+
+    def start(self, field_count):
+        self.fields = [0] * field_count
+        self.table_start = self.offset()
+
+    def scalar(self, slot, fmt, value):
+        self.prepare(struct.calcsize("<" + fmt), 0)
+        self.put(fmt, value)
+        self.fields[slot] = self.offset()
+
+    def field_reference(self, slot, target):
+        self.reference(target)
+        self.fields[slot] = self.offset()
+
+    def end(self):
+        self.prepare(4, 0)
+        self.put("i", 0)
+        table = self.offset()
+        for field in reversed(self.fields):
+            self.put("H", 0 if field == 0 else table - field)
+        self.put("H", table - self.table_start)
+        self.put("H", (len(self.fields) + 2) * 2)
+        vtable = self.offset()
+        position = len(self.data) - table
+        self.data[position:position + 4] = struct.pack("<i", vtable - table)
+        self.fields = None
+        return table
+
+    def finish(self, root):
+        self.prepare(self.min_alignment, 4)
+        self.reference(root)
+        return bytes(self.data)
+
+
+MESSAGE_SCHEMA = 1
+MESSAGE_DICTIONARY_BATCH = 2
+MESSAGE_RECORD_BATCH = 3
+METADATA_V5 = 4
+
+TYPE_NULL = 1
+TYPE_INT = 2
+TYPE_FLOATING_POINT = 3
+TYPE_UTF8 = 5
+TYPE_BOOL = 6
+TYPE_DATE = 8
+TYPE_TIME = 9
+TYPE_TIMESTAMP = 10
+TYPE_LARGE_UTF8 = 20
+
+UNITS = {"s": 0, "ms": 1, "us": 2, "ns": 3}
+UNITS_PER_SECOND = {"s": 1, "ms": 1000, "us": 1000000, "ns": 1000000000}
+INTEGERS = {
+    "int8": (8, True), "int16": (16, True), "int32": (32, True), "int64": (64, True),
+    "uint8": (8, False), "uint16": (16, False), "uint32": (32, False), "uint64": (64, False),
+}
+INTEGER_FORMATS = {8: "b", 16: "h", 32: "i", 64: "q"}
+
+EPOCH_DATE = datetime.date(1970, 1, 1)
+EPOCH = datetime.datetime(1970, 1, 1)
+
+
+def parse_temporal(type_name):
+    """Splits a time or timestamp type into its unit and time zone."""
+    unit, _, zone = type_name[type_name.index("[") + 1:-1].partition(", tz=")
+    return unit, zone or None
+
+
+def value_type_of(type_name):
+    return "utf8" if isinstance(type_name, tuple) else type_name
+
+
+def build_int_type(builder, bit_width, signed):
+    builder.start(2)
+    builder.scalar(0, "i", bit_width)
+    builder.scalar(1, "B", 1 if signed else 0)
+    return builder.end()
+
+
+def build_type(builder, type_name):
+    """Builds the type table of a field and returns its union type and offset."""
+    if type_name in INTEGERS:
+        return TYPE_INT, build_int_type(builder, *INTEGERS[type_name])
+    if type_name in ("float32", "float64"):
+        builder.start(1)
+        builder.scalar(0, "h", 1 if type_name == "float32" else 2)
+        return TYPE_FLOATING_POINT, builder.end()
+    if type_name.startswith("date"):
+        builder.start(1)
+        builder.scalar(0, "h", 0 if type_name == "date32" else 1)
+        return TYPE_DATE, builder.end()
+    if type_name.startswith("time"):
+        unit, zone = parse_temporal(type_name)
+        if type_name.startswith("timestamp"):
+            zone_string = None if zone is None else builder.string(zone)
+            builder.start(2)
+            builder.scalar(0, "h", UNITS[unit])
+            if zone_string is not None:
+                builder.field_reference(1, zone_string)
+            return TYPE_TIMESTAMP, builder.end()
+        builder.start(2)
+        builder.scalar(0, "h", UNITS[unit])
+        builder.scalar(1, "i", 32 if type_name.startswith("time32") else 64)
+        return TYPE_TIME, builder.end()
+
+    type_id = {"null": TYPE_NULL, "bool": TYPE_BOOL, "utf8": TYPE_UTF8, "large_utf8": TYPE_LARGE_UTF8}[type_name]
+    builder.start(0)
+    return type_id, builder.end()
+
+
+def build_schema(builder, columns):
+    fields = []
+    dictionary_id = 0
+    for name, type_name, _ in columns:
+        name_string = builder.string(name)
+        type_id, type_table = build_type(builder, value_type_of(type_name))
+        encoding = None
+        if isinstance(type_name, tuple):
+            index_type = build_int_type(builder, *INTEGERS[type_name[0]])
+            builder.start(4)
+            builder.scalar(0, "q", dictionary_id)
+            builder.field_reference(1, index_type)
+            encoding = builder.end()
+            dictionary_id += 1
+        children = builder.table_vector([])
+        builder.start(7)
+        builder.field_reference(0, name_string)
+        builder.field_reference(3, type_table)
+        if encoding is not None:
+            builder.field_reference(4, encoding)
+        builder.field_reference(5, children)
+        builder.scalar(2, "B", type_id)
+        builder.scalar(1, "B", 1)
+        fields.append(builder.end())
+
+    field_vector = builder.table_vector(fields)
+    builder.start(4)
+    builder.field_reference(1, field_vector)
+    return builder.end()
+
+
+def bitmap(bits):
+    result = bytearray((len(bits) + 7) // 8)
+    for i, bit in enumerate(bits):
+        if bit:
+            result[i // 8] |= 1 << (i % 8)
+    return bytes(result)
+
+
+def pack_all(fmt, values):
+    return struct.pack("<%d%s" % (len(values), fmt), *values)
+
+
+def encode_values(type_name, values):
+    """Returns the buffers holding the values, not including the validity bitmap."""
+    if type_name == "null":
+        return []
+    if type_name in INTEGERS:
+        bit_width, signed = INTEGERS[type_name]
+        fmt = INTEGER_FORMATS[bit_width]
+        return [pack_all(fmt if signed else fmt.upper(), [v or 0 for v in values])]
+    if type_name in ("float32", "float64"):
+        return [pack_all("f" if type_name == "float32" else "d", [v or 0.0 for v in values])]
+    if type_name == "bool":
+        return [bitmap([bool(v) for v in values])]
+    if type_name in ("utf8", "large_utf8"):
+        data = bytearray()
+        offsets = [0]
+        for value in values:
+            if value is not None:
+                data += value.encode("utf-8")
+            offsets.append(len(data))
+        return [pack_all("i" if type_name == "utf8" else "q", offsets), bytes(data)]
+    if type_name == "date32":
+        return [pack_all("i", [0 if v is None else (v - EPOCH_DATE).days for v in values])]
+    if type_name == "date64":
+        return [pack_all("q", [0 if v is None else (v - EPOCH_DATE).days * 86400000 for v in values])]
+
+    unit, zone = parse_temporal(type_name)
+    per_second = UNITS_PER_SECOND[unit]
+    if type_name.startswith("timestamp"):
+        def units(value):
+            if zone is not None:
+                value = value.astimezone(UTC).replace(tzinfo=None)
+            delta = value - EPOCH
+            return (delta.days * 86400 + delta.seconds) * per_second + delta.microseconds * per_second // 1000000
+        return [pack_all("q", [0 if v is None else units(v) for v in values])]
+
+    def time_units(value):
+        seconds = value.hour * 3600 + value.minute * 60 + value.second
+        return seconds * per_second + value.microsecond * per_second // 1000000
+    fmt = "i" if type_name.startswith("time32") else "q"
+    return [pack_all(fmt, [0 if v is None else time_units(v) for v in values])]
+
+
+def encode_batch(columns):
+    """Encodes the columns of a record batch into its field nodes and buffers."""
+    nodes = []
+    buffers = []
+    for type_name, values in columns:
+        null_count = sum(1 for v in values if v is None)
+        nodes.append((len(values), null_count))
+        if type_name == "null":
+            continue
+        buffers.append(b"" if null_count == 0 else bitmap([v is not None for v in values]))
+        if isinstance(type_name, tuple):
+            index_type, dictionary = type_name
+            indices = [None if v is None else dictionary.index(v) for v in values]
+            buffers += encode_values(index_type, indices)
+        else:
+            buffers += encode_values(type_name, values)
+    return nodes, buffers
+
+
+def padded(length):
+    return (length + 7) // 8 * 8
+
+
+def build_record_batch(builder, length, nodes, buffers):
+    body_offsets = []
+    body_length = 0
+    for buffer in buffers:
+        body_offsets.append(body_length)
+        body_length += padded(len(buffer))
+    buffer_vector = builder.struct_vector([struct.pack("<qq", o, len(b)) for o, b in zip(body_offsets, buffers)])
+    node_vector = builder.struct_vector([struct.pack("<qq", n, c) for n, c in nodes])
+    builder.start(4)
+    builder.scalar(0, "q", length)
+    builder.field_reference(1, node_vector)
+    builder.field_reference(2, buffer_vector)
+    return builder.end()
+
+
+class IpcFileWriter:
+    def __init__(self, output):
+        self.output = output
+        self.position = 0
+        self.dictionary_blocks = []
+        self.record_blocks = []
+
+    def write(self, raw):
+        self.output.write(raw)
+        self.position += len(raw)
+
+    def message(self, header_type, build_header, buffers=()):
+        """Writes an encapsulated message and returns its block."""
+        body_length = sum(padded(len(b)) for b in buffers)
+        builder = FlatBufferBuilder()
+        header = build_header(builder)
+        builder.start(5)
+        builder.scalar(3, "q", body_length)
+        builder.field_reference(2, header)
+        builder.scalar(0, "h", METADATA_V5)
+        builder.scalar(1, "B", header_type)
+        metadata = builder.finish(builder.end())
+
+        offset = self.position
+        metadata_length = padded(len(metadata))
+        self.write(struct.pack("<Ii", 0xFFFFFFFF, metadata_length))
+        self.write(metadata + bytes(metadata_length - len(metadata)))
+        for buffer in buffers:
+            self.write(buffer + bytes(padded(len(buffer)) - len(buffer)))
+        return offset, 8 + metadata_length, body_length
+
+
+def write_without_pyarrow(path, fixture):
+    columns = fixture["columns"]
+    with open(path, "wb") as output:
+        writer = IpcFileWriter(output)
+        writer.write(b"ARROW1\0\0")
+        writer.message(MESSAGE_SCHEMA, lambda builder: build_schema(builder, columns))
+
+        dictionary_id = 0
+        for _, type_name, _ in columns:
+            if not isinstance(type_name, tuple):
+                continue
+            values = type_name[1]
+            nodes, buffers = encode_batch([("utf8", values)])
+
+            def build_dictionary_batch(builder, id=dictionary_id, values=values, nodes=nodes, buffers=buffers):
+                data = build_record_batch(builder, len(values), nodes, buffers)
+                builder.start(3)
+                builder.scalar(0, "q", id)
+                builder.field_reference(1, data)
+                return builder.end()
+
+            writer.dictionary_blocks.append(writer.message(MESSAGE_DICTIONARY_BATCH, build_dictionary_batch, buffers))
+            dictionary_id += 1
+
+        for start, end in batch_ranges(fixture):
+            nodes, buffers = encode_batch([(type_name, values[start:end]) for _, type_name, values in columns])
+            block = writer.message(MESSAGE_RECORD_BATCH, lambda builder: build_record_batch(builder, end - start, nodes, buffers), buffers)
+            writer.record_blocks.append(block)
+
+        writer.write(struct.pack("<Ii", 0xFFFFFFFF, 0))
+
+        builder = FlatBufferBuilder()
+        schema = build_schema(builder, columns)
+        blocks = lambda entries: builder.struct_vector([struct.pack("<qi4xq", *entry) for entry in entries])
+        record_batches = blocks(writer.record_blocks)
+        dictionaries = blocks(writer.dictionary_blocks)
+        builder.start(5)
+        builder.field_reference(2, dictionaries)
+        builder.field_reference(3, record_batches)
+        builder.field_reference(1, schema)
+        builder.scalar(0, "h", METADATA_V5)
+        footer = builder.finish(builder.end())
+        writer.write(footer)
+        writer.write(struct.pack("<i", len(footer)))
+        writer.write(b"ARROW1")
+
+
+# === Checking files written by Enso ===
+
+
+def check_written_by_enso(path):
+    import pyarrow as pa
+
+    with pa.ipc.open_file(path) as reader:
+        table = reader.read_all()
+    assert table.column_names == [name for name, _, _ in WRITTEN_BY_ENSO], table.column_names
+    for name, type_name, values in WRITTEN_BY_ENSO:
+        column = table.column(name)
+        assert str(column.type) == type_name, (name, column.type)
+        assert column.to_pylist() == values, (name, column.to_pylist())
+    print("%s: OK" % path)
+
+
+def main(args):
+    if args[:1] == ["--check"]:
+        check_written_by_enso(args[1])
+        return
+
+    default_directory = os.path.join(os.path.dirname(__file__), "..", "..", "data", "arrow")
+    directory = args[0] if args else default_directory
+    os.makedirs(directory, exist_ok=True)
+    try:
+        import pyarrow as pa
+    except ImportError:
+        pa = None
+
+    for file_name, fixture in FIXTURES.items():
+        path = os.path.join(directory, file_name)
+        if pa is not None:
+            write_with_pyarrow(pa, path, fixture)
+        else:
+            write_without_pyarrow(path, fixture)
+        print("Written %s" % path)
+
+
+if __name__ == "__main__":
+    main(sys.argv[1:])